@@ -0,0 +1,45 @@
+package jtwirc.bench;
+
+/**
+ * Chat lines used by the benchmarks. The lines are modelled on what Twitch actually sends a bot in a busy channel:
+ * heavily tagged PRIVMSGs, emote spam, sub and gift USERNOTICEs, JOIN/PART floods and numeric replies.
+ */
+final class Corpus
+{
+    static final String[] PRIVMSG = {
+            "@badges=subscriber/12,bits/1000;bits=100;color=#1E90FF;display-name=Viewer_One;emotes=;id=b34ccfc7-4977-403a-8a94-33c6bac34fb8;mod=0;room-id=27658385;subscriber=1;tmi-sent-ts=1507246572675;turbo=0;user-id=44322889;user-type= :viewer_one!viewer_one@viewer_one.tmi.twitch.tv PRIVMSG #gikkman :cheer100 great play!",
+            "@badges=moderator/1,subscriber/24;color=#FF69B4;display-name=ModPerson;emotes=;id=2ae5f7c1-2f7c-45e1-9e9b-9a2c6b4d1e2f;mod=1;room-id=27658385;subscriber=1;tmi-sent-ts=1507246572801;turbo=0;user-id=11223344;user-type=mod :modperson!modperson@modperson.tmi.twitch.tv PRIVMSG #gikkman :please keep it civil in chat",
+            "@badges=;color=;display-name=;emotes=;id=7c1f3a9e-33d1-4c1e-8c9b-13f6f3c2d7a1;mod=0;room-id=27658385;subscriber=0;tmi-sent-ts=1507246572912;turbo=0;user-id=99887766;user-type= :lurker42!lurker42@lurker42.tmi.twitch.tv PRIVMSG #gikkman :!uptime",
+            "@badges=broadcaster/1,premium/1;color=#8A2BE2;display-name=Gikkman;emotes=;id=f1e2d3c4-b5a6-4789-9abc-def012345678;mod=1;room-id=27658385;subscriber=0;tmi-sent-ts=1507246573010;turbo=0;user-id=27658385;user-type=mod :gikkman!gikkman@gikkman.tmi.twitch.tv PRIVMSG #gikkman :thanks for watching everyone, raid incoming",
+    };
+
+    static final String[] EMOTE_DENSE = {
+            "@badges=subscriber/3;color=#00FF7F;display-name=EmoteSpammer;emotes=25:0-4,12-16,24-28,36-40,48-52/1902:6-10,18-22,30-34,42-46,54-58;id=0a1b2c3d-4e5f-6789-abcd-ef0123456789;mod=0;room-id=27658385;subscriber=1;tmi-sent-ts=1507246574000;turbo=0;user-id=55667788;user-type= :emotespammer!emotespammer@emotespammer.tmi.twitch.tv PRIVMSG #gikkman :Kappa Keepo Kappa Keepo Kappa Keepo Kappa Keepo Kappa Keepo",
+            "@badges=;color=#B22222;display-name=HypeTrain;emotes=88:0-7,9-16,18-25/86:27-36,38-47/4685:49-54;id=9f8e7d6c-5b4a-4392-8170-6f5e4d3c2b1a;mod=0;room-id=27658385;subscriber=0;tmi-sent-ts=1507246574100;turbo=0;user-id=66778899;user-type= :hypetrain!hypetrain@hypetrain.tmi.twitch.tv PRIVMSG #gikkman :PogChamp PogChamp PogChamp BibleThump BibleThump tmrHat",
+    };
+
+    static final String[] USERNOTICE = {
+            "@badges=subscriber/0,premium/1;color=#0000FF;display-name=NewSub;emotes=;id=1a2b3c4d-5e6f-7081-92a3-b4c5d6e7f809;login=newsub;mod=0;msg-id=sub;msg-param-months=1;msg-param-sub-plan=Prime;room-id=27658385;subscriber=1;system-msg=NewSub\\sjust\\ssubscribed\\swith\\sTwitch\\sPrime!;tmi-sent-ts=1507246575000;turbo=0;user-id=12121212;user-type= :tmi.twitch.tv USERNOTICE #gikkman",
+            "@badges=subscriber/12;color=#008000;display-name=OldTimer;emotes=25:0-4;id=2b3c4d5e-6f70-8192-a3b4-c5d6e7f8091a;login=oldtimer;mod=0;msg-id=resub;msg-param-months=12;msg-param-sub-plan=1000;room-id=27658385;subscriber=1;system-msg=OldTimer\\shas\\ssubscribed\\sfor\\s12\\smonths!;tmi-sent-ts=1507246575100;turbo=0;user-id=13131313;user-type= :tmi.twitch.tv USERNOTICE #gikkman :Kappa one year already",
+            "@badges=subscriber/6,sub-gifter/5;color=#FF4500;display-name=Gifter;emotes=;id=3c4d5e6f-7081-92a3-b4c5-d6e7f8091a2b;login=gifter;mod=0;msg-id=subgift;msg-param-months=1;msg-param-recipient-display-name=Lucky;msg-param-recipient-id=14141414;msg-param-recipient-user-name=lucky;msg-param-sub-plan=1000;room-id=27658385;subscriber=1;system-msg=Gifter\\sgifted\\sa\\sTier\\s1\\ssub\\sto\\sLucky!;tmi-sent-ts=1507246575200;turbo=0;user-id=15151515;user-type= :tmi.twitch.tv USERNOTICE #gikkman",
+    };
+
+    static final String[] JOIN_PART = {
+            ":viewer_one!viewer_one@viewer_one.tmi.twitch.tv JOIN #gikkman",
+            ":lurker42!lurker42@lurker42.tmi.twitch.tv JOIN #gikkman",
+            ":hypetrain!hypetrain@hypetrain.tmi.twitch.tv PART #gikkman",
+            ":emotespammer!emotespammer@emotespammer.tmi.twitch.tv JOIN #gikkman",
+            ":oldtimer!oldtimer@oldtimer.tmi.twitch.tv PART #gikkman",
+    };
+
+    static final String[] NUMERIC = {
+            ":gikkbot.tmi.twitch.tv 353 gikkbot = #gikkman :gikkbot viewer_one lurker42 hypetrain emotespammer oldtimer modperson",
+            ":gikkbot.tmi.twitch.tv 366 gikkbot #gikkman :End of /NAMES list",
+            ":tmi.twitch.tv 001 gikkbot :Welcome, GLHF!",
+            ":tmi.twitch.tv 372 gikkbot :You are in a maze of twisty passages, all alike.",
+    };
+
+    private Corpus()
+    {
+    }
+}
@@ -0,0 +1,122 @@
+package jtwirc.bench;
+
+import jtwirc.enums.OVERFLOW_POLICY;
+import jtwirc.events.PartitionedExecutor;
+import jtwirc.events.PartitionedTwircListener;
+import jtwirc.events.TwircListener;
+import jtwirc.events.TwircListenerBaseImpl;
+import jtwirc.types.twitchMessage.DefaultTwitchMessageBuilder;
+import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.types.users.DefaultTwitchUserBuilder;
+import jtwirc.types.users.TwitchUser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput of dispatching a synthetic chat to an analytics-style listener, either inline on the calling thread
+ * ({@code partitions = 0}) or through a {@link PartitionedTwircListener} with a number of partitions.<br><br>
+ * <p>
+ * The chat is {@value #MESSAGES} PRIVMSGs from {@value #USERS} users, and the listener spends a fixed amount of CPU
+ * per message and counts messages per user. Results are reported in messages per millisecond, so the target of a busy
+ * channel, 50 000 messages per minute, is roughly 0.83 on that scale. The interesting number is how far above that each
+ * mode stays as the per-message work grows.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark
+{
+    static final int MESSAGES = 5000;
+    static final int USERS = 1000;
+
+    @Param({"0", "1", "4", "8"})
+    public int partitions;
+
+    @Param({"2000", "20000"})
+    public int workPerMessage;
+
+    private TwitchUser[] users;
+    private TwitchMessage[] messages;
+    private PartitionedExecutor executor;
+    private TwircListener listener;
+    private volatile CountDownLatch done;
+
+    @Setup
+    public void setup()
+    {
+        DefaultTwitchMessageBuilder messageBuilder = new DefaultTwitchMessageBuilder();
+        DefaultTwitchUserBuilder userBuilder = new DefaultTwitchUserBuilder();
+
+        users = new TwitchUser[MESSAGES];
+        messages = new TwitchMessage[MESSAGES];
+        for (int i = 0; i < MESSAGES; i++)
+        {
+            String login = "viewer" + (i * 7919 % USERS);
+            String line = "@badges=;color=;display-name=" + login + ";emotes=;id=" + i + ";mod=0;room-id=27658385;subscriber=0;tmi-sent-ts=1507246572675;turbo=0;user-id=" + (i % USERS) + ";user-type= :"
+                    + login + "!" + login + "@" + login + ".tmi.twitch.tv PRIVMSG #gikkman :message number " + i;
+            messages[i] = messageBuilder.build(line);
+            users[i] = userBuilder.build(messages[i]);
+        }
+
+        TwircListener analytics = new AnalyticsListener(workPerMessage, this);
+        if (partitions == 0)
+        {
+            listener = analytics;
+        }
+        else
+        {
+            executor = new PartitionedExecutor("bench", partitions, MESSAGES, OVERFLOW_POLICY.BLOCK);
+            listener = new PartitionedTwircListener(analytics, executor);
+        }
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        if (executor != null)
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void privMsg() throws InterruptedException
+    {
+        done = new CountDownLatch(MESSAGES);
+        for (int i = 0; i < MESSAGES; i++)
+        {
+            listener.onPrivMsg(users[i], messages[i]);
+        }
+        done.await();
+    }
+
+    private static final class AnalyticsListener extends TwircListenerBaseImpl
+    {
+        private final int work;
+        private final DispatchBenchmark benchmark;
+        private final ConcurrentHashMap<Integer, LongAdder> perUser = new ConcurrentHashMap<>();
+
+        AnalyticsListener(int work, DispatchBenchmark benchmark)
+        {
+            this.work = work;
+            this.benchmark = benchmark;
+        }
+
+        @Override
+        public void onPrivMsg(TwitchUser sender, TwitchMessage message)
+        {
+            Blackhole.consumeCPU(work);
+            perUser.computeIfAbsent(sender.getUserID(), id -> new LongAdder()).increment();
+            benchmark.done.countDown();
+        }
+    }
+}
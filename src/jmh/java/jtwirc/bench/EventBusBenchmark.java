@@ -0,0 +1,133 @@
+package jtwirc.bench;
+
+import jtwirc.bus.ChatEvent;
+import jtwirc.bus.EventBus;
+import jtwirc.bus.EventHandler;
+import jtwirc.enums.WAIT_STRATEGY;
+import jtwirc.types.twitchMessage.DefaultTwitchMessageBuilder;
+import jtwirc.types.twitchMessage.TwitchMessage;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of handing a synthetic chat to a number of consumers, either by calling them one after another on the
+ * publishing thread ({@code mode = INLINE}, which is what dispatch to listeners does) or through an {@link EventBus}
+ * with one of its wait strategies.<br><br>
+ * <p>
+ * The chat is {@value #MESSAGES} PRIVMSGs, and each consumer spends a fixed amount of CPU per message. Results are
+ * reported in messages per millisecond, like {@link DispatchBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBusBenchmark
+{
+    static final int MESSAGES = 5000;
+
+    @Param({"INLINE", "BLOCKING", "YIELDING", "BUSY_SPIN"})
+    public String mode;
+
+    @Param({"1", "3"})
+    public int consumers;
+
+    @Param({"200", "2000"})
+    public int workPerMessage;
+
+    private String[] lines;
+    private TwitchMessage[] messages;
+    private EventBus bus;
+    private Consumer[] inline;
+    private volatile CountDownLatch done;
+
+    @Setup
+    public void setup()
+    {
+        DefaultTwitchMessageBuilder messageBuilder = new DefaultTwitchMessageBuilder();
+        lines = new String[MESSAGES];
+        messages = new TwitchMessage[MESSAGES];
+        for (int i = 0; i < MESSAGES; i++)
+        {
+            String login = "viewer" + (i % 1000);
+            lines[i] = "@badges=;color=;display-name=" + login + ";emotes=;id=" + i + ";mod=0;room-id=27658385;subscriber=0;tmi-sent-ts=1507246572675;turbo=0;user-id=" + (i % 1000) + ";user-type= :"
+                    + login + "!" + login + "@" + login + ".tmi.twitch.tv PRIVMSG #gikkman :message number " + i;
+            messages[i] = messageBuilder.build(lines[i]);
+        }
+
+        inline = new Consumer[consumers];
+        for (int i = 0; i < consumers; i++)
+        {
+            inline[i] = new Consumer(workPerMessage, this);
+        }
+        if (!mode.equals("INLINE"))
+        {
+            bus = new EventBus(8192, WAIT_STRATEGY.valueOf(mode));
+            bus.handleEventsWith(inline);
+            bus.start();
+        }
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        if (bus != null)
+        {
+            bus.halt();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void privMsg() throws Exception
+    {
+        done = new CountDownLatch(consumers);
+        for (int i = 0; i < MESSAGES; i++)
+        {
+            if (bus != null)
+            {
+                bus.publish(lines[i], messages[i]);
+            }
+            else
+            {
+                for (Consumer consumer : inline)
+                {
+                    consumer.handle(messages[i]);
+                }
+            }
+        }
+        done.await();
+    }
+
+    private static final class Consumer implements EventHandler<ChatEvent>
+    {
+        private final int work;
+        private final EventBusBenchmark benchmark;
+        private int handled;
+
+        Consumer(int work, EventBusBenchmark benchmark)
+        {
+            this.work = work;
+            this.benchmark = benchmark;
+        }
+
+        @Override
+        public void onEvent(ChatEvent event, long sequence, boolean endOfBatch)
+        {
+            handle(event.getMessage());
+        }
+
+        void handle(TwitchMessage message)
+        {
+            Blackhole.consumeCPU(work);
+            if (++handled % MESSAGES == 0)
+            {
+                benchmark.done.countDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package jtwirc.bench;
+
+import jtwirc.types.emote.Emote;
+import jtwirc.types.emote.EmoteParser;
+import jtwirc.types.twitchMessage.ByteTwitchMessage;
+import jtwirc.types.twitchMessage.ByteTwitchMessageBuilder;
+import jtwirc.types.twitchMessage.DefaultTwitchMessageBuilder;
+import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.types.twitchMessage.TwitchMessageBuilder;
+import jtwirc.types.usernotice.DefaultUsernoticeBuilder;
+import jtwirc.types.usernotice.UsernoticeBuilder;
+import jtwirc.types.users.DefaultTwitchUserBuilder;
+import jtwirc.types.users.TwitchUserBuilder;
+import jtwirc.utils.ParsingUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the parsing hot path. Every benchmark parses a whole corpus of lines per invocation, so the
+ * results are reported per corpus. Run with {@code gradle jmh}, which also enables the gc profiler, so that the
+ * allocation rate ({@code gc.alloc.rate.norm}) is reported alongside throughput.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark
+{
+    private TwitchMessageBuilder messageBuilder;
+    private TwitchUserBuilder userBuilder;
+    private UsernoticeBuilder usernoticeBuilder;
+    private ByteTwitchMessageBuilder byteBuilder;
+    private byte[][] privMsgBytes;
+
+    @Setup
+    public void setup()
+    {
+        messageBuilder = new DefaultTwitchMessageBuilder();
+        userBuilder = new DefaultTwitchUserBuilder();
+        usernoticeBuilder = new DefaultUsernoticeBuilder();
+        byteBuilder = new ByteTwitchMessageBuilder();
+
+        privMsgBytes = new byte[Corpus.PRIVMSG.length][];
+        for (int i = 0; i < privMsgBytes.length; i++)
+        {
+            privMsgBytes[i] = Corpus.PRIVMSG[i].getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public void privMsg(Blackhole bh)
+    {
+        for (String line : Corpus.PRIVMSG)
+        {
+            TwitchMessage message = messageBuilder.build(line);
+            bh.consume(userBuilder.build(message));
+        }
+    }
+
+    @Benchmark
+    public void privMsgBytes(Blackhole bh)
+    {
+        for (byte[] line : privMsgBytes)
+        {
+            TwitchMessage message = byteBuilder.build(line, 0, line.length);
+            bh.consume(userBuilder.build(message));
+        }
+    }
+
+    @Benchmark
+    public void privMsgBytesFlags(Blackhole bh)
+    {
+        //Only reads what the byte parser extracts without decoding, which is what a filter on the reading thread would do
+        for (byte[] line : privMsgBytes)
+        {
+            ByteTwitchMessage message = (ByteTwitchMessage) byteBuilder.build(line, 0, line.length);
+            bh.consume(message.isMod());
+            bh.consume(message.getUserID());
+            bh.consume(message.getCommand());
+        }
+    }
+
+    @Benchmark
+    public void emoteDense(Blackhole bh)
+    {
+        for (String line : Corpus.EMOTE_DENSE)
+        {
+            TwitchMessage message = messageBuilder.build(line);
+            bh.consume(userBuilder.build(message));
+            bh.consume(message.hasEmotes());
+        }
+    }
+
+    @Benchmark
+    public void emoteObjects(Blackhole bh)
+    {
+        for (String line : Corpus.EMOTE_DENSE)
+        {
+            for (Emote emote : messageBuilder.build(line).getEmotes())
+            {
+                bh.consume(emote.getPattern());
+            }
+        }
+    }
+
+    @Benchmark
+    public void emoteData(Blackhole bh)
+    {
+        for (String line : Corpus.EMOTE_DENSE)
+        {
+            bh.consume(EmoteParser.parseEmoteData(line));
+        }
+    }
+
+    @Benchmark
+    public void usernotice(Blackhole bh)
+    {
+        for (String line : Corpus.USERNOTICE)
+        {
+            bh.consume(usernoticeBuilder.build(messageBuilder.build(line)));
+        }
+    }
+
+    @Benchmark
+    public void joinPart(Blackhole bh)
+    {
+        for (String line : Corpus.JOIN_PART)
+        {
+            TwitchMessage message = messageBuilder.build(line);
+            bh.consume(message.getCommand());
+            bh.consume(message.getPrefix());
+        }
+    }
+
+    @Benchmark
+    public void numeric(Blackhole bh)
+    {
+        for (String line : Corpus.NUMERIC)
+        {
+            TwitchMessage message = messageBuilder.build(line);
+            bh.consume(message.getCommand());
+            bh.consume(message.getContent());
+        }
+    }
+
+    @Benchmark
+    public void parsingUtil(Blackhole bh)
+    {
+        for (String line : Corpus.PRIVMSG)
+        {
+            bh.consume(ParsingUtil.parseString("display-name=", line));
+            bh.consume(ParsingUtil.parseString("user-id=", line));
+            bh.consume(ParsingUtil.parseString("tmi-sent-ts=", line));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package jtwirc;
+
+import jtwirc.metrics.ControlMetrics;
+import jtwirc.utils.ParsingUtil;
+
+/**
+ * Handles the server's control commands on the reader thread, before a line is queued or parsed.<br><br>
+ * <p>
+ * Lines are recognized by their command token alone, after skipping the tags and the prefix. So a chat message that
+ * happens to contain "PING" is just a chat message. The commands handled are:
+ * <ul>
+ * <li>PING - Answered with a PONG through the output queue's control slot (see {@link OutputQueue#addControl(String, long)}),
+ * which is sent ahead of queued chat messages and without waiting out the message gap. The line is not dispatched.
+ * <li>PONG - The answer to a PING we sent ourselves. Its round trip is recorded, and the line is dispatched as usual.
+ * <li>RECONNECT - The server is about to close the connection. The line is not dispatched, and the reader is told to
+ * stop, which disconnects and lets the listeners reconnect.
+ * </ul>
+ */
+class ControlPlane
+{
+    //***********************************************************************************************
+    //											VARIABLES
+    //***********************************************************************************************
+    /**
+     * What the reader should do with a line after the control plane has seen it
+     */
+    enum Result
+    {
+        DISPATCH, CONSUMED, STOP_READING
+    }
+
+    private final OutputQueue queue;
+    private final ControlMetrics metrics;
+
+    //***********************************************************************************************
+    //											CONSTRUCTOR
+    //***********************************************************************************************
+    ControlPlane(OutputQueue queue, ControlMetrics metrics)
+    {
+        this.queue = queue;
+        this.metrics = metrics;
+    }
+
+    //***********************************************************************************************
+    //											PACKAGE
+    //***********************************************************************************************
+
+    /**
+     * Looks at a line as soon as it has been read
+     *
+     * @param line      The line
+     * @param readNanos When the line was read, as given by {@link System#nanoTime()}
+     * @return What the reader should do with the line
+     */
+    Result handle(String line, long readNanos)
+    {
+        int start = ParsingUtil.commandStart(line);
+        int end = ParsingUtil.commandEnd(line, start);
+
+        if (matches(line, start, end, "PING"))
+        {
+            metrics.recordPing();
+            System.out.println("IN  " + line);
+            //We reply with whatever the server sent after PING, so "PING :tmi.twitch.tv" is answered by "PONG :tmi.twitch.tv"
+            queue.addControl("PONG" + line.substring(end), readNanos);
+            return Result.CONSUMED;
+        }
+        else if (matches(line, start, end, "PONG"))
+        {
+            recordRoundTrip(line);
+            return Result.DISPATCH;
+        }
+        else if (matches(line, start, end, "RECONNECT"))
+        {
+            metrics.recordReconnect();
+            System.out.println("IN  " + line);
+            return Result.STOP_READING;
+        }
+        return Result.DISPATCH;
+    }
+
+    //***********************************************************************************************
+    //											PRIVATE
+    //***********************************************************************************************
+    private static boolean matches(String line, int start, int end, String command)
+    {
+        return end - start == command.length() && line.startsWith(command, start);
+    }
+
+    /**
+     * Our own PINGs carry the time they were sent, see {@link InputThread}, and the server echoes it back as the
+     * PONG's last parameter
+     */
+    private void recordRoundTrip(String line)
+    {
+        int index = line.lastIndexOf(' ') + 1;
+        if (index < line.length() && line.charAt(index) == ':')
+        {
+            index++;
+        }
+        try
+        {
+            long sent = Long.parseLong(line.substring(index));
+            metrics.recordRoundTrip(System.currentTimeMillis() - sent);
+        }
+        catch (NumberFormatException ignored)
+        {
+            //Not one of our PINGs
+        }
+    }
+}
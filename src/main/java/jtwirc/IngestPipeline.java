@@ -0,0 +1,238 @@
+package jtwirc;
+
+import jtwirc.enums.OVERFLOW_POLICY;
+import jtwirc.intercept.InterceptedLine;
+import jtwirc.metrics.IngestMetrics;
+import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.types.twitchMessage.TwitchMessageBuilder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Moves incoming lines from the {@link InputThread} to the listeners.<br><br>
+ * <p>
+ * The reader thread should do nothing but read, so that a slow listener cannot stop us from reading (and answering
+ * PINGs). Thus, incoming lines pass through three stages:
+ * <ul>
+ * <li>Read - The {@link InputThread} puts each line in a bounded queue, see {@link #offer(String)}. What happens when
+ * the queue is full is decided by the {@link OVERFLOW_POLICY}.
+ * <li>Parse - Each line is turned into a {@link TwitchMessage}. If parse threads are configured, lines are parsed in
+ * parallel as soon as they are queued. Otherwise, they are parsed by the dispatch thread.
+ * <li>Dispatch - A single thread takes lines from the queue, in the order they were read, runs them through the
+ * {@link InterceptorChain} and hands those that pass to {@link Twirc#dispatch(String, TwitchMessage)}. Since the queue is FIFO and there is only one dispatch thread,
+ * listeners see messages in the order the server sent them, even when they were parsed in parallel.
+ * </ul>
+ * A pipeline lives as long as one connection. It is created and started on connect, and ended on disconnect.
+ */
+class IngestPipeline
+{
+    //***********************************************************************************************
+    //											VARIABLES
+    //***********************************************************************************************
+    private final Twirc connection;
+    private final TwitchMessageBuilder builder;
+    private final BlockingQueue<Entry> queue;
+    private final OVERFLOW_POLICY overflowPolicy;
+    private final Consumer<Entry> evicted;
+    private final ExecutorService parsers;
+    private final IngestMetrics metrics;
+    private final InterceptorChain interceptors;
+    private final InterceptedLine intercepted;
+    private final Thread dispatchThread;
+
+    private volatile boolean isRunning = true;
+
+    //***********************************************************************************************
+    //											CONSTRUCTOR
+    //***********************************************************************************************
+    IngestPipeline(Twirc connection, TwitchMessageBuilder builder, int capacity, OVERFLOW_POLICY overflowPolicy,
+                   int parseThreads, IngestMetrics metrics, InterceptorChain interceptors)
+    {
+        this.connection = connection;
+        this.builder = builder;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.metrics = metrics;
+        this.evicted = oldest ->
+        {
+            discard(oldest);
+            metrics.recordEvicted();
+        };
+        this.interceptors = interceptors;
+        this.intercepted = new InterceptedLine(this::parse);
+
+        if (parseThreads > 0)
+        {
+            AtomicInteger count = new AtomicInteger();
+            this.parsers = Executors.newFixedThreadPool(parseThreads, r ->
+            {
+                Thread t = new Thread(r, "Twirc-ParseThread-" + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        else
+        {
+            this.parsers = null;
+        }
+
+        this.dispatchThread = new Thread(this::dispatchLoop, "Twirc-DispatchThread");
+    }
+
+    //***********************************************************************************************
+    //											PACKAGE
+    //***********************************************************************************************
+    void start()
+    {
+        dispatchThread.start();
+    }
+
+    /**
+     * Puts a line in the ingest queue. Called by the reader thread.<br><br>
+     * <p>
+     * If the queue is full, this method either blocks or discards a line, depending on the pipeline's
+     * {@link OVERFLOW_POLICY}.
+     *
+     * @param line The line, as read from the server
+     */
+    void offer(String line)
+    {
+        Future<TwitchMessage> parsed = parsers == null ? null : parsers.submit(() -> parse(line));
+        Entry entry = new Entry(line, System.nanoTime(), parsed);
+
+        if (!overflowPolicy.offer(queue, entry, evicted))
+        {
+            discard(entry);
+            metrics.recordDropped();
+            return;
+        }
+        metrics.recordEnqueued();
+    }
+
+    /**
+     * Stops the dispatch thread and the parse threads. Lines still in the queue are discarded.
+     */
+    void end()
+    {
+        isRunning = false;
+        dispatchThread.interrupt();
+        if (parsers != null)
+        {
+            parsers.shutdownNow();
+        }
+    }
+
+    //***********************************************************************************************
+    //											PRIVATE
+    //***********************************************************************************************
+    private void dispatchLoop()
+    {
+        while (isRunning)
+        {
+            Entry entry;
+            try
+            {
+                entry = queue.take();
+            }
+            catch (InterruptedException e)
+            {
+                //Interrupted by shutdown(), so isRunning is false and the loop ends
+                continue;
+            }
+            metrics.recordDequeued(System.nanoTime() - entry.enqueuedNanos);
+
+            String line = entry.line;
+            TwitchMessage message = null;
+            try
+            {
+                message = entry.parsed != null ? entry.parsed.get() : null;
+
+                //Interceptors run before anything is built for the line. They only parse it if they need to
+                if (!interceptors.isEmpty())
+                {
+                    intercepted.reset(line, message);
+                    if (!interceptors.run(intercepted))
+                    {
+                        continue;
+                    }
+                    line = intercepted.getLine();
+                    message = intercepted.getMessageIfParsed();
+                }
+
+                if (message == null)
+                {
+                    message = parse(line);
+                }
+            }
+            catch (InterruptedException e)
+            {
+                continue;
+            }
+            catch (ExecutionException | RuntimeException e)
+            {
+                System.err.println("Error in parsing the incomming Irc Message: " + line);
+                e.printStackTrace();
+                metrics.recordParseError();
+            }
+
+            if (message != null && message.getSentTimestamp() > 0)
+            {
+                metrics.recordEndToEnd(message.getSentTimestamp(), System.currentTimeMillis());
+            }
+
+            long start = System.nanoTime();
+            try
+            {
+                connection.dispatch(line, message);
+            }
+            catch (Exception e)
+            {
+                System.err.println("Error in handling the incomming Irc Message");
+                e.printStackTrace();
+            }
+            metrics.recordDispatched(System.nanoTime() - start);
+        }
+    }
+
+    private TwitchMessage parse(String line)
+    {
+        TwitchMessage message = builder.build(line);
+
+        //When parsing in parallel, we also parse the user's tags here, so the dispatch thread only has to copy them
+        if (parsers != null && !message.getTag().isEmpty()
+                && (message.getCommand().equals("PRIVMSG") || message.getCommand().equals("WHISPER")))
+        {
+            message.getUserFields();
+        }
+        return message;
+    }
+
+    private static void discard(Entry entry)
+    {
+        if (entry.parsed != null)
+        {
+            entry.parsed.cancel(false);
+        }
+    }
+
+    private static final class Entry
+    {
+        final String line;
+        final long enqueuedNanos;
+        final Future<TwitchMessage> parsed;
+
+        Entry(String line, long enqueuedNanos, Future<TwitchMessage> parsed)
+        {
+            this.line = line;
+            this.enqueuedNanos = enqueuedNanos;
+            this.parsed = parsed;
+        }
+    }
+}
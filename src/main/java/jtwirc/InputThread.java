@@ -44,17 +44,24 @@ class InputThread extends Thread
                     {
                         havePinged = false;
 
+                        boolean keepReading = true;
                         try
                         {
-                            connection.incommingMessage(line);
+                            keepReading = connection.incommingMessage(line);
                         }
                         catch (Exception e)
                         {
                             System.err.println("Error in handling the incomming Irc Message");
                             e.printStackTrace();
                         }
+
+                        //The server told us to reconnect, so we stop reading and let the connection be torn down below
+                        if (!keepReading)
+                        {
+                            break;
+                        }
                     }
-                    //If we reach this line, it means the line was null. That only happens if the end of the stream's been reached
+                    //If we reach this line, either the end of the stream's been reached or the server asked us to reconnect
                     isConnected = false;
                 }
                 catch (SocketTimeoutException e)
@@ -0,0 +1,91 @@
+package jtwirc;
+
+import jtwirc.intercept.InterceptedLine;
+import jtwirc.intercept.LineInterceptor;
+import jtwirc.metrics.InterceptorMetrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@link LineInterceptor}s of a {@link Twirc} instance, run by the {@link IngestPipeline}'s dispatch thread on
+ * each line before it is dispatched. The chain is fixed when the instance is built, see
+ * {@link TwircBuilder#addLineInterceptor(LineInterceptor)}.
+ */
+class InterceptorChain
+{
+    //***********************************************************************************************
+    //											VARIABLES
+    //***********************************************************************************************
+    private final LineInterceptor[] interceptors;
+    private final InterceptorMetrics[] metrics;
+
+    //***********************************************************************************************
+    //											CONSTRUCTOR
+    //***********************************************************************************************
+    InterceptorChain(List<LineInterceptor> interceptors)
+    {
+        this.interceptors = interceptors.toArray(new LineInterceptor[0]);
+        this.metrics = new InterceptorMetrics[this.interceptors.length];
+        for (int i = 0; i < this.interceptors.length; i++)
+        {
+            String name = this.interceptors[i].getClass().getSimpleName();
+            this.metrics[i] = new InterceptorMetrics(name.isEmpty() ? this.interceptors[i].getClass().getName() : name);
+        }
+    }
+
+    //***********************************************************************************************
+    //											PACKAGE
+    //***********************************************************************************************
+    boolean isEmpty()
+    {
+        return interceptors.length == 0;
+    }
+
+    /**
+     * Runs the line through each interceptor in turn, stopping at the first one that drops it
+     *
+     * @param line The line. Interceptors may rewrite it
+     * @return {@code true} if the line should be dispatched
+     */
+    boolean run(InterceptedLine line)
+    {
+        for (int i = 0; i < interceptors.length; i++)
+        {
+            String before = line.getLine();
+            boolean passed = true;
+            boolean success = true;
+            try
+            {
+                passed = interceptors[i].intercept(line);
+            }
+            catch (Exception e)
+            {
+                success = false;
+                System.err.println("Error in line interceptor " + metrics[i].getName() + " on line: " + before);
+                e.printStackTrace();
+                //A failing interceptor must not change the line
+                line.setLine(before);
+            }
+            metrics[i].recordLine(passed, !before.equals(line.getLine()), success);
+
+            if (!passed)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fetches the metrics of every interceptor, in chain order
+     *
+     * @return The interceptors' metrics
+     */
+    List<InterceptorMetrics> metrics()
+    {
+        return Collections.unmodifiableList(new ArrayList<>(Arrays.asList(metrics)));
+    }
+}
@@ -0,0 +1,154 @@
+package jtwirc;
+
+import jtwirc.ListenerRegistry.Registration;
+import jtwirc.enums.EVENT_TYPE;
+import jtwirc.events.TwircListener;
+import jtwirc.types.clearChat.ClearChatEvent;
+import jtwirc.types.globaluserstate.GlobalUserStateEvent;
+import jtwirc.types.hostTarget.HostTargetEvent;
+import jtwirc.types.mode.ModeEvent;
+import jtwirc.types.notice.NoticeEvent;
+import jtwirc.types.roomstate.RoomstateEvent;
+import jtwirc.types.subscriberEvent.SubscriberEvent;
+import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.types.usernotice.UserNoticeEvent;
+import jtwirc.types.users.TwitchUser;
+import jtwirc.types.users.UserStateEvent;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calls listeners on behalf of {@link Twirc#dispatch(String, TwitchMessage)}, one at a time, and watches each call.
+ * <br><br>
+ * <p>
+ * Every call is timed into the listener's {@link jtwirc.metrics.ListenerMetrics}. A call that throws is logged together
+ * with the line being dispatched, and the remaining listeners are still called. A call that takes longer than the
+ * slow call threshold is logged as well, so lag in chat can be traced back to the listener causing it.
+ */
+class ListenerInvoker
+{
+    //***********************************************************************************************
+    //											VARIABLES
+    //***********************************************************************************************
+    private final long slowCallNanos;
+
+    //***********************************************************************************************
+    //											CONSTRUCTOR
+    //***********************************************************************************************
+    ListenerInvoker(long slowCallMillis)
+    {
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMillis);
+    }
+
+    //***********************************************************************************************
+    //											PACKAGE
+    //***********************************************************************************************
+
+    /**
+     * Calls a callback on each subscriber
+     *
+     * @param type        The event type, which decides the callback
+     * @param line        The line being dispatched, for logging. May be {@code null} for events not caused by a line
+     * @param subscribers The listeners to call, in order
+     * @param first       The callback's first argument, if it has one
+     * @param second      The callback's second argument, if it has one
+     */
+    void invoke(EVENT_TYPE type, String line, Registration[] subscribers, Object first, Object second)
+    {
+        for (Registration subscriber : subscribers)
+        {
+            long start = System.nanoTime();
+            boolean success = true;
+            try
+            {
+                call(type, subscriber.listener, first, second);
+            }
+            catch (Exception e)
+            {
+                success = false;
+                System.err.println("Error in listener " + subscriber.metrics.getName() + " during " + type
+                        + (line == null ? "" : " on line: " + line));
+                e.printStackTrace();
+            }
+
+            long elapsed = System.nanoTime() - start;
+            boolean isSlow = elapsed > slowCallNanos;
+            if (isSlow)
+            {
+                System.err.println("Slow listener " + subscriber.metrics.getName() + " took "
+                        + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms during " + type
+                        + (line == null ? "" : " on line: " + line));
+            }
+            subscriber.metrics.recordCall(type, elapsed, success, isSlow);
+        }
+    }
+
+    //***********************************************************************************************
+    //											PRIVATE
+    //***********************************************************************************************
+    @SuppressWarnings("unchecked")
+    private static void call(EVENT_TYPE type, TwircListener l, Object first, Object second)
+    {
+        switch (type)
+        {
+            case ANYTHING:
+                l.onAnything((String) first);
+                break;
+            case PRIVMSG:
+                l.onPrivMsg((TwitchUser) first, (TwitchMessage) second);
+                break;
+            case WHISPER:
+                l.onWhisper((TwitchUser) first, (TwitchMessage) second);
+                break;
+            case ACTION:
+                l.onAction((TwitchUser) first, (TwitchMessage) second);
+                break;
+            case JOIN:
+                l.onJoin((String) first);
+                break;
+            case PART:
+                l.onPart((String) first);
+                break;
+            case CONNECT:
+                l.onConnect();
+                break;
+            case DISCONNECT:
+                l.onDisconnect();
+                break;
+            case NOTICE:
+                l.onNotice((NoticeEvent) first);
+                break;
+            case HOST:
+                l.onHost((HostTargetEvent) first);
+                break;
+            case SUBSCRIBER_EVENT:
+                l.onSubscriberEvent((SubscriberEvent) first);
+                break;
+            case MODE:
+                l.onMode((ModeEvent) first);
+                break;
+            case USERSTATE:
+                l.onUserState((UserStateEvent) first);
+                break;
+            case GLOBAL_USERSTATE:
+                l.onGlobalUserstate((GlobalUserStateEvent) first);
+                break;
+            case ROOMSTATE:
+                l.onRoomstate((RoomstateEvent) first);
+                break;
+            case CLEARCHAT:
+                l.onClearChat((ClearChatEvent) first);
+                break;
+            case NAMES_LIST:
+                l.onNamesList((Collection<String>) first);
+                break;
+            case USERNOTICE:
+                l.onUsernotice((UserNoticeEvent) first);
+                break;
+            case UNKNOWN:
+                l.onUnknown((String) first);
+                break;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package jtwirc;
+
+import jtwirc.enums.EVENT_TYPE;
+import jtwirc.events.DelegatingListener;
+import jtwirc.events.TwircListener;
+import jtwirc.metrics.ListenerMetrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * The listeners of a {@link Twirc} instance.<br><br>
+ * <p>
+ * Listeners are called for every line we receive, but they are rarely added or removed. So this registry is
+ * copy-on-write: adding or removing a listener builds a new array, and dispatch simply reads the current array
+ * (see {@link #registrations(EVENT_TYPE)}) without taking any lock. A listener added or removed while a line is being dispatched
+ * takes effect from the next line on.<br><br>
+ * <p>
+ * Listeners are called in order of priority, highest first. Listeners with the same priority are called in the
+ * order they were added.<br><br>
+ * <p>
+ * Each listener subscribes to a set of {@link EVENT_TYPE}s, and the registry keeps one array per event type. That way
+ * dispatch only calls the listeners that care about an event, and can skip building events nobody subscribes to.<br><br>
+ * <p>
+ * Each registration also carries the listener's {@link ListenerMetrics}, which dispatch records into around every
+ * call.
+ */
+class ListenerRegistry
+{
+    //***********************************************************************************************
+    //											VARIABLES
+    //***********************************************************************************************
+    private static final Registration[] NO_REGISTRATIONS = new Registration[0];
+
+    private final Object writeLock = new Object();
+
+    private Registration[] registrations = NO_REGISTRATIONS;  //Guarded by writeLock
+    private volatile Registration[][] byType = emptyByType();
+
+    //***********************************************************************************************
+    //											PACKAGE
+    //***********************************************************************************************
+
+    /**
+     * Fetches the current registrations subscribing to a certain event type, in calling order. This is what dispatch
+     * uses, since it needs each listener's metrics as well. The returned array must not be modified
+     *
+     * @param type The event type
+     * @return The current registrations for that type. Empty if there are none
+     */
+    Registration[] registrations(EVENT_TYPE type)
+    {
+        return byType[type.ordinal()];
+    }
+
+    /**
+     * Fetches the metrics of every listener, in calling order
+     *
+     * @return The listeners' metrics
+     */
+    List<ListenerMetrics> metrics()
+    {
+        Registration[] current;
+        synchronized (writeLock)
+        {
+            current = registrations;
+        }
+        List<ListenerMetrics> out = new ArrayList<>(current.length);
+        for (Registration registration : current)
+        {
+            out.add(registration.metrics);
+        }
+        return out;
+    }
+
+    /**
+     * Adds a listener. A listener added several times will be called several times
+     *
+     * @param listener The listener
+     * @param priority The listener's priority. Listeners with higher priority are called first
+     * @param types    The event types the listener subscribes to
+     */
+    void add(TwircListener listener, int priority, EnumSet<EVENT_TYPE> types)
+    {
+        synchronized (writeLock)
+        {
+            //Insert after every listener with the same or higher priority, so equal priorities keep insertion order
+            int index = 0;
+            while (index < registrations.length && registrations[index].priority >= priority)
+            {
+                index++;
+            }
+
+            Registration[] next = new Registration[registrations.length + 1];
+            System.arraycopy(registrations, 0, next, 0, index);
+            next[index] = new Registration(listener, priority, EnumSet.copyOf(types));
+            System.arraycopy(registrations, index, next, index + 1, registrations.length - index);
+            publish(next);
+        }
+    }
+
+    /**
+     * Removes the first occurrence of a listener
+     *
+     * @param listener The listener
+     * @return {@code true} if the listener was removed
+     */
+    boolean remove(TwircListener listener)
+    {
+        synchronized (writeLock)
+        {
+            for (int i = 0; i < registrations.length; i++)
+            {
+                if (registrations[i].listener.equals(listener))
+                {
+                    Registration[] next = new Registration[registrations.length - 1];
+                    System.arraycopy(registrations, 0, next, 0, i);
+                    System.arraycopy(registrations, i + 1, next, i, registrations.length - i - 1);
+                    publish(next);
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    //***********************************************************************************************
+    //											PRIVATE
+    //***********************************************************************************************
+    private void publish(Registration[] next)
+    {
+        Registration[][] nextByType = emptyByType();
+        for (EVENT_TYPE type : EVENT_TYPE.values())
+        {
+            nextByType[type.ordinal()] = Arrays.stream(next)
+                    .filter(r -> r.types.contains(type))
+                    .toArray(Registration[]::new);
+        }
+
+        registrations = next;
+        byType = nextByType;
+    }
+
+    private static Registration[][] emptyByType()
+    {
+        Registration[][] out = new Registration[EVENT_TYPE.values().length][];
+        Arrays.fill(out, NO_REGISTRATIONS);
+        return out;
+    }
+
+    @Override
+    public String toString()
+    {
+        Registration[] current;
+        synchronized (writeLock)
+        {
+            current = registrations;
+        }
+        return Arrays.toString(Arrays.stream(current).map(r -> r.listener).toArray());
+    }
+
+    /**
+     * Names a listener for its metrics. Wrapped listeners are named after the listener they wrap
+     */
+    private static String nameOf(TwircListener listener)
+    {
+        if (listener instanceof DelegatingListener)
+        {
+            return nameOf(((DelegatingListener) listener).getDelegate()) + " (" + listener.getClass().getSimpleName() + ")";
+        }
+        String name = listener.getClass().getSimpleName();
+        return name.isEmpty() ? listener.getClass().getName() : name;
+    }
+
+    static final class Registration
+    {
+        final TwircListener listener;
+        final int priority;
+        final EnumSet<EVENT_TYPE> types;
+        final ListenerMetrics metrics;
+
+        Registration(TwircListener listener, int priority, EnumSet<EVENT_TYPE> types)
+        {
+            this.listener = listener;
+            this.priority = priority;
+            this.types = types;
+            this.metrics = new ListenerMetrics(nameOf(listener), types);
+        }
+    }
+}
@@ -7,9 +7,13 @@ import java.util.LinkedList;
  * <li>A) one consumer/multiple producers and
  * <li>B) being able to put messages to the front and back of the queue.
  * </ul>
- * We also want the {@link #next()} method to block until there is anything to send to the IRC server in the
+ * We also want the {@link #next(long)} method to block until there is anything to send to the IRC server in the
  * queue.<br><br>
  * <p>
+ * Besides the regular queue, there is a control slot for replies to the server, such as PONG. Control messages are
+ * always handed out first, and do not have to wait for the message gap that protects us from Twitch's rate limit.
+ * <br><br>
+ * <p>
  * Due to these reasons, we cannot use a normal queue. Thus we use this thread safe and blocking implementation.
  */
 class OutputQueue
@@ -17,7 +21,9 @@ class OutputQueue
     //***********************************************************************************************
     //											VARIABLES
     //***********************************************************************************************
-    private final LinkedList<String> queue = new LinkedList<>();
+    private final LinkedList<Message> queue = new LinkedList<>();
+    private final LinkedList<Message> control = new LinkedList<>();
+    private boolean released = false;
 
     //***********************************************************************************************
     //											PUBLIC
@@ -32,7 +38,7 @@ class OutputQueue
     {
         synchronized (queue)
         {
-            queue.add(s);
+            queue.add(new Message(s, false, System.nanoTime()));
             queue.notify();
         }
     }
@@ -47,68 +53,109 @@ class OutputQueue
     {
         synchronized (queue)
         {
-            queue.addFirst(s);
+            queue.addFirst(new Message(s, false, System.nanoTime()));
+            queue.notify();
+        }
+    }
+
+    /**
+     * Adds a message to the control slot. It will be sent before any message in the regular queue, without waiting
+     * for the message gap. Only meant for replies the server expects, such as PONG.
+     *
+     * @param s           The message to send
+     * @param causedNanos When the line that caused the message was read, as given by {@link System#nanoTime()}. Used to
+     *                    measure how long the reply took
+     */
+    void addControl(String s, long causedNanos)
+    {
+        synchronized (queue)
+        {
+            control.add(new Message(s, true, causedNanos));
             queue.notify();
         }
     }
 
     /**
-     * A <b>blocking</b> call that retrieves the next message from the queue.
-     * If no message is currently in the queue, this method will block until a message appears.
+     * A <b>blocking</b> call that retrieves the next message to send.<br><br>
+     * <p>
+     * A control message is returned as soon as there is one. A regular message is returned once there is one and
+     * {@code regularNotBefore} has passed. Until then, this method blocks.
      *
-     * @return The next message OR <code>null</code>(if we were interrupted and there were no message in the queue)
+     * @param regularNotBefore The earliest time a regular message may be sent, as given by {@link System#nanoTime()}
+     * @return The next message OR <code>null</code>(if we were interrupted or released, and there were no message due)
      */
-    String next()
+    Message next(long regularNotBefore)
     {
         synchronized (queue)
         {
-            if (!hasNext())
+            while (true)
             {
+                if (!control.isEmpty())
+                {
+                    return control.removeFirst();
+                }
+
+                long waitNanos = regularNotBefore - System.nanoTime();
+                if (!queue.isEmpty() && waitNanos <= 0)
+                {
+                    return queue.removeFirst();
+                }
+
+                if (released)
+                {
+                    released = false;
+                    return null;
+                }
+
                 try
                 {
-                    queue.wait();
+                    if (queue.isEmpty())
+                    {
+                        queue.wait();
+                    }
+                    else
+                    {
+                        //Round up, so we don't wake up a moment too early and spin
+                        queue.wait(waitNanos / 1_000_000 + 1);
+                    }
                 }
                 catch (InterruptedException e)
                 {
-                    /* Being interrupted either means that there now is an element in the queue or
-					 * that the application is shutting down.
-					 * Anyway, we don't need to care about being interrupted, we simply proceed as
-					 * usual and let the thread waiting for input handle the potential null return */
+                    /* Being interrupted means that the application is shutting down.
+                     * We let the thread waiting for output handle the null return */
+                    return null;
                 }
             }
-            if (!hasNext())
-            {
-                return null;
-            }
-
-            String message = queue.getFirst();
-            queue.removeFirst();
-            return message;
         }
     }
 
     /**
-     * Checks if there are any elements currently in the queue
-     *
-     * @return {@code true} if there are any messages in the queue
+     * This will cause all threads waiting for new content in the {@code queue} to wake up. <br>
+     * If there is no content due when this call is issued, waiting threads will return {@code null}
      */
-    private boolean hasNext()
+    void releaseWaitingThreads()
     {
         synchronized (queue)
         {
-            return queue.size() > 0;
+            released = true;
+            queue.notifyAll();
         }
     }
 
     /**
-     * This will cause all threads waiting for new content in the {@code queue} to wake up. <br>
-     * If there is no content when this call is issued, waiting threads will return {@code null}
+     * A message waiting to be sent
      */
-    void releaseWaitingThreads()
+    static final class Message
     {
-        synchronized (queue)
+        final String line;
+        final boolean isControl;
+        final long queuedNanos;
+
+        Message(String line, boolean isControl, long queuedNanos)
         {
-            queue.notifyAll();
+            this.line = line;
+            this.isControl = isControl;
+            this.queuedNanos = queuedNanos;
         }
     }
 }
@@ -1,15 +1,23 @@
 package jtwirc;
 
+import jtwirc.OutputQueue.Message;
+import jtwirc.metrics.ControlMetrics;
+
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.net.SocketException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class handles all outgoing IRC traffic.<br><br>
  * <p>
  * The implementation is intended to be thread safe and handle all potential errors (<u>keyword: INTENDED</u>).
  * That means that we can have multiple threads feeding the message queue safely and still operate without any trouble.
+ * <br><br>
+ * <p>
+ * Regular messages are sent at most once per {@link #MESSAGE_GAP_MILLIS}, to stay clear of Twitch's rate limit.
+ * Control messages, such as PONG, are sent as soon as they are queued.
  *
  * @author Simon
  */
@@ -18,20 +26,25 @@ class OutputThread extends Thread
     //***********************************************************************************************
     //											VARIABLES
     //***********************************************************************************************
+    private static final long MESSAGE_GAP_MILLIS = 1500;
+
     private final Twirc connection;
     private final BufferedWriter writer;
     private final OutputQueue queue;
+    private final ControlMetrics controlMetrics;
 
     private boolean isConnected = true;
 
     //***********************************************************************************************
     //											CONSTRUCTOR
     //***********************************************************************************************
-    OutputThread(Twirc connection, OutputQueue queue, BufferedReader reader, BufferedWriter writer)
+    OutputThread(Twirc connection, OutputQueue queue, BufferedReader reader, BufferedWriter writer,
+                 ControlMetrics controlMetrics)
     {
         this.connection = connection;
         this.queue = queue;
         this.writer = writer;
+        this.controlMetrics = controlMetrics;
 
         this.setName("Twirc-OutputThread");
     }
@@ -39,29 +52,32 @@ class OutputThread extends Thread
     @Override
     public void run()
     {
-        String line;
+        long regularNotBefore = System.nanoTime();
         while (isConnected)
         {
             try
             {
-                line = queue.next();
-                if (line != null)
+                Message message = queue.next(regularNotBefore);
+                if (message == null)
                 {
-                    sendLine(line);
+                    //If we get a null message from the queue, it might mean that the application interrupted the thread
+                    // and wants us to shut down.
+                    isConnected = connection.isConnected();
+                }
+                else if (message.isControl)
+                {
+                    sendLine(message.line);
+                    controlMetrics.recordPong(System.nanoTime() - message.queuedNanos);
                 }
                 else
                 {
-                    //If we get a null line from the queue, it might mean that the application interrupted the thread
-                    // and wants us to shut down.
-                    isConnected = connection.isConnected();
+                    sendLine(message.line);
+                    regularNotBefore = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MESSAGE_GAP_MILLIS);
                 }
-                int MESSAGE_GAP_MILLIS = 1500;
-                Thread.sleep(MESSAGE_GAP_MILLIS);
             }
             catch (Exception ignored)
             {
-                /* Being interrupted probably means that we are about to shut down.
-	    		 * If the socket is closed, it also means that we are about to shut down.
+                /* If the socket is closed, it means that we are about to shut down.
         		 * 
         		 * If we are about to close down, isConnected will be set to false so we can just go back
         		 * to the loop and automatically terminate from there.  */
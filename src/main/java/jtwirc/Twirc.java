@@ -1,8 +1,13 @@
 package jtwirc;
 
+import jtwirc.ListenerRegistry.Registration;
+import jtwirc.bus.EventBus;
+import jtwirc.enums.EVENT_TYPE;
+import jtwirc.enums.OVERFLOW_POLICY;
 import jtwirc.events.TwircListener;
-import jtwirc.types.action.ActionBuilder;
-import jtwirc.types.action.ActionEvent;
+import jtwirc.metrics.ControlMetrics;
+import jtwirc.metrics.IngestMetrics;
+import jtwirc.metrics.TwircMetrics;
 import jtwirc.types.clearChat.ClearChatBuilder;
 import jtwirc.types.clearChat.ClearChatEvent;
 import jtwirc.types.globaluserstate.GlobalUserStateBuilder;
@@ -25,6 +30,7 @@ import jtwirc.types.users.TwitchUser;
 import jtwirc.types.users.TwitchUserBuilder;
 import jtwirc.types.users.UserStateEvent;
 import jtwirc.types.users.UserstateBuilder;
+import jtwirc.utils.StringPool;
 
 import javax.net.ssl.SSLSocketFactory;
 import java.io.*;
@@ -63,7 +69,8 @@ public class Twirc
     private final int port;
     private final boolean useSSL;
     private final OutputQueue queue;
-    private final ArrayList<TwircListener> listeners = new ArrayList<>();
+    private final ListenerRegistry listeners = new ListenerRegistry();
+    private final ListenerInvoker invoker;
     private final ClearChatBuilder clearChatBuilder;
     private final HostTargetBuilder hostTargetBuilder;
     private final ModeBuilder modeBuilder;
@@ -75,9 +82,18 @@ public class Twirc
     private final SubscriberEventBuilder subscriberBuilder;
     private final UsernoticeBuilder usernoticeBuilder;
     private final GlobalUserStateBuilder globalUserStateBuilder;
-    private final ActionBuilder actionBuilder;
+    private final int ingestCapacity;
+    private final OVERFLOW_POLICY overflowPolicy;
+    private final int parseThreads;
+    private final IngestMetrics ingestMetrics = new IngestMetrics();
+    private final ControlMetrics controlMetrics = new ControlMetrics();
+    private final ControlPlane controlPlane;
+    private final InterceptorChain interceptors;
+    private final EventBus eventBus;
+    private final TwircMetrics metrics;
     private OutputThread outThread;
     private InputThread inThread;
+    private IngestPipeline pipeline;
     private boolean resourcesCreated = false;
     private boolean isConnected = false;
     private boolean isDisposed = false;
@@ -110,9 +126,17 @@ public class Twirc
         this.subscriberBuilder = builder.getSubscriberEventBuilder();
         this.usernoticeBuilder = builder.getUsernoticeBuilder();
         this.globalUserStateBuilder = builder.getGlobalUserStateBuilder();
-        this.actionBuilder = builder.getActionBuilder();
+
+        this.ingestCapacity = builder.ingestCapacity;
+        this.overflowPolicy = builder.overflowPolicy;
+        this.parseThreads = builder.parseThreads;
+        this.eventBus = builder.eventBus;
+        this.invoker = new ListenerInvoker(builder.slowListenerMillis);
+        this.interceptors = new InterceptorChain(builder.interceptors);
+        this.metrics = new TwircMetrics(ingestMetrics, controlMetrics, listeners::metrics, interceptors.metrics());
 
         this.queue = new OutputQueue();
+        this.controlPlane = new ControlPlane(queue, controlMetrics);
 
         addIRCListener(new TwircMaintainanceListener(this));
     }
@@ -241,30 +265,91 @@ public class Twirc
     }
 
     /**
-     * Adds a specific listener to the list of active listeners
+     * Fetches the metrics of this instance's ingest pipeline, i.e. how many lines have been read, dropped and
+     * dispatched, and how long lines waited before reaching the listeners. See {@link IngestMetrics}
+     *
+     * @return The ingest metrics
+     */
+    public IngestMetrics getIngestMetrics()
+    {
+        return ingestMetrics;
+    }
+
+    /**
+     * Fetches all metrics of this instance: the ingest pipeline's, the control plane's (PING and PONG), each line
+     * interceptor's, and each listener's call times, failures and slow calls. See {@link TwircMetrics}
+     *
+     * @return The metrics
+     */
+    public TwircMetrics getMetrics()
+    {
+        return metrics;
+    }
+
+    /**
+     * Fetches the {@link EventBus} parsed lines are published to, if one was set with
+     * {@link TwircBuilder#setEventBus(EventBus)}
+     *
+     * @return The event bus, or {@code null} if there is none
+     */
+    public EventBus getEventBus()
+    {
+        return eventBus;
+    }
+
+    /**
+     * Adds a specific listener to the list of active listeners, with priority {@code 0}.
+     * See {@link #addIRCListener(TwircListener, int)}
      *
      * @param listener Listener to be added
      */
     public void addIRCListener(TwircListener listener)
     {
-        synchronized (listeners)
-        {
-            this.listeners.add(listener);
-        }
+        addIRCListener(listener, 0);
     }
 
     /**
-     * Removes a specific listener from the list of active listeners
+     * Adds a specific listener to the list of active listeners. Listeners with higher priority are called before
+     * listeners with lower priority. Listeners with the same priority are called in the order they were added.<br><br>
+     * <p>
+     * Adding a listener never waits for the line currently being dispatched. The listener is called from the next
+     * line on.
+     *
+     * @param listener Listener to be added
+     * @param priority The listener's priority
+     */
+    public void addIRCListener(TwircListener listener, int priority)
+    {
+        addIRCListener(listener, priority, EVENT_TYPE.subscribedBy(listener));
+    }
+
+    /**
+     * Adds a specific listener to the list of active listeners, subscribing only to certain event types. The
+     * listener's other callbacks are never called. See {@link #addIRCListener(TwircListener, int)}<br><br>
+     * <p>
+     * The other {@code addIRCListener} methods work out the subscriptions by themselves, see
+     * {@link EVENT_TYPE#subscribedBy(TwircListener)}. This method is for listeners that override more callbacks
+     * than they need on this connection, or that do not extend {@link jtwirc.events.TwircListenerBaseImpl}.
+     *
+     * @param listener Listener to be added
+     * @param priority The listener's priority
+     * @param types    The event types the listener should receive
+     */
+    public void addIRCListener(TwircListener listener, int priority, EnumSet<EVENT_TYPE> types)
+    {
+        listeners.add(listener, priority, types);
+    }
+
+    /**
+     * Removes a specific listener from the list of active listeners. The listener might still be called for the
+     * line currently being dispatched.
      *
      * @param listener Listener to be removed
      * @return <code>true</code> if the listener was removed
      */
     public boolean removeIRCListener(TwircListener listener)
     {
-        synchronized (listeners)
-        {
-            return this.listeners.remove(listener);
-        }
+        return listeners.remove(listener);
     }
 
     /**
@@ -306,16 +391,18 @@ public class Twirc
             addCapacities();
             Thread.sleep(1000);
 
-            //Start the input thread
+            //Start the event bus' handlers, the dispatch thread and the input thread
+            if (eventBus != null)
+            {
+                eventBus.start();
+            }
+            pipeline.start();
             inThread.start();
 
             //Join the channel
             serverMessage("JOIN " + channel);
 
-            for (TwircListener listener : listeners)
-            {
-                listener.onConnect();
-            }
+            invoker.invoke(EVENT_TYPE.CONNECT, null, listeners.registrations(EVENT_TYPE.CONNECT), null, null);
 
             return true;
         }
@@ -346,10 +433,7 @@ public class Twirc
         releaseResources();
         System.out.println("\tDisconnected from Twitch chat\n");
 
-        for (TwircListener l : listeners)
-        {
-            l.onDisconnect();
-        }
+        invoker.invoke(EVENT_TYPE.DISCONNECT, null, listeners.registrations(EVENT_TYPE.DISCONNECT), null, null);
     }
 
     /**
@@ -373,6 +457,10 @@ public class Twirc
 
         System.out.println("\n\tDisposing of IRC...");
         releaseResources();
+        if (eventBus != null)
+        {
+            eventBus.halt();
+        }
         System.out.println("\tDisposing of IRC completed\n");
     }
 
@@ -395,8 +483,9 @@ public class Twirc
         writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream()));
         reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
 
-        this.outThread = new OutputThread(this, queue, reader, writer);
+        this.outThread = new OutputThread(this, queue, reader, writer, controlMetrics);
         this.inThread = new InputThread(this, reader, writer);
+        this.pipeline = new IngestPipeline(this, twitchMessageBuilder, ingestCapacity, overflowPolicy, parseThreads, ingestMetrics, interceptors);
 
         resourcesCreated = true;
     }
@@ -407,6 +496,7 @@ public class Twirc
 
         outThread.end();
         inThread.end();
+        pipeline.end();
 
         try
         {
@@ -481,188 +571,218 @@ public class Twirc
         serverMessage("CAP REQ :twitch.tv/tags");
     }
 
-    void incommingMessage(String line)
+    /**
+     * Handles a line as soon as the reader has read it. Server control commands, such as PING, are handled right
+     * here by the {@link ControlPlane}. Everything else is handed to the ingest pipeline.
+     *
+     * @param line The line, as read from the server
+     * @return {@code false} if the reader should stop reading, because the server told us to reconnect
+     */
+    boolean incommingMessage(String line)
     {
-        //PING is a bit strange, so we need to handle it separately. And also, we want to respond to a ping
-        //before we do anything else.
-        if (line.contains("PING"))
+        switch (controlPlane.handle(line, System.nanoTime()))
         {
+            case CONSUMED:
+                return true;
+            case STOP_READING:
+                return false;
+            default:
+                //Everything else is parsed and handed to the listeners by the ingest pipeline, so the reader can keep reading
+                pipeline.offer(line);
+                return true;
+        }
+    }
 
-            // A PING contains the message "PING MESSAGE", and we want to reply with MESSAGE as well
-            // Hence, we reply "PONG MESSAGE" . That's where the substring(5) comes from bellow, we strip
-            //out everything but the message
-            System.out.println("IN  " + line);
-            serverMessage("PONG " + line.substring(5)); //Remove the "PING " part, and send the rest back
+    /**
+     * Calls all the appropriate listeners for a message. Called by the {@link IngestPipeline}'s dispatch thread,
+     * in the order the lines were read.<br><br>
+     * <p>
+     * Only listeners subscribing to the message's {@link EVENT_TYPE} are called, and if there are none, the event
+     * is not built at all. Each call is timed and isolated from the others by the {@link ListenerInvoker}, so a
+     * listener that throws does not keep the listeners after it from seeing the line.
+     *
+     * @param line    The line, as read from the server
+     * @param message The parsed line, or {@code null} if the line could not be parsed
+     */
+    void dispatch(String line, TwitchMessage message)
+    {
+        //First, we call all onAnything messages
+        invoker.invoke(EVENT_TYPE.ANYTHING, line, listeners.registrations(EVENT_TYPE.ANYTHING), line, null);
+
+        if (message == null)
+        {
             return;
         }
 
-        //Call all the appropriate listeners for the given message.
-        synchronized (listeners)
+        if (eventBus != null)
         {
-            //First, we call all onAnything messages
-            for (TwircListener l : listeners)
+            eventBus.publish(line, message);
+        }
+
+        //The listeners are read from snapshots, so adding or removing listeners never waits for dispatch
+        Registration[] subscribers;
+        String command = message.getCommand();
+        if (command.equals("JOIN"))
+        {
+            subscribers = listeners.registrations(EVENT_TYPE.JOIN);
+            if (subscribers.length != 0)
             {
-                l.onAnything(line);
+                invoker.invoke(EVENT_TYPE.JOIN, line, subscribers, parseUsername(message.getPrefix()), null);
             }
-
-            TwitchMessage message = twitchMessageBuilder.build(line);
-
-            //This message is a reply for a capacity request. Just ignore it
-            if (message.getCommand().equals("JOIN"))
+        }
+        else if (command.equals("PART"))
+        {
+            subscribers = listeners.registrations(EVENT_TYPE.PART);
+            if (subscribers.length != 0)
             {
-                String userName = parseUsername(message.getPrefix());
-                for (TwircListener l : listeners)
-                {
-                    l.onJoin(userName);
-                }
+                invoker.invoke(EVENT_TYPE.PART, line, subscribers, parseUsername(message.getPrefix()), null);
             }
-            else if (message.getCommand().equals("PART"))
+        }
+        else if (command.equals("PRIVMSG"))
+        {
+            //The user 'twitchnotify' is used by Twitch to send us messages
+            if (parseUsername(message.getPrefix()).equalsIgnoreCase("twitchnotify"))
             {
-                String userName = parseUsername(message.getPrefix());
-                for (TwircListener l : listeners)
-                {
-                    l.onPart(userName);
-                }
+                handleTwitchNotify(line, message);
+                return;
             }
-            else if (message.getCommand().equals("PRIVMSG"))
+
+            subscribers = listeners.registrations(EVENT_TYPE.PRIVMSG);
+            if (subscribers.length != 0)
             {
                 TwitchUser user = twitchUserBuilder.build(message);
-                if (user.getName().equalsIgnoreCase("twitchnotify"))
-                {
-                    handleTwitchNotify(message);    //The user 'twitchnotify' is used by Twitch to send us messages
-                }
-                else
-                {
-                    for (TwircListener l : listeners)
-                    {
-                        l.onPrivMsg(user, message);
-                    }
-                }
+                invoker.invoke(EVENT_TYPE.PRIVMSG, line, subscribers, user, message);
             }
-            else if (message.getCommand().equals("WHISPER"))
+        }
+        else if (command.equals("WHISPER"))
+        {
+            subscribers = listeners.registrations(EVENT_TYPE.WHISPER);
+            if (subscribers.length != 0)
             {
                 TwitchUser user = twitchUserBuilder.build(message);
-                for (TwircListener l : listeners)
-                {
-                    l.onWhisper(user, message);
-                }
+                invoker.invoke(EVENT_TYPE.WHISPER, line, subscribers, user, message);
             }
-            else if (message.getCommand().equals("NOTICE"))
+        }
+        else if (command.equals("NOTICE"))
+        {
+            subscribers = listeners.registrations(EVENT_TYPE.NOTICE);
+            if (subscribers.length != 0)
             {
                 NoticeEvent notice = noticeBuilder.build(message);
-                for (TwircListener l : listeners)
-                {
-                    l.onNotice(notice);
-                }
+                invoker.invoke(EVENT_TYPE.NOTICE, line, subscribers, notice, null);
             }
-            else if (message.getCommand().equals("MODE"))
+        }
+        else if (command.equals("MODE"))
+        {
+            subscribers = listeners.registrations(EVENT_TYPE.MODE);
+            if (subscribers.length != 0)
             {
                 ModeEvent mode = modeBuilder.build(message);
-                for (TwircListener l : listeners)
-                {
-                    l.onMode(mode);
-                }
+                invoker.invoke(EVENT_TYPE.MODE, line, subscribers, mode, null);
             }
-            else if (message.getCommand().equals("USERSTATE"))
+        }
+        else if (command.equals("USERSTATE"))
+        {
+            subscribers = listeners.registrations(EVENT_TYPE.USERSTATE);
+            if (subscribers.length != 0)
             {
                 UserStateEvent userstate = userstateBuilder.build(message);
-                for (TwircListener l : listeners)
-                {
-                    l.onUserState(userstate);
-                }
+                invoker.invoke(EVENT_TYPE.USERSTATE, line, subscribers, userstate, null);
             }
-            else if (message.getCommand().equals("USERNOTICE"))
+        }
+        else if (command.equals("USERNOTICE"))
+        {
+            subscribers = listeners.registrations(EVENT_TYPE.USERNOTICE);
+            if (subscribers.length != 0)
             {
                 UserNoticeEvent usernotice = usernoticeBuilder.build(message);
-                for (TwircListener l : listeners)
-                {
-                    l.onUsernotice(usernotice);
-                }
+                invoker.invoke(EVENT_TYPE.USERNOTICE, line, subscribers, usernotice, null);
             }
-            else if (message.getCommand().equals("ROOMSTATE"))
+        }
+        else if (command.equals("ROOMSTATE"))
+        {
+            subscribers = listeners.registrations(EVENT_TYPE.ROOMSTATE);
+            if (subscribers.length != 0)
             {
                 RoomstateEvent roomstate = roomstateBuilder.build(message);
-                for (TwircListener l : listeners)
-                {
-                    l.onRoomstate(roomstate);
-                }
+                invoker.invoke(EVENT_TYPE.ROOMSTATE, line, subscribers, roomstate, null);
             }
-            else if (message.getCommand().equals("ACTION"))
+        }
+        else if (command.equals("ACTION"))
+        {
+            subscribers = listeners.registrations(EVENT_TYPE.ACTION);
+            if (subscribers.length != 0)
             {
-                ActionEvent action = actionBuilder.build(message);
                 TwitchUser user = twitchUserBuilder.build(message);
-                for (TwircListener l : listeners)
-                {
-                    l.onAction(user, message);
-                }
+                invoker.invoke(EVENT_TYPE.ACTION, line, subscribers, user, message);
             }
-            else if (message.getCommand().equals("CLEARCHAT"))
+        }
+        else if (command.equals("CLEARCHAT"))
+        {
+            subscribers = listeners.registrations(EVENT_TYPE.CLEARCHAT);
+            if (subscribers.length != 0)
             {
                 ClearChatEvent clearChat = clearChatBuilder.build(message);
-                for (TwircListener l : listeners)
-                {
-                    l.onClearChat(clearChat);
-                }
+                invoker.invoke(EVENT_TYPE.CLEARCHAT, line, subscribers, clearChat, null);
             }
-            else if (message.getCommand().equals("HOSTTARGET"))
+        }
+        else if (command.equals("HOSTTARGET"))
+        {
+            subscribers = listeners.registrations(EVENT_TYPE.HOST);
+            if (subscribers.length != 0)
             {
                 HostTargetEvent hostTarget = hostTargetBuilder.build(message);
-                for (TwircListener l : listeners)
-                {
-                    l.onHost(hostTarget);
-                }
+                invoker.invoke(EVENT_TYPE.HOST, line, subscribers, hostTarget, null);
             }
-            else if (message.getCommand().equals("CAP"))
-            {
-                System.out.println("a CAP event??");
-                //TwircBot.log.info("Oh shit a CAP event");
-                //Twitch might in the future implement more of these...
-            }
-            else if (message.getCommand().equals("GLOBALUSERSTATE"))
+        }
+        else if (command.equals("CAP"))
+        {
+            System.out.println("a CAP event??");
+            //TwircBot.log.info("Oh shit a CAP event");
+            //Twitch might in the future implement more of these...
+        }
+        else if (command.equals("GLOBALUSERSTATE"))
+        {
+            subscribers = listeners.registrations(EVENT_TYPE.GLOBAL_USERSTATE);
+            if (subscribers.length != 0)
             {
                 GlobalUserStateEvent globalUserState = globalUserStateBuilder.build(message);
-                for (TwircListener l : listeners)
-                {
-                    l.onGlobalUserstate(globalUserState);
-                }
+                invoker.invoke(EVENT_TYPE.GLOBAL_USERSTATE, line, subscribers, globalUserState, null);
             }
-            else if (message.getCommand().equals("[0-9]+"))
+        }
+        else if (command.equals("[0-9]+"))
+        {
+            //Code 353 is USER LIST messages, which lists users online separated by a space
+            if (command.equals("353"))
             {
-                //Code 353 is USER LIST messages, which lists users online separated by a space
-                if (message.getCommand().equals("353"))
-                {
-                    List<String> users = Arrays.asList(message.getContent().split(" "));
-                    online.addAll(users);
-                }
-                else if (message.getCommand().equals("366"))
-                {
-                    Set<String> users = Collections.unmodifiableSet(online);
-                    for (TwircListener l : listeners)
-                    {
-                        l.onNamesList(users);
-                    }
-                }
+                List<String> users = Arrays.asList(message.getContent().split(" "));
+                online.addAll(users);
             }
-            else
+            else if (command.equals("366"))
             {
-                //If we've gotten all the way down here, we don't know this message's type
-                for (TwircListener l : listeners)
-                {
-                    l.onUnknown(line);
-                }
+                Set<String> users = Collections.unmodifiableSet(online);
+                invoker.invoke(EVENT_TYPE.NAMES_LIST, line, listeners.registrations(EVENT_TYPE.NAMES_LIST), users, null);
             }
         }
+        else
+        {
+            //If we've gotten all the way down here, we don't know this message's type
+            invoker.invoke(EVENT_TYPE.UNKNOWN, line, listeners.registrations(EVENT_TYPE.UNKNOWN), line, null);
+        }
     }
 
-    private void handleTwitchNotify(TwitchMessage message)
+    private void handleTwitchNotify(String line, TwitchMessage message)
     {
+        Registration[] subscribers = listeners.registrations(EVENT_TYPE.SUBSCRIBER_EVENT);
+        if (subscribers.length == 0)
+        {
+            return;
+        }
+
         SubscriberEvent subEvent = subscriberBuilder.build(message);
         if (subEvent != null)
         {
-            for (TwircListener l : listeners)
-            {
-                l.onSubscriberEvent(subEvent);
-            }
+            invoker.invoke(EVENT_TYPE.SUBSCRIBER_EVENT, line, subscribers, subEvent, null);
         }
     }
 
@@ -673,7 +793,7 @@ public class Twirc
 		 *
 		 * :twitch_username!twitch_username@twitch_username.tmi.twitch.tv JOIN #channel
 		 */
-        return prefix.substring(prefix.charAt(0) == ':' ? 1 : 0, prefix.indexOf('!'));
+        return StringPool.SHARED.intern(prefix, prefix.charAt(0) == ':' ? 1 : 0, prefix.indexOf('!'));
     }
 
     public enum BotType
@@ -2,6 +2,8 @@ package jtwirc;
 
 import com.mb3364.twitch.api.Twitch;
 import jtwirc.annotation.AnnotationSweeper;
+import jtwirc.common.command.CommandRegistry;
+import jtwirc.common.command.CommandRegistryWatcher;
 import jtwirc.common.listeners.InfoListener;
 import jtwirc.common.listeners.MessageListener;
 import jtwirc.common.listeners.UnknownListener;
@@ -10,6 +12,8 @@ import jtwirc.common.module.Alerts;
 import jtwirc.common.module.Commands;
 import jtwirc.common.module.Hooks;
 import jtwirc.common.module.HooksWhisperer;
+import jtwirc.enums.OVERFLOW_POLICY;
+import jtwirc.events.AsyncTwircListener;
 import jtwirc.utils.Defaults;
 import jtwirc.utils.json.Load;
 import jtwirc.utils.json.Save;
@@ -22,6 +26,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.nio.file.Paths;
 import java.util.*;
 
 /**
@@ -44,9 +49,11 @@ public class TwircBot
     public static HashMap<String, Long> rankList = new HashMap<>();
     public static HashMap<Long, String> quoteList = new HashMap<>();
     public static HashMap<Long, String> noteList = new HashMap<>();
-    public static HashMap<String, String> permList = new HashMap<>();
-    public static HashMap<String, String> commandList = new HashMap<>();
-    public static HashMap<String, String> commandpermList = new HashMap<>();
+    //Replaced as a whole whenever it changes, never edited in place, see UserPermissions
+    public static volatile HashMap<String, String> permList = new HashMap<>();
+    //Replaced as a whole whenever the custom commands change, never edited in place, see CommandRegistry
+    public static volatile HashMap<String, String> commandList = new HashMap<>();
+    public static volatile HashMap<String, String> commandpermList = new HashMap<>();
     public static HashMap<Long, String> raffleList = new HashMap<>();
     public static ArrayList<String> blackList = new ArrayList<>();
     public static ArrayList<String> permitted = new ArrayList<>();
@@ -70,12 +77,23 @@ public class TwircBot
     public static Twirc whisper;
     public static List<Twirc> bots = new ArrayList<>();
     public static AnnotationSweeper sweeper = new AnnotationSweeper();
+    public static CommandRegistryWatcher commandWatcher = new CommandRegistryWatcher(Paths.get("config"), Load::reloadCommands, "commands.json", "commandpermissions.json");
 
     public static void main(String[] args) throws Exception
     {
         setupProperties();
         setupConfigs();
 
+        //Custom commands edited on disk are picked up without a restart
+        try
+        {
+            commandWatcher.start();
+        }
+        catch (IOException e)
+        {
+            log.error("Couldn't watch the custom commands: " + e.getMessage());
+        }
+
         audioIO = new JavaSoundAudioIO();
         audioContext = new AudioContext(audioIO);
 
@@ -233,8 +251,11 @@ public class TwircBot
             Save.rankList();
             Save.ranksList();
             Save.permsList();
-            Save.commandList();
-            Save.commandPermList();
+            CommandRegistry.save(() ->
+            {
+                Save.commandList();
+                Save.commandPermList();
+            });
             Save.raffleList();
             Save.dataList();
             Save.subMessages();
@@ -285,7 +306,11 @@ public class TwircBot
             bot.addIRCListener(new InfoListener(bot.getType()));
             bot.addIRCListener(new MessageListener(bot.getType()));
             bot.addIRCListener(new UnknownListener(bot.getType()));
-            bot.addIRCListener(new Commands(bot.getType()));
+            //Commands run on their own thread instead of holding up chat processing. Commands include mod actions such
+            //as !addcommand, which must never be dropped, so a burst in chat waits for room in the queue instead
+            Commands commands = new Commands(bot.getType());
+            bot.getMetrics().addCommandMetrics(commands::getMetrics);
+            bot.addIRCListener(new AsyncTwircListener(commands, "Commands-" + bot.getType(), 256, OVERFLOW_POLICY.BLOCK));
             bot.addIRCListener(new Hooks(bot.getType()));
             bot.addIRCListener(new Alerts(bot.getType()));
         });
@@ -1,8 +1,10 @@
 package jtwirc;
 
 import jtwirc.Twirc.BotType;
+import jtwirc.bus.EventBus;
+import jtwirc.enums.OVERFLOW_POLICY;
+import jtwirc.intercept.LineInterceptor;
 import jtwirc.types.action.ActionBuilder;
-import jtwirc.types.action.DefaultActionBuilder;
 import jtwirc.types.clearChat.ClearChatBuilder;
 import jtwirc.types.clearChat.DefaultClearChatBuilder;
 import jtwirc.types.globaluserstate.DefaultGlobalStateBuilder;
@@ -26,6 +28,9 @@ import jtwirc.types.users.DefaultUserstateBuilder;
 import jtwirc.types.users.TwitchUserBuilder;
 import jtwirc.types.users.UserstateBuilder;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Class for creating instances of {@link Twirc}.<br>
  * To build an instance of {@link Twirc}, the user has to supply the bot's nick and
@@ -52,6 +57,13 @@ public class TwircBuilder
     String oauth = "";
     String channel = "";
 
+    int ingestCapacity = 1024;
+    OVERFLOW_POLICY overflowPolicy = OVERFLOW_POLICY.BLOCK;
+    int parseThreads = 0;
+    EventBus eventBus = null;
+    long slowListenerMillis = 100;
+    final List<LineInterceptor> interceptors = new ArrayList<>();
+
     private ClearChatBuilder clearChatBuilder;
     private HostTargetBuilder hostTargetBuilder;
     private ModeBuilder modeBuilder;
@@ -63,7 +75,6 @@ public class TwircBuilder
     private SubscriberEventBuilder subEventBuilder;
     private UsernoticeBuilder usernoticeBuilder;
     private GlobalUserStateBuilder globalUserStateBuilder;
-    private ActionBuilder actionBuilder;
 
     //***********************************************************
     // 				CONSTRUCTOR
@@ -144,6 +155,93 @@ public class TwircBuilder
         return this;
     }
 
+    /**
+     * Sets how many incoming lines may wait between the reader thread and the dispatch thread. Default is {@code 1024}.
+     *
+     * @param capacity The ingest queue's capacity. Must be at least 1
+     * @return this
+     */
+    public TwircBuilder setIngestQueueCapacity(int capacity)
+    {
+        if (capacity < 1)
+        {
+            throw new IllegalArgumentException("Ingest queue capacity must be at least 1");
+        }
+        this.ingestCapacity = capacity;
+        return this;
+    }
+
+    /**
+     * Sets what should happen when the ingest queue is full, i.e. the listeners cannot keep up with chat.
+     * Default is {@link OVERFLOW_POLICY#BLOCK}, which stops reading until there is room. The other policies
+     * keep reading (and thus answering PINGs) but lose lines.
+     *
+     * @param overflowPolicy The overflow policy
+     * @return this
+     */
+    public TwircBuilder setIngestOverflowPolicy(OVERFLOW_POLICY overflowPolicy)
+    {
+        this.overflowPolicy = overflowPolicy;
+        return this;
+    }
+
+    /**
+     * Sets how many threads should parse incoming lines. Default is {@code 0}, which means lines are parsed by
+     * the dispatch thread. Listeners receive messages in the order they were read no matter the number of
+     * parse threads.<br><br>
+     * <p>
+     * Parsing in parallel requires the {@link TwitchMessageBuilder} to be thread safe. The default one is.
+     *
+     * @param parseThreads The number of parse threads
+     * @return this
+     */
+    public TwircBuilder setParseThreads(int parseThreads)
+    {
+        this.parseThreads = Math.max(0, parseThreads);
+        return this;
+    }
+
+    /**
+     * Sets an {@link EventBus} that every parsed line should be published to, in addition to being handed to the
+     * listeners. The bus is started when the {@link Twirc} connects, and halted when it is closed. Default is
+     * {@code null}, i.e. no bus.
+     *
+     * @param eventBus The event bus, with its handlers already added
+     * @return this
+     */
+    public TwircBuilder setEventBus(EventBus eventBus)
+    {
+        this.eventBus = eventBus;
+        return this;
+    }
+
+    /**
+     * Adds a {@link LineInterceptor}, which gets to drop, rewrite or tag each incoming line before any event is built
+     * for it. Interceptors run in the order they were added. See {@link jtwirc.intercept.IgnoredUsersInterceptor} and
+     * {@link jtwirc.intercept.OwnEchoInterceptor} for ready-made ones.
+     *
+     * @param interceptor The interceptor
+     * @return this
+     */
+    public TwircBuilder addLineInterceptor(LineInterceptor interceptor)
+    {
+        this.interceptors.add(interceptor);
+        return this;
+    }
+
+    /**
+     * Sets how long a listener callback may take before it is logged as slow, together with the line it was handling.
+     * Slow calls are also counted in the listener's {@link jtwirc.metrics.ListenerMetrics}. Default is {@code 100} ms.
+     *
+     * @param millis The slow call threshold, in milliseconds
+     * @return this
+     */
+    public TwircBuilder setSlowListenerThreshold(long millis)
+    {
+        this.slowListenerMillis = Math.max(0, millis);
+        return this;
+    }
+
     /**
      * Retrieves the assigned {@link ClearChatBuilder}, or the default one, if none is assigned.
      *
@@ -367,25 +465,18 @@ public class TwircBuilder
     }
 
     /**
-     * Retrieves the assigned {@link ActionBuilder}, or the default one, if none is assigned.
-     *
-     * @return This builders current {@link ActionBuilder}
-     */
-    ActionBuilder getActionBuilder()
-    {
-        return actionBuilder != null ? actionBuilder : new DefaultActionBuilder();
-    }
-
-    /**
-     * Sets the {@link ActionBuilder}. Useful if you want to use your custom implementations of a {@link ActionBuilder}. If
-     * no {@link ActionBuilder} is assigned, the created {@link Twirc} object will use the default implementation.
+     * Has no effect. ACTIONs are handed to {@link jtwirc.events.TwircListener#onAction}
+     * as the sender and the raw message, so no action object is ever built.<br><br>
+     * <p>
+     * The method is kept so code that assigns an {@link ActionBuilder} still compiles.
      *
-     * @param actionBuilder The {@link ActionBuilder} you want the {@link Twirc} object to use
+     * @param actionBuilder Ignored
      * @return this
+     * @deprecated No {@link ActionBuilder} is used, so there is nothing to replace
      */
+    @Deprecated
     public TwircBuilder setActionBuilder(ActionBuilder actionBuilder)
     {
-        this.actionBuilder = actionBuilder;
         return this;
     }
 
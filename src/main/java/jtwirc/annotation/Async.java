@@ -0,0 +1,38 @@
+package jtwirc.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks a command that should not run on the dispatch thread, typically because it waits on the network.<br><br>
+ * <p>
+ * Such commands are run on a bounded pool of worker threads instead, see
+ * {@link jtwirc.common.command.CommandExecutor}. If a command has not finished by its deadline, it is interrupted and
+ * its fallback is sent in its place.<br><br>
+ * <p>
+ * Commands that change the bot's shared state, such as the quotes or the raffle, should not be marked. Unmarked
+ * commands all run one at a time on the dispatch thread, and that is what keeps their changes from racing each other.
+ * A marked command may only read shared state that is guarded on its own, such as the viewers in
+ * {@link jtwirc.common.threads.ViewerCommon}.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Async
+{
+    /**
+     * How long the command may run, in milliseconds
+     */
+    long deadlineMillis() default 10000;
+
+    /**
+     * How many invocations of the command may be running or waiting at once. Invocations beyond that are dropped, so
+     * a burst of one command cannot take up the whole pool
+     */
+    int maxInFlight() default 2;
+
+    /**
+     * What to answer if the command misses its deadline. Empty to answer nothing
+     */
+    String fallback() default "";
+}
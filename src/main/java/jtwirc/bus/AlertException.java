@@ -0,0 +1,18 @@
+package jtwirc.bus;
+
+/**
+ * Thrown to a handler thread waiting on a {@link SequenceBarrier} when the barrier is alerted, which happens when the
+ * bus is halted.
+ */
+public final class AlertException extends Exception
+{
+    private static final long serialVersionUID = 1L;
+
+    static final AlertException INSTANCE = new AlertException();
+
+    private AlertException()
+    {
+        //The exception is only used for control flow, so it is shared and has no stack trace
+        super("Sequence barrier alerted", null, false, false);
+    }
+}
@@ -0,0 +1,90 @@
+package jtwirc.bus;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs an {@link EventHandler}: waits on its barrier for events, hands them to the handler one batch at a time, and
+ * moves its sequence forward once the batch is done.
+ *
+ * @param <E> The type of the events
+ */
+final class BatchEventProcessor<E> implements Runnable
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private final RingBuffer<E> ringBuffer;
+    private final SequenceBarrier barrier;
+    private final EventHandler<? super E> handler;
+    private final Sequence sequence = new Sequence();
+    private final AtomicLong failures = new AtomicLong();
+
+    private volatile boolean isRunning = true;
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+    BatchEventProcessor(RingBuffer<E> ringBuffer, SequenceBarrier barrier, EventHandler<? super E> handler)
+    {
+        this.ringBuffer = ringBuffer;
+        this.barrier = barrier;
+        this.handler = handler;
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+    @Override
+    public void run()
+    {
+        long next = sequence.get() + 1;
+        while (isRunning)
+        {
+            long available;
+            try
+            {
+                available = barrier.waitFor(next);
+            }
+            catch (AlertException | InterruptedException e)
+            {
+                //We are being halted. The loop condition takes care of that
+                continue;
+            }
+
+            while (next <= available)
+            {
+                try
+                {
+                    handler.onEvent(ringBuffer.get(next), next, next == available);
+                }
+                catch (Exception e)
+                {
+                    failures.incrementAndGet();
+                    System.err.println("Error in " + Thread.currentThread().getName() + " at sequence " + next);
+                    e.printStackTrace();
+                }
+                next++;
+            }
+            sequence.set(available);
+        }
+    }
+
+    //***********************************************************
+    // 				PACKAGE
+    //***********************************************************
+    Sequence getSequence()
+    {
+        return sequence;
+    }
+
+    long getFailures()
+    {
+        return failures.get();
+    }
+
+    void halt()
+    {
+        isRunning = false;
+        barrier.alert();
+    }
+}
@@ -0,0 +1,61 @@
+package jtwirc.bus;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sleeps on a lock until the producer publishes. Uses no CPU while chat is quiet, at the cost of a wake-up per batch.
+ * This is the default, since most bots spend most of their time waiting for chat.
+ */
+final class BlockingWaitStrategy implements WaitStrategy
+{
+    private final Lock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+
+    @Override
+    public long waitFor(long sequence, Sequence cursor, Sequence dependent, SequenceBarrier barrier)
+            throws AlertException, InterruptedException
+    {
+        if (cursor.get() < sequence)
+        {
+            lock.lock();
+            try
+            {
+                while (cursor.get() < sequence)
+                {
+                    barrier.checkAlert();
+                    published.await();
+                }
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+
+        //The producer has published, but handlers of an earlier stage may still be working on it. They are never
+        //far behind, so we spin for them
+        long available;
+        while ((available = dependent.get()) < sequence)
+        {
+            barrier.checkAlert();
+            Thread.yield();
+        }
+        return available;
+    }
+
+    @Override
+    public void signalAllWhenBlocking()
+    {
+        lock.lock();
+        try
+        {
+            published.signalAll();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package jtwirc.bus;
+
+/**
+ * Spins in a tight loop. Gives the lowest latency, but keeps a core busy per handler thread even when chat is quiet.
+ */
+final class BusySpinWaitStrategy implements WaitStrategy
+{
+    @Override
+    public long waitFor(long sequence, Sequence cursor, Sequence dependent, SequenceBarrier barrier)
+            throws AlertException
+    {
+        long available;
+        while ((available = dependent.get()) < sequence)
+        {
+            barrier.checkAlert();
+        }
+        return available;
+    }
+
+    @Override
+    public void signalAllWhenBlocking()
+    {
+    }
+}
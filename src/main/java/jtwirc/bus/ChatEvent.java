@@ -0,0 +1,103 @@
+package jtwirc.bus;
+
+import jtwirc.types.twitchMessage.TwitchMessage;
+
+/**
+ * A slot in the {@link EventBus}' ring buffer. The bus fills in the same slot over and over, so an event is only
+ * valid during the {@link EventHandler#onEvent(Object, long, boolean)} call it is passed to.<br><br>
+ * <p>
+ * Handlers of later stages see what handlers of earlier stages have seen, so an earlier stage may attach a result to
+ * the event for a later stage, see {@link #setAttachment(Object)}.
+ */
+public final class ChatEvent
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private String line;
+    private TwitchMessage message;
+    private long publishedNanos;
+    private Object attachment;
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Fetches the line, as read from the server
+     *
+     * @return The raw line
+     */
+    public String getLine()
+    {
+        return line;
+    }
+
+    /**
+     * Fetches the parsed line
+     *
+     * @return The message
+     */
+    public TwitchMessage getMessage()
+    {
+        return message;
+    }
+
+    /**
+     * Fetches the line's command, such as {@code PRIVMSG} or {@code JOIN}
+     *
+     * @return The command
+     */
+    public String getCommand()
+    {
+        return message.getCommand();
+    }
+
+    /**
+     * Fetches when the event was published, as given by {@link System#nanoTime()}
+     *
+     * @return The publish time
+     */
+    public long getPublishedNanos()
+    {
+        return publishedNanos;
+    }
+
+    /**
+     * Fetches the object an earlier stage attached to this event
+     *
+     * @return The attachment, or {@code null} if there is none
+     */
+    public Object getAttachment()
+    {
+        return attachment;
+    }
+
+    /**
+     * Attaches an object to this event, for handlers of later stages. The attachment is cleared when the slot is
+     * reused
+     *
+     * @param attachment The attachment
+     */
+    public void setAttachment(Object attachment)
+    {
+        this.attachment = attachment;
+    }
+
+    @Override
+    public String toString()
+    {
+        return line;
+    }
+
+    //***********************************************************
+    // 				PACKAGE
+    //***********************************************************
+    void set(String line, TwitchMessage message, long publishedNanos)
+    {
+        this.line = line;
+        this.message = message;
+        this.publishedNanos = publishedNanos;
+        this.attachment = null;
+    }
+}
@@ -0,0 +1,218 @@
+package jtwirc.bus;
+
+import jtwirc.enums.WAIT_STRATEGY;
+import jtwirc.types.twitchMessage.TwitchMessage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An alternative to {@link jtwirc.events.TwircListener} for consumers that need the highest throughput.<br><br>
+ * <p>
+ * Listeners are called one after another on the dispatch thread, and each event is a new object. The bus instead
+ * copies each parsed line into a preallocated slot of a {@link RingBuffer}, and every {@link EventHandler} reads the
+ * ring on a thread of its own. Thus:
+ * <ul>
+ * <li>Publishing allocates nothing. The slots are reused each time the ring wraps around.
+ * <li>Handlers run in parallel with each other and with the dispatch thread. A handler that falls behind catches up
+ * in batches, without waiting between events.
+ * <li>Handlers can be chained into stages with {@link HandlerGroup#then(EventHandler[])}. A later stage only sees an
+ * event once the earlier stage is done with it, and no locks or queues are involved.
+ * </ul>
+ * Every handler sees every event, in the order the lines were read. If the slowest handler is a whole ring behind,
+ * publishing waits for it, which in turn fills up the ingest queue. Size the ring for the bursts you expect.<br><br>
+ * <p>
+ * To use a bus, create it, add the handlers and pass it to {@link jtwirc.TwircBuilder#setEventBus(EventBus)}. The
+ * bus is started when {@link jtwirc.Twirc} connects, and halted when it is closed. Handlers must be added before the
+ * bus is started.
+ */
+public class EventBus
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private final RingBuffer<ChatEvent> ringBuffer;
+    private final List<BatchEventProcessor<ChatEvent>> processors = new ArrayList<>();
+    private final Set<Sequence> lastStage = new LinkedHashSet<>();
+    private final List<Thread> threads = new ArrayList<>();
+
+    private volatile boolean isStarted = false;
+    private volatile boolean isHalted = false;
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+
+    /**
+     * Creates a new bus, and preallocates its slots
+     *
+     * @param size         The number of slots. Must be a power of two
+     * @param waitStrategy How handlers wait for events
+     */
+    public EventBus(int size, WAIT_STRATEGY waitStrategy)
+    {
+        this.ringBuffer = new RingBuffer<>(ChatEvent::new, size, createWaitStrategy(waitStrategy));
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Adds handlers that see events as soon as they are published. The handlers run in parallel with each other
+     *
+     * @param handlers The handlers
+     * @return The group of the new handlers, for chaining further stages
+     */
+    @SafeVarargs
+    public final HandlerGroup handleEventsWith(EventHandler<? super ChatEvent>... handlers)
+    {
+        //Copied one by one, since handing the generic array itself on could pollute the heap
+        List<EventHandler<? super ChatEvent>> list = new ArrayList<>(handlers.length);
+        for (EventHandler<? super ChatEvent> handler : handlers)
+        {
+            list.add(handler);
+        }
+        return createHandlers(new Sequence[0], list);
+    }
+
+    /**
+     * Starts a thread for each handler. Calling this method more than once has no effect. Called by
+     * {@link jtwirc.Twirc} on connect
+     */
+    public synchronized void start()
+    {
+        if (isStarted || isHalted)
+        {
+            return;
+        }
+        ringBuffer.setGatingSequences(lastStage.toArray(new Sequence[0]));
+
+        for (int i = 0; i < processors.size(); i++)
+        {
+            Thread thread = new Thread(processors.get(i), "Twirc-EventHandler-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        isStarted = true;
+    }
+
+    /**
+     * Stops the handler threads. Handlers finish the batch they are working on, and events published afterwards are
+     * dropped. A halted bus cannot be started again. Called by {@link jtwirc.Twirc} on close
+     */
+    public synchronized void halt()
+    {
+        if (isHalted)
+        {
+            return;
+        }
+        isHalted = true;
+        for (BatchEventProcessor<ChatEvent> processor : processors)
+        {
+            processor.halt();
+        }
+        //Releases a producer waiting for a slot, since no handler will free one
+        ringBuffer.setGatingSequences(new Sequence[0]);
+    }
+
+    /**
+     * Publishes a line to the handlers. Called by the dispatch thread, which is the bus' only producer. Lines
+     * published before the bus is started, or after it is halted, are dropped. So is a line whose publisher is
+     * interrupted while waiting for a free slot, which happens when {@link jtwirc.Twirc} disconnects.
+     *
+     * @param line    The line, as read from the server
+     * @param message The parsed line
+     */
+    public void publish(String line, TwitchMessage message)
+    {
+        if (!isStarted || isHalted)
+        {
+            return;
+        }
+        long sequence;
+        try
+        {
+            sequence = ringBuffer.next();
+        }
+        catch (InterruptedException e)
+        {
+            //Left set, so the dispatch thread sees it is being stopped
+            Thread.currentThread().interrupt();
+            return;
+        }
+        ringBuffer.get(sequence).set(line, message, System.nanoTime());
+        ringBuffer.publish(sequence);
+    }
+
+    /**
+     * Fetches the bus' ring buffer, for example to check its backlog with {@link RingBuffer#getBacklog()}
+     *
+     * @return The ring buffer
+     */
+    public RingBuffer<ChatEvent> getRingBuffer()
+    {
+        return ringBuffer;
+    }
+
+    /**
+     * Fetches how many events have thrown in the handlers, in total
+     *
+     * @return The number of failed events
+     */
+    public long getFailures()
+    {
+        long out = 0;
+        for (BatchEventProcessor<ChatEvent> processor : processors)
+        {
+            out += processor.getFailures();
+        }
+        return out;
+    }
+
+    //***********************************************************
+    // 				PACKAGE
+    //***********************************************************
+    synchronized HandlerGroup createHandlers(Sequence[] dependents, List<EventHandler<? super ChatEvent>> handlers)
+    {
+        if (isStarted || isHalted)
+        {
+            throw new IllegalStateException("Handlers must be added before the EventBus is started");
+        }
+
+        Sequence[] sequences = new Sequence[handlers.size()];
+        for (int i = 0; i < sequences.length; i++)
+        {
+            BatchEventProcessor<ChatEvent> processor =
+                    new BatchEventProcessor<>(ringBuffer, ringBuffer.newBarrier(dependents), handlers.get(i));
+            processors.add(processor);
+            sequences[i] = processor.getSequence();
+        }
+
+        //The producer only has to wait for the handlers at the end of each chain
+        lastStage.removeAll(Arrays.asList(dependents));
+        lastStage.addAll(Arrays.asList(sequences));
+        return new HandlerGroup(this, sequences);
+    }
+
+    //***********************************************************
+    // 				PRIVATE
+    //***********************************************************
+    private static WaitStrategy createWaitStrategy(WAIT_STRATEGY waitStrategy)
+    {
+        switch (waitStrategy)
+        {
+            case BUSY_SPIN:
+                return new BusySpinWaitStrategy();
+            case YIELDING:
+                return new YieldingWaitStrategy();
+            case BLOCKING:
+            default:
+                return new BlockingWaitStrategy();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package jtwirc.bus;
+
+/**
+ * Handles events from an {@link EventBus}. Each handler runs on a thread of its own.<br><br>
+ * <p>
+ * Handlers receive events in batches: when a handler falls behind, it is handed every event that has piled up without
+ * waiting in between, and {@code endOfBatch} tells it when the batch is over. Handlers that do I/O can use that to
+ * flush once per batch instead of once per event.<br><br>
+ * <p>
+ * The event is a reused slot. It is only valid for the duration of the call, so copy whatever you want to keep.
+ *
+ * @param <E> The type of the events
+ */
+@FunctionalInterface
+public interface EventHandler<E>
+{
+    /**
+     * Called for each event
+     *
+     * @param event      The event. Must not be kept after the call returns
+     * @param sequence   The event's sequence
+     * @param endOfBatch {@code true} if this is the last event available right now
+     * @throws Exception If handling failed. The exception is logged, and the handler moves on to the next event
+     */
+    void onEvent(E event, long sequence, boolean endOfBatch) throws Exception;
+}
@@ -0,0 +1,38 @@
+package jtwirc.bus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A group of handlers added to an {@link EventBus} together. Used to chain stages: handlers added with
+ * {@link #then(EventHandler[])} only see an event once every handler of this group is done with it.
+ */
+public final class HandlerGroup
+{
+    private final EventBus bus;
+    private final Sequence[] sequences;
+
+    HandlerGroup(EventBus bus, Sequence[] sequences)
+    {
+        this.bus = bus;
+        this.sequences = sequences;
+    }
+
+    /**
+     * Adds handlers that run after every handler of this group. The new handlers run in parallel with each other
+     *
+     * @param handlers The handlers
+     * @return The group of the new handlers
+     */
+    @SafeVarargs
+    public final HandlerGroup then(EventHandler<? super ChatEvent>... handlers)
+    {
+        //See EventBus.handleEventsWith
+        List<EventHandler<? super ChatEvent>> list = new ArrayList<>(handlers.length);
+        for (EventHandler<? super ChatEvent> handler : handlers)
+        {
+            list.add(handler);
+        }
+        return bus.createHandlers(sequences, list);
+    }
+}
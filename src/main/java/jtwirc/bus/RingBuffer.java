@@ -0,0 +1,179 @@
+package jtwirc.bus;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * A fixed-size ring of preallocated event slots.<br><br>
+ * <p>
+ * Every slot is created up front, and reused each time the ring wraps around. Publishing an event thus means claiming
+ * the next sequence with {@link #next()}, filling in the slot from {@link #get(long)}, and handing it over with
+ * {@link #publish(long)} - nothing is allocated on the way.<br><br>
+ * <p>
+ * The ring has a single producer: only one thread may call {@link #next()} and {@link #publish(long)}. That lets
+ * claiming a sequence be a plain field update instead of a compare-and-set. If the producer catches up with the
+ * slowest handler, {@link #next()} waits until the handler has freed a slot, so no event is ever overwritten before
+ * every handler has seen it.
+ *
+ * @param <E> The type of the slots
+ */
+public final class RingBuffer<E>
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private final Object[] entries;
+    private final int mask;
+    private final Sequence cursor = new Sequence();
+    private final WaitStrategy waitStrategy;
+
+    private volatile Sequence[] gatingSequences = new Sequence[0];
+
+    //Only touched by the producer thread
+    private long nextValue = Sequence.INITIAL_VALUE;
+    private long cachedGatingValue = Sequence.INITIAL_VALUE;
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+
+    /**
+     * Creates a new ring and fills it with slots
+     *
+     * @param factory      Creates the slots
+     * @param size         The number of slots. Must be a power of two
+     * @param waitStrategy How handlers wait for events
+     */
+    public RingBuffer(Supplier<E> factory, int size, WaitStrategy waitStrategy)
+    {
+        if (size < 1 || Integer.bitCount(size) != 1)
+        {
+            throw new IllegalArgumentException("The size of a RingBuffer must be a power of two. Got: " + size);
+        }
+        this.entries = new Object[size];
+        this.mask = size - 1;
+        this.waitStrategy = waitStrategy;
+        for (int i = 0; i < size; i++)
+        {
+            entries[i] = factory.get();
+        }
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Fetches the slot of a sequence
+     *
+     * @param sequence The sequence
+     * @return The slot
+     */
+    @SuppressWarnings("unchecked")
+    public E get(long sequence)
+    {
+        return (E) entries[(int) sequence & mask];
+    }
+
+    /**
+     * Claims the next sequence, waiting for a free slot if the ring is full. Must only be called by the producer
+     *
+     * @return The claimed sequence
+     * @throws InterruptedException If the producer is interrupted while waiting. Nothing is claimed then
+     */
+    public long next() throws InterruptedException
+    {
+        long next = nextValue + 1;
+        long wrapPoint = next - entries.length;
+
+        if (wrapPoint > cachedGatingValue)
+        {
+            long minimum;
+            while (wrapPoint > (minimum = Sequence.minimum(gatingSequences, nextValue)))
+            {
+                //A stalled handler would otherwise keep the producer here, even once its connection has ended
+                if (Thread.interrupted())
+                {
+                    throw new InterruptedException();
+                }
+                LockSupport.parkNanos(1);
+            }
+            cachedGatingValue = minimum;
+        }
+
+        nextValue = next;
+        return next;
+    }
+
+    /**
+     * Makes a claimed sequence visible to the handlers. Must only be called by the producer
+     *
+     * @param sequence The sequence, as returned by {@link #next()}
+     */
+    public void publish(long sequence)
+    {
+        cursor.set(sequence);
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    /**
+     * Fetches the number of slots
+     *
+     * @return The ring's size
+     */
+    public int getSize()
+    {
+        return entries.length;
+    }
+
+    /**
+     * Fetches the last published sequence
+     *
+     * @return The cursor, or -1 if nothing has been published yet
+     */
+    public long getCursor()
+    {
+        return cursor.get();
+    }
+
+    /**
+     * Fetches how many published events the slowest handler has yet to process
+     *
+     * @return The number of events in the ring
+     */
+    public long getBacklog()
+    {
+        long cursorValue = cursor.get();
+        return cursorValue - Sequence.minimum(gatingSequences, cursorValue);
+    }
+
+    //***********************************************************
+    // 				PACKAGE
+    //***********************************************************
+
+    /**
+     * Creates a barrier for handlers that should run after certain other handlers
+     *
+     * @param dependents The sequences of the handlers to wait for. Empty to only wait for the producer
+     * @return The barrier
+     */
+    SequenceBarrier newBarrier(Sequence... dependents)
+    {
+        return new SequenceBarrier(waitStrategy, cursor, dependents);
+    }
+
+    /**
+     * Sets the sequences the producer must not overtake, which are those of the last handlers in each chain
+     *
+     * @param sequences The sequences
+     */
+    void setGatingSequences(Sequence[] sequences)
+    {
+        long cursorValue = cursor.get();
+        for (Sequence sequence : sequences)
+        {
+            sequence.set(cursorValue);
+        }
+        gatingSequences = sequences.clone();
+    }
+}
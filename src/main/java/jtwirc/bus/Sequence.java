@@ -0,0 +1,73 @@
+package jtwirc.bus;
+
+/**
+ * A position in a {@link RingBuffer}, such as the producer's cursor or how far a consumer has come.<br><br>
+ * <p>
+ * Sequences are read by other threads all the time, so the value is padded on both sides to keep it on a cache
+ * line of its own. Otherwise writes to a neighbouring object would slow down every read.
+ */
+public class Sequence
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    static final long INITIAL_VALUE = -1L;
+
+    @SuppressWarnings("unused")
+    private long p1, p2, p3, p4, p5, p6, p7;
+    private volatile long value;
+    @SuppressWarnings("unused")
+    private long p9, p10, p11, p12, p13, p14, p15;
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+    public Sequence()
+    {
+        this(INITIAL_VALUE);
+    }
+
+    public Sequence(long initialValue)
+    {
+        this.value = initialValue;
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+    public long get()
+    {
+        return value;
+    }
+
+    public void set(long value)
+    {
+        this.value = value;
+    }
+
+    @Override
+    public String toString()
+    {
+        return Long.toString(get());
+    }
+
+    //***********************************************************
+    // 				PACKAGE
+    //***********************************************************
+
+    /**
+     * Finds the lowest value among a number of sequences
+     *
+     * @param sequences The sequences
+     * @param minimum   The value to return if it is lower than every sequence, or if there are no sequences
+     * @return The lowest value
+     */
+    static long minimum(Sequence[] sequences, long minimum)
+    {
+        for (Sequence sequence : sequences)
+        {
+            minimum = Math.min(minimum, sequence.get());
+        }
+        return minimum;
+    }
+}
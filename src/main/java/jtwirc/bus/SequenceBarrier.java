@@ -0,0 +1,70 @@
+package jtwirc.bus;
+
+/**
+ * Lets a handler wait until the events it wants to read are ready: published by the producer, and done by every
+ * handler of the previous stage.<br><br>
+ * <p>
+ * Halting the bus alerts the barrier, which makes waiting handlers throw an {@link AlertException} so they can exit.
+ */
+public final class SequenceBarrier
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private final WaitStrategy waitStrategy;
+    private final Sequence cursor;
+    private final Sequence dependent;
+
+    private volatile boolean alerted = false;
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+    SequenceBarrier(WaitStrategy waitStrategy, Sequence cursor, Sequence[] dependents)
+    {
+        this.waitStrategy = waitStrategy;
+        this.cursor = cursor;
+        this.dependent = dependents.length == 0 ? cursor : new SequenceGroup(dependents);
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Waits until a sequence is ready to be read
+     *
+     * @param sequence The sequence to wait for
+     * @return The highest sequence that is ready. May be higher than {@code sequence}, in which case the handler can
+     * read a whole batch without waiting again
+     * @throws AlertException       If the barrier was alerted
+     * @throws InterruptedException If the thread was interrupted
+     */
+    public long waitFor(long sequence) throws AlertException, InterruptedException
+    {
+        checkAlert();
+        return waitStrategy.waitFor(sequence, cursor, dependent, this);
+    }
+
+    /**
+     * Throws if the barrier has been alerted. Called by wait strategies while they wait
+     *
+     * @throws AlertException If the barrier was alerted
+     */
+    public void checkAlert() throws AlertException
+    {
+        if (alerted)
+        {
+            throw AlertException.INSTANCE;
+        }
+    }
+
+    //***********************************************************
+    // 				PACKAGE
+    //***********************************************************
+    void alert()
+    {
+        alerted = true;
+        waitStrategy.signalAllWhenBlocking();
+    }
+}
@@ -0,0 +1,27 @@
+package jtwirc.bus;
+
+/**
+ * A read-only view of several sequences, whose value is the lowest of them. Used by a {@link SequenceBarrier} to wait
+ * for every handler of an earlier stage.
+ */
+final class SequenceGroup extends Sequence
+{
+    private final Sequence[] sequences;
+
+    SequenceGroup(Sequence[] sequences)
+    {
+        this.sequences = sequences.clone();
+    }
+
+    @Override
+    public long get()
+    {
+        return minimum(sequences, Long.MAX_VALUE);
+    }
+
+    @Override
+    public void set(long value)
+    {
+        throw new UnsupportedOperationException("A SequenceGroup cannot be set");
+    }
+}
@@ -0,0 +1,28 @@
+package jtwirc.bus;
+
+/**
+ * Decides how a handler thread waits for the next event to be published. See {@link jtwirc.enums.WAIT_STRATEGY} for
+ * the strategies that come with the bus.
+ */
+public interface WaitStrategy
+{
+    /**
+     * Waits until a sequence is available.
+     *
+     * @param sequence  The sequence to wait for
+     * @param cursor    The producer's cursor
+     * @param dependent The sequence that must also have reached {@code sequence}: either the cursor, or the handlers
+     *                  of the previous stage
+     * @param barrier   The barrier that is waiting, to check for alerts
+     * @return The highest available sequence. May be higher than {@code sequence}
+     * @throws AlertException       If the barrier was alerted while waiting
+     * @throws InterruptedException If the thread was interrupted while waiting
+     */
+    long waitFor(long sequence, Sequence cursor, Sequence dependent, SequenceBarrier barrier)
+            throws AlertException, InterruptedException;
+
+    /**
+     * Wakes up waiting threads, for strategies that block. Called every time the producer publishes
+     */
+    void signalAllWhenBlocking();
+}
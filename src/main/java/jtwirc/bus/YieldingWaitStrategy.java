@@ -0,0 +1,36 @@
+package jtwirc.bus;
+
+/**
+ * Spins for a while, then yields the thread between checks. Low latency without burning a core when other threads
+ * need it, but still uses CPU when chat is quiet.
+ */
+final class YieldingWaitStrategy implements WaitStrategy
+{
+    private static final int SPIN_TRIES = 100;
+
+    @Override
+    public long waitFor(long sequence, Sequence cursor, Sequence dependent, SequenceBarrier barrier)
+            throws AlertException
+    {
+        int counter = SPIN_TRIES;
+        long available;
+        while ((available = dependent.get()) < sequence)
+        {
+            barrier.checkAlert();
+            if (counter > 0)
+            {
+                counter--;
+            }
+            else
+            {
+                Thread.yield();
+            }
+        }
+        return available;
+    }
+
+    @Override
+    public void signalAllWhenBlocking()
+    {
+    }
+}
@@ -1,33 +1,22 @@
 package jtwirc.common.command;
 
-import jtwirc.types.twitchMessage.TwitchMessage;
-import jtwirc.types.users.TwitchUser;
-
-@SuppressWarnings("ALL")
+/**
+ * Base class for the bot's built-in commands.<br><br>
+ * <p>
+ * A single instance of each command handles every invocation, and invocations may run at the same time on different
+ * threads. So a command must not keep anything about an invocation in its fields. Everything it needs is in the
+ * {@link CommandContext} it is given, which it may safely keep a reference to, for example in a timer.
+ */
 public abstract class CommandBase
 {
-	public boolean isActive;
-    public String message;
-    public String msgWOCommand;
-    public String command;
-    public String user;
-    public String channel;
-    public String[] args;
-
     public CommandBase()
     {
     }
 
-    public void channelCommand(TwitchUser user, TwitchMessage message)
-    {
-        this.message = message.getContent();
-        this.command = this.message.split(" ")[0];
-		if (!(this.command.length() == this.message.length()))
-		{
-			this.msgWOCommand = this.message.substring(command.length() + 1);
-		}
-        this.user = user.getName();
-        this.args = this.message.split(" ");
-        this.channel = message.getTarget();
-    }
-}
\ No newline at end of file
+    /**
+     * Runs the command
+     *
+     * @param context The invocation's user, message and arguments
+     */
+    public abstract void execute(CommandContext context);
+}
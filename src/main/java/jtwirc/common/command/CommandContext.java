@@ -0,0 +1,160 @@
+package jtwirc.common.command;
+
+import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.types.users.TwitchUser;
+import jtwirc.utils.MessageSending;
+
+/**
+ * Everything a command needs to know about a single invocation.<br><br>
+ * <p>
+ * Commands are singletons, shared by every invocation. So instead of storing the invocation's user and arguments in
+ * the command's fields, where the next invocation would overwrite them, each invocation gets a context of its own.
+ * A context never changes after it is created, so it may be handed to other threads, for example to a
+ * {@link java.util.TimerTask}, without copying.
+ */
+public final class CommandContext
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private final TwitchUser user;
+    private final TwitchMessage message;
+    private final String[] args;
+    private final String argumentText;
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+
+    /**
+     * Creates a new context
+     *
+     * @param user    The user who invoked the command
+     * @param message The message that invoked the command
+     * @param tokens  The message's words, split on spaces. The first word is the command as typed. The array is
+     *                copied, so the caller may keep using it
+     */
+    public CommandContext(TwitchUser user, TwitchMessage message, String[] tokens)
+    {
+        this.user = user;
+        this.message = message;
+        this.args = tokens.clone();
+
+        String content = message.getContent();
+        this.argumentText = args[0].length() < content.length() ? content.substring(args[0].length() + 1) : "";
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Fetches the user who invoked the command
+     *
+     * @return The user
+     */
+    public TwitchUser getUser()
+    {
+        return user;
+    }
+
+    /**
+     * Fetches the message that invoked the command. Useful for reading the message's tags
+     *
+     * @return The message
+     */
+    public TwitchMessage getMessage()
+    {
+        return message;
+    }
+
+    /**
+     * Fetches the channel the command was invoked in
+     *
+     * @return The channel, for example {@code #twitch}
+     */
+    public String getChannel()
+    {
+        return message.getTarget();
+    }
+
+    /**
+     * Fetches the command as typed, for example {@code !quote}
+     *
+     * @return The command
+     */
+    public String getCommand()
+    {
+        return args[0];
+    }
+
+    /**
+     * Fetches the message's words, split on spaces. Index 0 is the command as typed, so the first argument is at
+     * index 1.<br><br>
+     * <p>
+     * Each call returns a new copy, so fetch it once and keep it in a local variable.
+     *
+     * @return The message's words
+     */
+    public String[] getArgs()
+    {
+        return args.clone();
+    }
+
+    /**
+     * Fetches a single word of the message. See {@link #getArgs()} for the indexing
+     *
+     * @param index The word's index
+     * @return The word, or {@code null} if the message does not have that many words
+     */
+    public String getArg(int index)
+    {
+        return index < args.length ? args[index] : null;
+    }
+
+    /**
+     * Fetches the number of words in the message, including the command itself
+     *
+     * @return The number of words
+     */
+    public int getArgCount()
+    {
+        return args.length;
+    }
+
+    /**
+     * Fetches everything after the command, as typed
+     *
+     * @return The text after the command. Empty if the command was sent without arguments
+     */
+    public String getArgumentText()
+    {
+        return argumentText;
+    }
+
+    /**
+     * Answers the invocation in chat
+     *
+     * @param response The response
+     */
+    public void reply(String response)
+    {
+        MessageSending.sendNormalMessage(response);
+    }
+
+    /**
+     * Answers the invocation with a whisper to the user who invoked the command
+     *
+     * @param response The response
+     */
+    public void whisper(String response)
+    {
+        MessageSending.sendWhisper(user.getName().toLowerCase(), response);
+    }
+
+    @Override
+    public String toString()
+    {
+        return user.getName() + ": " + message.getContent();
+    }
+}
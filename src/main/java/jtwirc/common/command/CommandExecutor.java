@@ -0,0 +1,270 @@
+package jtwirc.common.command;
+
+import jtwirc.annotation.Async;
+import jtwirc.enums.COMMAND_OUTCOME;
+import jtwirc.metrics.CommandMetrics;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs built-in commands, and custom commands whose response looks something up, see
+ * {@link jtwirc.common.command.template.LookupResponse}.<br><br>
+ * <p>
+ * Most commands are quick, and are run right away on the calling thread. Commands marked {@link Async} are run on a
+ * bounded pool of worker threads instead, so a slow web request holds up neither the dispatch thread nor other
+ * commands. Each {@link Async} command gets:
+ * <ul>
+ * <li>A deadline - If the command hasn't finished by then, its thread is interrupted and the command's fallback is
+ * sent instead. A command blocked on I/O that ignores interrupts may still answer late, after the fallback
+ * <li>An in-flight limit - Invocations beyond the limit are dropped, so a burst of one command cannot take up the
+ * whole pool
+ * </ul>
+ * Since invocations may run at the same time, commands must keep their state in their {@link CommandContext}, not
+ * in fields.<br><br>
+ * <p>
+ * Every invocation's outcome and run time is recorded in the {@link CommandMetrics} passed along with it.
+ */
+public class CommandExecutor
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private final ThreadPoolExecutor pool;
+    private final ScheduledExecutorService deadlines;
+    private final Map<Class<?>, Policy> policies = new ConcurrentHashMap<>();
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+
+    /**
+     * Creates a new executor. Its threads are daemon threads, and are only started when needed
+     *
+     * @param threads  The number of worker threads
+     * @param capacity How many invocations may wait for a worker thread
+     */
+    public CommandExecutor(int threads, int capacity)
+    {
+        AtomicInteger count = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(capacity), r ->
+        {
+            Thread t = new Thread(r, "Twirc-CommandThread-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.pool.allowCoreThreadTimeOut(true);
+
+        this.deadlines = Executors.newSingleThreadScheduledExecutor(r ->
+        {
+            Thread t = new Thread(r, "Twirc-CommandDeadlines");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Runs a command. Commands without {@link Async} have finished when this method returns
+     *
+     * @param command The command
+     * @param context The invocation
+     * @param metrics The command's metrics, where the invocation's outcome is recorded
+     * @return A future for the invocation, which may be used to cancel it. If the invocation was dropped, the future
+     * has failed with a {@link RejectedExecutionException}. If it threw, the future has failed with what it threw
+     */
+    public Future<?> execute(CommandBase command, CommandContext context, CommandMetrics metrics)
+    {
+        long start = System.nanoTime();
+        Policy policy = policyOf(command.getClass());
+        if (policy.async == null)
+        {
+            try
+            {
+                command.execute(context);
+            }
+            catch (RuntimeException e)
+            {
+                metrics.recordInvocation(COMMAND_OUTCOME.ERROR, System.nanoTime() - start);
+                System.err.println("Error in command " + context);
+                e.printStackTrace();
+                return failed(e);
+            }
+            metrics.recordInvocation(COMMAND_OUTCOME.SUCCESS, System.nanoTime() - start);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (policy.inFlight.incrementAndGet() > policy.async.maxInFlight())
+        {
+            policy.inFlight.decrementAndGet();
+            metrics.recordInvocation(COMMAND_OUTCOME.REJECTED, System.nanoTime() - start);
+            return failed(new RejectedExecutionException(command.getClass().getSimpleName() + " already has " + policy.async.maxInFlight() + " invocations in flight"));
+        }
+
+        Invocation invocation = new Invocation(command, context, policy, metrics, start);
+        try
+        {
+            pool.execute(invocation);
+        }
+        catch (RejectedExecutionException e)
+        {
+            policy.inFlight.decrementAndGet();
+            metrics.recordInvocation(COMMAND_OUTCOME.REJECTED, System.nanoTime() - start);
+            return failed(new RejectedExecutionException("The command pool is full"));
+        }
+        invocation.startDeadline(deadlines);
+        return invocation;
+    }
+
+    /**
+     * Fetches how many invocations of a command are running or waiting
+     *
+     * @param command The command's class
+     * @return The number of invocations in flight. Always 0 for commands without {@link Async}
+     */
+    public int getInFlight(Class<? extends CommandBase> command)
+    {
+        return policyOf(command).inFlight.get();
+    }
+
+    /**
+     * Stops the executor. Running invocations are interrupted, and waiting ones are discarded
+     */
+    public void shutdown()
+    {
+        pool.shutdownNow();
+        deadlines.shutdownNow();
+    }
+
+    /**
+     * Sends a command's fallback, after it missed its deadline. Runs on the deadline thread
+     *
+     * @param context  The invocation that missed its deadline
+     * @param fallback The fallback, see {@link Async#fallback()}
+     */
+    protected void sendFallback(CommandContext context, String fallback)
+    {
+        context.reply(fallback);
+    }
+
+    //***********************************************************
+    // 				PRIVATE
+    //***********************************************************
+    private Policy policyOf(Class<?> command)
+    {
+        Policy policy = policies.get(command);
+        if (policy == null)
+        {
+            policy = policies.computeIfAbsent(command, c -> new Policy(c.getAnnotation(Async.class)));
+        }
+        return policy;
+    }
+
+    private static Future<?> failed(Exception reason)
+    {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        future.completeExceptionally(reason);
+        return future;
+    }
+
+    private static final class Policy
+    {
+        final Async async;
+        final AtomicInteger inFlight = new AtomicInteger();
+
+        Policy(Async async)
+        {
+            this.async = async;
+        }
+    }
+
+    private final class Invocation extends FutureTask<Void>
+    {
+        private final CommandBase command;
+        private final CommandContext context;
+        private final Policy policy;
+        private final CommandMetrics metrics;
+        private final long startNanos;
+        private volatile ScheduledFuture<?> deadline;
+
+        Invocation(CommandBase command, CommandContext context, Policy policy, CommandMetrics metrics, long startNanos)
+        {
+            super(() -> command.execute(context), null);
+            this.command = command;
+            this.context = context;
+            this.policy = policy;
+            this.metrics = metrics;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void run()
+        {
+            //Also runs for invocations cancelled while waiting, so they leave the in-flight count too
+            try
+            {
+                super.run();
+            }
+            finally
+            {
+                policy.inFlight.decrementAndGet();
+            }
+        }
+
+        @Override
+        protected void done()
+        {
+            ScheduledFuture<?> d = deadline;
+            if (d != null)
+            {
+                d.cancel(false);
+            }
+
+            COMMAND_OUTCOME outcome = COMMAND_OUTCOME.SUCCESS;
+            if (isCancelled())
+            {
+                outcome = COMMAND_OUTCOME.TIMEOUT;
+            }
+            else
+            {
+                try
+                {
+                    get();
+                }
+                catch (InterruptedException | ExecutionException e)
+                {
+                    outcome = COMMAND_OUTCOME.ERROR;
+                    System.err.println("Error in command " + context);
+                    e.printStackTrace();
+                }
+            }
+            metrics.recordInvocation(outcome, System.nanoTime() - startNanos);
+        }
+
+        void startDeadline(ScheduledExecutorService deadlines)
+        {
+            deadline = deadlines.schedule(this::expire, policy.async.deadlineMillis(), TimeUnit.MILLISECONDS);
+            //The invocation might have finished before its deadline was set, in which case done() missed it
+            if (isDone())
+            {
+                deadline.cancel(false);
+            }
+        }
+
+        private void expire()
+        {
+            if (cancel(true))
+            {
+                System.err.println(command.getClass().getSimpleName() + " missed its deadline of " + policy.async.deadlineMillis() + " ms: " + context);
+                if (!policy.async.fallback().isEmpty())
+                {
+                    sendFallback(context, policy.async.fallback());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package jtwirc.common.command;
+
+import jtwirc.TwircBot;
+import jtwirc.common.command.template.ResponseTemplate;
+import jtwirc.common.command.template.ResponseTemplates;
+import jtwirc.enums.PERMISSION_LEVEL;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An immutable snapshot of the custom commands, with their compiled responses and permission levels.<br><br>
+ * <p>
+ * Routing a message reads the current snapshot once, and everything it needs to answer the command comes from that
+ * snapshot. A change to the custom commands never edits a snapshot, it builds a new one and swaps it in, so a command
+ * being answered while the commands change sees either all of the old commands or all of the new ones, never a mix of
+ * the two.<br><br>
+ * <p>
+ * The custom commands are still kept in {@link TwircBot#commandList} and {@link TwircBot#commandpermList}, which is
+ * what gets saved. Those maps are never edited once they are in place: every change copies them, changes the copies and
+ * puts the copies in their place, all under one lock. So a thread reading them, for example to save them, always sees
+ * a complete set of commands. There are two ways to change them:
+ * <ul>
+ * <li>{@link #edit(Update)}, which changes the current commands. This is how commands are added, edited and removed
+ * from chat. {@link #load(Update)} does the same for the commands loaded at startup
+ * <li>{@link #reload(Update)}, which replaces them with what is on disk. This is how commands are reloaded while the
+ * bot runs
+ * </ul>
+ * Edits are only on disk once they have been saved through {@link #save(Store)}. Until then a reload would read files
+ * that are older than the commands in memory, and undo the edits, so reloads are refused while there are unsaved
+ * edits. The save that follows an edit changes the files, which triggers another reload anyway.<br><br>
+ * <p>
+ * Commands are looked up ignoring case. If two custom commands differ only by case, one of them wins.
+ */
+public final class CommandRegistry
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private static final Object lock = new Object();
+    private static final AtomicReference<CommandRegistry> current = new AtomicReference<>(new CommandRegistry(Collections.emptyMap()));
+
+    //Guarded by lock
+    private static long edits;
+    private static long saved;
+
+    private final Map<String, CustomCommand> customCommands;
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+    private CommandRegistry(Map<String, CustomCommand> customCommands)
+    {
+        this.customCommands = customCommands;
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Fetches the current snapshot
+     *
+     * @return The current snapshot
+     */
+    public static CommandRegistry current()
+    {
+        return current.get();
+    }
+
+    /**
+     * Changes the custom commands. The update gets copies of the current maps, and if it changes them, the copies take
+     * the place of {@link TwircBot#commandList} and {@link TwircBot#commandpermList} and the snapshot is rebuilt. The
+     * change holds back reloads until it is saved
+     *
+     * @param update Changes the copies. Runs while the custom commands are locked, so it must not block
+     * @return {@code true} if the update changed the custom commands
+     */
+    public static boolean edit(Update update)
+    {
+        synchronized (lock)
+        {
+            if (!change(update))
+            {
+                return false;
+            }
+            edits++;
+            return true;
+        }
+    }
+
+    /**
+     * Adds commands read from disk at startup. Works like {@link #edit(Update)}, except that the commands are taken
+     * to be on disk already, so they don't hold back reloads
+     *
+     * @param load Adds the commands to copies of the current maps. Runs while the custom commands are locked
+     * @return {@code true} if the custom commands changed
+     */
+    public static boolean load(Update load)
+    {
+        synchronized (lock)
+        {
+            return change(load);
+        }
+    }
+
+    /**
+     * Replaces the custom commands with what is on disk. Nothing happens if there are edits that haven't been saved
+     * yet, or if the files hold what is already there
+     *
+     * @param load Fills in empty maps with the commands on disk, and returns {@code false} if they can't be read. Runs
+     *             while the custom commands are locked, so that no edit or save can happen while the files are read
+     * @return {@code true} if the custom commands changed
+     */
+    public static boolean reload(Update load)
+    {
+        synchronized (lock)
+        {
+            if (saved != edits)
+            {
+                return false;
+            }
+
+            HashMap<String, String> responses = new HashMap<>();
+            HashMap<String, String> permissions = new HashMap<>();
+            if (!load.apply(responses, permissions))
+            {
+                return false;
+            }
+            if (responses.equals(TwircBot.commandList) && permissions.equals(TwircBot.commandpermList))
+            {
+                return false;
+            }
+            publish(responses, permissions);
+            return true;
+        }
+    }
+
+    /**
+     * Saves the custom commands. No edit or reload can happen while they are being saved
+     *
+     * @param store Writes {@link TwircBot#commandList} and {@link TwircBot#commandpermList} to disk
+     * @throws IOException If the store throws
+     */
+    public static void save(Store store) throws IOException
+    {
+        synchronized (lock)
+        {
+            store.run();
+            saved = edits;
+        }
+    }
+
+    /**
+     * Fetches a custom command
+     *
+     * @param command The command, in lower case
+     * @return The custom command, or {@code null} if there is no such custom command
+     */
+    public CustomCommand get(String command)
+    {
+        return customCommands.get(command);
+    }
+
+    /**
+     * Fetches every custom command
+     *
+     * @return The custom commands, which may not be modified
+     */
+    public Collection<CustomCommand> getCustomCommands()
+    {
+        return Collections.unmodifiableCollection(customCommands.values());
+    }
+
+    /**
+     * Fetches the number of custom commands
+     *
+     * @return The number of custom commands
+     */
+    public int size()
+    {
+        return customCommands.size();
+    }
+
+    //***********************************************************
+    // 				PRIVATE
+    //***********************************************************
+    private static boolean change(Update update)
+    {
+        HashMap<String, String> responses = new HashMap<>(TwircBot.commandList);
+        HashMap<String, String> permissions = new HashMap<>(TwircBot.commandpermList);
+        if (!update.apply(responses, permissions))
+        {
+            return false;
+        }
+        publish(responses, permissions);
+        return true;
+    }
+
+    private static void publish(HashMap<String, String> responses, HashMap<String, String> permissions)
+    {
+        for (String command : TwircBot.commandList.keySet())
+        {
+            if (!responses.containsKey(command))
+            {
+                ResponseTemplates.remove(command);
+            }
+        }
+        TwircBot.commandList = responses;
+        TwircBot.commandpermList = permissions;
+        current.set(build(responses, permissions));
+    }
+
+    private static CommandRegistry build(Map<String, String> responses, Map<String, String> permissions)
+    {
+        Map<String, CustomCommand> customCommands = new HashMap<>();
+        for (Map.Entry<String, String> entry : responses.entrySet())
+        {
+            if (entry.getValue() == null)
+            {
+                continue;
+            }
+            String name = entry.getKey();
+            String key = name.toLowerCase(Locale.ROOT);
+            customCommands.put(key, new CustomCommand(key, name, ResponseTemplates.get(name, entry.getValue()), PERMISSION_LEVEL.fromCommandPermission(permissions.get(name))));
+        }
+        return new CommandRegistry(customCommands);
+    }
+
+    /**
+     * Changes or fills in the custom commands, see {@link #edit(Update)}, {@link #load(Update)} and
+     * {@link #reload(Update)}
+     */
+    @FunctionalInterface
+    public interface Update
+    {
+        /**
+         * Changes or fills in the custom commands
+         *
+         * @param responses   The responses, by command
+         * @param permissions The permissions, by command
+         * @return {@code true} if the maps should take the place of the current ones
+         */
+        boolean apply(Map<String, String> responses, Map<String, String> permissions);
+    }
+
+    /**
+     * Writes the custom commands to disk, see {@link #save(Store)}
+     */
+    @FunctionalInterface
+    public interface Store
+    {
+        /**
+         * Writes the custom commands to disk
+         *
+         * @throws IOException If they can't be written
+         */
+        void run() throws IOException;
+    }
+
+    /**
+     * A custom command, as it was when its snapshot was built
+     */
+    public static final class CustomCommand
+    {
+        private final String command;
+        private final String name;
+        private final ResponseTemplate response;
+        private final PERMISSION_LEVEL permission;
+
+        private CustomCommand(String command, String name, ResponseTemplate response, PERMISSION_LEVEL permission)
+        {
+            this.command = command;
+            this.name = name;
+            this.response = response;
+            this.permission = permission;
+        }
+
+        /**
+         * Fetches the command's name
+         *
+         * @return The command's name, in lower case
+         */
+        public String getCommand()
+        {
+            return command;
+        }
+
+        /**
+         * Fetches the command's name as it is stored among the custom commands
+         *
+         * @return The command's name
+         */
+        public String getName()
+        {
+            return name;
+        }
+
+        /**
+         * Fetches the command's compiled response
+         *
+         * @return The response
+         */
+        public ResponseTemplate getResponse()
+        {
+            return response;
+        }
+
+        /**
+         * Fetches the level needed to use the command
+         *
+         * @return The level. {@link PERMISSION_LEVEL#EVERYONE} if the command has no permission, or one we don't know
+         */
+        public PERMISSION_LEVEL getPermission()
+        {
+            return permission;
+        }
+    }
+}
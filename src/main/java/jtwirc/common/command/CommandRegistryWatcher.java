@@ -0,0 +1,141 @@
+package jtwirc.common.command;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the custom command files, and reloads the custom commands when one of them changes on disk.<br><br>
+ * <p>
+ * Files are rarely written in one go, and the bot itself rewrites both files whenever it saves. So after a change the
+ * watcher waits until the files have been quiet for a moment, and then reloads once. A reload that finds the files
+ * half written should fail to parse and leave the commands as they were, and the rest of the write triggers another
+ * reload anyway.<br><br>
+ * <p>
+ * The watcher runs on a daemon thread of its own.
+ */
+public class CommandRegistryWatcher
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private static final long QUIET_MILLIS = 500;
+
+    private final Path directory;
+    private final Collection<String> files;
+    private final Runnable reload;
+
+    private volatile Thread thread;
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+
+    /**
+     * Creates a new watcher. It does nothing until it is started
+     *
+     * @param directory The directory the files are in
+     * @param reload    Reloads the custom commands, see {@link CommandRegistry#reload}
+     * @param files     The names of the files to watch
+     */
+    public CommandRegistryWatcher(Path directory, Runnable reload, String... files)
+    {
+        this.directory = directory;
+        this.reload = reload;
+        this.files = Arrays.asList(files);
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Starts watching
+     *
+     * @throws IOException If the directory can't be watched
+     */
+    public synchronized void start() throws IOException
+    {
+        if (thread != null)
+        {
+            return;
+        }
+
+        WatchService watcher = directory.getFileSystem().newWatchService();
+        directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        thread = new Thread(() -> watch(watcher), "Twirc-CommandWatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops watching
+     */
+    public synchronized void stop()
+    {
+        if (thread != null)
+        {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    //***********************************************************
+    // 				PRIVATE
+    //***********************************************************
+    private void watch(WatchService watcher)
+    {
+        try (WatchService w = watcher)
+        {
+            while (!Thread.currentThread().isInterrupted())
+            {
+                if (!changed(w.take()))
+                {
+                    continue;
+                }
+
+                //Wait for the writes to settle, then reload once for all of them
+                WatchKey key;
+                while ((key = w.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)) != null)
+                {
+                    changed(key);
+                }
+
+                try
+                {
+                    reload.run();
+                }
+                catch (RuntimeException e)
+                {
+                    System.err.println("Error reloading the custom commands");
+                    e.printStackTrace();
+                }
+            }
+        }
+        catch (InterruptedException | ClosedWatchServiceException e)
+        {
+            //Stopped
+        }
+        catch (IOException e)
+        {
+            e.printStackTrace();
+        }
+    }
+
+    private boolean changed(WatchKey key)
+    {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents())
+        {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || files.contains(String.valueOf(event.context())))
+            {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+}
@@ -0,0 +1,215 @@
+package jtwirc.common.command;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Finds the command a chat message invokes, if any.<br><br>
+ * <p>
+ * Almost every line in chat is not a command, so the router is built to reject those as cheaply as possible: it keeps
+ * a table of the characters commands can start with, and a line whose first character is not in it is rejected
+ * without creating a single object. Lines that pass are looked up with one hash lookup in a case-folded map, which
+ * holds both the built-in commands and the custom commands, and are only then split into arguments.<br><br>
+ * <p>
+ * The custom commands come from the current {@link CommandRegistry} snapshot. When a new snapshot is swapped in, the
+ * router builds a new table from it before routing the next line. The table is never edited once built, so a match
+ * always belongs to a single snapshot.<br><br>
+ * <p>
+ * Commands are matched ignoring case.
+ */
+public class CommandRouter
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private final Map<String, CommandBase> builtIns;
+
+    private volatile Table table;
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+
+    /**
+     * Creates a new router
+     *
+     * @param builtIns The built-in commands, keyed by the command, such as {@code !quote}. The map is read once, so
+     *                 later changes to it are not seen
+     */
+    public CommandRouter(Map<String, CommandBase> builtIns)
+    {
+        this.builtIns = new HashMap<>(builtIns);
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Finds the command a chat message invokes
+     *
+     * @param content The message's content
+     * @return The match, or {@code null} if the message does not invoke a command
+     */
+    public Match route(String content)
+    {
+        if (content.isEmpty())
+        {
+            return null;
+        }
+
+        Table current = table;
+        CommandRegistry registry = CommandRegistry.current();
+        if (current == null || current.registry != registry)
+        {
+            current = rebuild(registry);
+        }
+
+        char first = content.charAt(0);
+        if (first < 128 && !current.firstChars[first])
+        {
+            return null;
+        }
+
+        int space = content.indexOf(' ');
+        String token = space < 0 ? content : content.substring(0, space);
+        Route route = current.routes.get(token.toLowerCase(Locale.ROOT));
+        if (route == null)
+        {
+            return null;
+        }
+        return new Match(route, content.split(" "));
+    }
+
+    //***********************************************************
+    // 				PRIVATE
+    //***********************************************************
+    private synchronized Table rebuild(CommandRegistry registry)
+    {
+        Table current = table;
+        if (current != null && current.registry == registry)
+        {
+            return current;
+        }
+
+        Map<String, Route> routes = new HashMap<>();
+        for (CommandRegistry.CustomCommand custom : registry.getCustomCommands())
+        {
+            routes.put(custom.getCommand(), new Route(custom.getCommand(), custom, null));
+        }
+        for (Map.Entry<String, CommandBase> builtIn : builtIns.entrySet())
+        {
+            String key = builtIn.getKey().toLowerCase(Locale.ROOT);
+            Route custom = routes.get(key);
+            routes.put(key, new Route(key, custom == null ? null : custom.customCommand, builtIn.getValue()));
+        }
+
+        boolean[] firstChars = new boolean[128];
+        for (String key : routes.keySet())
+        {
+            if (key.isEmpty())
+            {
+                continue;
+            }
+            char first = key.charAt(0);
+            if (first < 128)
+            {
+                firstChars[first] = true;
+                firstChars[Character.toUpperCase(first)] = true;
+            }
+        }
+
+        current = new Table(registry, routes, firstChars);
+        table = current;
+        return current;
+    }
+
+    /**
+     * What a command name leads to. A name can lead to both a custom command and a built-in command, in which case
+     * both are run
+     */
+    private static final class Route
+    {
+        final String command;
+        final CommandRegistry.CustomCommand customCommand;
+        final CommandBase builtIn;
+
+        Route(String command, CommandRegistry.CustomCommand customCommand, CommandBase builtIn)
+        {
+            this.command = command;
+            this.customCommand = customCommand;
+            this.builtIn = builtIn;
+        }
+    }
+
+    private static final class Table
+    {
+        final CommandRegistry registry;
+        final Map<String, Route> routes;
+        final boolean[] firstChars;
+
+        Table(CommandRegistry registry, Map<String, Route> routes, boolean[] firstChars)
+        {
+            this.registry = registry;
+            this.routes = routes;
+            this.firstChars = firstChars;
+        }
+    }
+
+    /**
+     * A chat message that invokes a command
+     */
+    public static final class Match
+    {
+        private final Route route;
+        private final String[] tokens;
+
+        private Match(Route route, String[] tokens)
+        {
+            this.route = route;
+            this.tokens = tokens;
+        }
+
+        /**
+         * Fetches the name of the command the message invokes
+         *
+         * @return The command's name, in lower case
+         */
+        public String getCommand()
+        {
+            return route.command;
+        }
+
+        /**
+         * Fetches the custom command the message invokes
+         *
+         * @return The custom command, as it was in the snapshot the message was routed with, or {@code null} if the
+         * message does not invoke a custom command
+         */
+        public CommandRegistry.CustomCommand getCustomCommand()
+        {
+            return route.customCommand;
+        }
+
+        /**
+         * Fetches the built-in command the message invokes
+         *
+         * @return The built-in command, or {@code null} if the message does not invoke a built-in command
+         */
+        public CommandBase getBuiltIn()
+        {
+            return route.builtIn;
+        }
+
+        /**
+         * Fetches the message's words, split on spaces. The first word is the command as typed
+         *
+         * @return The words
+         */
+        public String[] getTokens()
+        {
+            return tokens;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package jtwirc.common.command;
+
+import jtwirc.TwircBot;
+import jtwirc.enums.PERMISSION_LEVEL;
+import jtwirc.types.users.TwitchUser;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Works out the {@link PERMISSION_LEVEL} of users in chat.<br><br>
+ * <p>
+ * Moderators and the broadcaster are only ever recognized by their badges. {@link TwircBot#permList} may only raise a
+ * user to {@link PERMISSION_LEVEL#REGULAR}: its {@code mod} entries are written for every moderator seen in chat and
+ * never removed, so trusting them would keep giving unmodded users moderator access.<br><br>
+ * <p>
+ * {@link TwircBot#permList} is never edited in place. Every change goes through {@link #edit(Predicate)}, which copies
+ * it, changes the copy, puts the copy in its place and parses the levels into a snapshot, all under one lock. Lookups
+ * only read the snapshot.
+ */
+public final class UserPermissions
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private static final Object lock = new Object();
+
+    private static volatile Map<String, PERMISSION_LEVEL> overrides = Collections.emptyMap();
+
+    private UserPermissions()
+    {
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Fetches a user's level
+     *
+     * @param user The user
+     * @return The user's level
+     */
+    public static PERMISSION_LEVEL levelOf(TwitchUser user)
+    {
+        PERMISSION_LEVEL level = PERMISSION_LEVEL.fromBadges(user.getBadgeMask());
+        if (level != PERMISSION_LEVEL.EVERYONE)
+        {
+            return level;
+        }
+
+        Map<String, PERMISSION_LEVEL> current = overrides;
+        if (current.isEmpty())
+        {
+            return level;
+        }
+        PERMISSION_LEVEL override = current.get(user.getName().toLowerCase(Locale.ROOT));
+        return override != null ? override : level;
+    }
+
+    /**
+     * Changes {@link TwircBot#permList}. The edit gets a copy of the current map, and if it changes it, the copy takes
+     * the place of {@link TwircBot#permList}
+     *
+     * @param edit Changes the copy, and returns {@code true} if it did. Runs while the permissions are locked, so it
+     *             must not block
+     * @return {@code true} if the edit changed the permissions
+     */
+    public static boolean edit(Predicate<Map<String, String>> edit)
+    {
+        synchronized (lock)
+        {
+            HashMap<String, String> permissions = new HashMap<>(TwircBot.permList);
+            if (!edit.test(permissions))
+            {
+                return false;
+            }
+            TwircBot.permList = permissions;
+            overrides = compileOverrides(permissions);
+            return true;
+        }
+    }
+
+    //***********************************************************
+    // 				PRIVATE
+    //***********************************************************
+    private static Map<String, PERMISSION_LEVEL> compileOverrides(Map<String, String> permissions)
+    {
+        //Only regulars are kept, everything above comes from badges
+        Map<String, PERMISSION_LEVEL> compiled = new HashMap<>();
+        for (Map.Entry<String, String> entry : permissions.entrySet())
+        {
+            if (entry.getKey() != null && PERMISSION_LEVEL.fromString(entry.getValue()) == PERMISSION_LEVEL.REGULAR)
+            {
+                compiled.put(entry.getKey().toLowerCase(Locale.ROOT), PERMISSION_LEVEL.REGULAR);
+            }
+        }
+        return compiled;
+    }
+}
@@ -2,7 +2,8 @@ package jtwirc.common.command.commands.faq;
 
 import jtwirc.TwircBot;
 import jtwirc.common.command.CommandBase;
-import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.common.command.CommandContext;
+import jtwirc.enums.BADGE;
 import jtwirc.types.users.TwitchUser;
 import jtwirc.utils.Defaults;
 import jtwirc.utils.MessageSending;
@@ -15,12 +16,13 @@ public class CommandCTT extends CommandBase
 {
 
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
+        TwitchUser user = context.getUser();
+        String[] args = context.getArgs();
         if (args.length >= 2)
         {
-            if (user.isMod() || user.isBroadcaster())
+            if (user.hasAny(BADGE.MOD_OR_BROADCASTER))
             {
                 StringBuilder sb = new StringBuilder();
                 int i = 1;
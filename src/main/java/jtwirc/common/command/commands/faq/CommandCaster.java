@@ -1,7 +1,8 @@
 package jtwirc.common.command.commands.faq;
 
 import jtwirc.common.command.CommandBase;
-import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.common.command.CommandContext;
+import jtwirc.enums.BADGE;
 import jtwirc.types.users.TwitchUser;
 import jtwirc.utils.JSONParser;
 import jtwirc.utils.MessageSending;
@@ -11,10 +12,11 @@ import org.json.JSONObject;
 public class CommandCaster extends CommandBase
 {
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
-        if (user.isMod() || user.isBroadcaster())
+        TwitchUser user = context.getUser();
+        String[] args = context.getArgs();
+        if (user.hasAny(BADGE.MOD_OR_BROADCASTER))
         {
             JSONObject json = null;
             try
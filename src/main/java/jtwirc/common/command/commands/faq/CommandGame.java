@@ -1,8 +1,9 @@
 package jtwirc.common.command.commands.faq;
 
 import jtwirc.TwircBot;
+import jtwirc.annotation.Async;
 import jtwirc.common.command.CommandBase;
-import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.common.command.CommandContext;
 import jtwirc.types.users.TwitchUser;
 import jtwirc.utils.Defaults;
 import jtwirc.utils.JSONParser;
@@ -11,12 +12,13 @@ import jtwirc.utils.json.Load;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+@Async(deadlineMillis = 8000, maxInFlight = 1, fallback = "Twitch is taking too long to answer, please try again later.")
 public class CommandGame extends CommandBase
 {
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
+        TwitchUser user = context.getUser();
         Load.steamList();
         JSONObject json = null;
         try
@@ -2,8 +2,9 @@ package jtwirc.common.command.commands.faq;
 
 import jtwirc.TwircBot;
 import jtwirc.common.command.CommandBase;
+import jtwirc.common.command.CommandContext;
 import jtwirc.common.threads.ViewerCommon;
-import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.enums.BADGE;
 import jtwirc.types.users.TwitchUser;
 import jtwirc.utils.Defaults;
 import jtwirc.utils.MessageSending;
@@ -110,9 +111,10 @@ public class CommandPoints extends CommandBase
     }
 
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
+        TwitchUser user = context.getUser();
+        String[] args = context.getArgs();
         if (args.length <= 1)
         {
             if (TwircBot.blackList.contains(user.getName()))
@@ -128,7 +130,7 @@ public class CommandPoints extends CommandBase
         {
             if (args[1].equalsIgnoreCase("give"))
             {
-                if (user.isMod() || user.isBroadcaster())
+                if (user.hasAny(BADGE.MOD_OR_BROADCASTER))
                 {
                     if (args.length >= 3)
                     {
@@ -147,7 +149,7 @@ public class CommandPoints extends CommandBase
             }
             if (args[1].equalsIgnoreCase("clear"))
             {
-                if (user.isMod() || user.isBroadcaster())
+                if (user.hasAny(BADGE.MOD_OR_BROADCASTER))
                 {
                     if (args.length >= 2)
                     {
@@ -161,7 +163,7 @@ public class CommandPoints extends CommandBase
             }
             if (args[1].equalsIgnoreCase("check"))
             {
-                if (user.isMod() || user.isBroadcaster())
+                if (user.hasAny(BADGE.MOD_OR_BROADCASTER))
                 {
                     if (args.length >= 2)
                     {
@@ -175,7 +177,7 @@ public class CommandPoints extends CommandBase
             }
             if (args[1].equalsIgnoreCase("giveall"))
             {
-                if (user.isMod() || user.isBroadcaster())
+                if (user.hasAny(BADGE.MOD_OR_BROADCASTER))
                 {
                     if (args.length >= 2)
                     {
@@ -192,7 +194,7 @@ public class CommandPoints extends CommandBase
             }
             if (args[1].equalsIgnoreCase("top"))
             {
-                if (user.isSub() || user.isBroadcaster() || user.isMod())
+                if (user.hasAny(BADGE.SUBSCRIBER.mask | BADGE.MOD_OR_BROADCASTER))
                 {
                     getTopList();
                 }
@@ -2,18 +2,16 @@ package jtwirc.common.command.commands.faq;
 
 import jtwirc.TwircBot;
 import jtwirc.common.command.CommandBase;
-import jtwirc.types.twitchMessage.TwitchMessage;
-import jtwirc.types.users.TwitchUser;
+import jtwirc.common.command.CommandContext;
 import jtwirc.utils.MessageSending;
 
 public class CommandShoutout extends CommandBase
 {
 
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
-        String streamer = message.getContent().substring(command.length() + 1);
+        String streamer = context.getArgumentText();
         TwircBot.shoutoutList.clear();
         TwircBot.shoutoutList.put(System.currentTimeMillis(), streamer);
         MessageSending.sendNormalMessage(String.format("%s is awesome, you should give them a follow. http://www.twitch.tv/%s", streamer, streamer));
@@ -2,8 +2,7 @@ package jtwirc.common.command.commands.faq;
 
 import jtwirc.TwircBot;
 import jtwirc.common.command.CommandBase;
-import jtwirc.types.twitchMessage.TwitchMessage;
-import jtwirc.types.users.TwitchUser;
+import jtwirc.common.command.CommandContext;
 import jtwirc.utils.JSONParser;
 import jtwirc.utils.MessageSending;
 import org.json.JSONException;
@@ -12,9 +11,8 @@ import org.json.JSONObject;
 public class CommandStatus extends CommandBase
 {
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
         JSONObject json = null;
         try
         {
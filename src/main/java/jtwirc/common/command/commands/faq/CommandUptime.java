@@ -1,15 +1,15 @@
 package jtwirc.common.command.commands.faq;
 
 import jtwirc.common.command.CommandBase;
-import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.common.command.CommandContext;
 import jtwirc.types.users.TwitchUser;
 
 public class CommandUptime extends CommandBase
 {
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
+        TwitchUser user = context.getUser();
         /*final String[] uptime = new String[1];
 
 		TwircBot.twitch.streams().get("WeAllPlayCast", new StreamResponseHandler() {
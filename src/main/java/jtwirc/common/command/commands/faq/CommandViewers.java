@@ -1,7 +1,7 @@
 package jtwirc.common.command.commands.faq;
 
 import jtwirc.common.command.CommandBase;
-import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.common.command.CommandContext;
 import jtwirc.types.users.TwitchUser;
 import jtwirc.utils.Defaults;
 import jtwirc.utils.JSONParser;
@@ -18,9 +18,9 @@ public class CommandViewers extends CommandBase
     }
 
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
+        TwitchUser user = context.getUser();
 
         try
         {
@@ -4,7 +4,8 @@ import com.mb3364.twitch.api.handlers.ChannelResponseHandler;
 import com.mb3364.twitch.api.models.Channel;
 import jtwirc.TwircBot;
 import jtwirc.common.command.CommandBase;
-import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.common.command.CommandContext;
+import jtwirc.enums.BADGE;
 import jtwirc.types.users.TwitchUser;
 import jtwirc.utils.Defaults;
 import jtwirc.utils.MessageSending;
@@ -16,18 +17,17 @@ import java.util.*;
 public class CommandQuote extends CommandBase
 {
 
-    private boolean quoteSend = false;
-    private boolean quoteAdded = false;
-
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
+        TwitchUser user = context.getUser();
+        String[] args = context.getArgs();
         if (args.length == 1)
         {
             Random rand = new Random();
 
             long quote = rand.nextInt(TwircBot.quoteList.size()) + 1;
+            boolean quoteSend = false;
             while (!quoteSend)
             {
                 if (TwircBot.quoteList.containsKey(quote))
@@ -44,7 +44,6 @@ public class CommandQuote extends CommandBase
                     quoteSend = false;
                 }
             }
-            quoteSend = false;
         }
         else if (args.length == 2)
         {
@@ -64,7 +63,7 @@ public class CommandQuote extends CommandBase
         }
         else if (args.length >= 2)
         {
-            if (user.isMod() || user.isBroadcaster())
+            if (user.hasAny(BADGE.MOD_OR_BROADCASTER))
             {
                 if (args[1].equalsIgnoreCase("add") && !args[2].isEmpty())
                 {
@@ -109,6 +108,7 @@ public class CommandQuote extends CommandBase
                         String completeQuote = result.toString() + " ~" + game[0] + " " + dateFormat.format(date);
                         long quoted = (long) TwircBot.quoteList.size() + 1;
 
+                        boolean quoteAdded = false;
                         while (!quoteAdded)
                         {
                             if (!TwircBot.quoteList.containsKey(quoted))
@@ -124,7 +124,6 @@ public class CommandQuote extends CommandBase
                                 quoteAdded = false;
                             }
                         }
-                        quoteAdded = false;
                     }
                     catch (Exception e)
                     {
@@ -2,7 +2,8 @@ package jtwirc.common.command.commands.fun;
 
 import jtwirc.TwircBot;
 import jtwirc.common.command.CommandBase;
-import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.common.command.CommandContext;
+import jtwirc.enums.BADGE;
 import jtwirc.types.users.TwitchUser;
 import jtwirc.utils.Defaults;
 import jtwirc.utils.MessageSending;
@@ -21,12 +22,13 @@ public class CommandRaffle extends CommandBase
     private Random rand = new Random();
 
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
+        TwitchUser user = context.getUser();
+        String[] args = context.getArgs();
         if (args.length == 1)
         {
-            if (user.isMod() || user.isBroadcaster())
+            if (user.hasAny(BADGE.MOD_OR_BROADCASTER))
             {
                 drawRaffle();
             }
@@ -39,7 +41,7 @@ public class CommandRaffle extends CommandBase
             }
             if (args[1].equalsIgnoreCase("clear"))
             {
-                if (user.isMod() || user.isBroadcaster())
+                if (user.hasAny(BADGE.MOD_OR_BROADCASTER))
                 {
                     TwircBot.raffleList.clear();
                     try
@@ -86,7 +88,7 @@ public class CommandRaffle extends CommandBase
             }
             if (args[1].equalsIgnoreCase("set"))
             {
-                if (user.isMod() || user.isBroadcaster())
+                if (user.hasAny(BADGE.MOD_OR_BROADCASTER))
                 {
                     Defaults.setRaffleCost(Integer.valueOf(args[2]));
                     MessageSending.sendNormalMessage("Raffle tickets now costs " + Defaults.raffleCost + " " + Defaults.getPointName());
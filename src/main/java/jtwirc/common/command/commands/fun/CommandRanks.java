@@ -2,7 +2,8 @@ package jtwirc.common.command.commands.fun;
 
 import jtwirc.TwircBot;
 import jtwirc.common.command.CommandBase;
-import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.common.command.CommandContext;
+import jtwirc.enums.BADGE;
 import jtwirc.types.users.TwitchUser;
 import jtwirc.utils.Defaults;
 import jtwirc.utils.MessageSending;
@@ -25,9 +26,10 @@ public class CommandRanks extends CommandBase
     }*/
 
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
+        TwitchUser user = context.getUser();
+        String[] args = context.getArgs();
         if (args.length == 1)
         {
             if (TwircBot.rankUserList.get(user.getName().toLowerCase()) != null)
@@ -62,7 +64,7 @@ public class CommandRanks extends CommandBase
             }
             if (args[1].equalsIgnoreCase("remove"))
             {
-                if (user.isMod() || user.isBroadcaster())
+                if (user.hasAny(BADGE.MOD_OR_BROADCASTER))
                 {
                     removeRank(removeUnderscores(args[2]), user);
                     TwircBot.log.info(args[2] + " has got their rank removed.");
@@ -83,7 +85,7 @@ public class CommandRanks extends CommandBase
             }
             if (args[1].equalsIgnoreCase("add"))
             {
-                if (user.isMod() || user.isBroadcaster())
+                if (user.hasAny(BADGE.MOD_OR_BROADCASTER))
                 {
                     addRank(removeUnderscores(args[2]), Long.parseLong(args[3]), user);
                     TwircBot.log.info("A new rank was added: " + args[2]);
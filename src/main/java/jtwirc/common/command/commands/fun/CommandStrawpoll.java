@@ -1,7 +1,9 @@
 package jtwirc.common.command.commands.fun;
 
+import jtwirc.annotation.Async;
 import jtwirc.common.command.CommandBase;
-import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.common.command.CommandContext;
+import jtwirc.enums.BADGE;
 import jtwirc.types.users.TwitchUser;
 import jtwirc.utils.Defaults;
 import jtwirc.utils.HTTPPoster;
@@ -13,16 +15,18 @@ import org.json.simple.parser.JSONParser;
 import java.util.Collections;
 
 @SuppressWarnings("unchecked")
+@Async(deadlineMillis = 8000, maxInFlight = 1, fallback = "Strawpoll is taking too long to answer, please try again later.")
 public class CommandStrawpoll extends CommandBase
 {
 
     //!strawpoll create title;option,option,option
 
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
-        if (user.isMod() || user.isBroadcaster())
+        TwitchUser user = context.getUser();
+        String[] args = context.getArgs();
+        if (user.hasAny(BADGE.MOD_OR_BROADCASTER))
         {
             if (args.length == 2)
             {
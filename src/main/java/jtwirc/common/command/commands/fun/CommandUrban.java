@@ -1,7 +1,9 @@
 package jtwirc.common.command.commands.fun;
 
+import jtwirc.annotation.Async;
 import jtwirc.common.command.CommandBase;
-import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.common.command.CommandContext;
+import jtwirc.enums.BADGE;
 import jtwirc.types.users.TwitchUser;
 import jtwirc.utils.JSONParser;
 import jtwirc.utils.MessageSending;
@@ -9,13 +11,15 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+@Async(deadlineMillis = 8000, maxInFlight = 1, fallback = "Urban Dictionary is taking too long to answer, please try again later.")
 public class CommandUrban extends CommandBase
 {
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
-        if (user.isMod() || user.isBroadcaster())
+        TwitchUser user = context.getUser();
+        String[] args = context.getArgs();
+        if (user.hasAny(BADGE.MOD_OR_BROADCASTER))
         {
             JSONObject json = null;
             try
@@ -1,9 +1,11 @@
 package jtwirc.common.command.commands.fun;
 
 import jtwirc.TwircBot;
+import jtwirc.annotation.Async;
 import jtwirc.common.command.CommandBase;
+import jtwirc.common.command.CommandContext;
 import jtwirc.common.threads.ViewerCommon;
-import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.enums.BADGE;
 import jtwirc.types.users.TwitchUser;
 import jtwirc.utils.Defaults;
 import jtwirc.utils.JSONParser;
@@ -11,86 +13,96 @@ import jtwirc.utils.MessageSending;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.util.List;
 import java.util.Random;
 
+//The only shared state the winner reads is the viewer list, which ViewerCommon guards, so it may leave the Commands thread
+@Async(deadlineMillis = 15000, maxInFlight = 1, fallback = "Picking a winner took too long, please try again.")
 public class CommandWinner extends CommandBase
 {
 
+    //Each candidate costs a request to Twitch, so give up rather than try the whole chat
+    private static final int MAX_FOLLOW_CHECKS = 10;
+
     private Random rand = new Random();
 
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
-        if (user.isMod() || user.isBroadcaster())
+        TwitchUser user = context.getUser();
+        String[] args = context.getArgs();
+        if (user.hasAny(BADGE.MOD_OR_BROADCASTER))
         {
             if (args.length <= 1)
             {
-                MessageSending.sendNormalMessage("And the winner is... " + getWinner(false) + "!!!! Congratulations!!!!");
+                announce(getWinner(false));
             }
             if (args.length == 2)
             {
                 if (args[1].toLowerCase().equals("-f"))
                 {
-                    MessageSending.sendNormalMessage("And the winner is... " + getWinner(true) + "!!!! Congratulations!!!!");
+                    announce(getWinner(true));
                 }
             }
         }
     }
 
+    private void announce(String winner)
+    {
+        if (winner == null)
+        {
+            MessageSending.sendNormalMessage("Couldn't find anyone to pick, please try again.");
+            return;
+        }
+        MessageSending.sendNormalMessage("And the winner is... " + winner + "!!!! Congratulations!!!!");
+    }
+
+    /**
+     * Picks a random viewer, other than the channel and the bot
+     *
+     * @param follows Whether each candidate should be checked with Twitch
+     * @return The winner, or <code>null</code> if no one could be picked
+     */
     private String getWinner(boolean follows)
     {
-        String winner = "";
-        int win;
         ViewerCommon.updateViewers();
+        String channel = TwircBot.config.getProperty("autoJoinChannel").toLowerCase();
+        String bot = Defaults.getBotName().toLowerCase();
+        List<String> candidates = ViewerCommon.getViewers();
+        candidates.removeIf(viewer -> viewer.equals(channel) || viewer.equals(bot));
+        if (candidates.isEmpty())
+        {
+            return null;
+        }
         if (!follows)
         {
-            boolean breaker = true;
-            while (breaker)
-            {
-                win = rand.nextInt(ViewerCommon.viewers.size());
-                winner = ViewerCommon.viewers.get(win);
-                breaker = winner.equals(TwircBot.config.getProperty("autoJoinChannel").toLowerCase()) || winner.equals(Defaults.getBotName().toLowerCase());
-            }
-            return winner;
+            return candidates.get(rand.nextInt(candidates.size()));
         }
-        else
+
+        for (int i = 0; i < MAX_FOLLOW_CHECKS && !candidates.isEmpty() && !Thread.currentThread().isInterrupted(); i++)
         {
-            boolean breaker = true;
-            while (breaker)
+            String winner = candidates.remove(rand.nextInt(candidates.size()));
+            JSONObject json = null;
+            try
             {
-                win = rand.nextInt(ViewerCommon.viewers.size());
-                winner = ViewerCommon.viewers.get(win);
-                if (winner.equals(TwircBot.config.getProperty("autoJoinChannel").toLowerCase()) || winner.equals(Defaults.getBotName().toLowerCase()))
-                {
-                    breaker = true;
-                }
-                else
+                json = new JSONObject(JSONParser.readUrl("https://api.twitch.tv/kraken/users/" + winner + "/follows/channels/" + TwircBot.config.getProperty("autoJoinChannel")));
+            }
+            catch (Exception e)
+            {
+                e.printStackTrace();
+            }
+            try
+            {
+                if (json != null && json.get("status").toString().contains("404"))
                 {
-                    JSONObject json = null;
-                    try
-                    {
-                        json = new JSONObject(JSONParser.readUrl("https://api.twitch.tv/kraken/users/" + winner + "/follows/channels/" + TwircBot.config.getProperty("autoJoinChannel")));
-                    }
-                    catch (Exception e)
-                    {
-                        e.printStackTrace();
-                    }
-                    try
-                    {
-                        if (json != null && json.get("status").toString().contains("404"))
-                        {
-                            breaker = false;
-                        }
-                    }
-                    catch (JSONException e)
-                    {
-                        return winner;
-                    }
+                    return winner;
                 }
-
             }
-            return winner;
+            catch (JSONException e)
+            {
+                return winner;
+            }
         }
+        return null;
     }
 }
@@ -1,7 +1,7 @@
 package jtwirc.common.command.commands.partner;
 
 import jtwirc.common.command.CommandBase;
-import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.common.command.CommandContext;
 import jtwirc.types.users.TwitchUser;
 import jtwirc.utils.Defaults;
 import jtwirc.utils.json.Save;
@@ -9,9 +9,10 @@ import jtwirc.utils.json.Save;
 public class CommandFreeSub extends CommandBase
 {
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
+        TwitchUser user = context.getUser();
+        String[] args = context.getArgs();
         if (user.isBroadcaster())
         {
             Defaults.newSub = args[1];
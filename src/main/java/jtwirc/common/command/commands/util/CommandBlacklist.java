@@ -2,7 +2,8 @@ package jtwirc.common.command.commands.util;
 
 import jtwirc.TwircBot;
 import jtwirc.common.command.CommandBase;
-import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.common.command.CommandContext;
+import jtwirc.enums.BADGE;
 import jtwirc.types.users.TwitchUser;
 import jtwirc.utils.MessageSending;
 import jtwirc.utils.json.Save;
@@ -11,10 +12,11 @@ public class CommandBlacklist extends CommandBase
 {
 
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
-        if (user.isMod() || user.isBroadcaster())
+        TwitchUser user = context.getUser();
+        String[] args = context.getArgs();
+        if (user.hasAny(BADGE.MOD_OR_BROADCASTER))
         {
             if (!TwircBot.blackList.contains(args[1]))
             {
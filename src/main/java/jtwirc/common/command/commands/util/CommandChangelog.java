@@ -1,8 +1,7 @@
 package jtwirc.common.command.commands.util;
 
 import jtwirc.common.command.CommandBase;
-import jtwirc.types.twitchMessage.TwitchMessage;
-import jtwirc.types.users.TwitchUser;
+import jtwirc.common.command.CommandContext;
 import jtwirc.utils.Defaults;
 import jtwirc.utils.MessageSending;
 
@@ -10,9 +9,8 @@ public class CommandChangelog extends CommandBase
 {
 
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
         MessageSending.sendNormalMessage(Defaults.CHANGELOG);
     }
 }
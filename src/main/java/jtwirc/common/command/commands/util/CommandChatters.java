@@ -1,7 +1,8 @@
 package jtwirc.common.command.commands.util;
 
+import jtwirc.annotation.Async;
 import jtwirc.common.command.CommandBase;
-import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.common.command.CommandContext;
 import jtwirc.types.users.TwitchUser;
 import jtwirc.utils.Defaults;
 import jtwirc.utils.JSONParser;
@@ -9,6 +10,7 @@ import jtwirc.utils.MessageSending;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+@Async(deadlineMillis = 8000, maxInFlight = 1, fallback = "Twitch is taking too long to answer, please try again later.")
 public class CommandChatters extends CommandBase
 {
 
@@ -18,9 +20,9 @@ public class CommandChatters extends CommandBase
     }
 
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
+        TwitchUser user = context.getUser();
         JSONObject json = null;
         try
         {
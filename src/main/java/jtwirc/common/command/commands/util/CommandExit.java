@@ -3,7 +3,8 @@ package jtwirc.common.command.commands.util;
 import jtwirc.Twirc;
 import jtwirc.TwircBot;
 import jtwirc.common.command.CommandBase;
-import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.common.command.CommandContext;
+import jtwirc.enums.BADGE;
 import jtwirc.types.users.TwitchUser;
 import jtwirc.utils.MessageSending;
 
@@ -22,10 +23,10 @@ public class CommandExit extends CommandBase
     }
 
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
-        if (user.isMod() || user.isBroadcaster())
+        TwitchUser user = context.getUser();
+        if (user.hasAny(BADGE.MOD_OR_BROADCASTER))
         {
             MessageSending.sendNormalMessage("Shutting down the bot.");
             System.out.println("Shutting down.");
@@ -2,17 +2,18 @@ package jtwirc.common.command.commands.util;
 
 import jtwirc.TwircBot;
 import jtwirc.common.command.CommandBase;
-import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.common.command.CommandContext;
+import jtwirc.enums.BADGE;
 import jtwirc.types.users.TwitchUser;
 import jtwirc.utils.MessageSending;
 
 public class CommandNote extends CommandBase
 {
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
-        if (user.isMod() || user.isBroadcaster())
+        TwitchUser user = context.getUser();
+        if (user.hasAny(BADGE.MOD_OR_BROADCASTER))
         {
             boolean noteAdded = false;
             try
@@ -22,7 +23,7 @@ public class CommandNote extends CommandBase
                 {
                     if (!TwircBot.noteList.containsKey(note))
                     {
-                        TwircBot.noteList.put(note, msgWOCommand);
+                        TwircBot.noteList.put(note, context.getArgumentText());
                         noteAdded = true;
                         MessageSending.sendWhisper(user.getName().toLowerCase(), " note has been added as #" + note + ".");
                         TwircBot.log.info("note " + note + " has been added");
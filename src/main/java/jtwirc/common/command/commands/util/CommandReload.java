@@ -0,0 +1,29 @@
+package jtwirc.common.command.commands.util;
+
+import jtwirc.common.command.CommandBase;
+import jtwirc.common.command.CommandContext;
+import jtwirc.common.command.CommandRegistry;
+import jtwirc.enums.BADGE;
+import jtwirc.types.users.TwitchUser;
+import jtwirc.utils.MessageSending;
+import jtwirc.utils.json.Load;
+
+public class CommandReload extends CommandBase
+{
+    @Override
+    public void execute(CommandContext context)
+    {
+        TwitchUser user = context.getUser();
+        if (user.hasAny(BADGE.MOD_OR_BROADCASTER))
+        {
+            if (Load.reloadCommands())
+            {
+                MessageSending.sendWhisper(user.getName(), "Reloaded " + CommandRegistry.current().size() + " custom commands.");
+            }
+            else
+            {
+                MessageSending.sendWhisper(user.getName(), "The custom commands couldn't be reloaded, so they were left as they were.");
+            }
+        }
+    }
+}
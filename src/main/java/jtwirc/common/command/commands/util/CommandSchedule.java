@@ -2,8 +2,9 @@ package jtwirc.common.command.commands.util;
 
 import jtwirc.TwircBot;
 import jtwirc.common.command.CommandBase;
+import jtwirc.common.command.CommandContext;
 import jtwirc.common.threads.ScheduleCommon;
-import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.enums.BADGE;
 import jtwirc.types.users.TwitchUser;
 import jtwirc.utils.Defaults;
 import jtwirc.utils.MessageSending;
@@ -28,10 +29,11 @@ public class CommandSchedule extends CommandBase
     private boolean messageAdded = false;
 
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
-        if (user.isMod() || user.isBroadcaster())
+        TwitchUser user = context.getUser();
+        String[] args = context.getArgs();
+        if (user.hasAny(BADGE.MOD_OR_BROADCASTER))
         {
             if (args.length == 2)
             {
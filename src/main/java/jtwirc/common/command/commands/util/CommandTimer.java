@@ -2,7 +2,8 @@ package jtwirc.common.command.commands.util;
 
 import jtwirc.TwircBot;
 import jtwirc.common.command.CommandBase;
-import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.common.command.CommandContext;
+import jtwirc.enums.BADGE;
 import jtwirc.types.users.TwitchUser;
 import jtwirc.utils.MessageSending;
 
@@ -14,10 +15,11 @@ public class CommandTimer extends CommandBase
 
 
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
-        if (user.isMod() || user.isBroadcaster())
+        TwitchUser user = context.getUser();
+        String[] args = context.getArgs();
+        if (user.hasAny(BADGE.MOD_OR_BROADCASTER))
         {
             if (args.length != 4)
             {
@@ -28,13 +30,15 @@ public class CommandTimer extends CommandBase
                 if (TwircBot.commandList.containsKey(args[1]) && TwircBot.commandList.containsKey(args[3]))
                 {
                     MessageSending.sendNormalMessage(TwircBot.commandList.get(args[1]));
+                    //The task runs long after this invocation, so it keeps its own copy of the command to send
+                    String followUp = args[3];
                     Timer timer = new Timer();
                     timer.schedule(new TimerTask()
                     {
                         @Override
                         public void run()
                         {
-                            MessageSending.sendNormalMessage(TwircBot.commandList.get(args[3]));
+                            MessageSending.sendNormalMessage(TwircBot.commandList.get(followUp));
                         }
                     }, Integer.parseInt(args[2]) * 60 * 1000);
 
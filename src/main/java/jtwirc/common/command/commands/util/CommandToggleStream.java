@@ -2,8 +2,9 @@ package jtwirc.common.command.commands.util;
 
 import jtwirc.TwircBot;
 import jtwirc.common.command.CommandBase;
+import jtwirc.common.command.CommandContext;
 import jtwirc.common.listeners.MessageListener;
-import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.enums.BADGE;
 import jtwirc.types.users.TwitchUser;
 import jtwirc.utils.Defaults;
 import jtwirc.utils.MessageSending;
@@ -11,10 +12,10 @@ import jtwirc.utils.MessageSending;
 public class CommandToggleStream extends CommandBase
 {
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
-        if (user.isMod() || user.isBroadcaster())
+        TwitchUser user = context.getUser();
+        if (user.hasAny(BADGE.MOD_OR_BROADCASTER))
         {
             if (!Defaults.toggleStream)
             {
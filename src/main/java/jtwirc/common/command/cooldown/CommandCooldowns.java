@@ -0,0 +1,230 @@
+package jtwirc.common.command.cooldown;
+
+import jtwirc.enums.BADGE;
+import jtwirc.types.users.TwitchUser;
+import jtwirc.utils.ExpiringLongMap;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps track of the {@link Cooldown}s of every command.<br><br>
+ * <p>
+ * Checking a cooldown takes no locks: the global and role cooldowns are atomic deadlines, and the per user cooldowns
+ * live in an {@link ExpiringLongMap} keyed by the user's id. So checks stay cheap even when all of chat spams a
+ * command.<br><br>
+ * <p>
+ * A use is only counted if the user passes every part of the cooldown. Since the parts are not updated together, two
+ * users racing for the same command might both be turned away where one of them should have passed. That errs on
+ * the side of answering less, which is what cooldowns are for.
+ */
+public class CommandCooldowns
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private static final int USERS_PER_COMMAND = 256;
+    private static final BADGE[] ROLES = BADGE.values();
+
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+    private final Cooldown defaultCooldown;
+    private final long origin = System.nanoTime() - 1;  //So that "now" is always positive, see ExpiringLongMap
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+
+    /**
+     * Creates a new cooldown tracker
+     *
+     * @param defaultCooldown The cooldown of commands that don't have one of their own
+     */
+    public CommandCooldowns(Cooldown defaultCooldown)
+    {
+        this.defaultCooldown = defaultCooldown;
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Gives a command a cooldown of its own. Any cooldown the command is currently in is forgotten
+     *
+     * @param command  The command, for example {@code !uptime}. Case is ignored
+     * @param cooldown The cooldown
+     */
+    public void setCooldown(String command, Cooldown cooldown)
+    {
+        states.put(command.toLowerCase(Locale.ROOT), new State(cooldown));
+    }
+
+    /**
+     * Checks if a user may use a command right now, and if so, starts the command's cooldown
+     *
+     * @param command The command. Case is ignored
+     * @param user    The user
+     * @return {@code 0} if the user may use the command. Otherwise, how many milliseconds until they may
+     */
+    public long tryAcquire(String command, TwitchUser user)
+    {
+        State state = stateOf(command);
+        Cooldown cooldown = state.cooldown;
+        if (cooldown.isNone() || user.hasAny(BADGE.MOD_OR_BROADCASTER))
+        {
+            return 0;
+        }
+
+        long now = System.nanoTime() - origin;
+        long userKey = keyOf(user);
+        int roles = user.getBadgeMask() & cooldown.getRoleMask();
+
+        //Check every part before starting any, so a user held back by one part doesn't use up another
+        long wait = remaining(state, userKey, roles, now);
+        if (wait > 0)
+        {
+            return toMillis(wait);
+        }
+
+        if (cooldown.getUserNanos() > 0)
+        {
+            wait = state.users.tryAcquire(userKey, now, cooldown.getUserNanos());
+            if (wait > 0)
+            {
+                return toMillis(wait);
+            }
+        }
+        for (BADGE role : ROLES)
+        {
+            if ((roles & role.mask) != 0)
+            {
+                wait = acquire(state.roles, role.ordinal(), now, cooldown.getRoleNanos(role.ordinal()));
+                if (wait > 0)
+                {
+                    return toMillis(wait);
+                }
+            }
+        }
+        if (cooldown.getGlobalNanos() > 0)
+        {
+            wait = acquire(state.global, now, cooldown.getGlobalNanos());
+            if (wait > 0)
+            {
+                return toMillis(wait);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Checks how long until a user may use a command, without starting its cooldown
+     *
+     * @param command The command. Case is ignored
+     * @param user    The user
+     * @return {@code 0} if the user may use the command. Otherwise, how many milliseconds until they may
+     */
+    public long remaining(String command, TwitchUser user)
+    {
+        State state = stateOf(command);
+        if (state.cooldown.isNone() || user.hasAny(BADGE.MOD_OR_BROADCASTER))
+        {
+            return 0;
+        }
+        int roles = user.getBadgeMask() & state.cooldown.getRoleMask();
+        return toMillis(remaining(state, keyOf(user), roles, System.nanoTime() - origin));
+    }
+
+    //***********************************************************
+    // 				PRIVATE
+    //***********************************************************
+    private State stateOf(String command)
+    {
+        State state = states.get(command);
+        if (state == null)
+        {
+            state = states.computeIfAbsent(command.toLowerCase(Locale.ROOT), c -> new State(defaultCooldown));
+        }
+        return state;
+    }
+
+    private static long remaining(State state, long userKey, int roles, long now)
+    {
+        long wait = Math.max(state.global.get() - now, 0);
+        wait = Math.max(wait, state.users.remaining(userKey, now));
+        for (BADGE role : ROLES)
+        {
+            if ((roles & role.mask) != 0)
+            {
+                wait = Math.max(wait, state.roles.get(role.ordinal()) - now);
+            }
+        }
+        return wait;
+    }
+
+    private static long acquire(AtomicLong deadline, long now, long duration)
+    {
+        while (true)
+        {
+            long current = deadline.get();
+            if (current > now)
+            {
+                return current - now;
+            }
+            if (deadline.compareAndSet(current, now + duration))
+            {
+                return 0;
+            }
+        }
+    }
+
+    private static long acquire(AtomicLongArray deadlines, int index, long now, long duration)
+    {
+        while (true)
+        {
+            long current = deadlines.get(index);
+            if (current > now)
+            {
+                return current - now;
+            }
+            if (deadlines.compareAndSet(index, current, now + duration))
+            {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Users are keyed by their id. Without tags there is no id, so we fall back on the name's hash, kept apart from
+     * the ids by the high bits
+     */
+    private static long keyOf(TwitchUser user)
+    {
+        if (user.getUserID() > 0)
+        {
+            return user.getUserID();
+        }
+        return (1L << 32) | (user.getName().toLowerCase(Locale.ROOT).hashCode() & 0xFFFFFFFFL);
+    }
+
+    private static long toMillis(long nanos)
+    {
+        return (nanos + TimeUnit.MILLISECONDS.toNanos(1) - 1) / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static final class State
+    {
+        final Cooldown cooldown;
+        final AtomicLong global = new AtomicLong();
+        final AtomicLongArray roles = new AtomicLongArray(ROLES.length);
+        final ExpiringLongMap users = new ExpiringLongMap(USERS_PER_COMMAND);
+
+        State(Cooldown cooldown)
+        {
+            this.cooldown = cooldown;
+        }
+    }
+}
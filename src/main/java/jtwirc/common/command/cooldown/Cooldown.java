@@ -0,0 +1,138 @@
+package jtwirc.common.command.cooldown;
+
+import jtwirc.enums.BADGE;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How often a command may be used. A cooldown has up to three parts, each of which may be left out:
+ * <ul>
+ * <li>Global - After anyone uses the command, nobody may use it again until the cooldown has passed
+ * <li>Per user - After a user uses the command, that user may not use it again until the cooldown has passed
+ * <li>Per role - After a user with a certain badge uses the command, nobody with that badge may use it again until
+ * the cooldown has passed. For example, to let subscribers as a group use a command once a minute
+ * </ul>
+ * A command may only be used when none of the parts that apply to the user are cooling down. Mods and the
+ * broadcaster are never held back by cooldowns.<br><br>
+ * <p>
+ * Cooldowns never change. The {@code with} methods return a new cooldown.
+ */
+public final class Cooldown
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    /**
+     * A cooldown that never holds anyone back
+     */
+    public static final Cooldown NONE = new Cooldown(0, 0, new long[BADGE.values().length]);
+
+    private final long globalNanos;
+    private final long userNanos;
+    private final long[] roleNanos;     //By badge ordinal. 0 for badges without a cooldown
+    private final int roleMask;         //The badges with a cooldown
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+    private Cooldown(long globalNanos, long userNanos, long[] roleNanos)
+    {
+        this.globalNanos = globalNanos;
+        this.userNanos = userNanos;
+        this.roleNanos = roleNanos;
+
+        int mask = 0;
+        for (BADGE badge : BADGE.values())
+        {
+            if (roleNanos[badge.ordinal()] > 0)
+            {
+                mask |= badge.mask;
+            }
+        }
+        this.roleMask = mask;
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Creates a copy of this cooldown, with another global cooldown
+     *
+     * @param duration The cooldown. {@code 0} for none
+     * @param unit     The duration's unit
+     * @return The new cooldown
+     */
+    public Cooldown withGlobal(long duration, TimeUnit unit)
+    {
+        return new Cooldown(unit.toNanos(duration), userNanos, roleNanos);
+    }
+
+    /**
+     * Creates a copy of this cooldown, with another per user cooldown
+     *
+     * @param duration The cooldown. {@code 0} for none
+     * @param unit     The duration's unit
+     * @return The new cooldown
+     */
+    public Cooldown withUser(long duration, TimeUnit unit)
+    {
+        return new Cooldown(globalNanos, unit.toNanos(duration), roleNanos);
+    }
+
+    /**
+     * Creates a copy of this cooldown, with another cooldown for a role
+     *
+     * @param role     The badge the role is made up of
+     * @param duration The cooldown. {@code 0} for none
+     * @param unit     The duration's unit
+     * @return The new cooldown
+     */
+    public Cooldown withRole(BADGE role, long duration, TimeUnit unit)
+    {
+        long[] roles = roleNanos.clone();
+        roles[role.ordinal()] = unit.toNanos(duration);
+        return new Cooldown(globalNanos, userNanos, roles);
+    }
+
+    /**
+     * Tells us if this cooldown ever holds anyone back
+     *
+     * @return {@code true} if no part of the cooldown is set
+     */
+    public boolean isNone()
+    {
+        return globalNanos == 0 && userNanos == 0 && roleMask == 0;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Cooldown{global=" + TimeUnit.NANOSECONDS.toMillis(globalNanos) + "ms, user="
+                + TimeUnit.NANOSECONDS.toMillis(userNanos) + "ms, roles=" + Arrays.toString(roleNanos) + "}";
+    }
+
+    //***********************************************************
+    // 				PACKAGE
+    //***********************************************************
+    long getGlobalNanos()
+    {
+        return globalNanos;
+    }
+
+    long getUserNanos()
+    {
+        return userNanos;
+    }
+
+    long getRoleNanos(int badgeOrdinal)
+    {
+        return roleNanos[badgeOrdinal];
+    }
+
+    int getRoleMask()
+    {
+        return roleMask;
+    }
+}
@@ -0,0 +1,81 @@
+package jtwirc.common.command.template;
+
+import java.util.function.Supplier;
+
+/**
+ * A value that is loaded on demand and then reused for a while.<br><br>
+ * <p>
+ * Used for template variables that need a web request, such as the stream's game. Without caching, every invocation of
+ * a command using the variable would make a request. With it, there is at most one request per time to live, no
+ * matter how many invocations there are.<br><br>
+ * <p>
+ * Failed loads are cached as well, so an API that is down isn't asked again on every invocation.
+ */
+public final class CachedValue
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private final long timeToLiveMillis;
+    private final Supplier<String> loader;
+    private final Object loadLock = new Object();
+
+    private volatile String value;
+    private volatile long expiresAt;    //Written after value, so a reader that sees a fresh expiresAt sees its value
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+
+    /**
+     * Creates a new cached value. Nothing is loaded until the value is first asked for
+     *
+     * @param timeToLiveMillis How long a loaded value is reused, in milliseconds
+     * @param loader           Loads the value. May return {@code null} if there is no value
+     */
+    public CachedValue(long timeToLiveMillis, Supplier<String> loader)
+    {
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.loader = loader;
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Fetches the value, loading it if it has expired. Only one thread loads at a time. Other threads asking
+     * meanwhile wait for that load rather than starting one of their own
+     *
+     * @return The value. {@code null} if there is none, or if loading it failed
+     */
+    public String get()
+    {
+        if (System.currentTimeMillis() < expiresAt)
+        {
+            return value;
+        }
+
+        synchronized (loadLock)
+        {
+            if (System.currentTimeMillis() < expiresAt)
+            {
+                return value;
+            }
+
+            String loaded;
+            try
+            {
+                loaded = loader.get();
+            }
+            catch (RuntimeException e)
+            {
+                e.printStackTrace();
+                loaded = null;
+            }
+            value = loaded;
+            expiresAt = System.currentTimeMillis() + timeToLiveMillis;
+            return loaded;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package jtwirc.common.command.template;
+
+import jtwirc.annotation.Async;
+import jtwirc.common.command.CommandBase;
+import jtwirc.common.command.CommandContext;
+
+/**
+ * Answers a custom command whose response looks something up on the web, such as {@code %game%}.<br><br>
+ * <p>
+ * A lookup that isn't cached waits on the network for up to {@link jtwirc.utils.JSONParser#TIMEOUT_MILLIS} per
+ * request, and custom commands are answered on the dispatch thread. So responses that need a lookup are run through
+ * the {@link jtwirc.common.command.CommandExecutor} like the {@link Async} built-in commands, and every other command
+ * keeps being answered meanwhile.<br><br>
+ * <p>
+ * Unlike built-in commands, there is one instance per invocation, since it holds the response to render. All of them
+ * share one in-flight limit.
+ */
+@Async(deadlineMillis = 8000, maxInFlight = 2, fallback = "Twitch is taking too long to answer, please try again later.")
+public final class LookupResponse extends CommandBase
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private final ResponseTemplate response;
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+
+    /**
+     * Creates a new invocation
+     *
+     * @param response The response to render, see {@link ResponseTemplate#hasLookups()}
+     */
+    public LookupResponse(ResponseTemplate response)
+    {
+        this.response = response;
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+    @Override
+    public void execute(CommandContext context)
+    {
+        context.reply(response.render(context));
+    }
+}
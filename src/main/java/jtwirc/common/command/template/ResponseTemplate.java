@@ -0,0 +1,170 @@
+package jtwirc.common.command.template;
+
+import jtwirc.common.command.CommandContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A custom command's response, compiled into literal text and {@link TemplateVariable}s.<br><br>
+ * <p>
+ * The response is parsed once, when the command is added, edited or loaded. Rendering then only appends the literal
+ * parts and the variables' values to a single, presized {@link StringBuilder}. A response without variables is
+ * returned as it is, without building anything.<br><br>
+ * <p>
+ * Templates never change after they are compiled, so one template may be rendered by several threads at once.
+ */
+public final class ResponseTemplate
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private final String source;
+    private final String[] literals;            //One more than there are variables. Literal i comes before variable i
+    private final TemplateVariable[] variables;
+    private final String[] placeholders;        //Each variable as typed, for when it has no value
+    private final AtomicLong renderCount;
+    private final int literalLength;
+    private final boolean hasLookups;
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+    private ResponseTemplate(String source, List<String> literals, List<TemplateVariable> variables,
+                             List<String> placeholders, AtomicLong renderCount)
+    {
+        this.source = source;
+        this.literals = literals.toArray(new String[0]);
+        this.variables = variables.toArray(new TemplateVariable[0]);
+        this.placeholders = placeholders.toArray(new String[0]);
+        this.renderCount = renderCount;
+
+        int length = 0;
+        for (String literal : this.literals)
+        {
+            length += literal.length();
+        }
+        this.literalLength = length;
+
+        boolean lookups = false;
+        for (TemplateVariable variable : this.variables)
+        {
+            lookups |= variable.isLookup();
+        }
+        this.hasLookups = lookups;
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Compiles a response. See {@link TemplateVariables} for the variables it may use
+     *
+     * @param source      The response, as typed
+     * @param renderCount Counts how many times the response has been rendered, for {@code %count%}. Pass the same
+     *                    counter when recompiling an edited response to keep counting from where it was
+     * @return The compiled response
+     */
+    public static ResponseTemplate compile(String source, AtomicLong renderCount)
+    {
+        List<String> literals = new ArrayList<>();
+        List<TemplateVariable> variables = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+
+        StringBuilder literal = new StringBuilder();
+        int index = 0;
+        while (index < source.length())
+        {
+            int open = source.indexOf('%', index);
+            int close = open < 0 ? -1 : source.indexOf('%', open + 1);
+            if (close < 0)
+            {
+                break;
+            }
+
+            String name = source.substring(open + 1, close);
+            TemplateVariable variable = TemplateVariables.forName(name);
+            if (variable == null)
+            {
+                //Not a variable, for example "100% of 50%". The closing sign might open a variable, so keep it
+                literal.append(source, index, close);
+                index = close;
+                continue;
+            }
+
+            literal.append(source, index, open);
+            literals.add(literal.toString());
+            literal.setLength(0);
+            variables.add(variable);
+            placeholders.add(source.substring(open, close + 1));
+            index = close + 1;
+        }
+        literal.append(source, index, source.length());
+        literals.add(literal.toString());
+
+        return new ResponseTemplate(source, literals, variables, placeholders, renderCount);
+    }
+
+    /**
+     * Renders the response for one invocation
+     *
+     * @param context The invocation
+     * @return The response, with every variable replaced by its value
+     */
+    public String render(CommandContext context)
+    {
+        long count = renderCount.incrementAndGet();
+        if (variables.length == 0)
+        {
+            return source;
+        }
+
+        StringBuilder out = new StringBuilder(literalLength + 16 * variables.length);
+        for (int i = 0; i < variables.length; i++)
+        {
+            out.append(literals[i]);
+            String value = variables[i].resolve(context, count);
+            out.append(value != null ? value : placeholders[i]);
+        }
+        out.append(literals[variables.length]);
+        return out.toString();
+    }
+
+    /**
+     * Fetches the response as it was typed
+     *
+     * @return The uncompiled response
+     */
+    public String getSource()
+    {
+        return source;
+    }
+
+    /**
+     * Tells us if the response uses any variables
+     *
+     * @return {@code true} if rendering the response may give something else than its source
+     */
+    public boolean hasVariables()
+    {
+        return variables.length != 0;
+    }
+
+    /**
+     * Tells us if rendering the response may wait on the network, for example to look up the stream's game
+     *
+     * @return {@code true} if the response should be rendered off the dispatch thread, see {@link LookupResponse}
+     */
+    public boolean hasLookups()
+    {
+        return hasLookups;
+    }
+
+    @Override
+    public String toString()
+    {
+        return source;
+    }
+}
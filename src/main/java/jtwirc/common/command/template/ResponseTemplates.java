@@ -0,0 +1,72 @@
+package jtwirc.common.command.template;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The compiled responses of the custom commands, by command.<br><br>
+ * <p>
+ * Each {@link jtwirc.common.command.CommandRegistry} snapshot takes its responses from {@link #get(String, String)},
+ * which only compiles a response that is new or doesn't match what was compiled, and the registry calls
+ * {@link #remove(String)} for each command that is removed.
+ */
+public final class ResponseTemplates
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private static final Map<String, ResponseTemplate> templates = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    private ResponseTemplates()
+    {
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Compiles a command's response, replacing whatever was compiled for the command before. An edited command keeps
+     * its {@code %count%}
+     *
+     * @param command  The command, for example {@code !discord}
+     * @param response The response, as typed
+     * @return The compiled response
+     */
+    public static ResponseTemplate compile(String command, String response)
+    {
+        ResponseTemplate template = ResponseTemplate.compile(response, counters.computeIfAbsent(command, c -> new AtomicLong()));
+        templates.put(command, template);
+        return template;
+    }
+
+    /**
+     * Forgets a removed command's response and {@code %count%}
+     *
+     * @param command The command
+     */
+    public static void remove(String command)
+    {
+        templates.remove(command);
+        counters.remove(command);
+    }
+
+    /**
+     * Fetches a command's compiled response
+     *
+     * @param command  The command
+     * @param response The command's current response. Compiled if it isn't what was compiled for the command
+     * @return The compiled response
+     */
+    public static ResponseTemplate get(String command, String response)
+    {
+        ResponseTemplate template = templates.get(command);
+        if (template == null || !template.getSource().equals(response))
+        {
+            template = compile(command, response);
+        }
+        return template;
+    }
+}
@@ -0,0 +1,34 @@
+package jtwirc.common.command.template;
+
+import jtwirc.common.command.CommandContext;
+
+/**
+ * A variable in a {@link ResponseTemplate}, such as {@code %sender%}. See {@link TemplateVariables} for the
+ * variables there are.<br><br>
+ * <p>
+ * Variables are resolved each time a template is rendered. Variables that are expensive to work out, such as the
+ * stream's game, should cache their value, see {@link CachedValue}.
+ */
+public interface TemplateVariable
+{
+    /**
+     * Works out the variable's value for one invocation
+     *
+     * @param context     The invocation
+     * @param renderCount How many times the template has been rendered, this time included
+     * @return The variable's value, or {@code null} if it has none for this invocation. The variable is then left in
+     * the response as it was typed
+     */
+    String resolve(CommandContext context, long renderCount);
+
+    /**
+     * Tells us if working out the variable's value may wait on the network
+     *
+     * @return {@code true} if templates using the variable should be rendered off the dispatch thread, see
+     * {@link LookupResponse}
+     */
+    default boolean isLookup()
+    {
+        return false;
+    }
+}
@@ -0,0 +1,173 @@
+package jtwirc.common.command.template;
+
+import jtwirc.TwircBot;
+import jtwirc.common.command.CommandContext;
+import jtwirc.utils.JSONParser;
+import org.json.JSONObject;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The variables custom command responses may use. A variable is written as its name between percent signs:
+ * <ul>
+ * <li>{@code %user%} - The first word after the command, for example {@code !so %user%}. Left as typed if the
+ * command was sent without arguments
+ * <li>{@code %sender%} - The name of the user who sent the command
+ * <li>{@code %args[n]%} - The n:th word after the command, counting from 1. Left as typed if there is no such word
+ * <li>{@code %channel%} - The channel the command was sent in
+ * <li>{@code %points%} - The sender's points
+ * <li>{@code %game%} - The game being streamed. Looked up at most once a minute, see {@link LookupResponse}
+ * <li>{@code %uptime%} - How long the stream has been live. Looked up at most once a minute, see
+ * {@link LookupResponse}
+ * <li>{@code %count%} - How many times the command has been used since the bot started
+ * </ul>
+ * Anything else between percent signs is not a variable, and is left as typed.
+ */
+public final class TemplateVariables
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private static final long LOOKUP_CACHE_MILLIS = 60 * 1000;
+    private static final int CACHED_ARGS = 10;
+
+    private static final CachedValue game = new CachedValue(LOOKUP_CACHE_MILLIS, TemplateVariables::loadGame);
+    private static final CachedValue streamStart = new CachedValue(LOOKUP_CACHE_MILLIS, TemplateVariables::loadStreamStart);
+
+    private static final Map<String, TemplateVariable> byName = new HashMap<>();
+    private static final TemplateVariable[] args = new TemplateVariable[CACHED_ARGS];
+
+    static
+    {
+        byName.put("user", (context, count) -> context.getArg(1));
+        byName.put("sender", (context, count) -> context.getUser().getName());
+        byName.put("channel", (context, count) -> context.getChannel());
+        byName.put("points", (context, count) ->
+        {
+            Long points = TwircBot.userList.get(context.getUser().getName().toLowerCase());
+            return points == null ? "0" : points.toString();
+        });
+        byName.put("game", lookup((context, count) -> game.get()));
+        byName.put("uptime", lookup((context, count) -> uptime()));
+        byName.put("count", (context, count) -> Long.toString(count));
+
+        for (int i = 0; i < CACHED_ARGS; i++)
+        {
+            args[i] = argument(i);
+        }
+    }
+
+    private TemplateVariables()
+    {
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Looks up a variable by the name it is written with
+     *
+     * @param name The text between the percent signs, for example {@code sender} or {@code args[2]}
+     * @return The variable, or {@code null} if there is no variable with that name
+     */
+    public static TemplateVariable forName(String name)
+    {
+        if (name.startsWith("args[") && name.endsWith("]"))
+        {
+            int index;
+            try
+            {
+                index = Integer.parseInt(name.substring(5, name.length() - 1));
+            }
+            catch (NumberFormatException e)
+            {
+                return null;
+            }
+            if (index < 1)
+            {
+                return null;
+            }
+            return index < CACHED_ARGS ? args[index] : argument(index);
+        }
+        return byName.get(name);
+    }
+
+    //***********************************************************
+    // 				PRIVATE
+    //***********************************************************
+    private static TemplateVariable argument(int index)
+    {
+        return (context, count) -> context.getArg(index);
+    }
+
+    private static TemplateVariable lookup(TemplateVariable variable)
+    {
+        return new TemplateVariable()
+        {
+            @Override
+            public String resolve(CommandContext context, long renderCount)
+            {
+                return variable.resolve(context, renderCount);
+            }
+
+            @Override
+            public boolean isLookup()
+            {
+                return true;
+            }
+        };
+    }
+
+    private static String loadGame()
+    {
+        try
+        {
+            JSONObject json = new JSONObject(JSONParser.readUrl("https://api.twitch.tv/kraken/channels/" + TwircBot.config.getProperty("autoJoinChannel")));
+            return json.isNull("game") ? null : json.getString("game");
+        }
+        catch (Exception e)
+        {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Only the stream's start time is cached, so the uptime itself is always up to date
+     */
+    private static String uptime()
+    {
+        String start = streamStart.get();
+        if (start == null)
+        {
+            return null;
+        }
+        if (start.isEmpty())
+        {
+            return "offline";
+        }
+        Duration live = Duration.between(Instant.parse(start), Instant.now());
+        return live.toHours() + "h " + (live.toMinutes() % 60) + "m";
+    }
+
+    /**
+     * Loads when the stream went live. Empty if the stream is offline
+     */
+    private static String loadStreamStart()
+    {
+        try
+        {
+            JSONObject json = new JSONObject(JSONParser.readUrl("https://api.twitch.tv/kraken/streams/" + TwircBot.config.getProperty("autoJoinChannel")));
+            return json.isNull("stream") ? "" : json.getJSONObject("stream").getString("created_at");
+        }
+        catch (Exception e)
+        {
+            e.printStackTrace();
+            return null;
+        }
+    }
+}
@@ -2,7 +2,9 @@ package jtwirc.common.command.utils;
 
 import jtwirc.TwircBot;
 import jtwirc.common.command.CommandBase;
-import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.common.command.CommandContext;
+import jtwirc.common.command.CommandRegistry;
+import jtwirc.enums.BADGE;
 import jtwirc.types.users.TwitchUser;
 import jtwirc.utils.MessageSending;
 
@@ -15,10 +17,11 @@ public class AddCommands extends CommandBase
 {
 
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
-        if (user.isMod() || user.isBroadcaster())
+        TwitchUser user = context.getUser();
+        String[] args = context.getArgs();
+        if (user.hasAny(BADGE.MOD_OR_BROADCASTER))
         {
             if (args[1].contains("-ul="))
             {
@@ -73,9 +76,8 @@ public class AddCommands extends CommandBase
 
     private void addCommand(String command, String response, TwitchUser user)
     {
-        if (!TwircBot.commandList.containsKey(command))
+        if (CommandRegistry.edit((responses, permissions) -> responses.putIfAbsent(command, response) == null))
         {
-            TwircBot.commandList.put(command, response);
             MessageSending.sendWhisper(user.getName(), "Command added");
             TwircBot.log.info(command + " added");
             TwircBot.saveAllTheThings();
@@ -88,10 +90,17 @@ public class AddCommands extends CommandBase
 
     private void addCommand(String command, String response, String permission, TwitchUser user)
     {
-        if (!TwircBot.commandList.containsKey(command))
+        boolean added = CommandRegistry.edit((responses, permissions) ->
+        {
+            if (responses.putIfAbsent(command, response) != null)
+            {
+                return false;
+            }
+            permissions.put(command, permission);
+            return true;
+        });
+        if (added)
         {
-            TwircBot.commandList.put(command, response);
-            TwircBot.commandpermList.put(command, permission);
             MessageSending.sendWhisper(user.getName(), "Command added");
             TwircBot.log.info(command + " added");
             TwircBot.saveAllTheThings();
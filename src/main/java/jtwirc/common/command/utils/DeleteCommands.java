@@ -2,7 +2,9 @@ package jtwirc.common.command.utils;
 
 import jtwirc.TwircBot;
 import jtwirc.common.command.CommandBase;
-import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.common.command.CommandContext;
+import jtwirc.common.command.CommandRegistry;
+import jtwirc.enums.BADGE;
 import jtwirc.types.users.TwitchUser;
 import jtwirc.utils.MessageSending;
 
@@ -11,10 +13,11 @@ public class DeleteCommands extends CommandBase
 {
 
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
-        if (user.isMod() || user.isBroadcaster())
+        TwitchUser user = context.getUser();
+        String[] args = context.getArgs();
+        if (user.hasAny(BADGE.MOD_OR_BROADCASTER))
         {
             if (TwircBot.commandList.containsKey(args[1]))
             {
@@ -29,13 +32,18 @@ public class DeleteCommands extends CommandBase
 
     private void removeCommand(String command, TwitchUser user)
     {
-        if (TwircBot.commandList.containsKey(command))
+        boolean removed = CommandRegistry.edit((responses, permissions) ->
         {
-            TwircBot.commandList.remove(command);
-            if (TwircBot.commandpermList.containsKey(command))
+            if (!responses.containsKey(command))
             {
-                TwircBot.commandpermList.remove(command);
+                return false;
             }
+            responses.remove(command);
+            permissions.remove(command);
+            return true;
+        });
+        if (removed)
+        {
             MessageSending.sendWhisper(user.getName(), "Command has been removed");
             TwircBot.log.info(command + " removed");
             TwircBot.saveAllTheThings();
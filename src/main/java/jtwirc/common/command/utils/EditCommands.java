@@ -2,7 +2,9 @@ package jtwirc.common.command.utils;
 
 import jtwirc.TwircBot;
 import jtwirc.common.command.CommandBase;
-import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.common.command.CommandContext;
+import jtwirc.common.command.CommandRegistry;
+import jtwirc.enums.BADGE;
 import jtwirc.types.users.TwitchUser;
 import jtwirc.utils.MessageSending;
 
@@ -15,11 +17,12 @@ public class EditCommands extends CommandBase
 {
 
     @Override
-    public void channelCommand(TwitchUser user, TwitchMessage message)
+    public void execute(CommandContext context)
     {
-        super.channelCommand(user, message);
+        TwitchUser user = context.getUser();
+        String[] args = context.getArgs();
 
-        if (user.isMod() || user.isBroadcaster())
+        if (user.hasAny(BADGE.MOD_OR_BROADCASTER))
         {
             if (TwircBot.commandList.containsKey(args[1]))
             {
@@ -46,13 +49,8 @@ public class EditCommands extends CommandBase
 
     private void editCommand(String command, String responseComplete, TwitchUser user)
     {
-        if (TwircBot.commandList.containsKey(command))
+        if (CommandRegistry.edit((responses, permissions) -> responses.replace(command, responseComplete) != null))
         {
-            TwircBot.commandList.put(command, responseComplete);
-            if (TwircBot.commandpermList.containsKey(command))
-            {
-                TwircBot.commandpermList.put(command, responseComplete);
-            }
             MessageSending.sendWhisper(user.getName(), "Command has been edited");
             TwircBot.log.info(command + " edited");
             TwircBot.saveAllTheThings();
@@ -1,8 +1,12 @@
 package jtwirc.common.module;
 
 import jtwirc.Twirc;
-import jtwirc.TwircBot;
 import jtwirc.common.command.CommandBase;
+import jtwirc.common.command.CommandContext;
+import jtwirc.common.command.CommandExecutor;
+import jtwirc.common.command.CommandRegistry;
+import jtwirc.common.command.CommandRouter;
+import jtwirc.common.command.UserPermissions;
 import jtwirc.common.command.commands.faq.*;
 import jtwirc.common.command.commands.fun.CommandQuote;
 import jtwirc.common.command.commands.fun.CommandRaffle;
@@ -12,22 +16,37 @@ import jtwirc.common.command.commands.partner.CommandFreeSub;
 import jtwirc.common.command.commands.partner.CommandNewSub;
 import jtwirc.common.command.commands.partner.CommandReSub;
 import jtwirc.common.command.commands.util.*;
+import jtwirc.common.command.cooldown.CommandCooldowns;
+import jtwirc.common.command.cooldown.Cooldown;
+import jtwirc.common.command.template.LookupResponse;
+import jtwirc.common.command.template.ResponseTemplate;
 import jtwirc.common.command.utils.AddCommands;
 import jtwirc.common.command.utils.DeleteCommands;
 import jtwirc.common.command.utils.EditCommands;
+import jtwirc.enums.COMMAND_OUTCOME;
+import jtwirc.enums.PERMISSION_LEVEL;
 import jtwirc.events.TwircListenerBaseImpl;
+import jtwirc.metrics.CommandMetrics;
 import jtwirc.types.twitchMessage.TwitchMessage;
 import jtwirc.types.users.TwitchUser;
 import jtwirc.utils.Defaults;
 import jtwirc.utils.MessageSending;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 public class Commands extends TwircListenerBaseImpl
 {
     public HashMap<String, CommandBase> commands = new HashMap<>();
 
     private Twirc.BotType type;
+    private final CommandRouter router;
+    private final CommandCooldowns cooldowns;
+    private final CommandExecutor executor = new CommandExecutor(4, 16);
+    private final Map<String, CommandMetrics> metrics = new ConcurrentHashMap<>();
 
     public Commands(Twirc.BotType type)
     {
@@ -53,6 +72,7 @@ public class Commands extends TwircListenerBaseImpl
         commands.put("!chirpbot", new CommandChirpBot());
         commands.put("!changelog", new CommandChangelog());
         commands.put("!save", new CommandSave());
+        commands.put("!reload", new CommandReload());
         commands.put("!so", new CommandShoutout());
         commands.put("!exit", new CommandExit());
         commands.put("!togglestream", new CommandToggleStream());
@@ -71,82 +91,89 @@ public class Commands extends TwircListenerBaseImpl
         commands.put("!freesub", new CommandFreeSub());
 
         this.type = type;
-    }
+        this.router = new CommandRouter(commands);
 
-    private static String getResponseFromCommand(TwitchUser user, TwitchMessage message, String command)
-    {
-        String response = TwircBot.commandList.get(command);
-        if (message.getContent().split(" ").length > 1)
+        //Every command is limited per user. Commands that look things up on the web are limited for everyone as well
+        this.cooldowns = new CommandCooldowns(Cooldown.NONE.withUser(Defaults.userCooldown, TimeUnit.SECONDS));
+        Cooldown lookup = Cooldown.NONE.withUser(Defaults.userCooldown, TimeUnit.SECONDS)
+                .withGlobal(Defaults.lookupCooldown, TimeUnit.SECONDS);
+        for (String command : new String[]{"!uptime", "!game", "!chatters", "!viewers", "!status", "!title"})
         {
-            response = response.replace("%user%", message.getContent().split(" ")[1]); //!so %user%
+            cooldowns.setCooldown(command, lookup);
         }
-
-        return response;
     }
 
-    private static String parseCommandFromMSG(TwitchMessage message)
+    /**
+     * Fetches the metrics of every command used so far, see {@link jtwirc.metrics.TwircMetrics#addCommandMetrics}
+     *
+     * @return The command metrics
+     */
+    public Collection<CommandMetrics> getMetrics()
     {
-        return message.getContent().split(" ")[0];
+        return metrics.values();
     }
 
     @Override
     public void onPrivMsg(TwitchUser user, TwitchMessage message)
     {
         super.onPrivMsg(user, message);
-        if (TwircBot.commandList.containsKey(message.getContent().split(" ")[0]))
+
+        //Most of chat is not commands, and the router rejects those before splitting the message
+        CommandRouter.Match match = router.route(message.getContent());
+        if (match == null)
         {
-            String userPerm = TwircBot.permList.get(user.getName().toLowerCase());
-            String commandPerm = TwircBot.commandpermList.get(parseCommandFromMSG(message));
-            if (commandPerm == null)
-            {
-                commandPerm = "null";
-            }
-            switch (commandPerm)
+            return;
+        }
+
+        long start = System.nanoTime();
+        CommandMetrics commandMetrics = metrics.get(match.getCommand());
+        if (commandMetrics == null)
+        {
+            commandMetrics = metrics.computeIfAbsent(match.getCommand(), CommandMetrics::new);
+        }
+
+        //Everything about a custom command comes from the snapshot it was routed with, even if the commands are reloaded
+        CommandRegistry.CustomCommand custom = match.getCustomCommand();
+        //Most custom commands are for everyone, and those don't need the user's level at all
+        boolean permitted = custom == null || custom.getPermission() == PERMISSION_LEVEL.EVERYONE
+                || UserPermissions.levelOf(user).allows(custom.getPermission());
+        if (!permitted)
+        {
+            //A denied invocation never runs, so it must not start a cooldown for the users who may run it
+            MessageSending.sendWhisper(user.getName().toLowerCase(), "You do not have enough permission to use this command.");
+            commandMetrics.recordInvocation(COMMAND_OUTCOME.PERMISSION_DENIED, System.nanoTime() - start);
+            if (match.getBuiltIn() == null)
             {
-                case "reg":
-                    if (user.isMod() || user.isBroadcaster())
-                    {
-                        MessageSending.sendNormalMessage(getResponseFromCommand(user, message, parseCommandFromMSG(message)));
-                    }
-                    else
-                    {
-                        MessageSending.sendWhisper(user.getName().toLowerCase(), "You do not have enough permission to use this command.");
-                    }
-                    break;
-                case "Moderator":
-                    if (user.isMod() || user.isBroadcaster())
-                    {
-                        MessageSending.sendNormalMessage(getResponseFromCommand(user, message, parseCommandFromMSG(message)));
-                    }
-                    else
-                    {
-                        MessageSending.sendWhisper(user.getName().toLowerCase(), "You do not have enough permission to use this command.");
-                    }
-                    break;
-                case "mod":
-                    if (user.isMod() || user.isBroadcaster())
-                    {
-                        MessageSending.sendNormalMessage(getResponseFromCommand(user, message, parseCommandFromMSG(message)));
-                    }
-                    else
-                    {
-                        MessageSending.sendWhisper(user.getName().toLowerCase(), "You do not have enough permission to use this command.");
-                    }
-                    break;
-                case "null":
-                    MessageSending.sendNormalMessage(getResponseFromCommand(user, message, parseCommandFromMSG(message)));
-                    break;
-                default:
-                    MessageSending.sendNormalMessage(getResponseFromCommand(user, message, parseCommandFromMSG(message)));
+                return;
             }
         }
 
-        for (String command : commands.keySet())
+        //Answering a user on cooldown, even to tell them so, would cost as much as answering the command
+        if (cooldowns.tryAcquire(match.getCommand(), user) > 0)
+        {
+            commandMetrics.recordInvocation(COMMAND_OUTCOME.COOLDOWN, System.nanoTime() - start);
+            return;
+        }
+
+        CommandContext context = new CommandContext(user, message, match.getTokens());
+        if (custom != null && permitted)
         {
-            if (command.equalsIgnoreCase(parseCommandFromMSG(message)))
+            ResponseTemplate response = custom.getResponse();
+            if (response.hasLookups())
             {
-                commands.get(command).channelCommand(user, message);
+                //Looking up %game% or %uptime% may wait on Twitch, which must not hold up every other command
+                executor.execute(new LookupResponse(response), context, commandMetrics);
             }
+            else
+            {
+                MessageSending.sendNormalMessage(response.render(context));
+                commandMetrics.recordInvocation(COMMAND_OUTCOME.SUCCESS, System.nanoTime() - start);
+            }
+        }
+
+        if (match.getBuiltIn() != null)
+        {
+            executor.execute(match.getBuiltIn(), context, commandMetrics);
         }
     }
 }
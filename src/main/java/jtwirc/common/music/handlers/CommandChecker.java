@@ -1,6 +1,7 @@
 package jtwirc.common.music.handlers;
 
 import jtwirc.TwircBot;
+import jtwirc.common.command.CommandRegistry;
 import jtwirc.events.TwircListenerBaseImpl;
 import jtwirc.types.twitchMessage.TwitchMessage;
 import jtwirc.types.users.TwitchUser;
@@ -30,7 +31,7 @@ public class CommandChecker extends TwircListenerBaseImpl
 
     public static void addCommand(String command, String response)
     {
-        TwircBot.commandList.put(command, response);
+        CommandRegistry.edit((responses, permissions) -> !response.equals(responses.put(command, response)));
     }
 
     @Override
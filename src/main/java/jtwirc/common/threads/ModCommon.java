@@ -2,6 +2,7 @@ package jtwirc.common.threads;
 
 import jtwirc.TwircBot;
 import jtwirc.annotation.Unfinished;
+import jtwirc.common.command.UserPermissions;
 import jtwirc.utils.JSONParser;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -46,10 +47,10 @@ public class ModCommon
                 JSONArray mods = json.getJSONObject("chatters").getJSONArray("moderators");
                 for (int j = 0; j < mods.length(); j++)
                 {
-                    moderators.add(mods.getString(j));
-                    if (!TwircBot.permList.containsKey(mods.getString(j)))
+                    String moderator = mods.getString(j);
+                    moderators.add(moderator);
+                    if (UserPermissions.edit(permissions -> permissions.putIfAbsent(moderator.toLowerCase(), "mod") == null))
                     {
-                        TwircBot.permList.put(mods.getString(j).toLowerCase(), "mod");
                         TwircBot.saveAllTheThings();
                     }
                 }
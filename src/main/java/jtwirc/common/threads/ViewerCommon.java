@@ -6,10 +6,12 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.util.ArrayList;
+import java.util.List;
 
 public class ViewerCommon
 {
-    public static ArrayList<String> viewers = new ArrayList<>();
+    //Guarded by itself, since it is refreshed by this thread and read by commands on the command pool
+    public static final ArrayList<String> viewers = new ArrayList<>();
 
     public static Thread updateViewers = new Thread("ModCommon")
     {
@@ -39,15 +41,20 @@ public class ViewerCommon
         {
             JSONObject json = new JSONObject(JSONParser.readUrl("http://tmi.twitch.tv/group/user/" + TwircBot.config.getProperty("autoJoinChannel") + "/chatters"));
             JSONArray view = json.getJSONObject("chatters").getJSONArray("viewers");
-            viewers.clear();
+            JSONArray mods = json.getJSONObject("chatters").getJSONArray("moderators");
+            List<String> fresh = new ArrayList<>(view.length() + mods.length());
             for (int j = 0; j < view.length(); j++)
             {
-                viewers.add(view.getString(j));
+                fresh.add(view.getString(j));
             }
-            JSONArray mods = json.getJSONObject("chatters").getJSONArray("moderators");
             for (int j = 0; j < mods.length(); j++)
             {
-                viewers.add(mods.getString(j));
+                fresh.add(mods.getString(j));
+            }
+            synchronized (viewers)
+            {
+                viewers.clear();
+                viewers.addAll(fresh);
             }
         }
         catch (Exception e)
@@ -56,4 +63,17 @@ public class ViewerCommon
             TwircBot.log.error(e.getMessage());
         }
     }
+
+    /**
+     * Returns a copy of the viewers, as of the last update
+     *
+     * @return The viewers and moderators in chat
+     */
+    public static List<String> getViewers()
+    {
+        synchronized (viewers)
+        {
+            return new ArrayList<>(viewers);
+        }
+    }
 }
@@ -0,0 +1,100 @@
+package jtwirc.enums;
+
+/**
+ * Enum for representing the chat badges Twitch tells us about.<br><br>
+ * <p>
+ * Each badge has a bit in a user's badge mask, see {@link jtwirc.types.users.TwitchUser#getBadgeMask()}.
+ * Permission checks can thus be done by combining badge masks, instead of comparing badge strings.<br><br>
+ * <p>
+ * For example:<br>
+ * <pre><code>if( user.hasAny(BADGE.SUBSCRIBER.mask | BADGE.MOD_OR_BROADCASTER) )</code>
+ * 	<code>doSomething();</code></pre>
+ */
+public enum BADGE
+{
+    STAFF("staff"),
+    ADMIN("admin"),
+    GLOBAL_MOD("global_mod"),
+    BROADCASTER("broadcaster"),
+    MODERATOR("moderator"),
+    SUBSCRIBER("subscriber"),
+    TURBO("turbo"),
+    PREMIUM("premium"),
+    BITS("bits"),
+    PARTNER("partner"),
+    VIP("vip"),
+    FOUNDER("founder"),
+    SUB_GIFTER("sub-gifter"),
+    BITS_LEADER("bits-leader");
+
+    /**
+     * Mask for users that may moderate the channel, i.e. mods and the broadcaster
+     */
+    public static final int MOD_OR_BROADCASTER = MODERATOR.mask | BROADCASTER.mask;
+
+    /**
+     * Mask for Twitch's staff, admins and global mods
+     */
+    public static final int TWITCH_STAFF = STAFF.mask | ADMIN.mask | GLOBAL_MOD.mask;
+
+    private static final BADGE[] VALUES = values();
+
+    /**
+     * The badge's name, as seen in the badges tag. For example, {@code subscriber} in {@code subscriber/12}
+     */
+    public final String key;
+
+    /**
+     * The badge's bit in a badge mask
+     */
+    public final int mask;
+
+    BADGE(String key)
+    {
+        this.key = key;
+        this.mask = 1 << ordinal();
+    }
+
+    /**
+     * Finds the badge with a certain name, without creating a String for it.
+     *
+     * @param seq   The sequence containing the badge's name
+     * @param begin Begin index of the name, inclusive
+     * @param end   End index of the name, exclusive
+     * @return The badge, or {@code null} if it is not a badge we know of
+     */
+    public static BADGE fromKey(CharSequence seq, int begin, int end)
+    {
+        int length = end - begin;
+        for (BADGE badge : VALUES)
+        {
+            if (badge.key.length() == length && matches(badge.key, seq, begin))
+            {
+                return badge;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Fetches the number of known badges
+     *
+     * @return The number of known badges
+     */
+    public static int count()
+    {
+        return VALUES.length;
+    }
+
+    private static boolean matches(String key, CharSequence seq, int begin)
+    {
+        for (int i = 0; i < key.length(); i++)
+        {
+            if (key.charAt(i) != seq.charAt(begin + i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+}
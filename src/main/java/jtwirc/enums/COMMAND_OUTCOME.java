@@ -0,0 +1,37 @@
+package jtwirc.enums;
+
+/**
+ * Enum for representing how a chat command invocation ended, see {@link jtwirc.metrics.CommandMetrics}
+ */
+public enum COMMAND_OUTCOME
+{
+    /**
+     * The command ran to completion
+     */
+    SUCCESS,
+
+    /**
+     * The user was not allowed to use the command
+     */
+    PERMISSION_DENIED,
+
+    /**
+     * The command was still cooling down, so it was ignored
+     */
+    COOLDOWN,
+
+    /**
+     * The command was dropped because too many invocations of it were already running, or the command pool was full
+     */
+    REJECTED,
+
+    /**
+     * The command threw an exception
+     */
+    ERROR,
+
+    /**
+     * The command did not finish before its deadline, and was cancelled
+     */
+    TIMEOUT
+}
@@ -0,0 +1,99 @@
+package jtwirc.enums;
+
+import jtwirc.events.DelegatingListener;
+import jtwirc.events.TwircListener;
+import jtwirc.events.TwircListenerBaseImpl;
+import jtwirc.types.clearChat.ClearChatEvent;
+import jtwirc.types.globaluserstate.GlobalUserStateEvent;
+import jtwirc.types.hostTarget.HostTargetEvent;
+import jtwirc.types.mode.ModeEvent;
+import jtwirc.types.notice.NoticeEvent;
+import jtwirc.types.roomstate.RoomstateEvent;
+import jtwirc.types.subscriberEvent.SubscriberEvent;
+import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.types.usernotice.UserNoticeEvent;
+import jtwirc.types.users.TwitchUser;
+import jtwirc.types.users.UserStateEvent;
+
+import java.util.Collection;
+import java.util.EnumSet;
+
+/**
+ * Enum for representing the different events a {@link TwircListener} can subscribe to. Each type corresponds to
+ * one of the listener's callback methods.<br><br>
+ * <p>
+ * A listener is only called for the event types it subscribes to, and events without subscribers are not built at
+ * all. See {@link #subscribedBy(TwircListener)} for how a listener's subscriptions are worked out.
+ */
+public enum EVENT_TYPE
+{
+    ANYTHING("onAnything", String.class),
+    PRIVMSG("onPrivMsg", TwitchUser.class, TwitchMessage.class),
+    WHISPER("onWhisper", TwitchUser.class, TwitchMessage.class),
+    ACTION("onAction", TwitchUser.class, TwitchMessage.class),
+    JOIN("onJoin", String.class),
+    PART("onPart", String.class),
+    CONNECT("onConnect"),
+    DISCONNECT("onDisconnect"),
+    NOTICE("onNotice", NoticeEvent.class),
+    HOST("onHost", HostTargetEvent.class),
+    SUBSCRIBER_EVENT("onSubscriberEvent", SubscriberEvent.class),
+    MODE("onMode", ModeEvent.class),
+    USERSTATE("onUserState", UserStateEvent.class),
+    GLOBAL_USERSTATE("onGlobalUserstate", GlobalUserStateEvent.class),
+    ROOMSTATE("onRoomstate", RoomstateEvent.class),
+    CLEARCHAT("onClearChat", ClearChatEvent.class),
+    NAMES_LIST("onNamesList", Collection.class),
+    USERNOTICE("onUsernotice", UserNoticeEvent.class),
+    UNKNOWN("onUnknown", String.class);
+
+    private final String methodName;
+    private final Class<?>[] parameterTypes;
+
+    EVENT_TYPE(String methodName, Class<?>... parameterTypes)
+    {
+        this.methodName = methodName;
+        this.parameterTypes = parameterTypes;
+    }
+
+    /**
+     * Works out which event types a listener wants.<br><br>
+     * <p>
+     * A listener extending {@link TwircListenerBaseImpl} subscribes to the events whose callbacks it overrides,
+     * since the base class' callbacks do nothing. A {@link DelegatingListener} subscribes to what its wrapped listener
+     * subscribes to. Any other listener subscribes to every event.
+     *
+     * @param listener The listener
+     * @return The event types the listener subscribes to
+     */
+    public static EnumSet<EVENT_TYPE> subscribedBy(TwircListener listener)
+    {
+        if (listener instanceof DelegatingListener)
+        {
+            return subscribedBy(((DelegatingListener) listener).getDelegate());
+        }
+        if (!(listener instanceof TwircListenerBaseImpl))
+        {
+            return EnumSet.allOf(EVENT_TYPE.class);
+        }
+
+        EnumSet<EVENT_TYPE> out = EnumSet.noneOf(EVENT_TYPE.class);
+        for (EVENT_TYPE type : values())
+        {
+            try
+            {
+                Class<?> declaringClass = listener.getClass().getMethod(type.methodName, type.parameterTypes).getDeclaringClass();
+                if (declaringClass != TwircListenerBaseImpl.class)
+                {
+                    out.add(type);
+                }
+            }
+            catch (NoSuchMethodException e)
+            {
+                //Cannot happen, since TwircListenerBaseImpl implements every callback. Play it safe anyway
+                out.add(type);
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,68 @@
+package jtwirc.enums;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Enum for representing what should happen when a bounded queue is full and another element arrives
+ */
+public enum OVERFLOW_POLICY
+{
+    /**
+     * The producer waits until there is room in the queue. Nothing is lost, but a slow consumer will
+     * eventually slow down the producer
+     */
+    BLOCK,
+
+    /**
+     * The arriving element is discarded. The producer never waits
+     */
+    DROP_NEWEST,
+
+    /**
+     * The oldest element in the queue is discarded to make room for the arriving element. The producer never waits
+     */
+    DROP_OLDEST;
+
+    /**
+     * Puts an element in a bounded queue, doing what this policy says if the queue is full
+     *
+     * @param queue   The queue
+     * @param element The element
+     * @param evicted Called with each queued element that is discarded to make room. Only {@link #DROP_OLDEST}
+     *                discards queued elements
+     * @param <E>     The type of the queue's elements
+     * @return {@code true} if the element was queued, {@code false} if it was discarded. With {@link #BLOCK}, the
+     * element is discarded if the waiting thread is interrupted, in which case the thread's interrupt flag is set again
+     */
+    public <E> boolean offer(BlockingQueue<E> queue, E element, Consumer<? super E> evicted)
+    {
+        switch (this)
+        {
+            case BLOCK:
+                try
+                {
+                    queue.put(element);
+                    return true;
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            case DROP_NEWEST:
+                return queue.offer(element);
+            case DROP_OLDEST:
+            default:
+                while (!queue.offer(element))
+                {
+                    E oldest = queue.poll();
+                    if (oldest != null)
+                    {
+                        evicted.accept(oldest);
+                    }
+                }
+                return true;
+        }
+    }
+}
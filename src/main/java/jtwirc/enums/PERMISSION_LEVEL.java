@@ -0,0 +1,115 @@
+package jtwirc.enums;
+
+import java.util.Locale;
+
+/**
+ * Enum for representing who may use a chat command.<br><br>
+ * <p>
+ * The levels are ordered, and each level includes the ones before it. A user may use a command if their level is at
+ * least the command's, see {@link #allows(PERMISSION_LEVEL)}. A user's level is derived from their badges, see
+ * {@link #fromBadges(int)}, and may be raised by the permissions file.
+ */
+public enum PERMISSION_LEVEL
+{
+    /**
+     * Anyone in chat
+     */
+    EVERYONE,
+
+    /**
+     * Regulars, i.e. VIPs and users marked as regulars in the permissions file
+     */
+    REGULAR,
+
+    /**
+     * The channel's moderators
+     */
+    MODERATOR,
+
+    /**
+     * The broadcaster
+     */
+    BROADCASTER;
+
+    private static final int REGULAR_MASK = BADGE.VIP.mask;
+
+    /**
+     * Checks whether a user at this level may use a command that requires a certain level
+     *
+     * @param required The level the command requires
+     * @return {@code true} if this level is at least the required level
+     */
+    public boolean allows(PERMISSION_LEVEL required)
+    {
+        return ordinal() >= required.ordinal();
+    }
+
+    /**
+     * Fetches the level a user's badges give them
+     *
+     * @param badgeMask The user's badge mask, see {@link jtwirc.types.users.TwitchUser#getBadgeMask()}
+     * @return The user's level
+     */
+    public static PERMISSION_LEVEL fromBadges(int badgeMask)
+    {
+        if ((badgeMask & BADGE.BROADCASTER.mask) != 0)
+        {
+            return BROADCASTER;
+        }
+        if ((badgeMask & BADGE.MODERATOR.mask) != 0)
+        {
+            return MODERATOR;
+        }
+        if ((badgeMask & REGULAR_MASK) != 0)
+        {
+            return REGULAR;
+        }
+        return EVERYONE;
+    }
+
+    /**
+     * Finds the level a user is given in the permissions file. Case is ignored
+     *
+     * @param permission The permission, for example {@code mod} or {@code reg}. May be {@code null}
+     * @return The level, or {@link #EVERYONE} if the permission is {@code null} or not one we know of
+     */
+    public static PERMISSION_LEVEL fromString(String permission)
+    {
+        if (permission == null)
+        {
+            return EVERYONE;
+        }
+        switch (permission.toLowerCase(Locale.ROOT))
+        {
+            case "reg":
+            case "regular":
+                return REGULAR;
+            case "mod":
+            case "moderator":
+                return MODERATOR;
+            case "broadcaster":
+                return BROADCASTER;
+            default:
+                return EVERYONE;
+        }
+    }
+
+    /**
+     * Finds the level a custom command requires, as found in the command permissions file. Case is ignored<br><br>
+     * <p>
+     * Commands added with {@code -ul=reg} have always been limited to moderators and the broadcaster, so {@code reg}
+     * stands for {@link #MODERATOR} here, not {@link #REGULAR}. Only a command stored as {@code regular} is open to
+     * regulars
+     *
+     * @param permission The permission, for example {@code mod} or {@code reg}. May be {@code null}
+     * @return The level, or {@link #EVERYONE} if the permission is {@code null} or not one we know of
+     */
+    public static PERMISSION_LEVEL fromCommandPermission(String permission)
+    {
+        if ("reg".equalsIgnoreCase(permission))
+        {
+            return MODERATOR;
+        }
+        return fromString(permission);
+    }
+}
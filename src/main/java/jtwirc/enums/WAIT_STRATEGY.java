@@ -0,0 +1,26 @@
+package jtwirc.enums;
+
+/**
+ * Enum for representing how the handler threads of a {@link jtwirc.bus.EventBus} wait for the next event. The
+ * strategies trade CPU usage against latency
+ */
+public enum WAIT_STRATEGY
+{
+    /**
+     * Handlers sleep until an event is published. Uses no CPU while chat is quiet, but each batch starts with a
+     * thread wake-up
+     */
+    BLOCKING,
+
+    /**
+     * Handlers spin for a short while, then yield between checks. Low latency, and gives way to other threads, but
+     * uses CPU while chat is quiet
+     */
+    YIELDING,
+
+    /**
+     * Handlers spin in a tight loop. The lowest latency, but each handler keeps a core busy at all times. Only use
+     * this with fewer handlers than cores
+     */
+    BUSY_SPIN
+}
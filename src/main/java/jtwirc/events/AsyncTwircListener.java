@@ -0,0 +1,204 @@
+package jtwirc.events;
+
+import jtwirc.enums.OVERFLOW_POLICY;
+import jtwirc.types.clearChat.ClearChatEvent;
+import jtwirc.types.globaluserstate.GlobalUserStateEvent;
+import jtwirc.types.hostTarget.HostTargetEvent;
+import jtwirc.types.mode.ModeEvent;
+import jtwirc.types.notice.NoticeEvent;
+import jtwirc.types.roomstate.RoomstateEvent;
+import jtwirc.types.subscriberEvent.SubscriberEvent;
+import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.types.usernotice.UserNoticeEvent;
+import jtwirc.types.users.TwitchUser;
+import jtwirc.types.users.UserStateEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * A listener that runs another listener's callbacks on a {@link SerialExecutor}, instead of on the dispatch thread.<br><br>
+ * <p>
+ * The wrapped listener still receives events one at a time and in order, but whatever it does (HTTP requests, file
+ * IO and such) no longer delays the other listeners. Listeners that need to stay in order with each other can share
+ * one executor.<br><br>
+ * <p>
+ * For example:<br>
+ * <pre><code>twirc.addIRCListener( new AsyncTwircListener(new MyListener(), "MyListener", 256, OVERFLOW_POLICY.DROP_OLDEST) );</code></pre>
+ * <p>
+ * When added to {@link jtwirc.Twirc}, this listener subscribes to the same events as the wrapped listener would.
+ */
+public class AsyncTwircListener implements DelegatingListener
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private final TwircListener delegate;
+    private final SerialExecutor executor;
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+
+    /**
+     * Wraps a listener, running its callbacks on an existing executor
+     *
+     * @param delegate The listener to wrap
+     * @param executor The executor to run the callbacks on. May be shared with other listeners
+     */
+    public AsyncTwircListener(TwircListener delegate, SerialExecutor executor)
+    {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    /**
+     * Wraps a listener, running its callbacks on an executor of its own
+     *
+     * @param delegate       The listener to wrap
+     * @param name           The executor's name
+     * @param capacity       How many callbacks may wait in the executor's queue
+     * @param overflowPolicy What to do when the queue is full
+     */
+    public AsyncTwircListener(TwircListener delegate, String name, int capacity, OVERFLOW_POLICY overflowPolicy)
+    {
+        this(delegate, new SerialExecutor(name, capacity, overflowPolicy));
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    @Override
+    public TwircListener getDelegate()
+    {
+        return delegate;
+    }
+
+    /**
+     * Fetches the executor the wrapped listener's callbacks run on. See {@link SerialExecutor#getMetrics()}
+     *
+     * @return The executor
+     */
+    public SerialExecutor getExecutor()
+    {
+        return executor;
+    }
+
+    @Override
+    public void onAnything(String line)
+    {
+        executor.execute(() -> delegate.onAnything(line));
+    }
+
+    @Override
+    public void onPrivMsg(TwitchUser sender, TwitchMessage message)
+    {
+        executor.execute(() -> delegate.onPrivMsg(sender, message));
+    }
+
+    @Override
+    public void onWhisper(TwitchUser sender, TwitchMessage message)
+    {
+        executor.execute(() -> delegate.onWhisper(sender, message));
+    }
+
+    @Override
+    public void onAction(TwitchUser sender, TwitchMessage message)
+    {
+        executor.execute(() -> delegate.onAction(sender, message));
+    }
+
+    @Override
+    public void onJoin(String joinedNick)
+    {
+        executor.execute(() -> delegate.onJoin(joinedNick));
+    }
+
+    @Override
+    public void onPart(String partedNick)
+    {
+        executor.execute(() -> delegate.onPart(partedNick));
+    }
+
+    @Override
+    public void onConnect()
+    {
+        executor.execute(() -> delegate.onConnect());
+    }
+
+    @Override
+    public void onDisconnect()
+    {
+        executor.execute(() -> delegate.onDisconnect());
+    }
+
+    @Override
+    public void onNotice(NoticeEvent notice)
+    {
+        executor.execute(() -> delegate.onNotice(notice));
+    }
+
+    @Override
+    public void onHost(HostTargetEvent hostNotice)
+    {
+        executor.execute(() -> delegate.onHost(hostNotice));
+    }
+
+    @Override
+    public void onMode(ModeEvent mode)
+    {
+        executor.execute(() -> delegate.onMode(mode));
+    }
+
+    @Override
+    public void onSubscriberEvent(SubscriberEvent subscriberEvent)
+    {
+        executor.execute(() -> delegate.onSubscriberEvent(subscriberEvent));
+    }
+
+    @Override
+    public void onUserState(UserStateEvent userstate)
+    {
+        executor.execute(() -> delegate.onUserState(userstate));
+    }
+
+    @Override
+    public void onRoomstate(RoomstateEvent roomstate)
+    {
+        executor.execute(() -> delegate.onRoomstate(roomstate));
+    }
+
+    @Override
+    public void onClearChat(ClearChatEvent clearChat)
+    {
+        executor.execute(() -> delegate.onClearChat(clearChat));
+    }
+
+    @Override
+    public void onUsernotice(UserNoticeEvent usernotice)
+    {
+        executor.execute(() -> delegate.onUsernotice(usernotice));
+    }
+
+    @Override
+    public void onGlobalUserstate(GlobalUserStateEvent event)
+    {
+        executor.execute(() -> delegate.onGlobalUserstate(event));
+    }
+
+    @Override
+    public void onUnknown(String line)
+    {
+        executor.execute(() -> delegate.onUnknown(line));
+    }
+
+    @Override
+    public void onNamesList(Collection<String> namesList)
+    {
+        //The collection we receive is a view of the online users, which may change before the callback runs
+        Collection<String> copy = Collections.unmodifiableList(new ArrayList<>(namesList));
+        executor.execute(() -> delegate.onNamesList(copy));
+    }
+}
@@ -0,0 +1,22 @@
+package jtwirc.events;
+
+import java.util.List;
+
+/**
+ * A consumer of chat messages in batches rather than one at a time. Wrap it in a {@link BatchingTwircListener} to add
+ * it to {@link jtwirc.Twirc}.<br><br>
+ * <p>
+ * Batches let a consumer take a lock, write to a database or update its counters once per batch instead of once per
+ * message, which makes a large difference during raids and hype trains.
+ */
+@FunctionalInterface
+public interface BatchTwircListener
+{
+    /**
+     * Called with every PRIVMSG that arrived since the last call, in the order they arrived. Called on the
+     * {@link BatchingTwircListener}'s thread, never on the dispatch thread.
+     *
+     * @param batch The messages. Never empty. The list is the listener's to keep, but cannot be modified
+     */
+    void onPrivMsgBatch(List<UserMessage> batch);
+}
@@ -0,0 +1,224 @@
+package jtwirc.events;
+
+import jtwirc.enums.OVERFLOW_POLICY;
+import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.types.users.TwitchUser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * A listener that collects PRIVMSGs and hands them to a {@link BatchTwircListener} in batches.<br><br>
+ * <p>
+ * The dispatch thread only puts each message in a bounded queue. A thread of the listener's own takes messages from
+ * the queue, and delivers a batch as soon as either
+ * <ul>
+ * <li>it holds {@code maxBatchSize} messages, or
+ * <li>{@code maxDelayMillis} have passed since the first message of the batch arrived.
+ * </ul>
+ * So during a raid, the consumer receives full batches back to back, while in a quiet chat no message waits longer than
+ * the delay. What happens when the queue is full is decided by the listener's {@link OVERFLOW_POLICY}.<br><br>
+ * <p>
+ * For example:<br>
+ * <pre><code>twirc.addIRCListener( new BatchingTwircListener(batch -&gt; store(batch), "Analytics", 500, 250, 10000, OVERFLOW_POLICY.DROP_OLDEST) );</code></pre>
+ * <p>
+ * When added to {@link jtwirc.Twirc}, this listener only subscribes to {@link jtwirc.enums.EVENT_TYPE#PRIVMSG}.
+ */
+public class BatchingTwircListener extends TwircListenerBaseImpl
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private final BatchTwircListener delegate;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final BlockingQueue<Entry> queue;
+    private final OVERFLOW_POLICY overflowPolicy;
+    private final Thread thread;
+
+    private final LongAdder dropped = new LongAdder();
+    private final Consumer<Entry> evicted = e -> dropped.increment();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+
+    private volatile boolean isRunning = true;
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+
+    /**
+     * Creates a new listener and starts its thread. The thread is a daemon thread, so it won't keep the application
+     * alive.
+     *
+     * @param delegate       The consumer of the batches
+     * @param name           The listener's name. Used for the thread's name
+     * @param maxBatchSize   The most messages a batch may hold. Must be at least 1
+     * @param maxDelayMillis The longest a message may wait for its batch to fill up
+     * @param capacity       How many messages may wait in the queue. Should be well above {@code maxBatchSize}
+     * @param overflowPolicy What to do when the queue is full
+     */
+    public BatchingTwircListener(BatchTwircListener delegate, String name, int maxBatchSize, long maxDelayMillis,
+                                 int capacity, OVERFLOW_POLICY overflowPolicy)
+    {
+        if (maxBatchSize < 1)
+        {
+            throw new IllegalArgumentException("A batch must hold at least 1 message");
+        }
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxDelayMillis));
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+
+        this.thread = new Thread(this::runLoop, "Twirc-Batch-" + name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+    @Override
+    public void onPrivMsg(TwitchUser sender, TwitchMessage message)
+    {
+        if (!isRunning)
+        {
+            dropped.increment();
+            return;
+        }
+
+        Entry entry = new Entry(new UserMessage(sender, message), System.nanoTime());
+        if (!overflowPolicy.offer(queue, entry, evicted))
+        {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Fetches the number of messages that were discarded because the queue was full
+     *
+     * @return Messages dropped
+     */
+    public long getDropped()
+    {
+        return dropped.sum();
+    }
+
+    /**
+     * Fetches the number of batches during which the consumer threw an exception
+     *
+     * @return Batches failed
+     */
+    public long getFailed()
+    {
+        return failed.sum();
+    }
+
+    /**
+     * Fetches the number of batches handed to the consumer. Together with {@link #getDelivered()}, this gives the
+     * mean batch size
+     *
+     * @return Batches delivered
+     */
+    public long getBatches()
+    {
+        return batches.sum();
+    }
+
+    /**
+     * Fetches the number of messages handed to the consumer, in all batches
+     *
+     * @return Messages delivered
+     */
+    public long getDelivered()
+    {
+        return delivered.sum();
+    }
+
+    /**
+     * Stops the listener's thread. The batch being delivered is allowed to finish, but queued messages are
+     * discarded, and messages arriving afterwards are dropped.
+     */
+    public void shutdown()
+    {
+        isRunning = false;
+        thread.interrupt();
+    }
+
+    //***********************************************************
+    // 				PRIVATE
+    //***********************************************************
+    private void runLoop()
+    {
+        while (isRunning)
+        {
+            List<UserMessage> batch;
+            try
+            {
+                batch = collectBatch();
+            }
+            catch (InterruptedException e)
+            {
+                //shutdown() interrupts the batch being collected. isRunning is false by then, so we stop
+                continue;
+            }
+
+            batches.increment();
+            delivered.add(batch.size());
+            try
+            {
+                delegate.onPrivMsgBatch(Collections.unmodifiableList(batch));
+            }
+            catch (Exception e)
+            {
+                failed.increment();
+                System.err.println("Error in " + thread.getName());
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private List<UserMessage> collectBatch() throws InterruptedException
+    {
+        Entry first = queue.take();
+        List<UserMessage> batch = new ArrayList<>(Math.min(maxBatchSize, 64));
+        batch.add(first.message);
+
+        long deadline = first.queuedNanos + maxDelayNanos;
+        while (batch.size() < maxBatchSize)
+        {
+            //Take whatever is already queued without waiting, and only wait when the queue is empty
+            Entry next = queue.poll();
+            if (next == null)
+            {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || (next = queue.poll(remaining, TimeUnit.NANOSECONDS)) == null)
+                {
+                    break;
+                }
+            }
+            batch.add(next.message);
+        }
+        return batch;
+    }
+
+    private static final class Entry
+    {
+        final UserMessage message;
+        final long queuedNanos;
+
+        Entry(UserMessage message, long queuedNanos)
+        {
+            this.message = message;
+            this.queuedNanos = queuedNanos;
+        }
+    }
+}
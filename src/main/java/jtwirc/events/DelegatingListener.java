@@ -0,0 +1,17 @@
+package jtwirc.events;
+
+/**
+ * A listener that hands its callbacks on to another listener, for example on another thread.<br><br>
+ * <p>
+ * {@link jtwirc.enums.EVENT_TYPE#subscribedBy(TwircListener)} looks through delegating listeners, so wrapping a
+ * listener doesn't change which events it receives.
+ */
+public interface DelegatingListener extends TwircListener
+{
+    /**
+     * Fetches the wrapped listener
+     *
+     * @return The wrapped listener
+     */
+    TwircListener getDelegate();
+}
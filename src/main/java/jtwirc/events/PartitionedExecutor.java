@@ -0,0 +1,119 @@
+package jtwirc.events;
+
+import jtwirc.enums.OVERFLOW_POLICY;
+import jtwirc.metrics.ExecutorMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A group of {@link SerialExecutor}s, where each task is run on the executor its key hashes to.<br><br>
+ * <p>
+ * Tasks with the same key always end up on the same partition, so they run one at a time and in order. Tasks with
+ * different keys may run in parallel on different partitions. Used by {@link PartitionedTwircListener}, which keys
+ * events by the user's login name, so each user's events stay in order while different users are handled in parallel.
+ */
+public class PartitionedExecutor
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private final SerialExecutor[] partitions;
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+
+    /**
+     * Creates a new executor and starts a thread for each partition
+     *
+     * @param name           The executor's name. Each partition is named after it, with its index appended
+     * @param partitions     The number of partitions, for example the number of cores. Must be at least 1
+     * @param capacity       How many tasks may wait in each partition's queue
+     * @param overflowPolicy What to do when a partition's queue is full
+     */
+    public PartitionedExecutor(String name, int partitions, int capacity, OVERFLOW_POLICY overflowPolicy)
+    {
+        if (partitions < 1)
+        {
+            throw new IllegalArgumentException("A PartitionedExecutor needs at least 1 partition");
+        }
+        this.partitions = new SerialExecutor[partitions];
+        for (int i = 0; i < partitions; i++)
+        {
+            this.partitions[i] = new SerialExecutor(name + "-" + i, capacity, overflowPolicy);
+        }
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Runs a task on the partition its key hashes to
+     *
+     * @param key     The task's key. Tasks with equal keys run in order. {@code null} is allowed, and maps to the
+     *                first partition
+     * @param command The task
+     */
+    public void execute(Object key, Runnable command)
+    {
+        partitions[partitionOf(key)].execute(command);
+    }
+
+    /**
+     * Fetches the partition a key maps to
+     *
+     * @param key The key
+     * @return The partition's index
+     */
+    public int partitionOf(Object key)
+    {
+        if (key == null)
+        {
+            return 0;
+        }
+        //Spread the hash, since user names tend to share prefixes and suffixes
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        h *= 0x85EBCA6B;
+        h ^= (h >>> 13);
+        return Math.floorMod(h, partitions.length);
+    }
+
+    /**
+     * Fetches the number of partitions
+     *
+     * @return The number of partitions
+     */
+    public int getPartitionCount()
+    {
+        return partitions.length;
+    }
+
+    /**
+     * Fetches the metrics of every partition. Comparing them shows whether the load is spread evenly
+     *
+     * @return The partitions' metrics, in partition order
+     */
+    public List<ExecutorMetrics> getMetrics()
+    {
+        List<ExecutorMetrics> out = new ArrayList<>(partitions.length);
+        for (SerialExecutor partition : partitions)
+        {
+            out.add(partition.getMetrics());
+        }
+        return out;
+    }
+
+    /**
+     * Stops every partition. See {@link SerialExecutor#shutdown()}
+     */
+    public void shutdown()
+    {
+        for (SerialExecutor partition : partitions)
+        {
+            partition.shutdown();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package jtwirc.events;
+
+import jtwirc.types.clearChat.ClearChatEvent;
+import jtwirc.types.globaluserstate.GlobalUserStateEvent;
+import jtwirc.types.hostTarget.HostTargetEvent;
+import jtwirc.types.mode.ModeEvent;
+import jtwirc.types.notice.NoticeEvent;
+import jtwirc.types.roomstate.RoomstateEvent;
+import jtwirc.types.subscriberEvent.SubscriberEvent;
+import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.types.usernotice.UserNoticeEvent;
+import jtwirc.types.users.TwitchUser;
+import jtwirc.types.users.UserStateEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * A listener that runs another listener's callbacks on a {@link PartitionedExecutor}, keyed by user.<br><br>
+ * <p>
+ * Events are keyed by the login name of the user they concern (the sender of a PRIVMSG, the user who joined, the
+ * user who was timed out and so on). So each user's events reach the wrapped listener in order, while events from
+ * different users are handled in parallel. Events that don't concern a user, such as ROOMSTATE or connect and
+ * disconnect, all go to the first partition.<br><br>
+ * <p>
+ * This suits listeners that keep per-user state, like analytics or moderation. The wrapped listener must be thread
+ * safe, since its callbacks run on several threads at once. Listeners that need global ordering should use
+ * {@link AsyncTwircListener} instead.
+ */
+public class PartitionedTwircListener implements DelegatingListener
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private final TwircListener delegate;
+    private final PartitionedExecutor executor;
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+
+    /**
+     * Wraps a listener, running its callbacks on a partitioned executor
+     *
+     * @param delegate The listener to wrap. Must be thread safe
+     * @param executor The executor to run the callbacks on
+     */
+    public PartitionedTwircListener(TwircListener delegate, PartitionedExecutor executor)
+    {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+    @Override
+    public TwircListener getDelegate()
+    {
+        return delegate;
+    }
+
+    /**
+     * Fetches the executor the wrapped listener's callbacks run on. See {@link PartitionedExecutor#getMetrics()}
+     *
+     * @return The executor
+     */
+    public PartitionedExecutor getExecutor()
+    {
+        return executor;
+    }
+
+    @Override
+    public void onAnything(String line)
+    {
+        executor.execute(loginOfLine(line), () -> delegate.onAnything(line));
+    }
+
+    @Override
+    public void onPrivMsg(TwitchUser sender, TwitchMessage message)
+    {
+        executor.execute(loginOfPrefix(message.getPrefix()), () -> delegate.onPrivMsg(sender, message));
+    }
+
+    @Override
+    public void onWhisper(TwitchUser sender, TwitchMessage message)
+    {
+        executor.execute(loginOfPrefix(message.getPrefix()), () -> delegate.onWhisper(sender, message));
+    }
+
+    @Override
+    public void onAction(TwitchUser sender, TwitchMessage message)
+    {
+        executor.execute(loginOfPrefix(message.getPrefix()), () -> delegate.onAction(sender, message));
+    }
+
+    @Override
+    public void onJoin(String joinedNick)
+    {
+        executor.execute(joinedNick, () -> delegate.onJoin(joinedNick));
+    }
+
+    @Override
+    public void onPart(String partedNick)
+    {
+        executor.execute(partedNick, () -> delegate.onPart(partedNick));
+    }
+
+    @Override
+    public void onConnect()
+    {
+        executor.execute(null, () -> delegate.onConnect());
+    }
+
+    @Override
+    public void onDisconnect()
+    {
+        executor.execute(null, () -> delegate.onDisconnect());
+    }
+
+    @Override
+    public void onNotice(NoticeEvent notice)
+    {
+        executor.execute(null, () -> delegate.onNotice(notice));
+    }
+
+    @Override
+    public void onHost(HostTargetEvent hostNotice)
+    {
+        executor.execute(null, () -> delegate.onHost(hostNotice));
+    }
+
+    @Override
+    public void onMode(ModeEvent mode)
+    {
+        executor.execute(mode.getUser(), () -> delegate.onMode(mode));
+    }
+
+    @Override
+    public void onSubscriberEvent(SubscriberEvent subscriberEvent)
+    {
+        executor.execute(null, () -> delegate.onSubscriberEvent(subscriberEvent));
+    }
+
+    @Override
+    public void onUserState(UserStateEvent userstate)
+    {
+        executor.execute(null, () -> delegate.onUserState(userstate));
+    }
+
+    @Override
+    public void onRoomstate(RoomstateEvent roomstate)
+    {
+        executor.execute(null, () -> delegate.onRoomstate(roomstate));
+    }
+
+    @Override
+    public void onClearChat(ClearChatEvent clearChat)
+    {
+        executor.execute(clearChat.getTarget(), () -> delegate.onClearChat(clearChat));
+    }
+
+    @Override
+    public void onUsernotice(UserNoticeEvent usernotice)
+    {
+        executor.execute(usernotice.getLogin(), () -> delegate.onUsernotice(usernotice));
+    }
+
+    @Override
+    public void onGlobalUserstate(GlobalUserStateEvent event)
+    {
+        executor.execute(null, () -> delegate.onGlobalUserstate(event));
+    }
+
+    @Override
+    public void onUnknown(String line)
+    {
+        executor.execute(null, () -> delegate.onUnknown(line));
+    }
+
+    @Override
+    public void onNamesList(Collection<String> namesList)
+    {
+        //The collection we receive is a view of the online users, which may change before the callback runs
+        Collection<String> copy = Collections.unmodifiableList(new ArrayList<>(namesList));
+        executor.execute(null, () -> delegate.onNamesList(copy));
+    }
+
+    //***********************************************************
+    // 				PRIVATE
+    //***********************************************************
+    private static String loginOfLine(String line)
+    {
+        //Skip the tag, if there is one. What's left starts with the prefix
+        int begin = 0;
+        if (line.startsWith("@"))
+        {
+            begin = line.indexOf(' ') + 1;
+        }
+        return loginOf(line, begin);
+    }
+
+    private static String loginOfPrefix(String prefix)
+    {
+        return loginOf(prefix, 0);
+    }
+
+    private static String loginOf(String s, int begin)
+    {
+        /* A user's prefix looks like this:
+         *
+         * :login!login@login.tmi.twitch.tv
+         *
+         * Prefixes without a '!' (such as :tmi.twitch.tv) don't belong to a user
+         */
+        if (!s.startsWith(":", begin))
+        {
+            return null;
+        }
+        int end = s.indexOf('!', begin);
+        int space = s.indexOf(' ', begin);
+        if (end == -1 || (space != -1 && space < end))
+        {
+            return null;
+        }
+        return s.substring(begin + 1, end);
+    }
+}
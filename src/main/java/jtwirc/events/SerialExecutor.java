@@ -0,0 +1,149 @@
+package jtwirc.events;
+
+import jtwirc.enums.OVERFLOW_POLICY;
+import jtwirc.metrics.ExecutorMetrics;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * An executor that runs tasks one at a time, in the order they were submitted, on a thread of its own.<br><br>
+ * <p>
+ * Used by {@link AsyncTwircListener} to move a listener off the dispatch thread: the listener still sees events in
+ * the order they happened, but a slow listener (for example one doing HTTP requests) only delays itself. Several
+ * listeners may share one executor, to keep the order between them as well.<br><br>
+ * <p>
+ * The queue is bounded. What happens when it is full is decided by the executor's {@link OVERFLOW_POLICY}. Note that
+ * {@link OVERFLOW_POLICY#BLOCK} will make the dispatch thread wait for the listener, so prefer one of the dropping
+ * policies for listeners that might be slow.<br><br>
+ * <p>
+ * A task that throws is logged and counted in the executor's {@link ExecutorMetrics}, and the next task runs as usual.
+ */
+public class SerialExecutor implements Executor
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private final BlockingQueue<Task> queue;
+    private final OVERFLOW_POLICY overflowPolicy;
+    private final Consumer<Task> evicted;
+    private final ExecutorMetrics metrics;
+    private final Thread thread;
+
+    private volatile boolean isRunning = true;
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+
+    /**
+     * Creates a new executor and starts its thread. The thread is a daemon thread, so it won't keep the application
+     * alive.
+     *
+     * @param name           The executor's name. Used for the thread's name and for the metrics
+     * @param capacity       How many tasks may wait in the queue. Must be at least 1
+     * @param overflowPolicy What to do when the queue is full
+     */
+    public SerialExecutor(String name, int capacity, OVERFLOW_POLICY overflowPolicy)
+    {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.metrics = new ExecutorMetrics(name);
+        this.evicted = task -> metrics.recordEvicted();
+
+        this.thread = new Thread(this::runLoop, "Twirc-Executor-" + name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+    @Override
+    public void execute(Runnable command)
+    {
+        if (!isRunning)
+        {
+            metrics.recordDropped();
+            return;
+        }
+
+        Task task = new Task(command, System.nanoTime());
+        if (!overflowPolicy.offer(queue, task, evicted))
+        {
+            metrics.recordDropped();
+            return;
+        }
+        metrics.recordSubmitted();
+    }
+
+    /**
+     * Fetches this executor's metrics, such as queue depth, dropped tasks and lag
+     *
+     * @return The executor's metrics
+     */
+    public ExecutorMetrics getMetrics()
+    {
+        return metrics;
+    }
+
+    /**
+     * Stops the executor's thread. The task currently running is allowed to finish, but queued tasks are discarded,
+     * and tasks submitted afterwards are dropped.
+     */
+    public void shutdown()
+    {
+        isRunning = false;
+        thread.interrupt();
+    }
+
+    //***********************************************************
+    // 				PRIVATE
+    //***********************************************************
+    private void runLoop()
+    {
+        while (isRunning)
+        {
+            Task task;
+            try
+            {
+                task = queue.take();
+            }
+            catch (InterruptedException e)
+            {
+                //shutdown() interrupts the wait for a task, after clearing isRunning
+                continue;
+            }
+
+            long start = System.nanoTime();
+            metrics.recordStarted(start - task.submittedNanos);
+
+            boolean success = true;
+            try
+            {
+                task.command.run();
+            }
+            catch (Exception e)
+            {
+                success = false;
+                System.err.println("Error in " + thread.getName());
+                e.printStackTrace();
+            }
+            metrics.recordCompleted(System.nanoTime() - start, success);
+        }
+    }
+
+    private static final class Task
+    {
+        final Runnable command;
+        final long submittedNanos;
+
+        Task(Runnable command, long submittedNanos)
+        {
+            this.command = command;
+            this.submittedNanos = submittedNanos;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package jtwirc.events;
+
+import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.types.users.TwitchUser;
+
+/**
+ * A chat message together with the user who sent it, as delivered to a {@link BatchTwircListener}
+ */
+public final class UserMessage
+{
+    private final TwitchUser user;
+    private final TwitchMessage message;
+
+    public UserMessage(TwitchUser user, TwitchMessage message)
+    {
+        this.user = user;
+        this.message = message;
+    }
+
+    /**
+     * Fetches the user who sent the message
+     *
+     * @return The sender
+     */
+    public TwitchUser getUser()
+    {
+        return user;
+    }
+
+    /**
+     * Fetches the message
+     *
+     * @return The message
+     */
+    public TwitchMessage getMessage()
+    {
+        return message;
+    }
+
+    @Override
+    public String toString()
+    {
+        return user.getName() + ": " + message.getContent();
+    }
+}
@@ -0,0 +1,61 @@
+package jtwirc.intercept;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Drops every line sent by certain users, such as other bots in the channel, before any event is built for it.<br><br>
+ * <p>
+ * Users are matched by login name, ignoring case. Users may be added and removed while connected.
+ */
+public class IgnoredUsersInterceptor implements LineInterceptor
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private final Set<String> ignored = ConcurrentHashMap.newKeySet();
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+    public IgnoredUsersInterceptor(Collection<String> users)
+    {
+        for (String user : users)
+        {
+            ignore(user);
+        }
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+    @Override
+    public boolean intercept(InterceptedLine line)
+    {
+        String user = line.getUserName();
+        return user.isEmpty() || !ignored.contains(user.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Starts ignoring a user
+     *
+     * @param user The user's login name
+     */
+    public void ignore(String user)
+    {
+        ignored.add(user.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Stops ignoring a user
+     *
+     * @param user The user's login name
+     * @return {@code true} if the user was ignored
+     */
+    public boolean unignore(String user)
+    {
+        return ignored.remove(user.toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,217 @@
+package jtwirc.intercept;
+
+import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.utils.ParsingUtil;
+
+import java.util.function.Function;
+
+/**
+ * A line passing through the {@link LineInterceptor}s.<br><br>
+ * <p>
+ * The raw line is always at hand, and the command and the sender's name are read straight from it. The parsed
+ * {@link TwitchMessage} is only built if an interceptor asks for it, and then shared with the listeners, so asking
+ * for it costs nothing extra for lines that are dispatched anyway.<br><br>
+ * <p>
+ * A single instance is reused for every line, so interceptors must not keep it after returning.
+ */
+public final class InterceptedLine
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private final Function<String, TwitchMessage> parser;
+
+    private String line;
+    private TwitchMessage message;
+    private boolean rewritten;
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+
+    /**
+     * Creates a line holder. Used by {@link jtwirc.Twirc}'s ingest pipeline
+     *
+     * @param parser Builds a message from a line, when an interceptor asks for it
+     */
+    public InterceptedLine(Function<String, TwitchMessage> parser)
+    {
+        this.parser = parser;
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Fetches the line, as read from the server or as rewritten by an earlier interceptor
+     *
+     * @return The line
+     */
+    public String getLine()
+    {
+        return line;
+    }
+
+    /**
+     * Fetches the line's command, such as {@code PRIVMSG} or {@code JOIN}, without parsing the line
+     *
+     * @return The command
+     */
+    public String getCommand()
+    {
+        int start = ParsingUtil.commandStart(line);
+        return line.substring(start, ParsingUtil.commandEnd(line, start));
+    }
+
+    /**
+     * Checks the line's command without parsing the line or creating a string
+     *
+     * @param command The command, such as {@code PRIVMSG}
+     * @return {@code true} if the line has that command
+     */
+    public boolean isCommand(String command)
+    {
+        int start = ParsingUtil.commandStart(line);
+        return ParsingUtil.commandEnd(line, start) - start == command.length() && line.startsWith(command, start);
+    }
+
+    /**
+     * Fetches the name of the user who sent the line, from the line's prefix and without parsing the line
+     *
+     * @return The user's login name, or {@code ""} if the line was not sent by a user (for example, if it was sent by
+     * the server)
+     */
+    public String getUserName()
+    {
+        int start = 0;
+        if (line.startsWith("@"))
+        {
+            start = line.indexOf(' ') + 1;
+            if (start == 0)
+            {
+                return "";
+            }
+        }
+        if (!line.startsWith(":", start))
+        {
+            return "";
+        }
+
+        int space = line.indexOf(' ', start);
+        int bang = line.indexOf('!', start);
+        if (bang < 0 || (space >= 0 && bang > space))
+        {
+            return "";
+        }
+        return line.substring(start + 1, bang);
+    }
+
+    /**
+     * Fetches the parsed line. The line is parsed on the first call, unless it has been parsed already
+     *
+     * @return The message
+     */
+    public TwitchMessage getMessage()
+    {
+        if (message == null)
+        {
+            message = parser.apply(line);
+        }
+        return message;
+    }
+
+    /**
+     * Replaces the line. Later interceptors and the listeners see the new line
+     *
+     * @param line The new line
+     */
+    public void setLine(String line)
+    {
+        if (!line.equals(this.line))
+        {
+            this.line = line;
+            this.message = null;
+            this.rewritten = true;
+        }
+    }
+
+    /**
+     * Adds an IRC tag to the line, which the listeners can read from {@link TwitchMessage#getTag()}. Useful for passing
+     * on what an interceptor found out about a line, such as a classification.
+     *
+     * @param key   The tag's key
+     * @param value The tag's value. Spaces, semicolons and backslashes are escaped
+     */
+    public void addTag(String key, String value)
+    {
+        String tag = key + "=" + escape(value);
+        setLine(line.startsWith("@") ? "@" + tag + ";" + line.substring(1) : "@" + tag + " " + line);
+    }
+
+    /**
+     * Checks if any interceptor rewrote or tagged the line
+     *
+     * @return {@code true} if the line has changed
+     */
+    public boolean isRewritten()
+    {
+        return rewritten;
+    }
+
+    @Override
+    public String toString()
+    {
+        return line;
+    }
+
+    /**
+     * Gets the holder ready for the next line. Used by {@link jtwirc.Twirc}'s ingest pipeline
+     *
+     * @param line    The line
+     * @param message The line's message, if it has already been parsed. Otherwise {@code null}
+     */
+    public void reset(String line, TwitchMessage message)
+    {
+        this.line = line;
+        this.message = message;
+        this.rewritten = false;
+    }
+
+    /**
+     * Fetches the message if it has been parsed, without parsing it
+     *
+     * @return The message, or {@code null} if it has not been parsed
+     */
+    public TwitchMessage getMessageIfParsed()
+    {
+        return message;
+    }
+
+    //***********************************************************
+    // 				PRIVATE
+    //***********************************************************
+    private static String escape(String value)
+    {
+        StringBuilder out = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++)
+        {
+            char c = value.charAt(i);
+            switch (c)
+            {
+                case ' ':
+                    out.append("\\s");
+                    break;
+                case ';':
+                    out.append("\\:");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                default:
+                    out.append(c);
+            }
+        }
+        return out.toString();
+    }
+}
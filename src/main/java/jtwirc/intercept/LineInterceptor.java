@@ -0,0 +1,28 @@
+package jtwirc.intercept;
+
+/**
+ * Looks at each incoming line before any event is built or any listener is called, and decides whether the line
+ * should be dispatched at all.<br><br>
+ * <p>
+ * Interceptors are added with {@link jtwirc.TwircBuilder#addLineInterceptor(LineInterceptor)}, and run on the dispatch
+ * thread in the order they were added. Each interceptor sees the line as the previous one left it. An interceptor may
+ * <ul>
+ * <li>drop the line, by returning {@code false}. Later interceptors and all listeners never see it.
+ * <li>rewrite the line, see {@link InterceptedLine#setLine(String)}.
+ * <li>tag the line, see {@link InterceptedLine#addTag(String, String)}.
+ * </ul>
+ * Interceptors should decide from the raw line where they can, for example with {@link InterceptedLine#getCommand()}
+ * and {@link InterceptedLine#getUserName()}, since those don't parse the line. An interceptor that throws is logged and
+ * counted, and the line passes on unchanged.
+ */
+@FunctionalInterface
+public interface LineInterceptor
+{
+    /**
+     * Called for each incoming line, except PINGs and other lines handled by the reader itself
+     *
+     * @param line The line
+     * @return {@code true} to let the line through, {@code false} to drop it
+     */
+    boolean intercept(InterceptedLine line);
+}
@@ -0,0 +1,28 @@
+package jtwirc.intercept;
+
+/**
+ * Drops chat messages and whispers sent by our own account, so the bot never reacts to what it said itself. JOINs,
+ * PARTs and other lines about our account still pass.
+ */
+public class OwnEchoInterceptor implements LineInterceptor
+{
+    private final String nick;
+
+    /**
+     * @param nick The bot's nick, see {@link jtwirc.Twirc#getNick()}
+     */
+    public OwnEchoInterceptor(String nick)
+    {
+        this.nick = nick;
+    }
+
+    @Override
+    public boolean intercept(InterceptedLine line)
+    {
+        if (!line.isCommand("PRIVMSG") && !line.isCommand("WHISPER"))
+        {
+            return true;
+        }
+        return !line.getUserName().equalsIgnoreCase(nick);
+    }
+}
@@ -0,0 +1,122 @@
+package jtwirc.metrics;
+
+import jtwirc.enums.COMMAND_OUTCOME;
+
+/**
+ * Invocations of a single chat command, counted and timed by how they ended.<br><br>
+ * <p>
+ * Each {@link COMMAND_OUTCOME} has a histogram of its own, since a command that is quick when it succeeds but slow
+ * when it times out should not look average at both. The time recorded is from when the command was routed until it
+ * finished, so for commands run on the command pool it includes the time spent waiting for a worker thread.<br><br>
+ * <p>
+ * All methods are thread safe.
+ */
+public final class CommandMetrics
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private static final COMMAND_OUTCOME[] OUTCOMES = COMMAND_OUTCOME.values();
+
+    private final String name;
+    private final LatencyHistogram[] micros = new LatencyHistogram[OUTCOMES.length];
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+
+    /**
+     * Creates metrics for a command
+     *
+     * @param name The command's name, for example {@code !uptime}
+     */
+    public CommandMetrics(String name)
+    {
+        this.name = name;
+        for (COMMAND_OUTCOME outcome : OUTCOMES)
+        {
+            micros[outcome.ordinal()] = new LatencyHistogram();
+        }
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Fetches the name of the command these metrics belong to
+     *
+     * @return The command's name
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Fetches the histogram of how long the invocations with a certain outcome took
+     *
+     * @param outcome The outcome
+     * @return The invocation time histogram, in microseconds
+     */
+    public LatencyHistogram getTime(COMMAND_OUTCOME outcome)
+    {
+        return micros[outcome.ordinal()];
+    }
+
+    /**
+     * Fetches the number of invocations with a certain outcome
+     *
+     * @param outcome The outcome
+     * @return The number of invocations
+     */
+    public long getCount(COMMAND_OUTCOME outcome)
+    {
+        return micros[outcome.ordinal()].getCount();
+    }
+
+    /**
+     * Fetches the number of invocations, whatever their outcome
+     *
+     * @return The number of invocations
+     */
+    public long getInvocations()
+    {
+        long out = 0;
+        for (LatencyHistogram histogram : micros)
+        {
+            out += histogram.getCount();
+        }
+        return out;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder out = new StringBuilder(name).append(": invocations=").append(getInvocations());
+        for (COMMAND_OUTCOME outcome : OUTCOMES)
+        {
+            LatencyHistogram histogram = micros[outcome.ordinal()];
+            if (histogram.getCount() > 0)
+            {
+                out.append(' ').append(outcome).append("Us=[").append(histogram).append(']');
+            }
+        }
+        return out.toString();
+    }
+
+    //***********************************************************
+    // 				RECORDING
+    //***********************************************************
+
+    /**
+     * Records an invocation
+     *
+     * @param outcome How the invocation ended
+     * @param nanos   The time the invocation took, in nanoseconds
+     */
+    public void recordInvocation(COMMAND_OUTCOME outcome, long nanos)
+    {
+        micros[outcome.ordinal()].record(nanos / 1000);
+    }
+}
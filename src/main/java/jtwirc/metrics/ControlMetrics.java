@@ -0,0 +1,117 @@
+package jtwirc.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for the control plane of a {@link jtwirc.Twirc} instance, i.e. the server commands that are handled on the
+ * reader thread before any parsing or queueing: PING, PONG and RECONNECT.<br><br>
+ * <p>
+ * The PONG latency is the time from reading a server PING to writing our PONG. It should stay in the low milliseconds
+ * no matter how busy chat is, since PONGs skip both the ingest queue and the output rate limit. If it grows, the
+ * writer is contended.<br><br>
+ * <p>
+ * All methods are thread safe. The counters live as long as the {@link jtwirc.Twirc} instance, so they are not reset
+ * on reconnect.
+ */
+public final class ControlMetrics
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private final LongAdder pingsReceived = new LongAdder();
+    private final LongAdder reconnectsRequested = new LongAdder();
+
+    private final LatencyHistogram pongMicros = new LatencyHistogram();
+    private final LatencyHistogram roundTripMillis = new LatencyHistogram();
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Fetches the number of PINGs the server has sent us
+     *
+     * @return PINGs received
+     */
+    public long getPingsReceived()
+    {
+        return pingsReceived.sum();
+    }
+
+    /**
+     * Fetches the number of times the server told us to reconnect
+     *
+     * @return RECONNECTs received
+     */
+    public long getReconnectsRequested()
+    {
+        return reconnectsRequested.sum();
+    }
+
+    /**
+     * Fetches the histogram of the time from reading a PING to writing its PONG
+     *
+     * @return The PONG latency histogram, in microseconds
+     */
+    public LatencyHistogram getPongLatency()
+    {
+        return pongMicros;
+    }
+
+    /**
+     * Fetches the histogram of round trips of our own PINGs, which we send when the server has been quiet for a while
+     *
+     * @return The round trip histogram, in milliseconds
+     */
+    public LatencyHistogram getRoundTrip()
+    {
+        return roundTripMillis;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "pings=" + getPingsReceived() + " reconnects=" + getReconnectsRequested() + " pongUs=[" + pongMicros
+                + "] roundTripMs=[" + roundTripMillis + "]";
+    }
+
+    //***********************************************************
+    // 				RECORDING
+    //***********************************************************
+
+    /**
+     * Records that the server sent us a PING
+     */
+    public void recordPing()
+    {
+        pingsReceived.increment();
+    }
+
+    /**
+     * Records that a PONG was written to the server
+     *
+     * @param pongNanos The time from reading the PING to writing the PONG, in nanoseconds
+     */
+    public void recordPong(long pongNanos)
+    {
+        pongMicros.record(pongNanos / 1000);
+    }
+
+    /**
+     * Records that the server answered one of our PINGs
+     *
+     * @param roundTripMillis The time from sending the PING to reading the PONG, in milliseconds
+     */
+    public void recordRoundTrip(long roundTripMillis)
+    {
+        this.roundTripMillis.record(roundTripMillis);
+    }
+
+    /**
+     * Records that the server told us to reconnect
+     */
+    public void recordReconnect()
+    {
+        reconnectsRequested.increment();
+    }
+}
@@ -0,0 +1,186 @@
+package jtwirc.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for an executor that runs listener callbacks, such as a {@link jtwirc.events.SerialExecutor}.<br><br>
+ * <p>
+ * Besides counting tasks, these metrics keep two histograms: the lag, i.e. how long a task waited in the queue before
+ * it started, and the run time of each task. A growing lag means the listener cannot keep up with chat.<br><br>
+ * <p>
+ * All methods are thread safe.
+ */
+public final class ExecutorMetrics
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private final String name;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    private final LatencyHistogram lagMicros = new LatencyHistogram();
+    private final LatencyHistogram runMicros = new LatencyHistogram();
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+    public ExecutorMetrics(String name)
+    {
+        this.name = name;
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Fetches the name of the executor these metrics belong to
+     *
+     * @return The executor's name
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Fetches the number of tasks that were accepted by the executor
+     *
+     * @return Tasks submitted
+     */
+    public long getSubmitted()
+    {
+        return submitted.sum();
+    }
+
+    /**
+     * Fetches the number of tasks that were discarded because the executor's queue was full
+     *
+     * @return Tasks dropped
+     */
+    public long getDropped()
+    {
+        return dropped.sum();
+    }
+
+    /**
+     * Fetches the number of tasks that have been run, including those that failed
+     *
+     * @return Tasks completed
+     */
+    public long getCompleted()
+    {
+        return completed.sum();
+    }
+
+    /**
+     * Fetches the number of tasks that threw an exception
+     *
+     * @return Tasks failed
+     */
+    public long getFailed()
+    {
+        return failed.sum();
+    }
+
+    /**
+     * Fetches the number of tasks currently waiting in the executor's queue
+     *
+     * @return Current queue depth
+     */
+    public int getQueueDepth()
+    {
+        return queueDepth.get();
+    }
+
+    /**
+     * Fetches the histogram of how long tasks waited in the queue before they started
+     *
+     * @return The lag histogram, in microseconds
+     */
+    public LatencyHistogram getLag()
+    {
+        return lagMicros;
+    }
+
+    /**
+     * Fetches the histogram of how long tasks took to run
+     *
+     * @return The run time histogram, in microseconds
+     */
+    public LatencyHistogram getRunTime()
+    {
+        return runMicros;
+    }
+
+    @Override
+    public String toString()
+    {
+        return name + ": submitted=" + getSubmitted() + " dropped=" + getDropped() + " completed=" + getCompleted()
+                + " failed=" + getFailed() + " depth=" + getQueueDepth() + " lagUs=[" + lagMicros + "] runUs=["
+                + runMicros + "]";
+    }
+
+    //***********************************************************
+    // 				RECORDING
+    //***********************************************************
+
+    /**
+     * Records that a task was put in the queue
+     */
+    public void recordSubmitted()
+    {
+        submitted.increment();
+        queueDepth.incrementAndGet();
+    }
+
+    /**
+     * Records that a task was discarded without being queued
+     */
+    public void recordDropped()
+    {
+        dropped.increment();
+    }
+
+    /**
+     * Records that a queued task was discarded to make room for a newer task
+     */
+    public void recordEvicted()
+    {
+        queueDepth.decrementAndGet();
+        dropped.increment();
+    }
+
+    /**
+     * Records that a task was taken from the queue and is about to run
+     *
+     * @param lagNanos The time the task spent in the queue, in nanoseconds
+     */
+    public void recordStarted(long lagNanos)
+    {
+        queueDepth.decrementAndGet();
+        lagMicros.record(lagNanos / 1000);
+    }
+
+    /**
+     * Records that a task has finished running
+     *
+     * @param runNanos The time the task took, in nanoseconds
+     * @param success  {@code false} if the task threw an exception
+     */
+    public void recordCompleted(long runNanos, boolean success)
+    {
+        completed.increment();
+        runMicros.record(runNanos / 1000);
+        if (!success)
+        {
+            failed.increment();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package jtwirc.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for the ingest pipeline of a {@link jtwirc.Twirc} instance.<br><br>
+ * <p>
+ * Incoming lines pass through three stages: the reader thread frames them into a bounded queue, a parse stage
+ * builds {@link jtwirc.types.twitchMessage.TwitchMessage}s from them and a dispatch stage hands them to the listeners.
+ * These metrics tell how many lines passed through each stage, how many were dropped because the queue was full, and
+ * how long lines spent waiting between stages.<br><br>
+ * <p>
+ * All methods are thread safe. The counters live as long as the {@link jtwirc.Twirc} instance, so they are not reset
+ * on reconnect.
+ */
+public final class IngestMetrics
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private final LongAdder linesRead = new LongAdder();
+    private final LongAdder linesDropped = new LongAdder();
+    private final LongAdder linesDispatched = new LongAdder();
+    private final LongAdder parseErrors = new LongAdder();
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    private final LongAdder totalQueueNanos = new LongAdder();
+    private final AtomicLong maxQueueNanos = new AtomicLong();
+    private final LongAdder totalDispatchNanos = new LongAdder();
+
+    private final LatencyHistogram endToEndMillis = new LatencyHistogram();
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Fetches the number of lines the reader has received from the server
+     *
+     * @return Lines read
+     */
+    public long getLinesRead()
+    {
+        return linesRead.sum();
+    }
+
+    /**
+     * Fetches the number of lines that were discarded because the ingest queue was full
+     *
+     * @return Lines dropped
+     */
+    public long getLinesDropped()
+    {
+        return linesDropped.sum();
+    }
+
+    /**
+     * Fetches the number of lines that have been handed to the listeners
+     *
+     * @return Lines dispatched
+     */
+    public long getLinesDispatched()
+    {
+        return linesDispatched.sum();
+    }
+
+    /**
+     * Fetches the number of lines that could not be parsed
+     *
+     * @return Parse errors
+     */
+    public long getParseErrors()
+    {
+        return parseErrors.sum();
+    }
+
+    /**
+     * Fetches the number of lines currently waiting between the reader and the dispatch stage
+     *
+     * @return Current queue depth
+     */
+    public int getQueueDepth()
+    {
+        return queueDepth.get();
+    }
+
+    /**
+     * Fetches the highest number of lines that have been waiting between the reader and the dispatch stage at once
+     *
+     * @return Highest queue depth seen
+     */
+    public int getMaxQueueDepth()
+    {
+        return maxQueueDepth.get();
+    }
+
+    /**
+     * Fetches the average time a line waited between being read and being dispatched
+     *
+     * @return Average queue wait, in microseconds
+     */
+    public long getAverageQueueMicros()
+    {
+        long count = linesDispatched.sum() + parseErrors.sum();
+        return count == 0 ? 0 : totalQueueNanos.sum() / count / 1000;
+    }
+
+    /**
+     * Fetches the longest time a line waited between being read and being dispatched
+     *
+     * @return Longest queue wait, in microseconds
+     */
+    public long getMaxQueueMicros()
+    {
+        return maxQueueNanos.get() / 1000;
+    }
+
+    /**
+     * Fetches the average time it took to hand a line to all listeners
+     *
+     * @return Average dispatch time, in microseconds
+     */
+    public long getAverageDispatchMicros()
+    {
+        long count = linesDispatched.sum();
+        return count == 0 ? 0 : totalDispatchNanos.sum() / count / 1000;
+    }
+
+    /**
+     * Fetches the histogram of end-to-end latencies, i.e. the time from the server sending a message (its
+     * {@code tmi-sent-ts} tag) till the message was handed to the listeners. Only messages with that tag are
+     * recorded. The latencies are in milliseconds, and include any clock skew between us and the server.
+     *
+     * @return The end-to-end latency histogram, in milliseconds
+     */
+    public LatencyHistogram getEndToEndLatency()
+    {
+        return endToEndMillis;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "read=" + getLinesRead() + " dropped=" + getLinesDropped() + " dispatched=" + getLinesDispatched()
+                + " parseErrors=" + getParseErrors() + " depth=" + getQueueDepth() + " maxDepth=" + getMaxQueueDepth()
+                + " avgQueueUs=" + getAverageQueueMicros() + " maxQueueUs=" + getMaxQueueMicros()
+                + " avgDispatchUs=" + getAverageDispatchMicros() + " endToEndMs=[" + endToEndMillis + "]";
+    }
+
+    //***********************************************************
+    // 				RECORDING
+    //***********************************************************
+
+    /**
+     * Records that a line was read and put in the ingest queue
+     */
+    public void recordEnqueued()
+    {
+        linesRead.increment();
+        int depth = queueDepth.incrementAndGet();
+        int max;
+        while (depth > (max = maxQueueDepth.get()) && !maxQueueDepth.compareAndSet(max, depth))
+        {
+            //Another thread raised the maximum in between, so we try again
+        }
+    }
+
+    /**
+     * Records that a line was read, but discarded since the queue was full
+     */
+    public void recordDropped()
+    {
+        linesRead.increment();
+        linesDropped.increment();
+    }
+
+    /**
+     * Records that a line which was already in the queue was discarded to make room for a newer line
+     */
+    public void recordEvicted()
+    {
+        queueDepth.decrementAndGet();
+        linesDropped.increment();
+    }
+
+    /**
+     * Records that a line was taken from the queue by the dispatch stage
+     *
+     * @param queueNanos The time the line spent in the queue, in nanoseconds
+     */
+    public void recordDequeued(long queueNanos)
+    {
+        queueDepth.decrementAndGet();
+        totalQueueNanos.add(queueNanos);
+        long max;
+        while (queueNanos > (max = maxQueueNanos.get()) && !maxQueueNanos.compareAndSet(max, queueNanos))
+        {
+            //Another thread raised the maximum in between, so we try again
+        }
+    }
+
+    /**
+     * Records that a line could not be parsed
+     */
+    public void recordParseError()
+    {
+        parseErrors.increment();
+    }
+
+    /**
+     * Records the end-to-end latency of a message, from being sent by the server till being dispatched
+     *
+     * @param sentTimestamp The server's send time, in milliseconds since the epoch
+     * @param nowMillis     The current time, in milliseconds since the epoch
+     */
+    public void recordEndToEnd(long sentTimestamp, long nowMillis)
+    {
+        endToEndMillis.record(nowMillis - sentTimestamp);
+    }
+
+    /**
+     * Records that a line was handed to all listeners
+     *
+     * @param dispatchNanos The time it took to call the listeners, in nanoseconds
+     */
+    public void recordDispatched(long dispatchNanos)
+    {
+        linesDispatched.increment();
+        totalDispatchNanos.add(dispatchNanos);
+    }
+}
@@ -0,0 +1,119 @@
+package jtwirc.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for a single {@link jtwirc.intercept.LineInterceptor}: how many lines it saw, and how many of them it
+ * dropped, rewrote or failed on.<br><br>
+ * <p>
+ * All methods are thread safe.
+ */
+public final class InterceptorMetrics
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private final String name;
+
+    private final LongAdder seen = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder rewritten = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+    public InterceptorMetrics(String name)
+    {
+        this.name = name;
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Fetches the name of the interceptor these metrics belong to
+     *
+     * @return The interceptor's name
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Fetches the number of lines the interceptor has seen
+     *
+     * @return Lines seen
+     */
+    public long getSeen()
+    {
+        return seen.sum();
+    }
+
+    /**
+     * Fetches the number of lines the interceptor dropped
+     *
+     * @return Lines dropped
+     */
+    public long getDropped()
+    {
+        return dropped.sum();
+    }
+
+    /**
+     * Fetches the number of lines the interceptor rewrote or tagged
+     *
+     * @return Lines rewritten
+     */
+    public long getRewritten()
+    {
+        return rewritten.sum();
+    }
+
+    /**
+     * Fetches the number of lines the interceptor threw on
+     *
+     * @return Lines failed
+     */
+    public long getFailed()
+    {
+        return failed.sum();
+    }
+
+    @Override
+    public String toString()
+    {
+        return name + ": seen=" + getSeen() + " dropped=" + getDropped() + " rewritten=" + getRewritten()
+                + " failed=" + getFailed();
+    }
+
+    //***********************************************************
+    // 				RECORDING
+    //***********************************************************
+
+    /**
+     * Records that the interceptor has looked at a line
+     *
+     * @param passed    {@code false} if the interceptor dropped the line
+     * @param rewritten {@code true} if the interceptor rewrote or tagged the line
+     * @param success   {@code false} if the interceptor threw an exception
+     */
+    public void recordLine(boolean passed, boolean rewritten, boolean success)
+    {
+        seen.increment();
+        if (!passed)
+        {
+            dropped.increment();
+        }
+        if (rewritten)
+        {
+            this.rewritten.increment();
+        }
+        if (!success)
+        {
+            failed.increment();
+        }
+    }
+}
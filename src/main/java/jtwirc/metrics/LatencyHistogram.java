@@ -0,0 +1,128 @@
+package jtwirc.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock free histogram of latencies.<br><br>
+ * <p>
+ * Values are counted in power of two buckets: bucket 0 holds 0, bucket 1 holds 1, bucket 2 holds 2-3, bucket 3 holds
+ * 4-7 and so on. That makes recording a value a couple of instructions and one atomic increment, at the cost of
+ * percentiles only being accurate within a factor of two. The histogram doesn't care about the values' unit, so each
+ * user documents which unit it records in.<br><br>
+ * <p>
+ * All methods are thread safe. Readers may see a value's count before its sum, so the numbers are approximate while
+ * values are being recorded.
+ */
+public final class LatencyHistogram
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Records a value. Negative values (which may happen with clock skew) are recorded as 0
+     *
+     * @param value The value to record
+     */
+    public void record(long value)
+    {
+        if (value < 0)
+        {
+            value = 0;
+        }
+        buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(value));
+        count.increment();
+        sum.add(value);
+
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value))
+        {
+            //Another thread raised the maximum in between, so we try again
+        }
+    }
+
+    /**
+     * Fetches the number of recorded values
+     *
+     * @return The number of values
+     */
+    public long getCount()
+    {
+        return count.sum();
+    }
+
+    /**
+     * Fetches the mean of all recorded values
+     *
+     * @return The mean, or {@code 0} if no values have been recorded
+     */
+    public long getMean()
+    {
+        long n = count.sum();
+        return n == 0 ? 0 : sum.sum() / n;
+    }
+
+    /**
+     * Fetches the largest recorded value
+     *
+     * @return The largest value, or {@code 0} if no values have been recorded
+     */
+    public long getMax()
+    {
+        return max.get();
+    }
+
+    /**
+     * Fetches an upper bound of a percentile. The returned value is the upper end of the bucket that the
+     * percentile falls in, but never more than {@link #getMax()}.
+     *
+     * @param percentile The percentile, between {@code 0} and {@code 100}. For example {@code 99} for p99
+     * @return An upper bound of the percentile, or {@code 0} if no values have been recorded
+     */
+    public long getPercentile(double percentile)
+    {
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0)
+        {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            seen += snapshot[i];
+            if (seen >= rank && snapshot[i] != 0)
+            {
+                long upper = i == 0 ? 0 : i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+                return Math.min(upper, getMax());
+            }
+        }
+        return getMax();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "count=" + getCount() + " mean=" + getMean() + " p50=" + getPercentile(50) + " p99=" + getPercentile(99)
+                + " max=" + getMax();
+    }
+}
@@ -0,0 +1,157 @@
+package jtwirc.metrics;
+
+import jtwirc.enums.EVENT_TYPE;
+
+import java.util.EnumSet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timings of a single listener, as measured by the dispatch thread around each of the listener's callbacks.<br><br>
+ * <p>
+ * There is one histogram per callback the listener subscribes to, so a slow module shows up as the callback it is
+ * slow in. Besides the histograms, the metrics count calls that threw and calls that took longer than the
+ * connection's slow call threshold (see {@link jtwirc.TwircBuilder#setSlowListenerThreshold(long)}).<br><br>
+ * <p>
+ * Listeners wrapped in an {@link jtwirc.events.AsyncTwircListener} only spend the time it takes to queue the event on
+ * the dispatch thread. Their real run time is in their executor's {@link ExecutorMetrics}.<br><br>
+ * <p>
+ * All methods are thread safe.
+ */
+public final class ListenerMetrics
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private final String name;
+
+    private final LatencyHistogram[] callMicros = new LatencyHistogram[EVENT_TYPE.values().length];
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder slow = new LongAdder();
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+
+    /**
+     * Creates metrics for a listener
+     *
+     * @param name  The listener's name
+     * @param types The event types the listener subscribes to. Only these get a histogram
+     */
+    public ListenerMetrics(String name, EnumSet<EVENT_TYPE> types)
+    {
+        this.name = name;
+        for (EVENT_TYPE type : types)
+        {
+            callMicros[type.ordinal()] = new LatencyHistogram();
+        }
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Fetches the name of the listener these metrics belong to
+     *
+     * @return The listener's name
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Fetches the histogram of how long one of the listener's callbacks took
+     *
+     * @param type The event type of the callback
+     * @return The call time histogram, in microseconds, or {@code null} if the listener does not subscribe to the type
+     */
+    public LatencyHistogram getCallTime(EVENT_TYPE type)
+    {
+        return callMicros[type.ordinal()];
+    }
+
+    /**
+     * Fetches the number of calls to the listener, across all callbacks
+     *
+     * @return Calls made
+     */
+    public long getCalls()
+    {
+        long out = 0;
+        for (LatencyHistogram histogram : callMicros)
+        {
+            if (histogram != null)
+            {
+                out += histogram.getCount();
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Fetches the number of calls that threw an exception
+     *
+     * @return Calls failed
+     */
+    public long getFailed()
+    {
+        return failed.sum();
+    }
+
+    /**
+     * Fetches the number of calls that took longer than the slow call threshold
+     *
+     * @return Slow calls
+     */
+    public long getSlowCalls()
+    {
+        return slow.sum();
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder out = new StringBuilder(name).append(": calls=").append(getCalls())
+                .append(" failed=").append(getFailed()).append(" slow=").append(getSlowCalls());
+        for (EVENT_TYPE type : EVENT_TYPE.values())
+        {
+            LatencyHistogram histogram = callMicros[type.ordinal()];
+            if (histogram != null && histogram.getCount() > 0)
+            {
+                out.append(' ').append(type).append("Us=[").append(histogram).append(']');
+            }
+        }
+        return out.toString();
+    }
+
+    //***********************************************************
+    // 				RECORDING
+    //***********************************************************
+
+    /**
+     * Records a call to one of the listener's callbacks
+     *
+     * @param type      The event type of the callback
+     * @param callNanos The time the call took, in nanoseconds
+     * @param success   {@code false} if the call threw an exception
+     * @param isSlow    {@code true} if the call took longer than the slow call threshold
+     */
+    public void recordCall(EVENT_TYPE type, long callNanos, boolean success, boolean isSlow)
+    {
+        LatencyHistogram histogram = callMicros[type.ordinal()];
+        if (histogram != null)
+        {
+            histogram.record(callNanos / 1000);
+        }
+        if (!success)
+        {
+            failed.increment();
+        }
+        if (isSlow)
+        {
+            slow.increment();
+        }
+    }
+}
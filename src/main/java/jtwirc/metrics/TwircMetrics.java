@@ -0,0 +1,130 @@
+package jtwirc.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * All metrics of a {@link jtwirc.Twirc} instance in one place, see {@link jtwirc.Twirc#getMetrics()}.<br><br>
+ * <p>
+ * {@link #toString()} gives a multi-line report, suitable for logging periodically. The listener metrics are
+ * fetched anew on each call, so listeners added or removed since are reflected.<br><br>
+ * <p>
+ * Chat command handlers live outside the connection, so they hand their {@link CommandMetrics} over through
+ * {@link #addCommandMetrics(Supplier)}.
+ */
+public final class TwircMetrics
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private final IngestMetrics ingest;
+    private final ControlMetrics control;
+    private final Supplier<List<ListenerMetrics>> listeners;
+    private final List<InterceptorMetrics> interceptors;
+    private final List<Supplier<? extends Collection<CommandMetrics>>> commands = new CopyOnWriteArrayList<>();
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+    public TwircMetrics(IngestMetrics ingest, ControlMetrics control, Supplier<List<ListenerMetrics>> listeners,
+                        List<InterceptorMetrics> interceptors)
+    {
+        this.ingest = ingest;
+        this.control = control;
+        this.listeners = listeners;
+        this.interceptors = interceptors;
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Fetches the metrics of the ingest pipeline
+     *
+     * @return The ingest metrics
+     */
+    public IngestMetrics getIngest()
+    {
+        return ingest;
+    }
+
+    /**
+     * Fetches the metrics of the control plane, such as PONG latency
+     *
+     * @return The control metrics
+     */
+    public ControlMetrics getControl()
+    {
+        return control;
+    }
+
+    /**
+     * Fetches the metrics of every listener currently added, in calling order
+     *
+     * @return The listener metrics
+     */
+    public List<ListenerMetrics> getListeners()
+    {
+        return listeners.get();
+    }
+
+    /**
+     * Fetches the metrics of every line interceptor, in chain order
+     *
+     * @return The interceptor metrics
+     */
+    public List<InterceptorMetrics> getInterceptors()
+    {
+        return interceptors;
+    }
+
+    /**
+     * Adds a source of command metrics, such as a command handling module. The source is asked for its metrics each
+     * time they are fetched, so commands it adds later are reflected
+     *
+     * @param source Fetches the source's command metrics
+     */
+    public void addCommandMetrics(Supplier<? extends Collection<CommandMetrics>> source)
+    {
+        commands.add(source);
+    }
+
+    /**
+     * Fetches the metrics of every command, from every source added through {@link #addCommandMetrics(Supplier)}
+     *
+     * @return The command metrics
+     */
+    public List<CommandMetrics> getCommands()
+    {
+        List<CommandMetrics> out = new ArrayList<>();
+        for (Supplier<? extends Collection<CommandMetrics>> source : commands)
+        {
+            out.addAll(source.get());
+        }
+        return out;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder out = new StringBuilder("ingest: ").append(ingest)
+                .append(System.lineSeparator()).append("control: ").append(control);
+        for (InterceptorMetrics interceptor : interceptors)
+        {
+            out.append(System.lineSeparator()).append("interceptor ").append(interceptor);
+        }
+        for (ListenerMetrics listener : getListeners())
+        {
+            out.append(System.lineSeparator()).append("listener ").append(listener);
+        }
+        for (CommandMetrics command : getCommands())
+        {
+            out.append(System.lineSeparator()).append("command ").append(command);
+        }
+        return out.toString();
+    }
+}
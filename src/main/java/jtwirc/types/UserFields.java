@@ -0,0 +1,296 @@
+package jtwirc.types;
+
+import jtwirc.enums.BADGE;
+import jtwirc.enums.USER_TYPE;
+import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.utils.ParsingUtil;
+import jtwirc.utils.StringPool;
+
+/**
+ * The user related tags of a {@link TwitchMessage}, such as display name, color, badges and mod status.<br><br>
+ * <p>
+ * Many types are built from the same user tags (a PRIVMSG's user, an ACTION, a USERNOTICE and so on). Instead of each
+ * builder scanning the tag again, the tags are parsed once into an object of this class, which is cached by the
+ * message. See {@link TwitchMessage#getUserFields()}.<br><br>
+ * <p>
+ * Objects of this class are immutable, and can be shared freely between threads.
+ */
+public final class UserFields
+{
+    private static final String BADGE_IDENTIFIER = "badges=";
+    private static final String USER_ID_IDENTIFIER = "user-id=";
+    private static final String NAMES_IDENTIFIER = "display-name=";
+    private static final String COLOR_IDENTIFIER = "color=";
+    private static final String SUB_IDENTIFIER = "subscriber=";
+    private static final String MOD_IDENTIFIER = "mod=";
+    private static final String TURBO_IDENTIFIER = "turbo=";
+    private static final String USERTYPE_IDENTIFIER = "user-type=";
+    private static final String EMOTE_SET_IDENTIFIER = "emote-sets=";
+    private static final int[] default_colors = {0xFF0000, 0x0000FF, 0x00FF00, 0xB22222, 0xFF7F50,
+            0x9ACD32, 0xFF4500, 0x2E8B57, 0xDAA520, 0xD2691E,
+            0x5F9EA0, 0x1E90FF, 0xFF69B4, 0x8A2BE2, 0x00FF7F};
+    private static final String[] NO_BADGES = new String[0];
+    private static final int[] NO_BADGE_VERSIONS = new int[BADGE.count()];
+
+    public final String displayName;
+    public final int color;
+    public final int userID;
+    public final int[] emoteSets;
+    public final boolean isStaff;
+    public final boolean isAdmin;
+    public final boolean isGlobalMod;
+    public final boolean isBroadcaster;
+    public final boolean isMod;
+    public final boolean isSub;
+    public final boolean isTurbo;
+    public final USER_TYPE userType;
+    public final String[] badges;
+    /**
+     * One bit per {@link BADGE} the user has. The mod, subscriber and turbo flags also set their badge's bit
+     */
+    public final int badgeMask;
+    /**
+     * Badge versions, indexed by {@link BADGE#ordinal()}. For example, the number of months for {@link BADGE#SUBSCRIBER}
+     * or the tier for {@link BADGE#BITS}. 0 if the user lacks the badge. Must not be modified
+     */
+    public final int[] badgeVersions;
+
+    private UserFields(String prefix, String target, String displayName, int color, int userID, int[] emoteSets,
+                       boolean isMod, boolean isSub, boolean isTurbo, String userType, String[] badges, int badgeMask,
+                       int[] badgeVersions)
+    {
+        //If display-name is empty, it means that the the user name can be read from the IRC message's prefix and
+        //that it has it's first character in upper case and the rest of the characters in lower case
+        String sender = prefix.substring(1); //Strip the initial ':' from the prefix
+        String channelOwner = target.substring(1);    //Strip the # from the channel name
+
+        this.displayName = StringPool.SHARED.intern(displayName.isEmpty()
+                ? Character.toUpperCase(sender.charAt(1)) + sender.substring(2, sender.indexOf("!"))
+                : displayName);
+        this.color = color < 0 ? getDefaultColor(this.displayName) : color;
+        this.userID = userID;
+        this.emoteSets = emoteSets;
+        this.isMod = isMod;
+        this.isSub = isSub;
+        this.isTurbo = isTurbo;
+        this.userType = parseUserType(userType, this.displayName, channelOwner);
+        this.badges = badges;
+
+        int mask = badgeMask;
+        mask |= isMod ? BADGE.MODERATOR.mask : 0;
+        mask |= isSub ? BADGE.SUBSCRIBER.mask : 0;
+        mask |= isTurbo ? BADGE.TURBO.mask : 0;
+        this.badgeMask = mask;
+        this.badgeVersions = badgeVersions;
+
+        isStaff = (badgeMask & BADGE.STAFF.mask) != 0;
+        isAdmin = (badgeMask & BADGE.ADMIN.mask) != 0;
+        isGlobalMod = (badgeMask & BADGE.GLOBAL_MOD.mask) != 0;
+        isBroadcaster = (badgeMask & BADGE.BROADCASTER.mask) != 0;
+    }
+
+    /**
+     * Parses the user related tags of a message. Prefer {@link TwitchMessage#getUserFields()}, which only does
+     * this once per message.
+     *
+     * @param message The message to parse
+     * @return The message's user fields
+     */
+    public static UserFields parse(TwitchMessage message)
+    {
+        String tag = message.getTag();
+
+        String temp = ParsingUtil.parseString(COLOR_IDENTIFIER, tag);
+        int color = temp.isEmpty() ? -1 : Integer.decode(temp);
+
+        String badgeString = ParsingUtil.parseString(BADGE_IDENTIFIER, tag);
+        int[] versions = badgeString.isEmpty() ? NO_BADGE_VERSIONS : new int[BADGE.count()];
+        int mask = parseBadgeMask(badgeString, versions);
+
+        temp = ParsingUtil.parseString(USER_ID_IDENTIFIER, tag);
+        int userID = temp.isEmpty() ? -1 : Integer.parseInt(temp);
+
+        return new UserFields(message.getPrefix(), message.getTarget(),
+                ParsingUtil.parseString(NAMES_IDENTIFIER, tag),
+                color,
+                userID,
+                parseEmoteSets(ParsingUtil.parseString(EMOTE_SET_IDENTIFIER, tag)),
+                ParsingUtil.parseString(MOD_IDENTIFIER, tag).equals("1"),
+                ParsingUtil.parseString(SUB_IDENTIFIER, tag).equals("1"),
+                ParsingUtil.parseString(TURBO_IDENTIFIER, tag).equals("1"),
+                ParsingUtil.parseString(USERTYPE_IDENTIFIER, tag),
+                parseBadges(badgeString),
+                mask,
+                versions);
+    }
+
+    /**
+     * Creates the user fields of a message whose tags have already been read by its builder, such as
+     * {@link jtwirc.types.twitchMessage.ByteTwitchMessage}. Nothing is parsed again, apart from deriving the display
+     * name from the prefix when the tag lacks one.
+     *
+     * @param message       The message, for its prefix and target
+     * @param displayName   The {@code display-name} tag. Empty if missing
+     * @param color         The {@code color} tag, as {@code 0xRRGGBB}. Negative if missing
+     * @param userID        The {@code user-id} tag. {@code -1} if missing
+     * @param emoteSets     The {@code emote-sets} tag
+     * @param isMod         The {@code mod} tag
+     * @param isSub         The {@code subscriber} tag
+     * @param isTurbo       The {@code turbo} tag
+     * @param userType      The {@code user-type} tag. Empty if missing
+     * @param badges        The {@code badges} tag, split on commas
+     * @param badgeMask     One bit per {@link BADGE} in the {@code badges} tag
+     * @param badgeVersions The versions of the badges, indexed by {@link BADGE#ordinal()}. Must not be modified
+     * @return The message's user fields
+     */
+    public static UserFields of(TwitchMessage message, String displayName, int color, int userID, int[] emoteSets,
+                                boolean isMod, boolean isSub, boolean isTurbo, String userType, String[] badges,
+                                int badgeMask, int[] badgeVersions)
+    {
+        return new UserFields(message.getPrefix(), message.getTarget(), displayName, color, userID, emoteSets,
+                isMod, isSub, isTurbo, userType, badges, badgeMask, badgeVersions);
+    }
+
+    /**
+     * Fetches the badge versions of a user without badges
+     *
+     * @return An array of zeroes, which must not be modified
+     */
+    public static int[] noBadgeVersions()
+    {
+        return NO_BADGE_VERSIONS;
+    }
+
+    /**
+     * Fetches the badges of a user without badges
+     *
+     * @return An empty array
+     */
+    public static String[] noBadges()
+    {
+        return NO_BADGES;
+    }
+
+    private static String[] parseBadges(String badgeString)
+    {
+        if (badgeString.isEmpty())
+        {
+            return NO_BADGES;
+        }
+
+        //Badges are taken from the string pool, so users with the same badges share the same instances
+        String[] out = badgeString.split(",");
+        for (int i = 0; i < out.length; i++)
+        {
+            out[i] = StringPool.SHARED.intern(out[i]);
+        }
+        return out;
+    }
+
+    private static int parseBadgeMask(String badgeString, int[] versions)
+    {
+        /* Badges are formated like this:
+         *
+         * badges=broadcaster/1,subscriber/12,bits/1000
+         *
+         * Each badge we know of sets its bit in the mask, and its version is stored at the badge's ordinal.
+         */
+        int mask = 0;
+        int begin = 0;
+        while (begin < badgeString.length())
+        {
+            int end = badgeString.indexOf(',', begin);
+            if (end == -1)
+            {
+                end = badgeString.length();
+            }
+            int slash = badgeString.indexOf('/', begin);
+            if (slash == -1 || slash > end)
+            {
+                slash = end;
+            }
+
+            BADGE badge = BADGE.fromKey(badgeString, begin, slash);
+            if (badge != null)
+            {
+                mask |= badge.mask;
+                int version = 0;
+                for (int i = slash + 1; i < end; i++)
+                {
+                    char c = badgeString.charAt(i);
+                    if (c < '0' || c > '9')
+                    {
+                        version = 0;
+                        break;
+                    }
+                    version = version * 10 + (c - '0');
+                }
+                versions[badge.ordinal()] = version;
+            }
+            begin = end + 1;
+        }
+        return mask;
+    }
+
+    private static int[] parseEmoteSets(String emoteSet)
+    {
+        if (emoteSet.isEmpty())
+        {
+            return new int[0];
+        }
+
+        String[] sets = emoteSet.split(",");
+        int[] out = new int[sets.length];
+
+        for (int i = 0; i < sets.length; i++)
+        {
+            out[i] = Integer.parseInt(sets[i]);
+        }
+
+        return out;
+    }
+
+    private static USER_TYPE parseUserType(String userType, String sender, String channelOwner)
+    {
+        if (userType.isEmpty())
+        {
+            return USER_TYPE.DEFAULT;
+        }
+        else if (sender.equalsIgnoreCase(channelOwner))
+        {
+            return USER_TYPE.OWNER;
+        }
+        else if (userType.equals("mod"))
+        {
+            return USER_TYPE.MOD;
+        }
+        else if (userType.equals("global_mod"))
+        {
+            return USER_TYPE.GLOBAL_MOD;
+        }
+        else if (userType.equals("admin"))
+        {
+            return USER_TYPE.ADMIN;
+        }
+        else if (userType.equals("staff"))
+        {
+            return USER_TYPE.STAFF;
+        }
+        else
+        {
+            return USER_TYPE.DEFAULT;    //Safety valve
+        }
+    }
+
+    private static int getDefaultColor(String displayName)
+    {
+        //If display name is empty, just semi-random a color
+        if (displayName.isEmpty())
+        {
+            return default_colors[((int) (System.currentTimeMillis()) % default_colors.length)];
+        }
+
+        int n = displayName.charAt(0) + displayName.charAt(displayName.length() - 1);
+        return default_colors[n % default_colors.length];
+    }
+}
@@ -2,6 +2,7 @@ package jtwirc.types.action;
 
 import jtwirc.enums.USER_TYPE;
 import jtwirc.types.emote.Emote;
+import jtwirc.types.twitchMessage.TwitchMessage;
 
 import java.util.List;
 
@@ -22,8 +23,7 @@ class ActionImpl implements ActionEvent
     private final USER_TYPE userType;
     private final String[] badges;
     private final String loginName;
-    private final List<Emote> emotes;
-    private final boolean hasEmotes;
+    private final TwitchMessage message;
 
     ActionImpl(DefaultActionBuilder builder)
     {
@@ -41,8 +41,7 @@ class ActionImpl implements ActionEvent
         this.userType = builder.userType;
         this.badges = builder.badges;
         this.loginName = builder.loginName;
-        this.emotes = builder.emotes;
-        this.hasEmotes = builder.hasEmotes;
+        this.message = builder.message;
     }
 
     @Override
@@ -132,12 +131,12 @@ class ActionImpl implements ActionEvent
     @Override
     public boolean hasEmotes()
     {
-        return hasEmotes;
+        return message.hasEmotes();
     }
 
     @Override
     public List<Emote> getEmotes()
     {
-        return emotes;
+        return message.getEmotes();
     }
 }
@@ -1,12 +1,9 @@
 package jtwirc.types.action;
 
 import jtwirc.types.AbstractTwitchUserFields;
-import jtwirc.types.emote.Emote;
 import jtwirc.types.twitchMessage.TwitchMessage;
 import jtwirc.utils.ParsingUtil;
 
-import java.util.List;
-
 @SuppressWarnings("FieldCanBeLocal")
 public class DefaultActionBuilder extends AbstractTwitchUserFields implements ActionBuilder
 {
@@ -18,8 +15,7 @@ public class DefaultActionBuilder extends AbstractTwitchUserFields implements Ac
 
 
     String loginName;
-    List<Emote> emotes;
-    boolean hasEmotes;
+    TwitchMessage message;
     private int months;
     private String subMessage;
     private String messageID;
@@ -32,8 +28,7 @@ public class DefaultActionBuilder extends AbstractTwitchUserFields implements Ac
         parseUserProperties(message);
 
         String tag = message.getTag(), temp;
-        this.hasEmotes = message.hasEmotes();
-        this.emotes = message.getEmotes();
+        this.message = message;
         this.subMessage = message.getContent();
         this.loginName = ParsingUtil.parseString(LOGIN_IDENTIFIER, tag);
         this.messageID = ParsingUtil.parseString(MESSAGE_ID_IDENTIFIER, tag);
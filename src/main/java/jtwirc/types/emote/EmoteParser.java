@@ -1,36 +1,96 @@
 package jtwirc.types.emote;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
+import java.util.List;
 
 public class EmoteParser
 {
     private static final String EMOTES_IDENTIFIER = "emotes=";
+    private static final int[] NO_EMOTES = new int[0];
 
+    /**
+     * Parses the emotes segment of a tag into an {@link Emote} list. See {@link #parseEmoteData(String)} and
+     * {@link #toEmotes(int[], String)}
+     *
+     * @param content The message's content
+     * @param tag     The message's tag
+     * @return A list of emotes (might be empty)
+     */
     public static LinkedList<Emote> parseEmotes(String content, String tag)
+    {
+        return new LinkedList<>(toEmotes(parseEmoteData(tag), content));
+    }
+
+    /**
+     * Parses the emotes segment of a tag into a compact array. Each emote occurrence is stored as a
+     * (emote ID, begin index, end index) triple, in the order they appear in the tag. Begin is inclusive
+     * and end is exclusive.<br><br>
+     * <p>
+     * The numbers are read straight from the tag's characters, so no temporary Strings are created. Emotes whose
+     * ID or indices are not numbers, such as Twitch's {@code emotesv2_...} IDs, are skipped.
+     *
+     * @param tag The message's tag
+     * @return The emote triples. Empty if the message contained no emotes
+     */
+    public static int[] parseEmoteData(String tag)
     {
         /* Emotes come in sets formated like this:
-		 * 
+		 *
 		 * emotes=15614:0-6/4685:8-13,15-21		(Message = tmrToad tmrHat tmrHat)
-		 * 
+		 *
 		 * The first number indicates the emotes ID. The emote ID is follower by a :
-		 * The numbers separated by a - indicates the indices in the message that makes up the emote. 
+		 * The numbers separated by a - indicates the indices in the message that makes up the emote.
 		 *     If an emote appears several times in a message, the different index ranges are separated by a ,
-		 *     
+		 *
 		 * So we find the begining of the emotes section and the end of the section.
 		 * Then, check that the message actually contains an emotes section and that
 		 * the emote section actually contains data.
 		 */
-        LinkedList<Emote> emotes = new LinkedList<>();
-
         int begin = tag.indexOf(EMOTES_IDENTIFIER);
+        if (begin == -1)
+        {
+            return NO_EMOTES;
+        }
+        begin += EMOTES_IDENTIFIER.length();
         int end = tag.indexOf(';', begin);
-        if (begin == -1 || begin + EMOTES_IDENTIFIER.length() == end)
+        if (end == -1)
+        {
+            end = tag.length();
+        }
+        return parseEmoteData(tag, begin, end);
+    }
+
+    /**
+     * Parses the value of an emotes tag into a compact array. See {@link #parseEmoteData(String)}.<br><br>
+     * <p>
+     * This method works on any char sequence, so the value can be read straight from the bytes of a chat line
+     * (see {@link jtwirc.utils.AsciiSequence}).
+     *
+     * @param seq   The sequence containing the emotes tag's value
+     * @param begin Begin index of the value, inclusive
+     * @param end   End index of the value, exclusive
+     * @return The emote triples. Empty if the value was empty
+     */
+    public static int[] parseEmoteData(CharSequence seq, int begin, int end)
+    {
+        if (begin >= end)
+        {
+            return NO_EMOTES;
+        }
+
+        //Every occurrence has exactly one '-', so counting them tells us how large the array has to be
+        int occurrences = 0;
+        for (int i = begin; i < end; i++)
         {
-            return emotes;
+            if (seq.charAt(i) == '-')
+            {
+                occurrences++;
+            }
         }
-		
-		/* This segment is a head ache, but here is a basic idea of what it is doing:
-		 * Iterate through the emotes-section. 
+
+		/* Iterate through the emotes-section.
 		 *    The first part will be the emote ID. it is terminated by a :
 		 *    The second part is the emote's start index. It is terminated by a -
 		 *    The third part is the emote's end index. It is terminated EITHER by a / or a , or by the segment ending
@@ -38,57 +98,81 @@ public class EmoteParser
 		 *       If terminated by a / there is another emote in the message. The next part is a new emote ID
 		 *       If terminated by the segment ending we simply finish the last begin-end pair and we are done
 		 */
-        String emotesString = tag.substring(begin + EMOTES_IDENTIFIER.length(), end);
-
-        EmoteImpl emote = new EmoteImpl();
-        StringBuilder str = new StringBuilder();
-        String emoteID = "", beginIndex = "";
-        for (char c : emotesString.toCharArray())
+        int[] out = new int[occurrences * 3];
+        int pos = 0, emoteID = 0, beginIndex = 0, number = 0;
+        boolean skip = false;
+        for (int i = begin; i < end; i++)
         {
+            char c = seq.charAt(i);
             switch (c)
             {
                 case ':':
-                    emoteID = str.toString();
-                    str.setLength(0);
+                    emoteID = number;
+                    number = 0;
                     break;
                 case '-':
-                    beginIndex = str.toString();
-                    str.setLength(0);
+                    beginIndex = number;
+                    number = 0;
                     break;
                 case ',':
-                    addIndices(emote, beginIndex, str.toString());
-                    str.setLength(0);
-                    break;
                 case '/':
-                    finalizeEmote(content, emotes, emote, emoteID, beginIndex, str.toString());
-                    emote = new EmoteImpl();
-                    str.setLength(0);
+                    if (!skip)
+                    {
+                        pos = put(out, pos, emoteID, beginIndex, number);
+                    }
+                    number = 0;
+                    //A new emote ID follows a /, which decides anew whether it is skipped
+                    skip &= c == ',';
                     break;
                 default:
-                    str.append(c);
+                    if (c < '0' || c > '9')
+                    {
+                        skip = true;
+                    }
+                    number = number * 10 + (c - '0');
             }
         }
         //The emotes segment ended, so we finish the current emote's begin-end pair, then we're done
-        finalizeEmote(content, emotes, emote, emoteID, beginIndex, str.toString());
+        if (!skip)
+        {
+            pos = put(out, pos, emoteID, beginIndex, number);
+        }
 
-        return emotes;
+        //Skipped emotes leave the end of the array unused
+        return pos == out.length ? out : Arrays.copyOf(out, pos);
     }
 
-    private static void finalizeEmote(String content, LinkedList<Emote> emotes, EmoteImpl emote, String emoteID, String beginIndex, String endIndex)
+    /**
+     * Creates {@link Emote} objects from emote triples, as created by {@link #parseEmoteData(String)}.
+     * Consecutive triples with the same emote ID are merged into one emote.
+     *
+     * @param data    The emote triples
+     * @param content The message's content, which the emote patterns are taken from
+     * @return A list of emotes (might be empty)
+     */
+    public static List<Emote> toEmotes(int[] data, String content)
     {
-        int begin = Integer.parseInt(beginIndex);
-        int end = Integer.parseInt(endIndex) + 1;    //The end index we receive from Twitch is inclusive, but Java is almost always exclusive
-        emote.addIndices(begin, end);
+        List<Emote> emotes = new ArrayList<>(data.length / 3);
 
-        emote.setEmoteID(Integer.parseInt(emoteID));
-        emote.setPattern(content.substring(begin, end));
-        emotes.add(emote);
+        EmoteImpl emote = null;
+        for (int i = 0; i < data.length; i += 3)
+        {
+            if (emote == null || emote.getEmoteID() != data[i])
+            {
+                emote = new EmoteImpl().setEmoteID(data[i]).setPattern(content.substring(data[i + 1], data[i + 2]));
+                emotes.add(emote);
+            }
+            emote.addIndices(data[i + 1], data[i + 2]);
+        }
+
+        return emotes;
     }
 
-    private static void addIndices(EmoteImpl emote, String beginIndex, String endIndex)
+    private static int put(int[] out, int pos, int emoteID, int begin, int end)
     {
-        int begin = Integer.parseInt(beginIndex);
-        int end = Integer.parseInt(endIndex) + 1;
-        emote.addIndices(begin, end);
+        out[pos] = emoteID;
+        out[pos + 1] = begin;
+        out[pos + 2] = end + 1;    //The end index we receive from Twitch is inclusive, but Java is almost always exclusive
+        return pos + 3;
     }
 }
@@ -0,0 +1,593 @@
+package jtwirc.types.twitchMessage;
+
+import jtwirc.enums.BADGE;
+import jtwirc.types.UserFields;
+import jtwirc.types.emote.Emote;
+import jtwirc.types.emote.EmoteParser;
+import jtwirc.utils.AsciiSequence;
+import jtwirc.utils.StringPool;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link TwitchMessage} parsed straight from the bytes of a chat line. See {@link ByteTwitchMessageBuilder}.<br><br>
+ * <p>
+ * Besides the {@link TwitchMessage} methods, this class exposes a few of the most common tags as primitives, which
+ * are read during parsing without creating any Strings. The same pass reads the rest of the user tags, so the
+ * message's {@link UserFields} are built from what was already read rather than by parsing the tag again.
+ */
+public final class ByteTwitchMessage implements TwitchMessage
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private static final byte[] BADGES_KEY = ascii("badges");
+    private static final byte[] BITS_KEY = ascii("bits");
+    private static final byte[] COLOR_KEY = ascii("color");
+    private static final byte[] DISPLAY_NAME_KEY = ascii("display-name");
+    private static final byte[] EMOTE_SETS_KEY = ascii("emote-sets");
+    private static final byte[] EMOTES_KEY = ascii("emotes");
+    private static final byte[] ID_KEY = ascii("id");
+    private static final byte[] MOD_KEY = ascii("mod");
+    private static final byte[] ROOM_ID_KEY = ascii("room-id");
+    private static final byte[] SENT_TS_KEY = ascii("tmi-sent-ts");
+    private static final byte[] SUBSCRIBER_KEY = ascii("subscriber");
+    private static final byte[] TURBO_KEY = ascii("turbo");
+    private static final byte[] USER_ID_KEY = ascii("user-id");
+    private static final byte[] USER_TYPE_KEY = ascii("user-type");
+    private static final int[] NO_EMOTE_SETS = new int[0];
+
+    private final byte[] line;
+    private final AsciiSequence ascii;
+
+    private int tagEnd;
+    private int contentBegin, contentEnd;
+    private int emotesBegin, emotesEnd;
+    private int messageIDBegin, messageIDEnd;
+    private int displayNameBegin, displayNameEnd;
+    private int emoteSetsBegin, emoteSetsEnd;
+    private int userTypeBegin, userTypeEnd;
+    private int badgesBegin, badgesEnd;
+    private String prefix = "", command = "", target = "";
+
+    private boolean isMod, isSub, isTurbo;
+    private long userID = -1, roomID = -1, sentTimestamp = -1;
+    private int bits, totalBits;
+    private int color = -1;
+    private int badgeMask;
+    private int[] badgeVersions = UserFields.noBadgeVersions();
+
+    private volatile String raw, tag, content, messageID;
+    private volatile List<Emote> emotes;
+    private volatile UserFields userFields;
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+    ByteTwitchMessage(byte[] line, String raw)
+    {
+        this.line = line;
+        this.ascii = new AsciiSequence(line, 0, line.length);
+        this.raw = raw;
+
+        if (line.length > 0 && line[0] == '@')
+        {
+            parseWithTag();
+        }
+        else
+        {
+            parseWithoutTag();
+        }
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+    @Override
+    public String getRaw()
+    {
+        String out = raw;
+        if (out == null)
+        {
+            out = new String(line, StandardCharsets.UTF_8);
+            raw = out;
+        }
+        return out;
+    }
+
+    @Override
+    public String getTag()
+    {
+        String out = tag;
+        if (out == null)
+        {
+            out = tagEnd == 0 ? "" : new String(line, 0, tagEnd, StandardCharsets.UTF_8);
+            tag = out;
+        }
+        return out;
+    }
+
+    @Override
+    public String getPrefix()
+    {
+        return prefix;
+    }
+
+    @Override
+    public String getCommand()
+    {
+        return command;
+    }
+
+    @Override
+    public String getTarget()
+    {
+        return target;
+    }
+
+    @Override
+    public String getContent()
+    {
+        String out = content;
+        if (out == null)
+        {
+            out = contentBegin >= contentEnd ? "" : new String(line, contentBegin, contentEnd - contentBegin, StandardCharsets.UTF_8);
+            content = out;
+        }
+        return out;
+    }
+
+    @Override
+    public boolean hasEmotes()
+    {
+        return emotesEnd > emotesBegin;
+    }
+
+    @Override
+    public List<Emote> getEmotes()
+    {
+        List<Emote> out = emotes;
+        if (out == null)
+        {
+            int[] data = EmoteParser.parseEmoteData(ascii, emotesBegin, emotesEnd);
+            out = Collections.unmodifiableList(EmoteParser.toEmotes(data, getContent()));
+            emotes = out;
+        }
+        return out;
+    }
+
+    @Override
+    public UserFields getUserFields()
+    {
+        UserFields out = userFields;
+        if (out == null)
+        {
+            out = UserFields.of(this, string(displayNameBegin, displayNameEnd), color, (int) userID,
+                    parseEmoteSets(emoteSetsBegin, emoteSetsEnd), isMod, isSub, isTurbo,
+                    string(userTypeBegin, userTypeEnd), badgeStrings(badgesBegin, badgesEnd), badgeMask, badgeVersions);
+            userFields = out;
+        }
+        return out;
+    }
+
+    @Override
+    public boolean containBits()
+    {
+        return bits != 0;
+    }
+
+    @Override
+    public int getTotalBits()
+    {
+        return totalBits;
+    }
+
+    @Override
+    public int getBitsThisCheer()
+    {
+        return bits;
+    }
+
+    /**
+     * Tells us if the {@code mod} tag was set
+     *
+     * @return {@code true} if the sender is a mod
+     */
+    public boolean isMod()
+    {
+        return isMod;
+    }
+
+    /**
+     * Tells us if the {@code subscriber} tag was set
+     *
+     * @return {@code true} if the sender is a subscriber
+     */
+    public boolean isSub()
+    {
+        return isSub;
+    }
+
+    /**
+     * Tells us if the {@code turbo} tag was set
+     *
+     * @return {@code true} if the sender has turbo
+     */
+    public boolean isTurbo()
+    {
+        return isTurbo;
+    }
+
+    /**
+     * Retrieves the {@code user-id} tag
+     *
+     * @return The sender's user ID, or {@code -1} if the tag was not present
+     */
+    public long getUserID()
+    {
+        return userID;
+    }
+
+    @Override
+    public String getMessageID()
+    {
+        String out = messageID;
+        if (out == null)
+        {
+            out = new String(line, messageIDBegin, messageIDEnd - messageIDBegin, StandardCharsets.UTF_8);
+            messageID = out;
+        }
+        return out;
+    }
+
+    @Override
+    public long getSentTimestamp()
+    {
+        return sentTimestamp;
+    }
+
+    @Override
+    public long getRoomID()
+    {
+        return roomID;
+    }
+
+    @Override
+    public String toString()
+    {
+        return getRaw();
+    }
+
+    //***********************************************************
+    // 				PRIVATE
+    //***********************************************************
+    private void parseWithTag()
+    {
+        //The line is split into at most 5 space separated parts: tag, prefix, command, target and content
+        tagEnd = indexOf(' ', 0, line.length);
+        int prefixEnd = indexOf(' ', tagEnd + 1, line.length);
+        int commandEnd = indexOf(' ', prefixEnd + 1, line.length);
+        int targetEnd = indexOf(' ', commandEnd + 1, line.length);
+
+        prefix = tagEnd < line.length ? string(tagEnd + 1, prefixEnd) : "";
+        command = prefixEnd < line.length ? string(prefixEnd + 1, commandEnd) : "";
+        target = commandEnd < line.length ? string(commandEnd + 1, targetEnd) : "";
+
+        contentBegin = contentEnd = line.length;
+        if (targetEnd < line.length)
+        {
+            contentBegin = targetEnd + 1;
+            if (contentBegin < line.length && line[contentBegin] == ':')
+            {
+                contentBegin++; //Strip the potential ':' at beginning of content
+            }
+        }
+
+        parseTag();
+    }
+
+    private void parseTag()
+    {
+        //Tags look like this: @key=value;key=value;key=value
+        int begin = 1;
+        while (begin < tagEnd)
+        {
+            int end = indexOf(';', begin, tagEnd);
+            int equals = indexOf('=', begin, end);
+            int valueBegin = Math.min(equals + 1, end);
+
+            if (keyEquals(begin, equals, MOD_KEY))
+            {
+                isMod = isOne(valueBegin, end);
+            }
+            else if (keyEquals(begin, equals, SUBSCRIBER_KEY))
+            {
+                isSub = isOne(valueBegin, end);
+            }
+            else if (keyEquals(begin, equals, TURBO_KEY))
+            {
+                isTurbo = isOne(valueBegin, end);
+            }
+            else if (keyEquals(begin, equals, USER_ID_KEY))
+            {
+                userID = parseLong(valueBegin, end, -1);
+            }
+            else if (keyEquals(begin, equals, BITS_KEY))
+            {
+                bits = (int) parseLong(valueBegin, end, 0);
+            }
+            else if (keyEquals(begin, equals, EMOTES_KEY))
+            {
+                emotesBegin = valueBegin;
+                emotesEnd = end;
+            }
+            else if (keyEquals(begin, equals, BADGES_KEY))
+            {
+                badgesBegin = valueBegin;
+                badgesEnd = end;
+                parseBadges(valueBegin, end);
+            }
+            else if (keyEquals(begin, equals, DISPLAY_NAME_KEY))
+            {
+                displayNameBegin = valueBegin;
+                displayNameEnd = end;
+            }
+            else if (keyEquals(begin, equals, COLOR_KEY))
+            {
+                color = parseColor(valueBegin, end);
+            }
+            else if (keyEquals(begin, equals, EMOTE_SETS_KEY))
+            {
+                emoteSetsBegin = valueBegin;
+                emoteSetsEnd = end;
+            }
+            else if (keyEquals(begin, equals, USER_TYPE_KEY))
+            {
+                userTypeBegin = valueBegin;
+                userTypeEnd = end;
+            }
+            else if (keyEquals(begin, equals, ID_KEY))
+            {
+                messageIDBegin = valueBegin;
+                messageIDEnd = end;
+            }
+            else if (keyEquals(begin, equals, ROOM_ID_KEY))
+            {
+                roomID = parseLong(valueBegin, end, -1);
+            }
+            else if (keyEquals(begin, equals, SENT_TS_KEY))
+            {
+                sentTimestamp = parseLong(valueBegin, end, -1);
+            }
+
+            begin = end + 1;
+        }
+    }
+
+    private void parseBadges(int begin, int end)
+    {
+        //Badges look like this: badges=subscriber/12,bits/1000. Each badge we know of sets its bit in the mask, and its
+        //version is stored at the badge's ordinal. The bits badge's version is the user's total bits
+        if (begin == end)
+        {
+            return;
+        }
+        int[] versions = new int[BADGE.count()];
+        int mask = 0;
+        while (begin < end)
+        {
+            int badgeEnd = indexOf(',', begin, end);
+            int slash = indexOf('/', begin, badgeEnd);
+            BADGE badge = BADGE.fromKey(ascii, begin, slash);
+            if (badge != null)
+            {
+                mask |= badge.mask;
+                versions[badge.ordinal()] = (int) parseLong(slash + 1, badgeEnd, 0);
+            }
+            begin = badgeEnd + 1;
+        }
+        badgeMask = mask;
+        badgeVersions = versions;
+        totalBits = versions[BADGE.BITS.ordinal()];
+    }
+
+    private String[] badgeStrings(int begin, int end)
+    {
+        if (begin == end)
+        {
+            return UserFields.noBadges();
+        }
+        int count = 1;
+        for (int i = begin; i < end; i++)
+        {
+            if (line[i] == ',')
+            {
+                count++;
+            }
+        }
+        //Badges are taken from the string pool, so users with the same badges share the same instances
+        String[] out = new String[count];
+        for (int i = 0; i < count; i++)
+        {
+            int badgeEnd = indexOf(',', begin, end);
+            out[i] = string(begin, badgeEnd);
+            begin = badgeEnd + 1;
+        }
+        return out;
+    }
+
+    private int[] parseEmoteSets(int begin, int end)
+    {
+        if (begin == end)
+        {
+            return NO_EMOTE_SETS;
+        }
+        int count = 1;
+        for (int i = begin; i < end; i++)
+        {
+            if (line[i] == ',')
+            {
+                count++;
+            }
+        }
+        int[] out = new int[count];
+        for (int i = 0; i < count; i++)
+        {
+            int setEnd = indexOf(',', begin, end);
+            out[i] = (int) parseLong(begin, setEnd, 0);
+            begin = setEnd + 1;
+        }
+        return out;
+    }
+
+    private int parseColor(int begin, int end)
+    {
+        //Colors look like this: color=#1E90FF. Anything else counts as no color
+        if (end - begin != 7 || line[begin] != '#')
+        {
+            return -1;
+        }
+        int out = 0;
+        for (int i = begin + 1; i < end; i++)
+        {
+            int digit = Character.digit(line[i], 16);
+            if (digit < 0)
+            {
+                return -1;
+            }
+            out = (out << 4) | digit;
+        }
+        return out;
+    }
+
+    private void parseWithoutTag()
+    {
+        /* Lines without tags follow the same rules as in DefaultTwitchMessageBuilder:
+         * The prefix is everything up till the first space, the command is everything up till the second space,
+         * the target is everything up till a ':', '+' or '-' and the content is everything else.
+         */
+        tagEnd = 0;
+        int prefixEnd = indexOf(' ', 0, line.length);
+        int commandEnd = indexOf(' ', prefixEnd + 1, line.length);
+
+        int stop = commandEnd + 1;
+        while (stop < line.length && line[stop] != ':' && line[stop] != '+' && line[stop] != '-')
+        {
+            stop++;
+        }
+
+        prefix = string(0, prefixEnd);
+        command = prefixEnd < line.length ? string(prefixEnd + 1, commandEnd) : "";
+        target = commandEnd < line.length ? trimmedString(commandEnd, Math.min(stop, line.length)) : "";
+
+        //If the stop character is the last one (or there is none) there is no content
+        if (stop >= line.length - 1)
+        {
+            contentBegin = contentEnd = line.length;
+            return;
+        }
+
+        int end = indexOf('\r', stop, line.length);
+        int begin = stop;
+        while (begin < end && (line[begin] & 0xFF) <= ' ')
+        {
+            begin++;
+        }
+        while (end > begin && (line[end - 1] & 0xFF) <= ' ')
+        {
+            end--;
+        }
+        if (begin < end && line[begin] == ':')
+        {
+            begin++; //Strip the potential ':' at beginning of content
+        }
+        contentBegin = begin;
+        contentEnd = end;
+    }
+
+    private int indexOf(char c, int from, int to)
+    {
+        for (int i = from; i < to; i++)
+        {
+            if (line[i] == c)
+            {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    private boolean keyEquals(int begin, int end, byte[] key)
+    {
+        if (end - begin != key.length)
+        {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++)
+        {
+            if (line[begin + i] != key[i])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isOne(int begin, int end)
+    {
+        return end - begin == 1 && line[begin] == '1';
+    }
+
+    private long parseLong(int begin, int end, long missing)
+    {
+        if (begin == end)
+        {
+            return missing;
+        }
+        long out = 0;
+        for (int i = begin; i < end; i++)
+        {
+            int digit = line[i] - '0';
+            if (digit < 0 || digit > 9)
+            {
+                return missing;
+            }
+            out = out * 10 + digit;
+        }
+        return out;
+    }
+
+    private String trimmedString(int begin, int end)
+    {
+        while (begin < end && (line[begin] & 0xFF) <= ' ')
+        {
+            begin++;
+        }
+        while (end > begin && (line[end - 1] & 0xFF) <= ' ')
+        {
+            end--;
+        }
+        return string(begin, end);
+    }
+
+    private String string(int begin, int end)
+    {
+        //Prefix, command and target are practically always ASCII, and repeat a lot between lines, so we take
+        //them from the string pool. Should they contain anything else, we decode them properly
+        for (int i = begin; i < end; i++)
+        {
+            if (line[i] < 0)
+            {
+                return new String(line, begin, end - begin, StandardCharsets.UTF_8);
+            }
+        }
+        return StringPool.SHARED.intern(ascii, begin, end);
+    }
+
+    private static byte[] ascii(String s)
+    {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+}
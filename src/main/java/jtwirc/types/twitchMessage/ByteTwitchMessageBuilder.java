@@ -0,0 +1,57 @@
+package jtwirc.types.twitchMessage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A {@link TwitchMessageBuilder} which parses chat lines as bytes, rather than as Strings.<br><br>
+ * <p>
+ * Almost all of a Twitch chat line's structure is ASCII. This builder finds the tag, prefix, command, target and
+ * content by scanning the line's bytes, and reads flags and numbers such as {@code mod=1}, {@code subscriber=1},
+ * {@code user-id} and {@code bits} without creating any Strings. The tag, the content and the raw line are only
+ * decoded from UTF-8 if somebody asks for them. The messages it builds are {@link ByteTwitchMessage}s.<br><br>
+ * <p>
+ * Unlike {@link DefaultTwitchMessageBuilder}, this builder holds no state, so one instance can be used from several
+ * threads at once. To make {@link jtwirc.Twirc} use it, pass it to
+ * {@link jtwirc.TwircBuilder#setTwitchMessageBuilder(TwitchMessageBuilder)}.
+ */
+public class ByteTwitchMessageBuilder implements TwitchMessageBuilder
+{
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+    @Override
+    public TwitchMessage build(String chatLine)
+    {
+        return new ByteTwitchMessage(chatLine.getBytes(StandardCharsets.UTF_8), chatLine);
+    }
+
+    /**
+     * Constructs a new {@link TwitchMessage} from the bytes of a chat line. The bytes are copied, so the caller may
+     * reuse the array afterwards.
+     *
+     * @param bytes  The array containing the chat line, UTF-8 encoded and without the trailing line break
+     * @param offset The index of the line's first byte
+     * @param length The number of bytes in the line
+     * @return A {@link TwitchMessage}
+     */
+    public TwitchMessage build(byte[] bytes, int offset, int length)
+    {
+        return new ByteTwitchMessage(Arrays.copyOfRange(bytes, offset, offset + length), null);
+    }
+
+    /**
+     * Constructs a new {@link TwitchMessage} from the remaining bytes of a buffer. The bytes are copied, and the
+     * buffer's position is moved to its limit.
+     *
+     * @param buffer A buffer containing one chat line, UTF-8 encoded and without the trailing line break
+     * @return A {@link TwitchMessage}
+     */
+    public TwitchMessage build(ByteBuffer buffer)
+    {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new ByteTwitchMessage(bytes, null);
+    }
+}
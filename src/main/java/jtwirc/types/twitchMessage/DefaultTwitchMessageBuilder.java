@@ -1,26 +1,42 @@
 package jtwirc.types.twitchMessage;
 
-import jtwirc.types.emote.Emote;
 import jtwirc.types.emote.EmoteParser;
-
-import java.util.LinkedList;
-
+import jtwirc.utils.StringPool;
+
+/**
+ * The default {@link TwitchMessageBuilder}.<br><br>
+ * <p>
+ * Every call to {@link #build(String)} parses into a fresh builder instance, so one instance may be shared by
+ * several parsing threads.
+ */
 public class DefaultTwitchMessageBuilder implements TwitchMessageBuilder
 {
     //***********************************************************
     // 				VARIABLES
     //***********************************************************
+    private static final int[] NO_EMOTES = new int[0];
+
     String line, tag, prefix, command, target, content;
     boolean containsBits;
     int totalBits = 0, bits = 0;
 
-    LinkedList<Emote> emotes = new LinkedList<>();
+    int[] emoteData = NO_EMOTES;
+    String messageID = "";
+    long sentTimestamp = -1, roomID = -1;
 
     //***********************************************************
     // 				PUBLIC
     //***********************************************************
     @Override
     public TwitchMessage build(String chatLine)
+    {
+        return new DefaultTwitchMessageBuilder().parse(chatLine);
+    }
+
+    //***********************************************************
+    // 				PRIVATE
+    //***********************************************************
+    private TwitchMessage parse(String chatLine)
     {
         if (chatLine.startsWith("@"))
         {
@@ -32,82 +48,121 @@ public class DefaultTwitchMessageBuilder implements TwitchMessageBuilder
         }
 
         this.line = chatLine;
-        this.emotes = EmoteParser.parseEmotes(content, tag);
 
         return new TwitchMessageImpl(this);
-
     }
 
-    //***********************************************************
-    // 				PRIVATE
-    //***********************************************************
     private void parseWithTag(String line)
     {
-        String[] parts = line.split(" ", 5);
-
-        if (parts.length == 5)
-        {
-            this.content = parts[4].startsWith(":") ? parts[4].substring(1) : parts[4]; //Strip the potential ':' at beginning of content
+        //The line is split into at most 5 space separated parts: tag, prefix, command, target and content.
+        //Prefix, command and target repeat a lot between lines, so they are taken from the string pool
+        //rather than being copied out of the line each time
+        int tagEnd = indexOfSpace(line, 0);
+        int prefixEnd = indexOfSpace(line, tagEnd + 1);
+        int commandEnd = indexOfSpace(line, prefixEnd + 1);
+        int targetEnd = indexOfSpace(line, commandEnd + 1);
+
+        tag = line.substring(0, tagEnd);
+        prefix = tagEnd < line.length() ? StringPool.SHARED.intern(line, tagEnd + 1, prefixEnd) : "";
+        command = prefixEnd < line.length() ? StringPool.SHARED.intern(line, prefixEnd + 1, commandEnd) : "";
+        target = commandEnd < line.length() ? StringPool.SHARED.intern(line, commandEnd + 1, targetEnd) : "";
+
+        if (targetEnd < line.length())
+        {
+            int contentBegin = targetEnd + 1;
+            if (contentBegin < line.length() && line.charAt(contentBegin) == ':')
+            {
+                contentBegin++; //Strip the potential ':' at beginning of content
+            }
+            content = line.substring(contentBegin);
         }
         else
         {
             content = "";
         }
-        if (parts.length >= 4)
-        {
-            target = parts[3];
-        }
-        else
-        {
-            target = "";
-        }
-        if (parts.length >= 3)
-        {
-            command = parts[2];
-        }
-        else
-        {
-            command = "";
-        }
-        if (parts.length >= 2)
-        {
-            prefix = parts[1];
-        }
-        else
+
+        parseTag();
+        this.containsBits = bits != 0;
+    }
+
+    private void parseTag()
+    {
+        //Tags look like this: @key=value;key=value;key=value
+        //The tags we care about are all read in this single pass, no matter which order Twitch sends them in
+        int begin = 1;
+        while (begin < tag.length())
         {
-            prefix = "";
+            int end = indexOf(tag, ';', begin, tag.length());
+            int equals = indexOf(tag, '=', begin, end);
+            int valueBegin = Math.min(equals + 1, end);
+
+            if (isKey(begin, equals, "badges"))
+            {
+                totalBits = parseBitsBadge(valueBegin, end);
+            }
+            else if (isKey(begin, equals, "bits"))
+            {
+                bits = (int) parseLong(valueBegin, end, 0);
+            }
+            else if (isKey(begin, equals, "emotes"))
+            {
+                emoteData = EmoteParser.parseEmoteData(tag, valueBegin, end);
+            }
+            else if (isKey(begin, equals, "id"))
+            {
+                messageID = tag.substring(valueBegin, end);
+            }
+            else if (isKey(begin, equals, "room-id"))
+            {
+                roomID = parseLong(valueBegin, end, -1);
+            }
+            else if (isKey(begin, equals, "tmi-sent-ts"))
+            {
+                sentTimestamp = parseLong(valueBegin, end, -1);
+            }
+
+            begin = end + 1;
         }
-        if (parts.length >= 1)
+    }
+
+    private int parseBitsBadge(int begin, int end)
+    {
+        //Badges look like this: badges=subscriber/12,bits/1000. We are after the number behind bits/
+        while (begin < end)
         {
-            tag = parts[0];
+            int badgeEnd = indexOf(tag, ',', begin, end);
+            int slash = indexOf(tag, '/', begin, badgeEnd);
+            if (isKey(begin, slash, "bits"))
+            {
+                return (int) parseLong(slash + 1, badgeEnd, 0);
+            }
+            begin = badgeEnd + 1;
         }
-        else
+        return 0;
+    }
+
+    private boolean isKey(int begin, int end, String key)
+    {
+        return end - begin == key.length() && tag.startsWith(key, begin);
+    }
+
+    private long parseLong(int begin, int end, long missing)
+    {
+        if (begin == end)
         {
-            tag = "";
+            return missing;
         }
-
-        String[] temp = tag.split(";");
-        //Badges = temp[0];
-        if (temp.length > 0 && temp[0].length() > 7)
+        long out = 0;
+        for (int i = begin; i < end; i++)
         {
-            String[] badges = temp[0].substring(8).split(","); //Chop off @badges=
-            this.totalBits = 0;
-            for (String str : badges)
-            {
-                if (str.startsWith("bits/"))
-                {
-                    totalBits = Integer.parseInt(str.substring(5));
-                }
-            }
-            if (temp.length > 1)
+            int digit = tag.charAt(i) - '0';
+            if (digit < 0 || digit > 9)
             {
-                if (temp[1].startsWith("bits="))
-                {
-                    this.bits = Integer.parseInt(temp[1].substring(5));
-                }
+                return missing;
             }
+            out = out * 10 + digit;
         }
-        this.containsBits = bits != 0;
+        return out;
     }
 
     private void parseWithoutTag(String line)
@@ -123,7 +178,7 @@ public class DefaultTwitchMessageBuilder implements TwitchMessageBuilder
         {
             build.append(c);
         }
-        this.prefix = build.toString().trim();
+        this.prefix = StringPool.SHARED.intern(build.toString().trim());
         build.setLength(0);
 
         //The command is everything up till the second space
@@ -132,7 +187,7 @@ public class DefaultTwitchMessageBuilder implements TwitchMessageBuilder
             build.append(c);
         }
         while ((c = line.charAt(i++)) != ' ');
-        this.command = build.toString().trim();
+        this.command = StringPool.SHARED.intern(build.toString().trim());
         build.setLength(0);
 
         //The target is everything up till the ':', '+' or '-'
@@ -141,7 +196,7 @@ public class DefaultTwitchMessageBuilder implements TwitchMessageBuilder
             build.append(c);
         }
         while (i < line.length() && (c = line.charAt(i++)) != ':' && c != '+' && c != '-');
-        this.target = build.toString().trim();
+        this.target = StringPool.SHARED.intern(build.toString().trim());
         build.setLength(0);
 
         if (i == line.length())
@@ -159,4 +214,20 @@ public class DefaultTwitchMessageBuilder implements TwitchMessageBuilder
         String temp = build.toString().trim();
         this.content = temp.startsWith(":") ? temp.substring(1) : temp; //Strip the potential ':' at beginning of content
     }
+
+    private static int indexOf(String s, char c, int from, int to)
+    {
+        int index = s.indexOf(c, from);
+        return index == -1 || index > to ? to : index;
+    }
+
+    private static int indexOfSpace(String line, int from)
+    {
+        if (from >= line.length())
+        {
+            return line.length();
+        }
+        int index = line.indexOf(' ', from);
+        return index == -1 ? line.length() : index;
+    }
 }
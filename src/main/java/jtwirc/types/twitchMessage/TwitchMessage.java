@@ -1,8 +1,10 @@
 package jtwirc.types.twitchMessage;
 
 import jtwirc.types.AbstractType;
+import jtwirc.types.UserFields;
 import jtwirc.types.emote.Emote;
 import jtwirc.types.emote.EmoteImpl;
+import jtwirc.utils.ParsingUtil;
 
 import java.util.List;
 
@@ -101,6 +103,51 @@ public interface TwitchMessage extends AbstractType
      */
     List<Emote> getEmotes();
 
+    /**
+     * Fetches the user related tags of this message, such as display name, color and badges. The tags are only
+     * parsed once, no matter how many times this method is called or how many events are built from this message.
+     *
+     * @return The message's user fields
+     */
+    default UserFields getUserFields()
+    {
+        return UserFields.parse(this);
+    }
+
+    /**
+     * Retrieves the message's ID, as given by the {@code id} tag. The ID is unique per message, so it can be used to
+     * spot duplicates, or to delete a message.
+     *
+     * @return The message's ID, or {@code ""} if the message had none
+     */
+    default String getMessageID()
+    {
+        return ParsingUtil.parseTagValue("id", getTag());
+    }
+
+    /**
+     * Retrieves the time the server sent this message at, as given by the {@code tmi-sent-ts} tag. Comparing it to
+     * {@link System#currentTimeMillis()} tells how long the message took to reach us (give or take clock skew).
+     *
+     * @return The send time, in milliseconds since the epoch, or {@code -1} if the message had none
+     */
+    default long getSentTimestamp()
+    {
+        String value = ParsingUtil.parseTagValue("tmi-sent-ts", getTag());
+        return value.isEmpty() ? -1 : Long.parseLong(value);
+    }
+
+    /**
+     * Retrieves the ID of the channel this message was sent in, as given by the {@code room-id} tag.
+     *
+     * @return The room's ID, or {@code -1} if the message had none
+     */
+    default long getRoomID()
+    {
+        String value = ParsingUtil.parseTagValue("room-id", getTag());
+        return value.isEmpty() ? -1 : Long.parseLong(value);
+    }
+
     String toString();
 
     boolean containBits();
@@ -1,8 +1,10 @@
 package jtwirc.types.twitchMessage;
 
+import jtwirc.types.UserFields;
 import jtwirc.types.emote.Emote;
+import jtwirc.types.emote.EmoteParser;
 
-import java.util.LinkedList;
+import java.util.Collections;
 import java.util.List;
 
 class TwitchMessageImpl implements TwitchMessage
@@ -13,7 +15,11 @@ class TwitchMessageImpl implements TwitchMessage
     private final String line, tag, prefix, command, target, content;
     private final boolean containsBits;
     private final int totalBits, bits;
-    private final LinkedList<Emote> emotes;
+    private final int[] emoteData;
+    private final String messageID;
+    private final long sentTimestamp, roomID;
+    private volatile List<Emote> emotes;
+    private volatile UserFields userFields;
 
     //***********************************************************
     // 				CONSTRUCTOR
@@ -26,10 +32,13 @@ class TwitchMessageImpl implements TwitchMessage
         this.command = builder.command;
         this.target = builder.target;
         this.content = builder.content;
-        this.emotes = builder.emotes;
+        this.emoteData = builder.emoteData;
         this.containsBits = builder.containsBits;
         this.totalBits = builder.totalBits;
         this.bits = builder.bits;
+        this.messageID = builder.messageID;
+        this.sentTimestamp = builder.sentTimestamp;
+        this.roomID = builder.roomID;
     }
 
     //***********************************************************
@@ -67,12 +76,50 @@ class TwitchMessageImpl implements TwitchMessage
 
     public boolean hasEmotes()
     {
-        return emotes.size() != 0;
+        return emoteData.length != 0;
     }
 
     public List<Emote> getEmotes()
     {
-        return emotes;
+        //The Emote objects are only created if someone asks for them. Creating them twice in a race is harmless
+        List<Emote> out = emotes;
+        if (out == null)
+        {
+            out = Collections.unmodifiableList(EmoteParser.toEmotes(emoteData, content));
+            emotes = out;
+        }
+        return out;
+    }
+
+    @Override
+    public UserFields getUserFields()
+    {
+        //Parsed at most once per message, no matter how many events are built from it. A race just parses twice
+        UserFields out = userFields;
+        if (out == null)
+        {
+            out = UserFields.parse(this);
+            userFields = out;
+        }
+        return out;
+    }
+
+    @Override
+    public String getMessageID()
+    {
+        return messageID;
+    }
+
+    @Override
+    public long getSentTimestamp()
+    {
+        return sentTimestamp;
+    }
+
+    @Override
+    public long getRoomID()
+    {
+        return roomID;
     }
 
     public String toString()
@@ -1,11 +1,9 @@
 package jtwirc.types.usernotice;
 
 import jtwirc.types.AbstractTwitchUserFields;
-import jtwirc.types.emote.Emote;
 import jtwirc.types.twitchMessage.TwitchMessage;
 import jtwirc.utils.ParsingUtil;
-
-import java.util.List;
+import jtwirc.utils.StringPool;
 
 public class DefaultUsernoticeBuilder extends AbstractTwitchUserFields implements UsernoticeBuilder
 {
@@ -16,8 +14,7 @@ public class DefaultUsernoticeBuilder extends AbstractTwitchUserFields implement
 
 
     String loginName;
-    List<Emote> emotes;
-    boolean hasEmotes;
+    TwitchMessage message;
     int months;
     String subMessage;
     @SuppressWarnings("WeakerAccess")
@@ -30,11 +27,10 @@ public class DefaultUsernoticeBuilder extends AbstractTwitchUserFields implement
         parseUserProperties(message);
 
         String tag = message.getTag(), temp;
-        this.hasEmotes = message.hasEmotes();
-        this.emotes = message.getEmotes();
+        this.message = message;
         this.subMessage = message.getContent();
-        this.loginName = ParsingUtil.parseString(LOGIN_IDENTIFIER, tag);
-        this.messageID = ParsingUtil.parseString(MESSAGE_ID_IDENTIFIER, tag);
+        this.loginName = StringPool.SHARED.intern(ParsingUtil.parseString(LOGIN_IDENTIFIER, tag));
+        this.messageID = StringPool.SHARED.intern(ParsingUtil.parseString(MESSAGE_ID_IDENTIFIER, tag));
         this.systemMessage = ParsingUtil.parseString(SYSTEM_MESSAGE_IDENTIFIER, tag).replace("\\s", " ");
 
         temp = ParsingUtil.parseString(MONTHS_IDENTIFIER, tag);
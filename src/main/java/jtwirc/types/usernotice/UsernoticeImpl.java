@@ -2,6 +2,7 @@ package jtwirc.types.usernotice;
 
 import jtwirc.enums.USER_TYPE;
 import jtwirc.types.emote.Emote;
+import jtwirc.types.twitchMessage.TwitchMessage;
 
 import java.util.List;
 
@@ -17,8 +18,7 @@ class UsernoticeImpl implements UserNoticeEvent
     private final USER_TYPE userType;
     private final String[] badges;
     private final String loginName;
-    private final List<Emote> emotes;
-    private final boolean hasEmotes;
+    private final TwitchMessage message;
     private final int months;
     private final String subMessage;
     private final String systemMessage;
@@ -35,8 +35,7 @@ class UsernoticeImpl implements UserNoticeEvent
         this.userType = builder.userType;
         this.badges = builder.badges;
         this.loginName = builder.loginName;
-        this.emotes = builder.emotes;
-        this.hasEmotes = builder.hasEmotes;
+        this.message = builder.message;
         this.months = builder.months;
         this.subMessage = builder.subMessage;
         this.systemMessage = builder.systemMessage;
@@ -117,13 +116,13 @@ class UsernoticeImpl implements UserNoticeEvent
     @Override
     public boolean hasEmotes()
     {
-        return hasEmotes;
+        return message.hasEmotes();
     }
 
     @Override
     public List<Emote> getEmotes()
     {
-        return emotes;
+        return message.getEmotes();
     }
 
     @Override
@@ -1,5 +1,6 @@
 package jtwirc.types.users;
 
+import jtwirc.enums.BADGE;
 import jtwirc.enums.USER_TYPE;
 import jtwirc.events.TwircListener;
 
@@ -106,4 +107,80 @@ public interface TwitchUser
      * @return The users unique user ID
      */
     int getUserID();
+
+    /**
+     * Retrieves the user's badges as a mask, with one bit set for each {@link BADGE} the user has. The mod,
+     * subscriber and turbo flags also set their badge's bit, even if Twitch did not send the badge itself.<br><br>
+     * <p>
+     * The default implementation reads {@link #getBadges()} on each call. Implementations should compute the mask
+     * once, when the user is built.
+     *
+     * @return The user's badge mask
+     */
+    default int getBadgeMask()
+    {
+        int mask = 0;
+        for (String badge : getBadges())
+        {
+            int slash = badge.indexOf('/');
+            BADGE known = BADGE.fromKey(badge, 0, slash == -1 ? badge.length() : slash);
+            if (known != null)
+            {
+                mask |= known.mask;
+            }
+        }
+        mask |= isMod() ? BADGE.MODERATOR.mask : 0;
+        mask |= isSub() ? BADGE.SUBSCRIBER.mask : 0;
+        mask |= isTurbo() ? BADGE.TURBO.mask : 0;
+        return mask;
+    }
+
+    /**
+     * Checks if the user has at least one of the badges in a mask. This is the preferred way to do permission
+     * checks, since it involves no String comparisons.<br><br>
+     * <p>
+     * For example:<br>
+     * <pre><code>if( user.hasAny(BADGE.MOD_OR_BROADCASTER) )</code></pre>
+     *
+     * @param roleMask A combination of {@link BADGE#mask}s
+     * @return {@code true} if the user has any of the badges
+     */
+    default boolean hasAny(int roleMask)
+    {
+        return (getBadgeMask() & roleMask) != 0;
+    }
+
+    /**
+     * Retrieves the version of one of the user's badges. For {@link BADGE#SUBSCRIBER} that is the number of months
+     * the user has been subscribed, for {@link BADGE#BITS} it is the bits tier.<br><br>
+     * <p>
+     * The default implementation reads {@link #getBadges()} on each call.
+     *
+     * @param badge The badge
+     * @return The badge's version, or {@code 0} if the user does not have the badge or its version is not a number
+     */
+    default int getBadgeVersion(BADGE badge)
+    {
+        for (String known : getBadges())
+        {
+            int slash = known.indexOf('/');
+            if (slash == -1 || BADGE.fromKey(known, 0, slash) != badge)
+            {
+                continue;
+            }
+
+            int version = 0;
+            for (int i = slash + 1; i < known.length(); i++)
+            {
+                char c = known.charAt(i);
+                if (c < '0' || c > '9')
+                {
+                    return 0;
+                }
+                version = version * 10 + (c - '0');
+            }
+            return version;
+        }
+        return 0;
+    }
 }
@@ -1,6 +1,7 @@
 package jtwirc.types.users;
 
 
+import jtwirc.enums.BADGE;
 import jtwirc.enums.USER_TYPE;
 
 class TwitchUserImpl implements TwitchUser
@@ -20,6 +21,8 @@ class TwitchUserImpl implements TwitchUser
     private final int userID;
     private final USER_TYPE userType;
     private final String[] badges;
+    private final int badgeMask;
+    private final int[] badgeVersions;
 
     //***********************************************************
     // 				CONSTRUCTOR
@@ -36,6 +39,8 @@ class TwitchUserImpl implements TwitchUser
         this.isSub = builder.isSub;
         this.isTurbo = builder.isTurbo;
         this.badges = builder.badges;
+        this.badgeMask = builder.badgeMask;
+        this.badgeVersions = builder.badgeVersions;
         this.userID = builder.userID;
         this.userType = builder.userType;
         this.color = builder.color;
@@ -107,4 +112,16 @@ class TwitchUserImpl implements TwitchUser
     {
         return userID;
     }
+
+    @Override
+    public int getBadgeMask()
+    {
+        return badgeMask;
+    }
+
+    @Override
+    public int getBadgeVersion(BADGE badge)
+    {
+        return badgeVersions[badge.ordinal()];
+    }
 }
@@ -0,0 +1,50 @@
+package jtwirc.utils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link CharSequence} view of a region of a byte array, where each byte is one char.<br><br>
+ * <p>
+ * Almost all of a Twitch chat line's structure (tags, prefix, command, numbers and flags) is plain ASCII. This class
+ * lets code written against {@link CharSequence}, such as {@link StringPool#intern(CharSequence, int, int)}, work
+ * directly on the bytes received from the socket, without decoding them into a String first.<br><br>
+ * <p>
+ * Bytes outside of the ASCII range are not decoded, so only use this class on regions known to be ASCII.
+ */
+public final class AsciiSequence implements CharSequence
+{
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+
+    public AsciiSequence(byte[] bytes, int offset, int length)
+    {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length()
+    {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index)
+    {
+        return (char) (bytes[offset + index] & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end)
+    {
+        return new AsciiSequence(bytes, offset + start, end - start);
+    }
+
+    @Override
+    public String toString()
+    {
+        return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -30,6 +30,10 @@ public class Defaults
     public static int time = 5;
     public static Long totalPoints = (long) 0;
 
+    //Command cooldowns, in seconds. Mods and the broadcaster ignore them
+    public static int userCooldown = Integer.parseInt(TwircBot.extra.getProperty("userCooldown", "5"));
+    public static int lookupCooldown = Integer.parseInt(TwircBot.extra.getProperty("lookupCooldown", "30"));
+
     //Sub messages
     public static String newSub = "/me Welcome to the WeAllSubCrew #user!";
     public static String freeSub = "/me Welcome to the WeAllSubCrew #user!";
@@ -0,0 +1,219 @@
+package jtwirc.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A lock free map from {@code long} keys to deadlines, for keeping track of things like cooldowns.<br><br>
+ * <p>
+ * The map is an open addressing hash table of two {@link AtomicLongArray}s, one for keys and one for deadlines. Both
+ * are primitive, so an entry costs 16 bytes and no objects, and checking a key is a couple of array reads and at
+ * most one compare-and-set. Nothing is ever locked.<br><br>
+ * <p>
+ * Entries whose deadline has passed count as absent, and are dropped when the table fills up and is rebuilt. A
+ * rebuild copies the live entries into a new table and swaps it in. A deadline set in the old table while it is being
+ * copied may be lost, which for a cooldown means a user might get to skip one. That is the price of never locking.<br><br>
+ * <p>
+ * Times are in whatever unit the caller likes, as long as it is the same for every call and never negative. Key
+ * {@code 0} is allowed, but shares its slot with {@link Long#MIN_VALUE}.
+ */
+public class ExpiringLongMap
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    private static final long EMPTY = 0;
+    private static final long ZERO_KEY = Long.MIN_VALUE;
+
+    private final int minCapacity;
+    private final AtomicReference<Table> table;
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+
+    /**
+     * Creates a new map
+     *
+     * @param capacity The initial number of slots. Rounded up to the nearest power of two. The table grows when more
+     *                 than half of it is in use
+     */
+    public ExpiringLongMap(int capacity)
+    {
+        this.minCapacity = Integer.highestOneBit(Math.max(capacity, 16) - 1) << 1;
+        this.table = new AtomicReference<>(new Table(minCapacity));
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Sets a key's deadline, unless it already has one that hasn't passed
+     *
+     * @param key      The key
+     * @param now      The current time
+     * @param duration How long from now the new deadline is
+     * @return {@code 0} if the deadline was set. Otherwise, how long until the key's current deadline passes
+     */
+    public long tryAcquire(long key, long now, long duration)
+    {
+        key = key == EMPTY ? ZERO_KEY : key;
+        while (true)
+        {
+            Table t = table.get();
+            int index = t.find(key, true);
+            if (index < 0)
+            {
+                rebuild(t, now);
+                continue;
+            }
+
+            while (true)
+            {
+                long deadline = t.deadlines.get(index);
+                if (deadline > now)
+                {
+                    return deadline - now;
+                }
+                if (t.deadlines.compareAndSet(index, deadline, now + duration))
+                {
+                    return 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Fetches how long until a key's deadline passes
+     *
+     * @param key The key
+     * @param now The current time
+     * @return How long until the deadline passes, or {@code 0} if the key has no deadline or it has passed
+     */
+    public long remaining(long key, long now)
+    {
+        key = key == EMPTY ? ZERO_KEY : key;
+        Table t = table.get();
+        int index = t.find(key, false);
+        if (index < 0)
+        {
+            return 0;
+        }
+        return Math.max(t.deadlines.get(index) - now, 0);
+    }
+
+    /**
+     * Counts the keys whose deadlines haven't passed. This walks the whole table, so it is meant for metrics and
+     * tests, not for every call
+     *
+     * @param now The current time
+     * @return The number of live keys
+     */
+    public int size(long now)
+    {
+        Table t = table.get();
+        int count = 0;
+        for (int i = 0; i < t.keys.length(); i++)
+        {
+            if (t.keys.get(i) != EMPTY && t.deadlines.get(i) > now)
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Fetches the number of slots in the current table
+     *
+     * @return The table's capacity
+     */
+    public int capacity()
+    {
+        return table.get().keys.length();
+    }
+
+    //***********************************************************
+    // 				PRIVATE
+    //***********************************************************
+    private void rebuild(Table full, long now)
+    {
+        int live = size(now);
+        int capacity = Math.max(minCapacity, Integer.highestOneBit(Math.max(live, 1) * 4 - 1) << 1);
+
+        Table next = new Table(capacity);
+        for (int i = 0; i < full.keys.length(); i++)
+        {
+            long key = full.keys.get(i);
+            long deadline = full.deadlines.get(i);
+            if (key != EMPTY && deadline > now)
+            {
+                int index = next.find(key, true);
+                next.deadlines.set(index, deadline);
+            }
+        }
+        //If another thread got here first, its table is just as good
+        table.compareAndSet(full, next);
+    }
+
+    private static int spread(long key)
+    {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static final class Table
+    {
+        final AtomicLongArray keys;
+        final AtomicLongArray deadlines;
+        final AtomicInteger used = new AtomicInteger();
+        final int mask;
+        final int threshold;
+
+        Table(int capacity)
+        {
+            this.keys = new AtomicLongArray(capacity);
+            this.deadlines = new AtomicLongArray(capacity);
+            this.mask = capacity - 1;
+            this.threshold = capacity / 2;
+        }
+
+        /**
+         * Finds a key's slot
+         *
+         * @return The slot's index, or -1 if the key isn't in the table and {@code claim} is false, or if the table is
+         * too full to claim another slot
+         */
+        int find(long key, boolean claim)
+        {
+            int index = spread(key) & mask;
+            for (int probes = 0; probes <= mask; )
+            {
+                long current = keys.get(index);
+                if (current == key)
+                {
+                    return index;
+                }
+                if (current == EMPTY)
+                {
+                    if (!claim || used.get() >= threshold)
+                    {
+                        return -1;
+                    }
+                    if (keys.compareAndSet(index, EMPTY, key))
+                    {
+                        used.incrementAndGet();
+                        return index;
+                    }
+                    //Someone else claimed the slot. Look at it again, it might be our key
+                    continue;
+                }
+                index = (index + 1) & mask;
+                probes++;
+            }
+            return -1;
+        }
+    }
+}
@@ -71,6 +71,8 @@ public class HTTPPoster
         {
             URL url = new URL(urlString);
             URLConnection conn = url.openConnection();
+            conn.setConnectTimeout(JSONParser.TIMEOUT_MILLIS);
+            conn.setReadTimeout(JSONParser.TIMEOUT_MILLIS);
             conn.setRequestProperty("User-Agent", "TwircBot");
             BufferedReader in = new BufferedReader(new InputStreamReader(
                     conn.getInputStream()));
@@ -4,23 +4,38 @@ package jtwirc.utils;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.net.URL;
+import java.net.URLConnection;
 import java.nio.charset.Charset;
 
 public class JSONParser
 {
+    /**
+     * How long we wait for a server to accept our connection, and for each read, in milliseconds
+     */
+    public static final int TIMEOUT_MILLIS = 5000;
+
     public static String readUrl(String urlString) throws Exception
     {
         BufferedReader reader = null;
         try
         {
             URL url = new URL(urlString);
-            reader = new BufferedReader(new InputStreamReader(url.openStream(), Charset.forName("UTF-8")));
+            URLConnection connection = url.openConnection();
+            connection.setConnectTimeout(TIMEOUT_MILLIS);
+            connection.setReadTimeout(TIMEOUT_MILLIS);
+            reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), Charset.forName("UTF-8")));
             StringBuilder buffer = new StringBuilder();
             int read;
             char[] chars = new char[1024];
             while ((read = reader.read(chars)) != -1)
             {
+                //Socket reads ignore interrupts, so a command that missed its deadline stops here instead
+                if (Thread.currentThread().isInterrupted())
+                {
+                    throw new InterruptedIOException("Interrupted while reading " + urlString);
+                }
                 buffer.append(chars, 0, read);
             }
 
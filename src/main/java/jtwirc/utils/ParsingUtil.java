@@ -22,4 +22,79 @@ public class ParsingUtil
             return tag.substring(begin + IDENTIFIER.length(), end);
         }
     }
+
+    /**
+     * Finds the value of a tag with a certain key. Unlike {@link #parseString(String, String)}, the key must match
+     * exactly, so looking for {@code id} will not find {@code user-id} or {@code msg-id}.
+     *
+     * @param key The tag's key, without the '='
+     * @param tag The message's tag
+     * @return The tag's value, or {@code ""} if the tag was not present
+     */
+    public static String parseTagValue(String key, String tag)
+    {
+        int begin = tag.startsWith("@") ? 1 : 0;
+        while (begin < tag.length())
+        {
+            int end = tag.indexOf(';', begin);
+            if (end == -1)
+            {
+                end = tag.length();
+            }
+            if (tag.startsWith(key, begin) && begin + key.length() < end && tag.charAt(begin + key.length()) == '=')
+            {
+                return tag.substring(begin + key.length() + 1, end);
+            }
+            begin = end + 1;
+        }
+        return "";
+    }
+
+    /**
+     * Finds where a raw line's command token starts, skipping the tags and the prefix if the line has them. Lets us
+     * look at a line's command without parsing the line.
+     *
+     * @param line The line, as read from the server
+     * @return The index of the command's first character, or the line's length if there is no command
+     */
+    public static int commandStart(String line)
+    {
+        int index = 0;
+        if (line.startsWith("@"))
+        {
+            index = skipToken(line, index);
+        }
+        if (line.startsWith(":", index))
+        {
+            index = skipToken(line, index);
+        }
+        return index;
+    }
+
+    /**
+     * Finds where a raw line's command token ends. See {@link #commandStart(String)}
+     *
+     * @param line         The line, as read from the server
+     * @param commandStart The index of the command's first character
+     * @return The index after the command's last character
+     */
+    public static int commandEnd(String line, int commandStart)
+    {
+        int end = line.indexOf(' ', commandStart);
+        return end < 0 ? line.length() : end;
+    }
+
+    private static int skipToken(String line, int index)
+    {
+        int space = line.indexOf(' ', index);
+        if (space < 0)
+        {
+            return line.length();
+        }
+        while (space < line.length() && line.charAt(space) == ' ')
+        {
+            space++;
+        }
+        return space;
+    }
 }
@@ -0,0 +1,131 @@
+package jtwirc.utils;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock free pool of canonical String instances.<br><br>
+ * <p>
+ * Twitch sends us the same channel name, the same few thousand user names and the same badge strings over and over.
+ * Instead of keeping a new copy of each of them for every message, the parser runs them through a pool like this
+ * one and hands out the pooled instance.<br><br>
+ * <p>
+ * The pool is a fixed size table, indexed by the string's hash. If two strings land in the same slot, the newest one
+ * replaces the old one. That keeps the pool bounded without any locking or bookkeeping, at the cost of sometimes
+ * handing out a fresh instance. Since that can happen, pooled strings should still be compared with
+ * {@code equals}; identity is just the fast path.
+ */
+public class StringPool
+{
+    //***********************************************************
+    // 				VARIABLES
+    //***********************************************************
+    /**
+     * The pool used by the parser for channel names, logins, display names, commands and badges
+     */
+    public static final StringPool SHARED = new StringPool(8192);
+
+    private final AtomicReferenceArray<String> slots;
+    private final int mask;
+
+    //***********************************************************
+    // 				CONSTRUCTOR
+    //***********************************************************
+
+    /**
+     * Creates a new pool
+     *
+     * @param capacity The number of slots in the pool. Rounded up to the nearest power of two
+     */
+    public StringPool(int capacity)
+    {
+        int size = Integer.highestOneBit(Math.max(capacity, 16) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    //***********************************************************
+    // 				PUBLIC
+    //***********************************************************
+
+    /**
+     * Fetches the pooled instance of a string. If there is none, the supplied string is pooled and returned.
+     *
+     * @param s The string
+     * @return An instance equal to {@code s}, or {@code null} if {@code s} was {@code null}
+     */
+    public String intern(String s)
+    {
+        if (s == null || s.isEmpty())
+        {
+            return s;
+        }
+
+        int index = spread(s.hashCode()) & mask;
+        String pooled = slots.get(index);
+        if (s.equals(pooled))
+        {
+            return pooled;
+        }
+        slots.lazySet(index, s);
+        return s;
+    }
+
+    /**
+     * Fetches the pooled instance of a part of a char sequence. A new String is only created if the pool
+     * did not already contain an equal one.
+     *
+     * @param seq   The char sequence
+     * @param begin Begin index, inclusive
+     * @param end   End index, exclusive
+     * @return An instance equal to {@code seq.subSequence(begin, end).toString()}
+     */
+    public String intern(CharSequence seq, int begin, int end)
+    {
+        if (begin >= end)
+        {
+            return "";
+        }
+
+        //Same hash as String.hashCode(), so that slots are shared with intern(String)
+        int hash = 0;
+        for (int i = begin; i < end; i++)
+        {
+            hash = 31 * hash + seq.charAt(i);
+        }
+
+        int index = spread(hash) & mask;
+        String pooled = slots.get(index);
+        if (pooled != null && regionMatches(pooled, seq, begin, end))
+        {
+            return pooled;
+        }
+
+        String s = seq.subSequence(begin, end).toString();
+        slots.lazySet(index, s);
+        return s;
+    }
+
+    //***********************************************************
+    // 				PRIVATE
+    //***********************************************************
+    private static int spread(int hash)
+    {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean regionMatches(String pooled, CharSequence seq, int begin, int end)
+    {
+        if (pooled.length() != end - begin)
+        {
+            return false;
+        }
+        for (int i = 0; i < pooled.length(); i++)
+        {
+            if (pooled.charAt(i) != seq.charAt(begin + i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,6 +1,8 @@
 package jtwirc.utils.json;
 
 import jtwirc.TwircBot;
+import jtwirc.common.command.CommandRegistry;
+import jtwirc.common.command.UserPermissions;
 import jtwirc.utils.Defaults;
 import jtwirc.utils.jsonclasses.Schedule;
 import jtwirc.utils.jsonclasses.YoutubeVideo;
@@ -14,7 +16,9 @@ import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class Load
 {
@@ -425,11 +429,17 @@ public class Load
             JSONObject object1 = (JSONObject) parser.parse(reader);
             JSONArray ranks = (JSONArray) object1.get("Permissions");
 
+            HashMap<String, String> loaded = new HashMap<>();
             for (Object rank : ranks)
             {
                 JSONObject inner = (JSONObject) rank;
-                TwircBot.permList.put((String) inner.get("name"), (String) inner.get("permission"));
+                loaded.put((String) inner.get("name"), (String) inner.get("permission"));
             }
+            UserPermissions.edit(permissions ->
+            {
+                permissions.putAll(loaded);
+                return true;
+            });
         }
         catch (FileNotFoundException e)
         {
@@ -455,23 +465,12 @@ public class Load
     {
         try
         {
-            FileReader reader = new FileReader("config/commands.json");
-            JSONParser parser = new JSONParser();
-            JSONObject object1 = (JSONObject) parser.parse(reader);
-            JSONArray ranks = (JSONArray) object1.get("Commands");
-
-            for (Object rank : ranks)
+            HashMap<String, String> loaded = readCommands("config/commands.json", "response", true);
+            CommandRegistry.load((responses, permissions) ->
             {
-                JSONObject inner = (JSONObject) rank;
-                String command = (String) inner.get("command");
-                if (!command.equalsIgnoreCase("!ctt"))
-                {
-                    if (command.startsWith("!"))
-                    {
-                        TwircBot.commandList.put(command, (String) inner.get("response"));
-                    }
-                }
-            }
+                responses.putAll(loaded);
+                return true;
+            });
         }
         catch (FileNotFoundException e)
         {
@@ -497,16 +496,12 @@ public class Load
     {
         try
         {
-            FileReader reader = new FileReader("config/commandpermissions.json");
-            JSONParser parser = new JSONParser();
-            JSONObject object1 = (JSONObject) parser.parse(reader);
-            JSONArray ranks = (JSONArray) object1.get("Commands");
-
-            for (Object rank : ranks)
+            HashMap<String, String> loaded = readCommands("config/commandpermissions.json", "permission", false);
+            CommandRegistry.load((responses, permissions) ->
             {
-                JSONObject inner = (JSONObject) rank;
-                TwircBot.commandpermList.put((String) inner.get("command"), (String) inner.get("permission"));
-            }
+                permissions.putAll(loaded);
+                return true;
+            });
         }
         catch (FileNotFoundException e)
         {
@@ -528,6 +523,69 @@ public class Load
         }
     }
 
+    /**
+     * Reloads the custom commands and their permissions from disk, while the bot runs. Both files are read in full
+     * before anything is replaced, and if either can't be read, the commands are left as they were. The patron
+     * commands, which come from the music properties rather than the files, are kept. Nothing is reloaded while there
+     * are edits from chat that haven't been saved yet, see {@link CommandRegistry#reload}
+     *
+     * @return {@code true} if the files were read, even if nothing had changed
+     */
+    public static boolean reloadCommands()
+    {
+        AtomicBoolean read = new AtomicBoolean();
+        boolean changed = CommandRegistry.reload((responses, permissions) ->
+        {
+            try
+            {
+                responses.putAll(readCommands("config/commands.json", "response", true));
+                permissions.putAll(readCommands("config/commandpermissions.json", "permission", false));
+            }
+            catch (ParseException | IOException | RuntimeException e)
+            {
+                TwircBot.log.error("Couldn't reload the custom commands: " + e.getMessage());
+                return false;
+            }
+
+            for (String patron : TwircBot.patronSounds.keySet())
+            {
+                responses.putIfAbsent(patron, "!" + patron);
+                permissions.putIfAbsent("!" + patron, "mod");
+            }
+            read.set(true);
+            return true;
+        });
+        if (changed)
+        {
+            TwircBot.log.info("Reloaded " + CommandRegistry.current().size() + " custom commands");
+        }
+        return read.get();
+    }
+
+    private static HashMap<String, String> readCommands(String path, String valueKey, boolean chatCommandsOnly) throws IOException, ParseException
+    {
+        HashMap<String, String> out = new HashMap<>();
+        try (FileReader reader = new FileReader(path))
+        {
+            JSONParser parser = new JSONParser();
+            JSONObject object1 = (JSONObject) parser.parse(reader);
+            JSONArray ranks = (JSONArray) object1.get("Commands");
+
+            for (Object rank : ranks)
+            {
+                JSONObject inner = (JSONObject) rank;
+                String command = (String) inner.get("command");
+                //!ctt is always built in
+                if (chatCommandsOnly && (command.equalsIgnoreCase("!ctt") || !command.startsWith("!")))
+                {
+                    continue;
+                }
+                out.put(command, (String) inner.get(valueKey));
+            }
+        }
+        return out;
+    }
+
     public static void raffleList()
     {
         try
@@ -685,8 +743,15 @@ public class Load
         for (int c = 0; c < patrons.size(); c++)
         {
             TwircBot.patronSounds.put(patrons.get(c), new File("sounds/" + patronSound.get(c)));
-            TwircBot.commandList.put(patrons.get(c), "!" + patrons.get(c));
-            TwircBot.commandpermList.put("!" + patrons.get(c), "mod");
         }
+        CommandRegistry.load((responses, permissions) ->
+        {
+            for (String patron : patrons)
+            {
+                responses.put(patron, "!" + patron);
+                permissions.put("!" + patron, "mod");
+            }
+            return true;
+        });
     }
 }
@@ -0,0 +1,47 @@
+package jtwirc;
+
+import jtwirc.metrics.ControlMetrics;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestControlPlane
+{
+    @Test
+    public void testCommandToken()
+    {
+        OutputQueue queue = new OutputQueue();
+        ControlMetrics metrics = new ControlMetrics();
+        ControlPlane controlPlane = new ControlPlane(queue, metrics);
+
+        //Chat messages mentioning PING are chat messages
+        assertTrue(controlPlane.handle("@badges=;mod=0 :pingu!pingu@pingu.tmi.twitch.tv PRIVMSG #channel :PING PINGU", 0) == ControlPlane.Result.DISPATCH);
+        assertTrue(controlPlane.handle(":PINGU!PINGU@PINGU.tmi.twitch.tv JOIN #channel", 0) == ControlPlane.Result.DISPATCH);
+        assertTrue(metrics.getPingsReceived() == 0);
+
+        assertTrue(controlPlane.handle("PING :tmi.twitch.tv", System.nanoTime()) == ControlPlane.Result.CONSUMED);
+        assertTrue(controlPlane.handle(":tmi.twitch.tv RECONNECT", 0) == ControlPlane.Result.STOP_READING);
+        assertTrue(controlPlane.handle(":tmi.twitch.tv PONG tmi.twitch.tv :" + System.currentTimeMillis(), 0) == ControlPlane.Result.DISPATCH);
+        assertTrue(metrics.getPingsReceived() == 1 && metrics.getReconnectsRequested() == 1);
+        assertTrue(metrics.getRoundTrip().getCount() == 1);
+    }
+
+    @Test
+    public void testControlSlotSkipsGap()
+    {
+        OutputQueue queue = new OutputQueue();
+        queue.add("PRIVMSG #channel :queued first");
+        queue.addControl("PONG :tmi.twitch.tv", System.nanoTime());
+
+        //Even while the message gap has a minute left, the PONG is handed out at once
+        long gapEnds = System.nanoTime() + 60_000_000_000L;
+        OutputQueue.Message pong = queue.next(gapEnds);
+        assertTrue(pong.isControl && pong.line.equals("PONG :tmi.twitch.tv"));
+
+        OutputQueue.Message regular = queue.next(System.nanoTime());
+        assertTrue(!regular.isControl && regular.line.equals("PRIVMSG #channel :queued first"));
+
+        queue.releaseWaitingThreads();
+        assertTrue(queue.next(System.nanoTime()) == null);
+    }
+}
@@ -0,0 +1,105 @@
+package jtwirc;
+
+import jtwirc.enums.OVERFLOW_POLICY;
+import jtwirc.events.TwircListenerBaseImpl;
+import jtwirc.intercept.IgnoredUsersInterceptor;
+import jtwirc.intercept.LineInterceptor;
+import jtwirc.metrics.InterceptorMetrics;
+import jtwirc.types.twitchMessage.DefaultTwitchMessageBuilder;
+import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.types.users.TwitchUser;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestIngestPipeline
+{
+    private static final String LINE = "@badges=;color=;display-name=Gikkman;emotes=;mod=0;room-id=31974228;subscriber=0;turbo=0;user-id=27658385;user-type= :gikkman!gikkman@gikkman.tmi.twitch.tv PRIVMSG #gikkman :";
+    private static final int LINES = 500;
+
+    @Test
+    public void testOrderIsPreserved() throws InterruptedException
+    {
+        Twirc twirc = new TwircBuilder("#gikkman", "gikkbot", "oauth", Twirc.BotType.COMMANDS).build();
+
+        List<String> received = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(LINES);
+        twirc.addIRCListener(new TwircListenerBaseImpl()
+        {
+            @Override
+            public void onPrivMsg(TwitchUser sender, TwitchMessage message)
+            {
+                received.add(message.getContent());
+                done.countDown();
+            }
+        });
+
+        IngestPipeline pipeline = new IngestPipeline(twirc, new DefaultTwitchMessageBuilder(), 16, OVERFLOW_POLICY.BLOCK, 4, twirc.getIngestMetrics(), new InterceptorChain(Collections.emptyList()));
+        pipeline.start();
+        for (int i = 0; i < LINES; i++)
+        {
+            pipeline.offer(LINE + i);
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        pipeline.end();
+
+        for (int i = 0; i < LINES; i++)
+        {
+            assertTrue(received.get(i).equals(String.valueOf(i)));
+        }
+        assertTrue(twirc.getIngestMetrics().getLinesRead() == LINES);
+        assertTrue(twirc.getIngestMetrics().getLinesDropped() == 0);
+    }
+
+    @Test
+    public void testInterceptors() throws InterruptedException
+    {
+        Twirc twirc = new TwircBuilder("#gikkman", "gikkbot", "oauth", Twirc.BotType.COMMANDS).build();
+
+        List<String> received = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(LINES / 2);
+        twirc.addIRCListener(new TwircListenerBaseImpl()
+        {
+            @Override
+            public void onPrivMsg(TwitchUser sender, TwitchMessage message)
+            {
+                received.add(message.getPrefix() + " " + message.getTag().contains("checked=yes"));
+                done.countDown();
+            }
+        });
+
+        LineInterceptor tagger = line ->
+        {
+            line.addTag("checked", "yes");
+            return true;
+        };
+        InterceptorChain chain = new InterceptorChain(Arrays.asList(new IgnoredUsersInterceptor(Collections.singleton("NightBot")), tagger));
+        IngestPipeline pipeline = new IngestPipeline(twirc, new DefaultTwitchMessageBuilder(), 16, OVERFLOW_POLICY.BLOCK, 0, twirc.getIngestMetrics(), chain);
+        pipeline.start();
+        //The last line must be one that reaches the listener, so every line has been through the chain once we are done
+        for (int i = 0; i < LINES; i++)
+        {
+            pipeline.offer(i % 2 == 1 ? LINE + i : LINE.replace("gikkman!gikkman@gikkman", "nightbot!nightbot@nightbot") + i);
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        pipeline.end();
+
+        //Only the ignored user's lines were dropped, and the others were tagged before the listener saw them
+        assertTrue(received.size() == LINES / 2);
+        for (String r : received)
+        {
+            assertTrue(r.equals(":gikkman!gikkman@gikkman.tmi.twitch.tv true"));
+        }
+
+        List<InterceptorMetrics> metrics = chain.metrics();
+        assertTrue(metrics.get(0).getSeen() == LINES && metrics.get(0).getDropped() == LINES / 2);
+        assertTrue(metrics.get(1).getSeen() == LINES / 2 && metrics.get(1).getRewritten() == LINES / 2);
+    }
+}
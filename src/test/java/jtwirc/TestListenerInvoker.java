@@ -0,0 +1,56 @@
+package jtwirc;
+
+import jtwirc.ListenerRegistry.Registration;
+import jtwirc.enums.EVENT_TYPE;
+import jtwirc.events.TwircListener;
+import jtwirc.events.TwircListenerBaseImpl;
+import jtwirc.metrics.ListenerMetrics;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestListenerInvoker
+{
+    @Test
+    public void testIsolationAndMetrics()
+    {
+        List<String> seen = new ArrayList<>();
+        TwircListener failing = new TwircListenerBaseImpl()
+        {
+            @Override
+            public void onAnything(String line)
+            {
+                throw new IllegalStateException("A failing listener must not stop the next one");
+            }
+        };
+        TwircListener counting = new TwircListenerBaseImpl()
+        {
+            @Override
+            public void onAnything(String line)
+            {
+                seen.add(line);
+            }
+        };
+
+        ListenerRegistry registry = new ListenerRegistry();
+        registry.add(failing, 10, EVENT_TYPE.subscribedBy(failing));
+        registry.add(counting, 0, EVENT_TYPE.subscribedBy(counting));
+
+        ListenerInvoker invoker = new ListenerInvoker(1000);
+        Registration[] subscribers = registry.registrations(EVENT_TYPE.ANYTHING);
+        invoker.invoke(EVENT_TYPE.ANYTHING, "line 1", subscribers, "line 1", null);
+        invoker.invoke(EVENT_TYPE.ANYTHING, "line 2", subscribers, "line 2", null);
+
+        assertTrue(seen.size() == 2 && seen.get(1).equals("line 2"));
+
+        List<ListenerMetrics> metrics = registry.metrics();
+        assertTrue(metrics.size() == 2);
+        assertTrue(metrics.get(0).getFailed() == 2 && metrics.get(0).getCalls() == 2);
+        assertTrue(metrics.get(1).getFailed() == 0 && metrics.get(1).getCalls() == 2 && metrics.get(1).getSlowCalls() == 0);
+        assertTrue(metrics.get(1).getCallTime(EVENT_TYPE.ANYTHING).getCount() == 2);
+        assertTrue(metrics.get(1).getCallTime(EVENT_TYPE.PRIVMSG) == null);
+    }
+}
@@ -0,0 +1,71 @@
+package jtwirc;
+
+import jtwirc.enums.EVENT_TYPE;
+import jtwirc.events.TwircListener;
+import jtwirc.events.TwircListenerBaseImpl;
+import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.types.users.TwitchUser;
+import org.junit.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestListenerRegistry
+{
+    private static final EnumSet<EVENT_TYPE> ALL = EnumSet.allOf(EVENT_TYPE.class);
+
+    @Test
+    public void testPriorityOrder()
+    {
+        ListenerRegistry registry = new ListenerRegistry();
+        TwircListener first = new TwircListenerBaseImpl()
+        {
+        };
+        TwircListener second = new TwircListenerBaseImpl()
+        {
+        };
+        TwircListener high = new TwircListenerBaseImpl()
+        {
+        };
+        TwircListener low = new TwircListenerBaseImpl()
+        {
+        };
+
+        registry.add(first, 0, ALL);
+        registry.add(low, -5, ALL);
+        registry.add(second, 0, ALL);
+        registry.add(high, 10, ALL);
+
+        ListenerRegistry.Registration[] snapshot = registry.registrations(EVENT_TYPE.PRIVMSG);
+        assertTrue(snapshot.length == 4);
+        assertTrue(snapshot[0].listener == high && snapshot[1].listener == first && snapshot[2].listener == second && snapshot[3].listener == low);
+
+        //Removing builds a new array, so earlier snapshots are left untouched
+        assertTrue(registry.remove(first));
+        assertTrue(!registry.remove(first));
+        ListenerRegistry.Registration[] current = registry.registrations(EVENT_TYPE.PRIVMSG);
+        assertTrue(current.length == 3 && current[1].listener == second);
+        assertTrue(snapshot.length == 4 && snapshot[1].listener == first);
+    }
+
+    @Test
+    public void testSubscriptions()
+    {
+        TwircListener privMsgOnly = new TwircListenerBaseImpl()
+        {
+            @Override
+            public void onPrivMsg(TwitchUser sender, TwitchMessage message)
+            {
+            }
+        };
+        assertTrue(EVENT_TYPE.subscribedBy(privMsgOnly).equals(EnumSet.of(EVENT_TYPE.PRIVMSG)));
+
+        ListenerRegistry registry = new ListenerRegistry();
+        registry.add(privMsgOnly, 0, EVENT_TYPE.subscribedBy(privMsgOnly));
+        assertTrue(registry.registrations(EVENT_TYPE.PRIVMSG).length == 1);
+        assertTrue(registry.registrations(EVENT_TYPE.PRIVMSG)[0].listener == privMsgOnly);
+        assertTrue(registry.registrations(EVENT_TYPE.USERNOTICE).length == 0);
+        assertTrue(registry.registrations(EVENT_TYPE.ANYTHING).length == 0);
+    }
+}
@@ -0,0 +1,112 @@
+package jtwirc.bus;
+
+import jtwirc.enums.WAIT_STRATEGY;
+import jtwirc.types.twitchMessage.DefaultTwitchMessageBuilder;
+import jtwirc.types.twitchMessage.TwitchMessageBuilder;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestEventBus
+{
+    @Test
+    public void testStagesSeeEveryEventInOrder() throws InterruptedException
+    {
+        for (WAIT_STRATEGY strategy : WAIT_STRATEGY.values())
+        {
+            //The ring is smaller than the number of events, so it has to wrap around
+            EventBus bus = new EventBus(8, strategy);
+            TwitchMessageBuilder builder = new DefaultTwitchMessageBuilder();
+            int events = 100;
+            List<String> seen = new ArrayList<>();
+            CountDownLatch done = new CountDownLatch(1);
+
+            bus.handleEventsWith((event, sequence, endOfBatch) -> event.setAttachment(event.getMessage().getContent()))
+                    .then((event, sequence, endOfBatch) ->
+                    {
+                        seen.add((String) event.getAttachment());
+                        if (sequence == events - 1)
+                        {
+                            done.countDown();
+                        }
+                    });
+
+            bus.publish(":a!a@a.tmi.twitch.tv PRIVMSG #channel :dropped", builder.build(":a!a@a.tmi.twitch.tv PRIVMSG #channel :dropped"));
+            bus.start();
+            for (int i = 0; i < events; i++)
+            {
+                String line = ":a!a@a.tmi.twitch.tv PRIVMSG #channel :" + i;
+                bus.publish(line, builder.build(line));
+            }
+
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            bus.halt();
+
+            assertTrue(seen.size() == events);
+            for (int i = 0; i < events; i++)
+            {
+                assertTrue(seen.get(i).equals(Integer.toString(i)));
+            }
+        }
+    }
+
+    @Test
+    public void testHaltReleasesProducer()
+    {
+        EventBus bus = new EventBus(2, WAIT_STRATEGY.BLOCKING);
+        CountDownLatch never = new CountDownLatch(1);
+        bus.handleEventsWith((event, sequence, endOfBatch) -> never.await());
+        bus.start();
+
+        TwitchMessageBuilder builder = new DefaultTwitchMessageBuilder();
+        String line = ":a!a@a.tmi.twitch.tv PRIVMSG #channel :hello";
+        bus.publish(line, builder.build(line));
+        bus.publish(line, builder.build(line));
+        bus.halt();
+
+        //The ring is full and the handler is stuck, but a halted bus drops the event instead of waiting
+        bus.publish(line, builder.build(line));
+        assertTrue(bus.getRingBuffer().getSize() == 2);
+        never.countDown();
+    }
+
+    @Test
+    public void testInterruptReleasesProducer() throws InterruptedException
+    {
+        EventBus bus = new EventBus(2, WAIT_STRATEGY.BLOCKING);
+        CountDownLatch never = new CountDownLatch(1);
+        bus.handleEventsWith((event, sequence, endOfBatch) -> never.await());
+        bus.start();
+
+        TwitchMessageBuilder builder = new DefaultTwitchMessageBuilder();
+        String line = ":a!a@a.tmi.twitch.tv PRIVMSG #channel :hello";
+        CountDownLatch published = new CountDownLatch(1);
+        boolean[] interrupted = new boolean[1];
+        Thread producer = new Thread(() ->
+        {
+            //The third event finds the ring full, with the handler stuck on the first one
+            for (int i = 0; i < 3; i++)
+            {
+                bus.publish(line, builder.build(line));
+            }
+            interrupted[0] = Thread.currentThread().isInterrupted();
+            published.countDown();
+        });
+        producer.start();
+
+        //The bus is still running, so only the interrupt can release the producer
+        Thread.sleep(100);
+        producer.interrupt();
+        assertTrue(published.await(5, TimeUnit.SECONDS));
+        producer.join();
+        assertTrue(interrupted[0]);
+
+        never.countDown();
+        bus.halt();
+    }
+}
@@ -0,0 +1,204 @@
+package jtwirc.common.command;
+
+import jtwirc.annotation.Async;
+import jtwirc.enums.COMMAND_OUTCOME;
+import jtwirc.metrics.CommandMetrics;
+import jtwirc.types.twitchMessage.DefaultTwitchMessageBuilder;
+import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.types.users.DefaultTwitchUserBuilder;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestCommandExecutor
+{
+    @Test
+    public void testInline() throws InterruptedException, ExecutionException
+    {
+        CommandExecutor executor = new CommandExecutor(1, 1);
+        CommandMetrics metrics = new CommandMetrics("!inline");
+        Thread[] ranOn = new Thread[1];
+
+        Future<?> future = executor.execute(new Inline(() -> ranOn[0] = Thread.currentThread()), context(), metrics);
+        assertTrue(future.isDone() && future.get() == null);
+        assertTrue(ranOn[0] == Thread.currentThread());
+        assertTrue(metrics.getCount(COMMAND_OUTCOME.SUCCESS) == 1);
+
+        future = executor.execute(new Inline(() ->
+        {
+            throw new IllegalStateException("A failing command must not reach the caller");
+        }), context(), metrics);
+        assertTrue(failedWith(future, IllegalStateException.class));
+        assertTrue(metrics.getCount(COMMAND_OUTCOME.ERROR) == 1);
+        executor.shutdown();
+    }
+
+    @Test
+    public void testDeadline() throws InterruptedException
+    {
+        List<String> fallbacks = new CopyOnWriteArrayList<>();
+        CountDownLatch sent = new CountDownLatch(1);
+        CommandExecutor executor = new CommandExecutor(1, 1)
+        {
+            @Override
+            protected void sendFallback(CommandContext context, String fallback)
+            {
+                fallbacks.add(fallback);
+                sent.countDown();
+            }
+        };
+        CommandMetrics metrics = new CommandMetrics("!slow");
+        Slow slow = new Slow();
+
+        Future<?> future = executor.execute(slow, context(), metrics);
+        assertTrue(sent.await(5, TimeUnit.SECONDS));
+        assertTrue(slow.interrupted.await(5, TimeUnit.SECONDS));
+        assertTrue(future.isCancelled());
+        assertTrue(fallbacks.size() == 1 && fallbacks.get(0).equals("Too slow"));
+        assertTrue(metrics.getCount(COMMAND_OUTCOME.TIMEOUT) == 1);
+        assertTrue(awaitInFlight(executor, Slow.class, 0));
+        executor.shutdown();
+    }
+
+    @Test
+    public void testInFlightLimit() throws InterruptedException
+    {
+        CommandExecutor executor = new CommandExecutor(4, 4);
+        CommandMetrics metrics = new CommandMetrics("!single");
+        Single single = new Single();
+
+        Future<?> first = executor.execute(single, context(), metrics);
+        assertTrue(single.running.await(5, TimeUnit.SECONDS));
+        Future<?> second = executor.execute(single, context(), metrics);
+        assertTrue(failedWith(second, RejectedExecutionException.class));
+        assertTrue(metrics.getCount(COMMAND_OUTCOME.REJECTED) == 1);
+        assertTrue(executor.getInFlight(Single.class) == 1);
+
+        single.release.countDown();
+        assertTrue(awaitInFlight(executor, Single.class, 0));
+        assertTrue(first.isDone() && !first.isCancelled());
+        assertTrue(metrics.getCount(COMMAND_OUTCOME.SUCCESS) == 1);
+        executor.shutdown();
+    }
+
+    @Test
+    public void testFullPool() throws InterruptedException
+    {
+        CommandExecutor executor = new CommandExecutor(1, 1);
+        CommandMetrics metrics = new CommandMetrics("!many");
+        Many many = new Many();
+
+        //One invocation runs, one waits for the thread, and there is no room for a third
+        executor.execute(many, context(), metrics);
+        assertTrue(many.running.await(5, TimeUnit.SECONDS));
+        Future<?> waiting = executor.execute(many, context(), metrics);
+        Future<?> third = executor.execute(many, context(), metrics);
+        assertTrue(failedWith(third, RejectedExecutionException.class));
+        assertTrue(metrics.getCount(COMMAND_OUTCOME.REJECTED) == 1);
+        assertTrue(executor.getInFlight(Many.class) == 2);
+
+        many.release.countDown();
+        assertTrue(awaitInFlight(executor, Many.class, 0));
+        assertTrue(waiting.isDone() && metrics.getCount(COMMAND_OUTCOME.SUCCESS) == 2);
+        executor.shutdown();
+    }
+
+    private static CommandContext context()
+    {
+        TwitchMessage message = new DefaultTwitchMessageBuilder().build("@badges=;color=;display-name=Gikkman;emotes=;mod=0;room-id=31974228;subscriber=0;turbo=0;user-id=27658385;user-type= :gikkman!gikkman@gikkman.tmi.twitch.tv PRIVMSG #gikkman :!test");
+        return new CommandContext(new DefaultTwitchUserBuilder().build(message), message, new String[]{"!test"});
+    }
+
+    private static boolean failedWith(Future<?> future, Class<? extends Exception> reason) throws InterruptedException
+    {
+        try
+        {
+            future.get(5, TimeUnit.SECONDS);
+            return false;
+        }
+        catch (ExecutionException e)
+        {
+            return reason.isInstance(e.getCause());
+        }
+        catch (TimeoutException e)
+        {
+            return false;
+        }
+    }
+
+    private static boolean awaitInFlight(CommandExecutor executor, Class<? extends CommandBase> command, int expected) throws InterruptedException
+    {
+        for (int i = 0; i < 100 && executor.getInFlight(command) != expected; i++)
+        {
+            Thread.sleep(50);
+        }
+        return executor.getInFlight(command) == expected;
+    }
+
+    private static final class Inline extends CommandBase
+    {
+        private final Runnable action;
+
+        Inline(Runnable action)
+        {
+            this.action = action;
+        }
+
+        @Override
+        public void execute(CommandContext context)
+        {
+            action.run();
+        }
+    }
+
+    @Async(deadlineMillis = 100, maxInFlight = 1, fallback = "Too slow")
+    private static final class Slow extends CommandBase
+    {
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        @Override
+        public void execute(CommandContext context)
+        {
+            try
+            {
+                Thread.sleep(10000);
+            }
+            catch (InterruptedException e)
+            {
+                interrupted.countDown();
+            }
+        }
+    }
+
+    private static class Blocking extends CommandBase
+    {
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void execute(CommandContext context)
+        {
+            running.countDown();
+            try
+            {
+                release.await();
+            }
+            catch (InterruptedException ignored)
+            {
+            }
+        }
+    }
+
+    @Async(maxInFlight = 1)
+    private static final class Single extends Blocking
+    {
+    }
+
+    @Async(maxInFlight = 10)
+    private static final class Many extends Blocking
+    {
+    }
+}
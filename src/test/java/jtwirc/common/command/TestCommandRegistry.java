@@ -0,0 +1,136 @@
+package jtwirc.common.command;
+
+import jtwirc.TwircBot;
+import jtwirc.enums.PERMISSION_LEVEL;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestCommandRegistry
+{
+    @Test
+    public void testEdit() throws IOException
+    {
+        clear();
+        HashMap<String, String> before = TwircBot.commandList;
+        CommandRegistry snapshot = CommandRegistry.current();
+
+        assertTrue(CommandRegistry.edit((responses, permissions) ->
+        {
+            responses.put("!Hello", "Hi there");
+            permissions.put("!Hello", "mod");
+            return true;
+        }));
+
+        //The old maps and snapshot are left as they were
+        assertTrue(before.isEmpty() && snapshot.size() == 0);
+        assertTrue("Hi there".equals(TwircBot.commandList.get("!Hello")));
+
+        CommandRegistry.CustomCommand command = CommandRegistry.current().get("!hello");
+        assertTrue(command != null && command.getName().equals("!Hello") && command.getCommand().equals("!hello"));
+        assertTrue(command.getPermission() == PERMISSION_LEVEL.MODERATOR);
+        assertTrue(command.getResponse().getSource().equals("Hi there"));
+    }
+
+    @Test
+    public void testEditThatChangesNothing() throws IOException
+    {
+        clear();
+        CommandRegistry snapshot = CommandRegistry.current();
+        HashMap<String, String> responses = TwircBot.commandList;
+
+        assertTrue(!CommandRegistry.edit((r, p) ->
+        {
+            r.put("!discarded", "Never seen");
+            return false;
+        }));
+        assertTrue(CommandRegistry.current() == snapshot && TwircBot.commandList == responses);
+        assertTrue(!responses.containsKey("!discarded"));
+    }
+
+    @Test
+    public void testReload() throws IOException
+    {
+        clear();
+        assertTrue(CommandRegistry.reload((responses, permissions) ->
+        {
+            responses.put("!discord", "Join us");
+            return true;
+        }));
+        assertTrue(CommandRegistry.current().get("!discord") != null);
+
+        //Reading the same files again changes nothing
+        CommandRegistry snapshot = CommandRegistry.current();
+        assertTrue(!CommandRegistry.reload((responses, permissions) ->
+        {
+            responses.put("!discord", "Join us");
+            return true;
+        }));
+        assertTrue(CommandRegistry.current() == snapshot);
+
+        //Nor does a failed read
+        assertTrue(!CommandRegistry.reload((responses, permissions) -> false));
+        assertTrue(CommandRegistry.current() == snapshot);
+    }
+
+    @Test
+    public void testReloadWaitsForSave() throws IOException
+    {
+        clear();
+        CommandRegistry.edit((responses, permissions) -> responses.put("!new", "Not saved yet") == null);
+
+        //The files don't hold the edit yet, so reading them would undo it
+        AtomicBoolean read = new AtomicBoolean();
+        assertTrue(!CommandRegistry.reload((responses, permissions) ->
+        {
+            read.set(true);
+            return true;
+        }));
+        assertTrue(!read.get() && CommandRegistry.current().get("!new") != null);
+
+        CommandRegistry.save(() -> { });
+        assertTrue(CommandRegistry.reload((responses, permissions) -> true));
+        assertTrue(CommandRegistry.current().get("!new") == null);
+    }
+
+    @Test
+    public void testConcurrentEdits() throws IOException, InterruptedException
+    {
+        clear();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++)
+        {
+            int thread = t;
+            threads.add(new Thread(() ->
+            {
+                for (int i = 0; i < 250; i++)
+                {
+                    String command = "!" + thread + "-" + i;
+                    CommandRegistry.edit((responses, permissions) -> responses.put(command, command) == null);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        //No edit may be lost to another one made at the same time
+        assertTrue(TwircBot.commandList.size() == 1000);
+        assertTrue(CommandRegistry.current().size() == 1000);
+    }
+
+    //The registry is shared, so each test starts from no commands
+    private static void clear() throws IOException
+    {
+        CommandRegistry.save(() -> { });
+        CommandRegistry.reload((responses, permissions) -> true);
+    }
+}
@@ -0,0 +1,56 @@
+package jtwirc.common.command;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestCommandRegistryWatcher
+{
+    @Test
+    public void testDebounce() throws IOException, InterruptedException
+    {
+        Path directory = Files.createTempDirectory("commands");
+        AtomicInteger reloads = new AtomicInteger();
+        CommandRegistryWatcher watcher = new CommandRegistryWatcher(directory, reloads::incrementAndGet, "commands.json");
+        watcher.start();
+        try
+        {
+            //A file written in several steps is reloaded once, after the writes settle
+            for (int i = 0; i < 5; i++)
+            {
+                Files.write(directory.resolve("commands.json"), ("{\"Commands\":[" + i + "]}").getBytes(StandardCharsets.UTF_8));
+                Thread.sleep(20);
+            }
+            assertTrue(awaitReloads(reloads, 1));
+            Thread.sleep(1000);
+            assertTrue(reloads.get() == 1);
+
+            //Other files in the directory are ignored
+            Files.write(directory.resolve("quotes.json"), new byte[]{'{', '}'});
+            Thread.sleep(1500);
+            assertTrue(reloads.get() == 1);
+
+            Files.write(directory.resolve("commands.json"), new byte[]{'{', '}'});
+            assertTrue(awaitReloads(reloads, 2));
+        }
+        finally
+        {
+            watcher.stop();
+        }
+    }
+
+    private static boolean awaitReloads(AtomicInteger reloads, int expected) throws InterruptedException
+    {
+        for (int i = 0; i < 100 && reloads.get() < expected; i++)
+        {
+            Thread.sleep(50);
+        }
+        return reloads.get() == expected;
+    }
+}
@@ -0,0 +1,99 @@
+package jtwirc.common.command;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestCommandRouter
+{
+    private static final CommandBase QUOTE = new Noop();
+    private static final CommandBase UPTIME = new Noop();
+
+    @Test
+    public void testFirstCharacter() throws IOException
+    {
+        CommandRouter router = router("!discord");
+
+        assertTrue(router.route("") == null);
+        assertTrue(router.route("hello !quote") == null);
+        assertTrue(router.route("?quote") == null);
+        assertTrue(router.route(" !quote") == null);
+
+        //A known first character is only the start, the whole command must match
+        assertTrue(router.route("!quotes") == null);
+        assertTrue(router.route("!quote") != null);
+    }
+
+    @Test
+    public void testCaseFolding() throws IOException
+    {
+        CommandRouter router = router("!Discord");
+
+        CommandRouter.Match builtIn = router.route("!QUOTE add Hello there");
+        assertTrue(builtIn.getBuiltIn() == QUOTE && builtIn.getCustomCommand() == null);
+        assertTrue(builtIn.getCommand().equals("!quote"));
+        assertTrue(builtIn.getTokens().length == 4 && builtIn.getTokens()[0].equals("!QUOTE"));
+
+        CommandRouter.Match custom = router.route("!discord");
+        assertTrue(custom.getBuiltIn() == null && custom.getCustomCommand() != null);
+        assertTrue(custom.getCustomCommand().getName().equals("!Discord"));
+        assertTrue(router.route("!DISCORD please").getCustomCommand() == custom.getCustomCommand());
+    }
+
+    @Test
+    public void testBuiltInAndCustom() throws IOException
+    {
+        CommandRouter router = router("!Uptime");
+
+        //Both are run, so the match must lead to both
+        CommandRouter.Match match = router.route("!uptime");
+        assertTrue(match.getBuiltIn() == UPTIME);
+        assertTrue(match.getCustomCommand() != null && match.getCustomCommand().getName().equals("!Uptime"));
+    }
+
+    @Test
+    public void testRebuild() throws IOException
+    {
+        CommandRouter router = router();
+        assertTrue(router.route("?faq") == null);
+
+        CommandRegistry.edit((responses, permissions) -> responses.put("?FAQ", "Read the panels") == null);
+        CommandRouter.Match match = router.route("?faq");
+        assertTrue(match != null && match.getCustomCommand().getResponse().getSource().equals("Read the panels"));
+
+        CommandRegistry.edit((responses, permissions) -> responses.remove("?FAQ") != null);
+        assertTrue(router.route("?faq") == null);
+        assertTrue(router.route("!quote") != null);
+    }
+
+    //The registry is shared, so each test starts from the custom commands it names
+    private static CommandRouter router(String... customCommands) throws IOException
+    {
+        CommandRegistry.save(() -> { });
+        CommandRegistry.reload((responses, permissions) ->
+        {
+            for (String command : customCommands)
+            {
+                responses.put(command, "Response to " + command);
+            }
+            return true;
+        });
+
+        Map<String, CommandBase> builtIns = new HashMap<>();
+        builtIns.put("!quote", QUOTE);
+        builtIns.put("!uptime", UPTIME);
+        return new CommandRouter(builtIns);
+    }
+
+    private static final class Noop extends CommandBase
+    {
+        @Override
+        public void execute(CommandContext context)
+        {
+        }
+    }
+}
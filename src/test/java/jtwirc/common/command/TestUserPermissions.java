@@ -0,0 +1,43 @@
+package jtwirc.common.command;
+
+import jtwirc.enums.PERMISSION_LEVEL;
+import jtwirc.types.twitchMessage.DefaultTwitchMessageBuilder;
+import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.types.users.DefaultTwitchUserBuilder;
+import jtwirc.types.users.TwitchUser;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestUserPermissions
+{
+    @Test
+    public void testOverrides()
+    {
+        UserPermissions.edit(permissions ->
+        {
+            permissions.clear();
+            permissions.put("Regular", "reg");
+            permissions.put("formermod", "mod");
+            return true;
+        });
+
+        assertTrue(UserPermissions.levelOf(user("regular", "")) == PERMISSION_LEVEL.REGULAR);
+        assertTrue(UserPermissions.levelOf(user("someone", "")) == PERMISSION_LEVEL.EVERYONE);
+
+        //A "mod" entry outlives the user's moderator status, so only the badge counts
+        assertTrue(UserPermissions.levelOf(user("formermod", "")) == PERMISSION_LEVEL.EVERYONE);
+        assertTrue(UserPermissions.levelOf(user("formermod", "moderator/1")) == PERMISSION_LEVEL.MODERATOR);
+        assertTrue(UserPermissions.levelOf(user("regular", "broadcaster/1")) == PERMISSION_LEVEL.BROADCASTER);
+
+        assertTrue(!UserPermissions.edit(permissions -> permissions.putIfAbsent("formermod", "mod") == null));
+        assertTrue(UserPermissions.edit(permissions -> permissions.remove("Regular") != null));
+        assertTrue(UserPermissions.levelOf(user("regular", "")) == PERMISSION_LEVEL.EVERYONE);
+    }
+
+    private static TwitchUser user(String name, String badges)
+    {
+        TwitchMessage message = new DefaultTwitchMessageBuilder().build("@badges=" + badges + ";color=;display-name=" + name + ";emotes=;mod=0;room-id=31974228;subscriber=0;turbo=0;user-id=27658385;user-type= :" + name + "!" + name + "@" + name + ".tmi.twitch.tv PRIVMSG #gikkman :!test");
+        return new DefaultTwitchUserBuilder().build(message);
+    }
+}
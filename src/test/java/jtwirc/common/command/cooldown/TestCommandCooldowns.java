@@ -0,0 +1,197 @@
+package jtwirc.common.command.cooldown;
+
+import jtwirc.enums.BADGE;
+import jtwirc.enums.USER_TYPE;
+import jtwirc.types.users.TwitchUser;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestCommandCooldowns
+{
+    private static final TwitchUser ALICE = new User("alice", 1, 0);
+    private static final TwitchUser BOB = new User("bob", 2, 0);
+    private static final TwitchUser SUB = new User("sub", 3, BADGE.SUBSCRIBER.mask);
+    private static final TwitchUser OTHER_SUB = new User("othersub", 4, BADGE.SUBSCRIBER.mask | BADGE.PREMIUM.mask);
+    private static final TwitchUser MOD = new User("mod", 5, BADGE.MODERATOR.mask);
+    private static final TwitchUser BROADCASTER = new User("broadcaster", 6, BADGE.BROADCASTER.mask);
+
+    @Test
+    public void testModsAndBroadcasterBypass()
+    {
+        CommandCooldowns cooldowns = new CommandCooldowns(Cooldown.NONE.withGlobal(1, TimeUnit.MINUTES).withUser(1, TimeUnit.MINUTES));
+        for (int i = 0; i < 3; i++)
+        {
+            assertTrue(cooldowns.tryAcquire("!quote", MOD) == 0);
+            assertTrue(cooldowns.tryAcquire("!quote", BROADCASTER) == 0);
+        }
+
+        //Their uses don't start the cooldown for anyone else either
+        assertTrue(cooldowns.tryAcquire("!quote", ALICE) == 0);
+        assertTrue(cooldowns.tryAcquire("!quote", BOB) > 0);
+        assertTrue(cooldowns.tryAcquire("!quote", MOD) == 0);
+        assertTrue(cooldowns.remaining("!quote", BROADCASTER) == 0);
+    }
+
+    @Test
+    public void testPerUserAndPerCommand()
+    {
+        CommandCooldowns cooldowns = new CommandCooldowns(Cooldown.NONE.withUser(1, TimeUnit.MINUTES));
+        cooldowns.setCooldown("!Uptime", Cooldown.NONE);
+
+        assertTrue(cooldowns.tryAcquire("!quote", ALICE) == 0);
+        assertTrue(cooldowns.tryAcquire("!QUOTE", ALICE) > 0);
+        assertTrue(cooldowns.tryAcquire("!quote", BOB) == 0);
+        assertTrue(cooldowns.tryAcquire("!points", ALICE) == 0);
+
+        //A command with a cooldown of its own, looked up ignoring case
+        assertTrue(cooldowns.tryAcquire("!uptime", ALICE) == 0);
+        assertTrue(cooldowns.tryAcquire("!uptime", ALICE) == 0);
+    }
+
+    @Test
+    public void testRoleMask()
+    {
+        CommandCooldowns cooldowns = new CommandCooldowns(Cooldown.NONE.withRole(BADGE.SUBSCRIBER, 1, TimeUnit.MINUTES));
+
+        //The role's cooldown is shared by everyone with the badge, and doesn't touch anyone without it
+        assertTrue(cooldowns.tryAcquire("!hug", SUB) == 0);
+        assertTrue(cooldowns.tryAcquire("!hug", OTHER_SUB) > 0);
+        assertTrue(cooldowns.remaining("!hug", OTHER_SUB) > 0);
+        assertTrue(cooldowns.tryAcquire("!hug", ALICE) == 0);
+        assertTrue(cooldowns.tryAcquire("!hug", ALICE) == 0);
+    }
+
+    @Test
+    public void testEveryPartCheckedFirst() throws InterruptedException
+    {
+        CommandCooldowns cooldowns = new CommandCooldowns(Cooldown.NONE.withGlobal(200, TimeUnit.MILLISECONDS).withUser(1, TimeUnit.MINUTES));
+        assertTrue(cooldowns.tryAcquire("!game", ALICE) == 0);
+
+        //Bob is held back by the global cooldown, so his own cooldown must not start
+        assertTrue(cooldowns.tryAcquire("!game", BOB) > 0);
+        Thread.sleep(300);
+        assertTrue(cooldowns.remaining("!game", BOB) == 0);
+        assertTrue(cooldowns.tryAcquire("!game", BOB) == 0);
+        assertTrue(cooldowns.tryAcquire("!game", ALICE) > 20 * 1000);
+    }
+
+    @Test
+    public void testMillisRoundUp()
+    {
+        CommandCooldowns cooldowns = new CommandCooldowns(Cooldown.NONE.withUser(1, TimeUnit.SECONDS));
+        assertTrue(cooldowns.tryAcquire("!hi", ALICE) == 0);
+        long wait = cooldowns.tryAcquire("!hi", ALICE);
+        assertTrue(wait > 900 && wait <= 1000);
+
+        //Less than a millisecond left is still a wait, never 0
+        cooldowns.setCooldown("!hi", Cooldown.NONE.withUser(1, TimeUnit.MILLISECONDS));
+        long start = System.nanoTime();
+        assertTrue(cooldowns.tryAcquire("!hi", ALICE) == 0);
+        wait = cooldowns.tryAcquire("!hi", ALICE);
+        if (System.nanoTime() - start < TimeUnit.MICROSECONDS.toNanos(500))
+        {
+            assertTrue(wait == 1);
+        }
+    }
+
+    private static final class User implements TwitchUser
+    {
+        private final String name;
+        private final int id;
+        private final int badgeMask;
+
+        User(String name, int id, int badgeMask)
+        {
+            this.name = name;
+            this.id = id;
+            this.badgeMask = badgeMask;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public boolean isStaff()
+        {
+            return false;
+        }
+
+        @Override
+        public boolean isAdmin()
+        {
+            return false;
+        }
+
+        @Override
+        public boolean isGlobalMod()
+        {
+            return false;
+        }
+
+        @Override
+        public boolean isBroadcaster()
+        {
+            return hasAny(BADGE.BROADCASTER.mask);
+        }
+
+        @Override
+        public boolean isMod()
+        {
+            return hasAny(BADGE.MODERATOR.mask);
+        }
+
+        @Override
+        public boolean isTurbo()
+        {
+            return false;
+        }
+
+        @Override
+        public boolean isSub()
+        {
+            return hasAny(BADGE.SUBSCRIBER.mask);
+        }
+
+        @Override
+        public USER_TYPE getUserType()
+        {
+            return USER_TYPE.DEFAULT;
+        }
+
+        @Override
+        public int getColor()
+        {
+            return -1;
+        }
+
+        @Override
+        public String[] getBadges()
+        {
+            return new String[0];
+        }
+
+        @Override
+        public int getUserID()
+        {
+            return id;
+        }
+
+        @Override
+        public int getBadgeMask()
+        {
+            return badgeMask;
+        }
+
+        @Override
+        public int getBadgeVersion(BADGE badge)
+        {
+            return hasAny(badge.mask) ? 1 : 0;
+        }
+    }
+}
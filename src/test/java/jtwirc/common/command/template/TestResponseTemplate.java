@@ -0,0 +1,87 @@
+package jtwirc.common.command.template;
+
+import jtwirc.common.command.CommandContext;
+import jtwirc.types.twitchMessage.DefaultTwitchMessageBuilder;
+import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.types.users.DefaultTwitchUserBuilder;
+import jtwirc.types.users.TwitchUser;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestResponseTemplate
+{
+    @Test
+    public void testLiteralPercent()
+    {
+        ResponseTemplate template = ResponseTemplate.compile("100% of 50%", new AtomicLong());
+        assertTrue(!template.hasVariables());
+        assertTrue(template.render(context("!done")).equals("100% of 50%"));
+
+        //A percent sign that doesn't close a variable may still open one
+        template = ResponseTemplate.compile("Done 100% %sender%", new AtomicLong());
+        assertTrue(template.hasVariables());
+        assertTrue(template.render(context("!done")).equals("Done 100% Gikkman"));
+    }
+
+    @Test
+    public void testUnknownNames()
+    {
+        ResponseTemplate template = ResponseTemplate.compile("%nope% and %sender% in %channel%", new AtomicLong());
+        assertTrue(template.render(context("!who")).equals("%nope% and Gikkman in #gikkman"));
+
+        template = ResponseTemplate.compile("%args[0]% %args[x]% %args[%", new AtomicLong());
+        assertTrue(!template.hasVariables());
+    }
+
+    @Test
+    public void testArguments()
+    {
+        ResponseTemplate template = ResponseTemplate.compile("%args[1]%, %args[2]% and %args[12]%", new AtomicLong());
+        assertTrue(template.render(context("!hug Bob")).equals("Bob, %args[2]% and %args[12]%"));
+        assertTrue(template.render(context("!hug a b c d e f g h i j k l")).equals("a, b and l"));
+
+        //%user% without an argument is left as typed too
+        template = ResponseTemplate.compile("Go follow %user%", new AtomicLong());
+        assertTrue(template.render(context("!so")).equals("Go follow %user%"));
+        assertTrue(template.render(context("!so Bob")).equals("Go follow Bob"));
+    }
+
+    @Test
+    public void testCountSurvivesRecompile()
+    {
+        AtomicLong count = new AtomicLong();
+        ResponseTemplate template = ResponseTemplate.compile("%count%", count);
+        assertTrue(template.render(context("!hi")).equals("1"));
+        assertTrue(template.render(context("!hi")).equals("2"));
+
+        template = ResponseTemplate.compile("Said hi %count% times", count);
+        assertTrue(template.render(context("!hi")).equals("Said hi 3 times"));
+
+        //The same goes for a command whose response is edited
+        ResponseTemplates.get("!testcount", "%count%").render(context("!testcount"));
+        ResponseTemplate edited = ResponseTemplates.get("!testcount", "Count: %count%");
+        assertTrue(edited.render(context("!testcount")).equals("Count: 2"));
+        ResponseTemplates.remove("!testcount");
+        assertTrue(ResponseTemplates.get("!testcount", "%count%").render(context("!testcount")).equals("1"));
+        ResponseTemplates.remove("!testcount");
+    }
+
+    @Test
+    public void testLookups()
+    {
+        assertTrue(ResponseTemplate.compile("Playing %game%", new AtomicLong()).hasLookups());
+        assertTrue(ResponseTemplate.compile("Live for %uptime%", new AtomicLong()).hasLookups());
+        assertTrue(!ResponseTemplate.compile("Hi %sender%, %count%", new AtomicLong()).hasLookups());
+        assertTrue(!ResponseTemplate.compile("100% %game", new AtomicLong()).hasLookups());
+    }
+
+    private static CommandContext context(String content)
+    {
+        TwitchMessage message = new DefaultTwitchMessageBuilder().build("@badges=;color=;display-name=Gikkman;emotes=;mod=0;room-id=31974228;subscriber=0;turbo=0;user-id=27658385;user-type= :gikkman!gikkman@gikkman.tmi.twitch.tv PRIVMSG #gikkman :" + content);
+        TwitchUser user = new DefaultTwitchUserBuilder().build(message);
+        return new CommandContext(user, message, content.split(" "));
+    }
+}
@@ -0,0 +1,53 @@
+package jtwirc.enums;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestPermissionLevel
+{
+    @Test
+    public void testOrder()
+    {
+        assertTrue(PERMISSION_LEVEL.BROADCASTER.allows(PERMISSION_LEVEL.MODERATOR));
+        assertTrue(PERMISSION_LEVEL.MODERATOR.allows(PERMISSION_LEVEL.REGULAR));
+        assertTrue(PERMISSION_LEVEL.REGULAR.allows(PERMISSION_LEVEL.REGULAR));
+        assertTrue(!PERMISSION_LEVEL.REGULAR.allows(PERMISSION_LEVEL.MODERATOR));
+        assertTrue(!PERMISSION_LEVEL.EVERYONE.allows(PERMISSION_LEVEL.REGULAR));
+    }
+
+    @Test
+    public void testFromBadges()
+    {
+        assertTrue(PERMISSION_LEVEL.fromBadges(0) == PERMISSION_LEVEL.EVERYONE);
+        assertTrue(PERMISSION_LEVEL.fromBadges(BADGE.SUBSCRIBER.mask) == PERMISSION_LEVEL.EVERYONE);
+        assertTrue(PERMISSION_LEVEL.fromBadges(BADGE.VIP.mask | BADGE.SUBSCRIBER.mask) == PERMISSION_LEVEL.REGULAR);
+        assertTrue(PERMISSION_LEVEL.fromBadges(BADGE.MODERATOR.mask | BADGE.VIP.mask) == PERMISSION_LEVEL.MODERATOR);
+        assertTrue(PERMISSION_LEVEL.fromBadges(BADGE.MOD_OR_BROADCASTER) == PERMISSION_LEVEL.BROADCASTER);
+    }
+
+    @Test
+    public void testFromString()
+    {
+        //The spellings found in existing permission files
+        assertTrue(PERMISSION_LEVEL.fromString("reg") == PERMISSION_LEVEL.REGULAR);
+        assertTrue(PERMISSION_LEVEL.fromString("mod") == PERMISSION_LEVEL.MODERATOR);
+        assertTrue(PERMISSION_LEVEL.fromString("Moderator") == PERMISSION_LEVEL.MODERATOR);
+        assertTrue(PERMISSION_LEVEL.fromString("null") == PERMISSION_LEVEL.EVERYONE);
+        assertTrue(PERMISSION_LEVEL.fromString(null) == PERMISSION_LEVEL.EVERYONE);
+        assertTrue(PERMISSION_LEVEL.fromString("whatever") == PERMISSION_LEVEL.EVERYONE);
+    }
+
+    @Test
+    public void testFromCommandPermission()
+    {
+        //"reg" commands were always limited to moderators, and must stay that way
+        assertTrue(PERMISSION_LEVEL.fromCommandPermission("reg") == PERMISSION_LEVEL.MODERATOR);
+        assertTrue(PERMISSION_LEVEL.fromCommandPermission("REG") == PERMISSION_LEVEL.MODERATOR);
+        assertTrue(PERMISSION_LEVEL.fromCommandPermission("regular") == PERMISSION_LEVEL.REGULAR);
+        assertTrue(PERMISSION_LEVEL.fromCommandPermission("mod") == PERMISSION_LEVEL.MODERATOR);
+        assertTrue(PERMISSION_LEVEL.fromCommandPermission("Moderator") == PERMISSION_LEVEL.MODERATOR);
+        assertTrue(!PERMISSION_LEVEL.fromBadges(BADGE.VIP.mask).allows(PERMISSION_LEVEL.fromCommandPermission("reg")));
+        assertTrue(PERMISSION_LEVEL.fromCommandPermission(null) == PERMISSION_LEVEL.EVERYONE);
+    }
+}
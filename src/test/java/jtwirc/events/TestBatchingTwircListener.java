@@ -0,0 +1,66 @@
+package jtwirc.events;
+
+import jtwirc.enums.OVERFLOW_POLICY;
+import jtwirc.types.twitchMessage.DefaultTwitchMessageBuilder;
+import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.types.users.DefaultTwitchUserBuilder;
+import jtwirc.types.users.TwitchUser;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestBatchingTwircListener
+{
+    @Test
+    public void testSizeAndTimeCaps() throws InterruptedException
+    {
+        int messages = 25;
+        List<List<UserMessage>> batches = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(messages);
+        BatchingTwircListener listener = new BatchingTwircListener(batch ->
+        {
+            synchronized (batches)
+            {
+                batches.add(batch);
+            }
+            for (int i = 0; i < batch.size(); i++)
+            {
+                done.countDown();
+            }
+        }, "test", 10, 100, 100, OVERFLOW_POLICY.BLOCK);
+
+        DefaultTwitchMessageBuilder messageBuilder = new DefaultTwitchMessageBuilder();
+        DefaultTwitchUserBuilder userBuilder = new DefaultTwitchUserBuilder();
+        for (int i = 0; i < messages; i++)
+        {
+            TwitchMessage message = messageBuilder.build(":viewer!viewer@viewer.tmi.twitch.tv PRIVMSG #channel :" + i);
+            TwitchUser user = userBuilder.build(message);
+            listener.onPrivMsg(user, message);
+        }
+
+        //The last batch is not full, so it is only delivered once the delay has passed
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        listener.shutdown();
+
+        int expected = 0;
+        synchronized (batches)
+        {
+            for (List<UserMessage> batch : batches)
+            {
+                assertTrue(!batch.isEmpty() && batch.size() <= 10);
+                for (UserMessage message : batch)
+                {
+                    assertTrue(message.getMessage().getContent().equals(Integer.toString(expected++)));
+                }
+            }
+        }
+        assertTrue(expected == messages);
+        assertTrue(listener.getBatches() == batches.size());
+        assertTrue(listener.getDelivered() == messages);
+    }
+}
@@ -0,0 +1,97 @@
+package jtwirc.events;
+
+import jtwirc.enums.OVERFLOW_POLICY;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestSerialExecutor
+{
+    @Test
+    public void testOrderAndIsolation() throws InterruptedException
+    {
+        SerialExecutor executor = new SerialExecutor("test", 16, OVERFLOW_POLICY.BLOCK);
+        List<Integer> ran = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        executor.execute(() -> ran.add(1));
+        executor.execute(() ->
+        {
+            throw new IllegalStateException("A failing task must not stop the executor");
+        });
+        executor.execute(() -> ran.add(2));
+        executor.execute(done::countDown);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(ran.size() == 2 && ran.get(0) == 1 && ran.get(1) == 2);
+        assertTrue(executor.getMetrics().getFailed() == 1);
+        executor.shutdown();
+    }
+
+    @Test
+    public void testDropNewest() throws InterruptedException
+    {
+        SerialExecutor executor = new SerialExecutor("test", 1, OVERFLOW_POLICY.DROP_NEWEST);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        executor.execute(() ->
+        {
+            running.countDown();
+            try
+            {
+                release.await();
+            }
+            catch (InterruptedException ignored)
+            {
+            }
+        });
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        executor.execute(() -> { });    //Fills the queue
+        executor.execute(() -> { });    //Dropped
+        assertTrue(executor.getMetrics().getDropped() == 1);
+
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    public void testPartitionsKeepPerKeyOrder() throws InterruptedException
+    {
+        PartitionedExecutor executor = new PartitionedExecutor("test", 4, 1000, OVERFLOW_POLICY.BLOCK);
+        List<List<Integer>> perKey = new ArrayList<>();
+        for (int key = 0; key < 10; key++)
+        {
+            perKey.add(new ArrayList<>());
+        }
+        CountDownLatch done = new CountDownLatch(1000);
+
+        for (int i = 0; i < 1000; i++)
+        {
+            int value = i;
+            List<Integer> list = perKey.get(i % 10);
+            executor.execute("user" + (i % 10), () ->
+            {
+                list.add(value);
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (List<Integer> list : perKey)
+        {
+            assertTrue(list.size() == 100);
+            for (int i = 1; i < list.size(); i++)
+            {
+                assertTrue(list.get(i - 1) < list.get(i));
+            }
+        }
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,45 @@
+package jtwirc.metrics;
+
+import jtwirc.enums.COMMAND_OUTCOME;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestCommandMetrics
+{
+    @Test
+    public void testOutcomes()
+    {
+        CommandMetrics metrics = new CommandMetrics("!uptime");
+        metrics.recordInvocation(COMMAND_OUTCOME.SUCCESS, 2000);
+        metrics.recordInvocation(COMMAND_OUTCOME.SUCCESS, 4000);
+        metrics.recordInvocation(COMMAND_OUTCOME.COOLDOWN, 100);
+        metrics.recordInvocation(COMMAND_OUTCOME.TIMEOUT, 8_000_000_000L);
+
+        assertTrue(metrics.getInvocations() == 4);
+        assertTrue(metrics.getCount(COMMAND_OUTCOME.SUCCESS) == 2);
+        assertTrue(metrics.getCount(COMMAND_OUTCOME.ERROR) == 0);
+        assertTrue(metrics.getTime(COMMAND_OUTCOME.SUCCESS).getMax() == 4);
+        assertTrue(metrics.getTime(COMMAND_OUTCOME.TIMEOUT).getMax() == 8_000_000);
+
+        //Only the outcomes that happened are reported
+        String report = metrics.toString();
+        assertTrue(report.startsWith("!uptime: invocations=4"));
+        assertTrue(report.contains("TIMEOUTUs=") && !report.contains("ERRORUs="));
+    }
+
+    @Test
+    public void testCommandSources()
+    {
+        TwircMetrics twirc = new TwircMetrics(new IngestMetrics(), new ControlMetrics(), Collections::emptyList, Collections.emptyList());
+        assertTrue(twirc.getCommands().isEmpty());
+
+        CommandMetrics game = new CommandMetrics("!game");
+        twirc.addCommandMetrics(() -> Arrays.asList(game, new CommandMetrics("!quote")));
+        assertTrue(twirc.getCommands().size() == 2 && twirc.getCommands().get(0) == game);
+        assertTrue(twirc.toString().contains("command !game"));
+    }
+}
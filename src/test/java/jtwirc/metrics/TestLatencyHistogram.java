@@ -0,0 +1,27 @@
+package jtwirc.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestLatencyHistogram
+{
+    @Test
+    public void testPercentiles()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertTrue(histogram.getPercentile(99) == 0);
+
+        for (int i = 1; i <= 100; i++)
+        {
+            histogram.record(i);
+        }
+        histogram.record(-5);
+
+        assertTrue(histogram.getCount() == 101);
+        assertTrue(histogram.getMax() == 100);
+        assertTrue(histogram.getPercentile(0) == 0);
+        assertTrue(histogram.getPercentile(50) == 63);     //50 falls in the 32-63 bucket
+        assertTrue(histogram.getPercentile(100) == 100);   //The 64-127 bucket is capped by the max
+    }
+}
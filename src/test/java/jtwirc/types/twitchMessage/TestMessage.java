@@ -1,13 +1,18 @@
 package jtwirc.types.twitchMessage;
 
+import jtwirc.enums.BADGE;
 import jtwirc.enums.USER_TYPE;
+import jtwirc.types.UserFields;
 import jtwirc.types.emote.Emote;
 import jtwirc.types.emote.Emote.EmoteIndices;
 import jtwirc.types.emote.EmoteImpl;
+import jtwirc.types.emote.EmoteParser;
 import jtwirc.types.users.DefaultTwitchUserBuilder;
 import jtwirc.types.users.TwitchUser;
 import org.junit.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.LinkedList;
 
 import static org.junit.Assert.assertTrue;
@@ -44,6 +49,135 @@ public class TestMessage
         runPrivMsgTest(BROADCASTER_MESSAGE, true, false, false, "Yo! tmrHat tmrHat tmrToad", color, DISPLAY_NAME, true, emotes, new String[]{"broadcaster/1"}, USER_TYPE.OWNER);
     }
 
+    @Test
+    public void testBadges()
+    {
+        final String LINE = "@badges=broadcaster/1,subscriber/12,bits/1000,unknown/3;color=#FF69B4;display-name=Gikkman;emotes=;mod=0;room-id=27658385;subscriber=1;turbo=0;user-id=27658385;user-type= :gikkman!gikkman@gikkman.tmi.twitch.tv PRIVMSG #gikkman :hi";
+
+        TwitchUser user = new DefaultTwitchUserBuilder().build(new DefaultTwitchMessageBuilder().build(LINE));
+        assertTrue(user.isBroadcaster());
+        assertTrue(!user.isStaff());
+        assertTrue(user.hasAny(BADGE.MOD_OR_BROADCASTER));
+        assertTrue(user.hasAny(BADGE.SUBSCRIBER.mask));
+        assertTrue(!user.hasAny(BADGE.TWITCH_STAFF | BADGE.TURBO.mask));
+        assertTrue(user.getBadgeVersion(BADGE.SUBSCRIBER) == 12);
+        assertTrue(user.getBadgeVersion(BADGE.BITS) == 1000);
+        assertTrue(user.getBadgeVersion(BADGE.MODERATOR) == 0);
+        assertTrue(user.getBadges().length == 4);
+    }
+
+    @Test
+    public void testEmoteData()
+    {
+        final String TAG = "@badges=;color=;display-name=Gikkman;emotes=4685:4-9,11-16/15614:18-24;mod=0";
+        final String LAST_TAG = "@badges=;color=;display-name=Gikkman;emotes=25:0-4";
+
+        int[] data = EmoteParser.parseEmoteData(TAG);
+        int[] expected = {4685, 4, 10, 4685, 11, 17, 15614, 18, 25};
+        assertTrue(data.length == expected.length);
+        for (int i = 0; i < expected.length; i++)
+        {
+            assertTrue(data[i] == expected[i]);
+        }
+
+        data = EmoteParser.parseEmoteData(LAST_TAG);
+        assertTrue(data.length == 3 && data[0] == 25 && data[1] == 0 && data[2] == 5);
+
+        assertTrue(EmoteParser.parseEmoteData("@badges=;emotes=;mod=0").length == 0);
+        assertTrue(EmoteParser.parseEmoteData("").length == 0);
+    }
+
+    @Test
+    public void testEmoteDataSkipsNonNumericIDs()
+    {
+        final String TAG = "@badges=;emotes=emotesv2_dc24652ada1e4c84a5e3ceebae4de709:0-5,7-12/25:14-18;mod=0";
+        final String ONLY_TAG = "@badges=;emotes=emotesv2_dc24652ada1e4c84a5e3ceebae4de709:0-5";
+
+        int[] data = EmoteParser.parseEmoteData(TAG);
+        assertTrue(data.length == 3 && data[0] == 25 && data[1] == 14 && data[2] == 19);
+
+        assertTrue(EmoteParser.parseEmoteData(ONLY_TAG).length == 0);
+        assertTrue(EmoteParser.parseEmotes("Kappa1 Kappa2 Kappa", TAG).size() == 1);
+    }
+
+    @Test
+    public void testByteBuilder()
+    {
+        final String[] LINES = {
+                "@badges=broadcaster/1,bits/100;color=#FF69B4;display-name=Gikkman;emotes=4685:4-9,11-16/15614:18-24;mod=1;room-id=27658385;subscriber=0;turbo=0;user-id=27658385;user-type=mod :gikkman!gikkman@gikkman.tmi.twitch.tv PRIVMSG #gikkman :Yo! tmrHat tmrHat tmrToad",
+                "@badges=;color=;display-name=Gikkm\u00e4n;emote-sets=0,33,1512;emotes=25:2-6;mod=0;room-id=31974228;subscriber=1;turbo=1;user-id=27658385;user-type= :gikkman!gikkman@gikkman.tmi.twitch.tv PRIVMSG #gikkman :\u00f6 Kappa",
+                ":gikkman!gikkman@gikkman.tmi.twitch.tv JOIN #gikkman",
+                ":jtv MODE #gikkman +o gikkman",
+                ":tmi.twitch.tv 353 gikkman = #gikkman :gikkman gikkbot",
+                ":tmi.twitch.tv 366 gikkman #gikkman :End of /NAMES list"
+        };
+
+        for (String line : LINES)
+        {
+            TwitchMessage expected = new DefaultTwitchMessageBuilder().build(line);
+            TwitchMessage actual = new ByteTwitchMessageBuilder().build(line);
+
+            assertTrue(actual.getRaw().equals(line));
+            assertTrue(actual.getTag().equals(expected.getTag()));
+            assertTrue(actual.getPrefix().equals(expected.getPrefix()));
+            assertTrue(actual.getCommand().equals(expected.getCommand()));
+            assertTrue(actual.getTarget() + " != " + expected.getTarget(), actual.getTarget().equals(expected.getTarget()));
+            assertTrue(actual.getContent() + " != " + expected.getContent(), actual.getContent().equals(expected.getContent()));
+            assertTrue(actual.hasEmotes() == expected.hasEmotes());
+            assertTrue(actual.getEmotes().size() == expected.getEmotes().size());
+            for (int i = 0; i < expected.getEmotes().size(); i++)
+            {
+                assertTrue(actual.getEmotes().get(i).getPattern().equals(expected.getEmotes().get(i).getPattern()));
+            }
+            if (!expected.getTag().isEmpty())
+            {
+                UserFields actualFields = actual.getUserFields();
+                UserFields expectedFields = expected.getUserFields();
+                assertTrue(actualFields.displayName.equals(expectedFields.displayName));
+                assertTrue(actualFields.color == expectedFields.color);
+                assertTrue(actualFields.userID == expectedFields.userID);
+                assertTrue(Arrays.equals(actualFields.emoteSets, expectedFields.emoteSets));
+                assertTrue(actualFields.isMod == expectedFields.isMod && actualFields.isSub == expectedFields.isSub && actualFields.isTurbo == expectedFields.isTurbo);
+                assertTrue(actualFields.isBroadcaster == expectedFields.isBroadcaster);
+                assertTrue(actualFields.userType == expectedFields.userType);
+                assertTrue(Arrays.equals(actualFields.badges, expectedFields.badges));
+                assertTrue(actualFields.badgeMask == expectedFields.badgeMask);
+                assertTrue(Arrays.equals(actualFields.badgeVersions, expectedFields.badgeVersions));
+            }
+        }
+
+        byte[] bytes = ("xx" + LINES[0] + "\r\n").getBytes(StandardCharsets.UTF_8);
+        ByteTwitchMessage message = (ByteTwitchMessage) new ByteTwitchMessageBuilder().build(bytes, 2, bytes.length - 4);
+        assertTrue(message.getRaw().equals(LINES[0]));
+        assertTrue(message.isMod() && !message.isSub() && !message.isTurbo());
+        assertTrue(message.getUserID() == userID);
+        assertTrue(message.getTotalBits() == 100);
+    }
+
+    @Test
+    public void testFastPathTags()
+    {
+        final String LINE = "@badges=bits/1000;bits=100;color=;display-name=Gikkman;emotes=;id=b34ccfc7-4977-403a-8a94-33c6bac34fb8;mod=0;msg-id=resub;room-id=31974228;subscriber=0;tmi-sent-ts=1507246572675;turbo=0;user-id=27658385;user-type= :gikkman!gikkman@gikkman.tmi.twitch.tv PRIVMSG #gikkman :cheer100";
+        final String NO_TAG = ":gikkman!gikkman@gikkman.tmi.twitch.tv JOIN #gikkman";
+
+        TwitchMessageBuilder[] builders = {new DefaultTwitchMessageBuilder(), new ByteTwitchMessageBuilder()};
+        for (TwitchMessageBuilder builder : builders)
+        {
+            TwitchMessage message = builder.build(LINE);
+            assertTrue(message.getMessageID().equals("b34ccfc7-4977-403a-8a94-33c6bac34fb8"));
+            assertTrue(message.getSentTimestamp() == 1507246572675L);
+            assertTrue(message.getRoomID() == 31974228);
+            assertTrue(message.getBitsThisCheer() == 100);
+            assertTrue(message.getTotalBits() == 1000);
+
+            message = builder.build(NO_TAG);
+            assertTrue(message.getMessageID().isEmpty());
+            assertTrue(message.getSentTimestamp() == -1);
+            assertTrue(message.getRoomID() == -1);
+            assertTrue(!message.containBits());
+        }
+    }
+
     private static void runPrivMsgTest(String line,
                                        boolean isMod, boolean isSub, boolean isTurbo,
                                        String content, int color,
@@ -53,6 +187,9 @@ public class TestMessage
         TwitchMessage message = new DefaultTwitchMessageBuilder().build(line);
         TwitchUser user = new DefaultTwitchUserBuilder().build(message);
 
+        //The user's tags are parsed once, and shared by everything built from the message
+        assertTrue(message.getUserFields() == message.getUserFields());
+
         //Assert message properties
         assertTrue(!message.getTag().isEmpty());
         assertTrue(message.getPrefix().equals(":gikkman!gikkman@gikkman.tmi.twitch.tv"));
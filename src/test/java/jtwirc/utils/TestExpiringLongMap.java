@@ -0,0 +1,56 @@
+package jtwirc.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestExpiringLongMap
+{
+    @Test
+    public void testAcquire()
+    {
+        ExpiringLongMap map = new ExpiringLongMap(16);
+        assertTrue(map.tryAcquire(42, 100, 50) == 0);
+        assertTrue(map.tryAcquire(42, 120, 50) == 30);
+        assertTrue(map.remaining(42, 140) == 10);
+        assertTrue(map.remaining(7, 140) == 0);
+
+        //Once the deadline has passed, the key may be acquired again
+        assertTrue(map.tryAcquire(42, 150, 50) == 0);
+        assertTrue(map.remaining(42, 150) == 50);
+
+        //Key 0 is a key like any other
+        assertTrue(map.tryAcquire(0, 100, 50) == 0);
+        assertTrue(map.remaining(0, 100) == 50);
+    }
+
+    @Test
+    public void testExpiredEntriesAreDropped()
+    {
+        ExpiringLongMap map = new ExpiringLongMap(16);
+        for (long key = 1; key <= 1000; key++)
+        {
+            assertTrue(map.tryAcquire(key, key, 10) == 0);
+        }
+
+        //Only the last few keys are still live, so the table must not have grown to fit all of them
+        assertTrue(map.size(1000) == 10);
+        assertTrue(map.capacity() < 1000);
+        assertTrue(map.remaining(1000, 1000) == 10);
+    }
+
+    @Test
+    public void testGrowsForLiveEntries()
+    {
+        ExpiringLongMap map = new ExpiringLongMap(16);
+        for (long key = 1; key <= 1000; key++)
+        {
+            assertTrue(map.tryAcquire(key, 0, 10) == 0);
+        }
+        assertTrue(map.size(0) == 1000);
+        for (long key = 1; key <= 1000; key++)
+        {
+            assertTrue(map.remaining(key, 0) == 10);
+        }
+    }
+}
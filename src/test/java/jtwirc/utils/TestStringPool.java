@@ -0,0 +1,45 @@
+package jtwirc.utils;
+
+import jtwirc.types.twitchMessage.DefaultTwitchMessageBuilder;
+import jtwirc.types.twitchMessage.TwitchMessage;
+import jtwirc.types.users.DefaultTwitchUserBuilder;
+import jtwirc.types.users.TwitchUser;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestStringPool
+{
+    @Test
+    public void testIntern()
+    {
+        StringPool pool = new StringPool(64);
+        String a = pool.intern(new String("subscriber/12"));
+        String b = pool.intern(new String("subscriber/12"));
+        assertTrue(a == b);
+
+        String line = "xx subscriber/12 yy";
+        String c = pool.intern(line, 3, 16);
+        assertTrue(c == a);
+        assertTrue(pool.intern(line, 0, 0).isEmpty());
+        assertTrue(pool.intern(null) == null);
+    }
+
+    @Test
+    public void testParserUsesPool()
+    {
+        final String LINE_ONE = "@badges=subscriber/12;color=#1E90FF;display-name=Gikkman;emotes=;mod=0;room-id=31974228;subscriber=1;turbo=0;user-id=27658385;user-type= :gikkman!gikkman@gikkman.tmi.twitch.tv PRIVMSG #gikkman :first";
+        final String LINE_TWO = "@badges=subscriber/12;color=#1E90FF;display-name=Gikkman;emotes=;mod=0;room-id=31974228;subscriber=1;turbo=0;user-id=27658385;user-type= :gikkman!gikkman@gikkman.tmi.twitch.tv PRIVMSG #gikkman :second";
+
+        TwitchMessage one = new DefaultTwitchMessageBuilder().build(LINE_ONE);
+        TwitchMessage two = new DefaultTwitchMessageBuilder().build(LINE_TWO);
+        assertTrue(one.getTarget() == two.getTarget());
+        assertTrue(one.getPrefix() == two.getPrefix());
+        assertTrue(one.getCommand() == two.getCommand());
+
+        TwitchUser userOne = new DefaultTwitchUserBuilder().build(one);
+        TwitchUser userTwo = new DefaultTwitchUserBuilder().build(two);
+        assertTrue(userOne.getName() == userTwo.getName());
+        assertTrue(userOne.getBadges()[0] == userTwo.getBadges()[0]);
+    }
+}